@@ -0,0 +1,62 @@
+package bench;
+
+import graph.CsrGraph;
+import graph.Graph;
+import marvel.MarvelPaths;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a batch of QUERIES Marvel path queries from SOURCES heroes, answered one at a time by findPath
+ * and all at once by findPaths on the common pool, which has one thread per core. Both are given the same
+ * snapshot and the same queries, and each score is the time taken to answer the whole batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchSearchBenchmark {
+
+    private static final int QUERIES = 300;
+    private static final int SOURCES = 30;
+
+    private CsrGraph<String, String> marvelCsrGraph;
+    private List<MarvelPaths.HeroPair> queries;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        marvelCsrGraph = MarvelPaths.freezeGraph(MarvelPaths.loadGraph("marvel.tsv"));
+        List<String> heroes = marvelCsrGraph.getAllNodes();
+        Collections.sort(heroes);
+        Random random = new Random(22);
+        queries = new ArrayList<MarvelPaths.HeroPair>();
+        for(int i = 0; i < QUERIES; i++)
+        {
+            queries.add(new MarvelPaths.HeroPair(heroes.get(random.nextInt(SOURCES)),
+                    heroes.get(random.nextInt(heroes.size()))));
+        }
+    }
+
+    @Benchmark
+    public List<List<Graph.Edge<String, String>>> findPath()
+    {
+        List<List<Graph.Edge<String, String>>> paths = new ArrayList<List<Graph.Edge<String, String>>>();
+        for(MarvelPaths.HeroPair query : queries)
+        {
+            paths.add(MarvelPaths.findPath(marvelCsrGraph, query.getHeroA(), query.getHeroB()));
+        }
+        return paths;
+    }
+
+    @Benchmark
+    public List<List<Graph.Edge<String, String>>> findPaths()
+    {
+        return MarvelPaths.findPaths(marvelCsrGraph, queries, ForkJoinPool.commonPool());
+    }
+}
@@ -0,0 +1,114 @@
+package bench;
+
+import graph.ConcurrentGraph;
+import graph.Graph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a mixed load of 90% reads (getChildrenEdgesView) and 10% writes (addEdge) on NODES nodes: a
+ * plain Graph used by one thread, against a ConcurrentGraph shared by one and by four threads. Each score
+ * is operations per second summed over every thread. The graphs are emptied of edges before every
+ * iteration, so the edge sets they read stay about the same size between runs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentGraphBenchmark {
+
+    private static final int NODES = 200;
+
+    /**
+     * The ConcurrentGraph every thread shares.
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+        private ConcurrentGraph<Integer, Integer> graph;
+
+        @Setup(Level.Iteration)
+        public void setUp()
+        {
+            graph = new ConcurrentGraph<Integer, Integer>();
+            for(int node = 0; node < NODES; node++)
+            {
+                graph.addNode(node);
+            }
+        }
+    }
+
+    /**
+     * Each thread's own Graph, and where it is in its sequence of operations.
+     */
+    @State(Scope.Thread)
+    public static class Local {
+        private Graph<Integer, Integer> graph;
+        private int threadIndex;
+        private int op;
+
+        @Setup(Level.Iteration)
+        public void setUp(ThreadParams threadParams)
+        {
+            graph = new Graph<Integer, Integer>();
+            for(int node = 0; node < NODES; node++)
+            {
+                graph.addNode(node);
+            }
+            threadIndex = threadParams.getThreadIndex();
+            op = 0;
+        }
+    }
+
+    /**
+     * Runs the next operation of a thread's sequence on a Graph: every tenth adds an edge with a label no
+     * other thread uses, and the rest read a node's child edges.
+     */
+    private static int step(Graph<Integer, Integer> graph, Local local)
+    {
+        int op = local.op++;
+        if(op % 10 == 0)
+        {
+            graph.addEdge(op * 4 + local.threadIndex, (op / 10) % NODES, (op * 31) % NODES);
+            return 0;
+        }
+        return graph.getChildrenEdgesView((op * 7) % NODES).size();
+    }
+
+    /**
+     * Runs the next operation of a thread's sequence on a ConcurrentGraph, the same way step(Graph, Local) does.
+     */
+    private static int step(ConcurrentGraph<Integer, Integer> graph, Local local)
+    {
+        int op = local.op++;
+        if(op % 10 == 0)
+        {
+            graph.addEdge(op * 4 + local.threadIndex, (op / 10) % NODES, (op * 31) % NODES);
+            return 0;
+        }
+        return graph.getChildrenEdgesView((op * 7) % NODES).size();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int graphOneThread(Local local)
+    {
+        return step(local.graph, local);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int concurrentGraphOneThread(Shared shared, Local local)
+    {
+        return step(shared.graph, local);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int concurrentGraphFourThreads(Shared shared, Local local)
+    {
+        return step(shared.graph, local);
+    }
+}
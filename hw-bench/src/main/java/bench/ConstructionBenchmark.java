@@ -0,0 +1,60 @@
+package bench;
+
+import graph.CompactGraph;
+import graph.CsrGraph;
+import graph.Graph;
+import marvel.HeroBookGraph;
+import marvel.MarvelPaths;
+import org.openjdk.jmh.annotations.*;
+import pathfinder.CampusMap;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to build each of the apps' graphs from the TSV files they are loaded from,
+ * parsing included. marvelGraphOnCommonPool builds the Marvel graph in parallel, with one thread per core.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConstructionBenchmark {
+
+    @Benchmark
+    public Graph<String, String> marvelGraph()
+    {
+        return MarvelPaths.loadGraph("marvel.tsv");
+    }
+
+    @Benchmark
+    public Graph<String, String> marvelGraphOnCommonPool()
+    {
+        return MarvelPaths.loadGraph("marvel.tsv", ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public CompactGraph<String, String> marvelCompactGraph()
+    {
+        return MarvelPaths.loadCompactGraph("marvel.tsv");
+    }
+
+    @Benchmark
+    public HeroBookGraph marvelHeroBookGraph()
+    {
+        return MarvelPaths.loadHeroBookGraph("marvel.tsv");
+    }
+
+    @Benchmark
+    public CsrGraph<String, String> marvelCsrGraph()
+    {
+        return MarvelPaths.freezeGraph(MarvelPaths.loadGraph("marvel.tsv"));
+    }
+
+    @Benchmark
+    public CampusMap campusMap()
+    {
+        return new CampusMap();
+    }
+}
@@ -0,0 +1,63 @@
+package bench;
+
+import graph.Graph;
+import graph.GraphAnalytics;
+import graph.GraphBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long GraphAnalytics takes to find the components and degree statistics of a random graph
+ * of NODES nodes and EDGES edges, about the size of the Marvel graph, on pools of different sizes. Every
+ * call uses a new GraphAnalytics, so nothing is cached between calls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphAnalyticsBenchmark {
+
+    private static final int NODES = 6_500;
+    private static final int EDGES = 500_000;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private Graph<Integer, Integer> graph;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Random random = new Random(331);
+        GraphBuilder<Integer, Integer> builder = new GraphBuilder<Integer, Integer>(NODES, EDGES);
+        for(int node = 0; node < NODES; node++)
+        {
+            builder.addNode(node);
+        }
+        for(int edge = 0; edge < EDGES; edge++)
+        {
+            builder.addEdge(edge, random.nextInt(NODES), random.nextInt(NODES));
+        }
+        graph = builder.build();
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public GraphAnalytics.Components<Integer> analyze()
+    {
+        // The components and the degree statistics are computed by the same pass.
+        return new GraphAnalytics<Integer, Integer>(graph, pool).getComponents();
+    }
+}
@@ -0,0 +1,184 @@
+package bench;
+
+import graph.Graph;
+import graph.GraphBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the basic Graph operations on a synthetic graph of NODES nodes with DEGREE child edges each,
+ * with and without the edge and parent indexes. Each query benchmark asks about the same PROBES fixed
+ * node pairs, half of which are connected.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GraphBenchmark {
+
+    private static final int NODES = 10_000;
+    private static final int DEGREE = 16;
+    private static final int PROBES = 1024;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private Graph<Integer, Integer> graph;
+    private int[] parents;
+    private int[] children;
+    private int[] labels;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        graph = build();
+
+        Random random = new Random(331);
+        parents = new int[PROBES];
+        children = new int[PROBES];
+        labels = new int[PROBES];
+        for(int i = 0; i < PROBES; i++)
+        {
+            parents[i] = random.nextInt(NODES);
+            labels[i] = 1 + random.nextInt(DEGREE);
+            // Even probes follow an edge that exists, odd probes almost never do.
+            children[i] = i % 2 == 0 ? childOf(parents[i], labels[i]) : random.nextInt(NODES);
+        }
+    }
+
+    /**
+     * Returns the child at the end of the edge labeled label leaving parent.
+     */
+    private static int childOf(int parent, int label)
+    {
+        return (parent + label * 7919) % NODES;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Construction
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Graph<Integer, Integer> build()
+    {
+        Graph<Integer, Integer> built = new Graph<Integer, Integer>(indexed, indexed);
+        for(int node = 0; node < NODES; node++)
+        {
+            built.addNode(node);
+        }
+        for(int node = 0; node < NODES; node++)
+        {
+            for(int label = 1; label <= DEGREE; label++)
+            {
+                built.addEdge(label, node, childOf(node, label));
+            }
+        }
+        return built;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Graph<Integer, Integer> buildWithBuilder()
+    {
+        GraphBuilder<Integer, Integer> builder = new GraphBuilder<Integer, Integer>(NODES, NODES * DEGREE)
+                .indexEdges(indexed).indexParents(indexed);
+        for(int node = 0; node < NODES; node++)
+        {
+            builder.addNode(node);
+        }
+        for(int node = 0; node < NODES; node++)
+        {
+            for(int label = 1; label <= DEGREE; label++)
+            {
+                builder.addEdge(label, node, childOf(node, label));
+            }
+        }
+        return builder.build();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Adjacency queries
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Benchmark
+    public int containsEdge()
+    {
+        int found = 0;
+        for(int i = 0; i < PROBES; i++)
+        {
+            if(graph.containsEdge(labels[i], parents[i], children[i]))
+            {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int isAdjacent()
+    {
+        int found = 0;
+        for(int i = 0; i < PROBES; i++)
+        {
+            if(graph.isAdjacent(parents[i], children[i]))
+            {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int getEdge()
+    {
+        int found = 0;
+        for(int i = 0; i < PROBES; i++)
+        {
+            found += graph.getEdge(parents[i], children[i]).size();
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int getChildrenEdges()
+    {
+        int found = 0;
+        for(int i = 0; i < PROBES; i++)
+        {
+            found += graph.getChildrenEdges(parents[i]).size();
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int getChildrenEdgesView()
+    {
+        int found = 0;
+        for(int i = 0; i < PROBES; i++)
+        {
+            Collection<Graph.Edge<Integer, Integer>> childEdges = graph.getChildrenEdgesView(parents[i]);
+            for(Graph.Edge<Integer, Integer> childEdge : childEdges)
+            {
+                found += childEdge.getChild();
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int getParentEdges()
+    {
+        int found = 0;
+        for(int i = 0; i < PROBES; i++)
+        {
+            found += graph.getParentEdges(children[i]).size();
+        }
+        return found;
+    }
+}
@@ -0,0 +1,112 @@
+package bench;
+
+import graph.Graph;
+import graph.GraphBuilder;
+import graph.OffHeapGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what keeping a graph of NODES nodes with DEGREE child edges each alive costs the garbage
+ * collector, when the graph is a Graph on the heap and when it is an OffHeapGraph. fullGc times a full
+ * collection, which has to trace every live object, and reports what is left afterwards next to its score:
+ * heapBytes, the heap still in use, which is mostly the graph, and offHeapBytes, the direct memory an
+ * OffHeapGraph holds. churn allocates short-lived garbage while reading the graph, and is meant to be run
+ * with -Pprof=gc, which reports the GC count and time it causes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OffHeapGraphBenchmark {
+
+    private static final int NODES = 50_000;
+    private static final int DEGREE = 10;
+    private static final int PROBES = 1024;
+
+    @Param({"heap", "offHeap"})
+    public String storage;
+
+    private Graph<Integer, Integer> graph;
+    private OffHeapGraph<Integer, Integer> offHeapGraph;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        GraphBuilder<Integer, Integer> builder = new GraphBuilder<Integer, Integer>(NODES, NODES * DEGREE);
+        for(int node = 0; node < NODES; node++)
+        {
+            builder.addNode(node);
+            for(int label = 1; label <= DEGREE; label++)
+            {
+                builder.addEdge(label, node, (node + label * 7919) % NODES);
+            }
+        }
+        Graph<Integer, Integer> built = builder.build();
+        // Only one of the two is kept, so only it is live while the benchmarks run.
+        if(storage.equals("heap"))
+        {
+            graph = built;
+        } else
+        {
+            offHeapGraph = OffHeapGraph.of(built);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        if(offHeapGraph != null)
+        {
+            offHeapGraph.close();
+        }
+    }
+
+    /**
+     * What is left after fullGc's latest collection. JMH reports each public field as a result of its own.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long heapBytes;
+        public long offHeapBytes;
+    }
+
+    @Benchmark
+    public void fullGc(Footprint footprint)
+    {
+        System.gc();
+        footprint.heapBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        footprint.offHeapBytes = offHeapGraph == null ? 0 : offHeapGraph.getOffHeapBytes();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long churn()
+    {
+        long sum = 0;
+        for(int probe = 0; probe < PROBES; probe++)
+        {
+            int node = (probe * 48271) % NODES;
+            int[] childIds;
+            if(graph != null)
+            {
+                childIds = graph.getChildrenEdgesView(node).stream().mapToInt(Graph.Edge::getChild).toArray();
+            } else
+            {
+                int start = offHeapGraph.getEdgesStart(node);
+                childIds = new int[offHeapGraph.getEdgesEnd(node) - start];
+                for(int i = 0; i < childIds.length; i++)
+                {
+                    childIds[i] = offHeapGraph.getEdgeChild(start + i);
+                }
+            }
+            sum += childIds.length;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,43 @@
+package bench;
+
+import marvel.HeroModel;
+import marvel.MarvelParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast marvel.tsv is parsed, by binding every row to a HeroModel with OpenCSV and by splitting
+ * rows by hand. Each operation parses the whole file once; with its 96,662 rows, rows per second is the
+ * number of operations per second times that.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Benchmark
+    public void openCsv(Blackhole blackhole)
+    {
+        Iterator<HeroModel> heroModels = MarvelParser.parseData("marvel.tsv");
+        while(heroModels.hasNext())
+        {
+            HeroModel heroModel = heroModels.next();
+            blackhole.consume(heroModel.getHero());
+            blackhole.consume(heroModel.getBook());
+        }
+    }
+
+    @Benchmark
+    public void splitByHand(Blackhole blackhole)
+    {
+        MarvelParser.parseData("marvel.tsv", (hero, book) -> {
+            blackhole.consume(hero);
+            blackhole.consume(book);
+        });
+    }
+}
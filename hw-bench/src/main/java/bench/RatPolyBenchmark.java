@@ -0,0 +1,89 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+import poly.RatNum;
+import poly.RatPoly;
+import poly.RatTerm;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures RatPoly arithmetic on dense polynomials of several degrees. Every coefficient is a fraction,
+ * so RatNum's gcd reductions are part of what is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RatPolyBenchmark {
+
+    @Param({"4", "16", "64"})
+    public int degree;
+
+    private RatPoly p;
+    private RatPoly q;
+    private RatPoly divisor;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        p = dense(degree, 1);
+        q = dense(degree, 2);
+        // A dense divisor would make the quotient's coefficients overflow at the higher degrees.
+        divisor = new RatPoly(1, degree / 4).sub(new RatPoly(new RatTerm(new RatNum(1, 2), 0)));
+    }
+
+    /**
+     * Returns a polynomial with a term of every degree from 0 to degree, with small fractions that
+     * depend on seed as coefficients.
+     */
+    private static RatPoly dense(int degree, int seed)
+    {
+        RatPoly poly = new RatPoly();
+        for(int e = 0; e <= degree; e++)
+        {
+            int numer = (e * 7 + seed * 3) % 11 - 5;
+            int denom = (e * 5 + seed) % 7 + 1;
+            poly = poly.add(new RatPoly(new RatTerm(new RatNum(numer == 0 ? 1 : numer, denom), e)));
+        }
+        return poly;
+    }
+
+    @Benchmark
+    public RatPoly add()
+    {
+        return p.add(q);
+    }
+
+    @Benchmark
+    public RatPoly sub()
+    {
+        return p.sub(q);
+    }
+
+    @Benchmark
+    public RatPoly mul()
+    {
+        return p.mul(q);
+    }
+
+    @Benchmark
+    public RatPoly div()
+    {
+        return p.div(divisor);
+    }
+
+    @Benchmark
+    public RatPoly differentiate()
+    {
+        return p.differentiate();
+    }
+
+    @Benchmark
+    public double eval()
+    {
+        return p.eval(0.5);
+    }
+}
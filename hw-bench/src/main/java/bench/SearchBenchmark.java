@@ -0,0 +1,174 @@
+package bench;
+
+import graph.CsrGraph;
+import graph.Graph;
+import marvel.HeroBookGraph;
+import marvel.MarvelPaths;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pathfinder.CampusMap;
+import pathfinder.FindPath;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single-pair searches over the Marvel and campus graphs. Every benchmark runs the same fixed set
+ * of queries, so results are comparable between commits as long as the data files don't change. Each
+ * score is the time taken to answer the whole query set. Run with {@code -Pprof=gc} to also see how much
+ * each query set allocates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    /**
+     * Marvel queries that the tests already know answers for, from close friends to heroes that are
+     * far apart.
+     */
+    private static final List<List<String>> MARVEL_QUERIES = List.of(
+            List.of("CAPTAIN AMERICA", "THANOS"),
+            List.of("BEAST/HENRY &HANK& P", "WISDOM, PETER"),
+            List.of("IRON FIST/DANIEL RAN", "SPIDER-MAN/PETER PAR"),
+            List.of("GORILLA-MAN", "HULK/DR. ROBERT BRUC"));
+
+    /**
+     * How many more queries between randomly chosen nodes are added to each query set.
+     */
+    private static final int RANDOM_QUERIES = 12;
+
+    /**
+     * The seed the random queries are chosen with. Changing it changes every result.
+     */
+    private static final long SEED = 331;
+
+    private Graph<String, String> marvelGraph;
+    private CsrGraph<String, String> marvelCsrGraph;
+    private HeroBookGraph marvelHeroBookGraph;
+    private List<List<String>> marvelQueries;
+
+    private CampusMap campusMap;
+    private Graph<Point, Double> campusGraph;
+    private CsrGraph<Point, Double> campusCsrGraph;
+    private List<List<String>> buildingQueries;
+    private List<List<Point>> pointQueries;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        marvelGraph = MarvelPaths.loadGraph("marvel.tsv");
+        marvelCsrGraph = MarvelPaths.freezeGraph(marvelGraph);
+        marvelHeroBookGraph = MarvelPaths.loadHeroBookGraph("marvel.tsv");
+        marvelQueries = new ArrayList<List<String>>(MARVEL_QUERIES);
+        marvelQueries.addAll(randomPairs(marvelGraph.getAllNodes()));
+
+        campusMap = new CampusMap();
+        campusGraph = new Graph<Point, Double>(false, false);
+        for(CampusPath campusPath : CampusPathsParser.parseCampusPaths("campus_paths.tsv"))
+        {
+            Point start = new Point(campusPath.getX1(), campusPath.getY1());
+            Point end = new Point(campusPath.getX2(), campusPath.getY2());
+            campusGraph.addNode(start);
+            campusGraph.addNode(end);
+            campusGraph.addEdge(campusPath.getDistance(), start, end);
+        }
+        campusCsrGraph = campusGraph.freeze();
+        buildingQueries = randomPairs(campusMap.buildingNames().keySet());
+        pointQueries = randomPairs(campusGraph.getAllNodes());
+    }
+
+    /**
+     * Returns RANDOM_QUERIES pairs of values chosen from values. The values are put in a fixed order first,
+     * so the same pairs are chosen however the collection happens to be ordered.
+     */
+    private static <T> List<List<T>> randomPairs(Collection<T> values)
+    {
+        List<T> sorted = new ArrayList<T>(values);
+        sorted.sort(Comparator.comparing(Object::toString));
+        Random random = new Random(SEED);
+        List<List<T>> pairs = new ArrayList<List<T>>();
+        for(int i = 0; i < RANDOM_QUERIES; i++)
+        {
+            pairs.add(List.of(sorted.get(random.nextInt(sorted.size())), sorted.get(random.nextInt(sorted.size()))));
+        }
+        return pairs;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Marvel (BFS)
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Benchmark
+    public void marvelGraph(Blackhole blackhole)
+    {
+        for(List<String> query : marvelQueries)
+        {
+            blackhole.consume(MarvelPaths.findPath(marvelGraph, query.get(0), query.get(1)));
+        }
+    }
+
+    @Benchmark
+    public void marvelCsrGraph(Blackhole blackhole)
+    {
+        for(List<String> query : marvelQueries)
+        {
+            blackhole.consume(MarvelPaths.findPath(marvelCsrGraph, query.get(0), query.get(1)));
+        }
+    }
+
+    @Benchmark
+    public void marvelCsrGraphBidirectional(Blackhole blackhole)
+    {
+        for(List<String> query : marvelQueries)
+        {
+            blackhole.consume(MarvelPaths.findPathBidirectional(marvelCsrGraph, query.get(0), query.get(1)));
+        }
+    }
+
+    @Benchmark
+    public void marvelHeroBookGraph(Blackhole blackhole)
+    {
+        for(List<String> query : marvelQueries)
+        {
+            blackhole.consume(MarvelPaths.findPath(marvelHeroBookGraph, query.get(0), query.get(1)));
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Campus (Dijkstra)
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Benchmark
+    public void campusMap(Blackhole blackhole)
+    {
+        for(List<String> query : buildingQueries)
+        {
+            blackhole.consume(campusMap.findShortestPath(query.get(0), query.get(1)));
+        }
+    }
+
+    @Benchmark
+    public void campusGraph(Blackhole blackhole)
+    {
+        for(List<Point> query : pointQueries)
+        {
+            blackhole.consume(FindPath.findShortestPath(campusGraph, query.get(0), query.get(1)));
+        }
+    }
+
+    @Benchmark
+    public void campusCsrGraph(Blackhole blackhole)
+    {
+        for(List<Point> query : pointQueries)
+        {
+            blackhole.consume(FindPath.findShortestPath(campusCsrGraph, query.get(0), query.get(1)));
+        }
+    }
+}
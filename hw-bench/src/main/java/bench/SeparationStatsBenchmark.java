@@ -0,0 +1,47 @@
+package bench;
+
+import graph.CsrGraph;
+import marvel.MarvelPaths;
+import marvel.SeparationStats;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long SeparationStats takes to find the degrees of separation between every pair of Marvel
+ * heroes, on pools of different sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeparationStatsBenchmark {
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private CsrGraph<String, String> marvelCsrGraph;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        marvelCsrGraph = MarvelPaths.freezeGraph(MarvelPaths.loadGraph("marvel.tsv"));
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public SeparationStats marvel()
+    {
+        return SeparationStats.of(marvelCsrGraph, pool);
+    }
+}
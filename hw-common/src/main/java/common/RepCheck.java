@@ -0,0 +1,181 @@
+package common;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <b>RepCheck</b> decides how much of its representation invariant every class's checkRep() checks.
+ *
+ * <p> checkRep() methods split their checks in two. <b>Cheap</b> checks take constant time, like checking
+ * that a field isn't null. <b>Full</b> checks take time that grows with the size of the object, like
+ * walking every node and edge of a graph. A checkRep() makes its cheap checks if {@link #cheap()} returns
+ * true and its full checks if {@link #full()} returns true:
+ *
+ * <pre>
+ *     private void checkRep() {
+ *         if(!RepCheck.cheap()) return;
+ *         assert (this.terms != null);
+ *         if(RepCheck.full()) {
+ *             for(RatTerm term : this.terms) ...
+ *         }
+ *     }
+ * </pre>
+ *
+ * <p> The level is read from the system property {@value #PROPERTY} when this class is first used, and
+ * can be any of:
+ * <ul>
+ *     <li> {@code off}: no checks at all.
+ *     <li> {@code cheap}: only the cheap checks. This is the default, so the apps never do work that grows
+ *     with the size of their data on every call.
+ *     <li> {@code full}: every check on every call. The Gradle test tasks run at this level, except for
+ *     hw-marvel's, which search the whole Marvel graph and run at {@code sampled:1000}.
+ *     <li> {@code sampled:N}: the cheap checks on every call and the full checks on one call in N, chosen
+ *     at random. {@code sampled} on its own means {@code sampled:}{@value #DEFAULT_SAMPLE_RATE}.
+ * </ul>
+ *
+ * <p> Checks are still made with assert statements, so nothing is checked unless assertions are enabled.
+ */
+public final class RepCheck {
+
+    /**
+     * The system property the level is read from.
+     */
+    public static final String PROPERTY = "cse331.checkRep";
+
+    /**
+     * The level used when {@value #PROPERTY} isn't set.
+     */
+    public static final String DEFAULT_SETTING = "cheap";
+
+    /**
+     * How often full checks are made when the level is just {@code sampled}: once every this many calls.
+     */
+    public static final int DEFAULT_SAMPLE_RATE = 100;
+
+    /**
+     * How much of their representation invariants classes check.
+     */
+    public enum Level {
+        OFF, CHEAP, FULL, SAMPLED
+    }
+
+    private static volatile Level level;
+    private static volatile int sampleRate;
+
+    static
+    {
+        // A misspelled level fails here rather than silently checking less than was asked for.
+        set(System.getProperty(PROPERTY, DEFAULT_SETTING));
+    }
+
+    private RepCheck()
+    {
+    }
+
+    /**
+     * Changes the level for every class, as if {@value #PROPERTY} had been set to setting.
+     *
+     * @param setting one of "off", "cheap", "full", "sampled" or "sampled:N" where N is a positive
+     *                integer, in any case.
+     * @throws IllegalArgumentException if setting is null or isn't one of the above.
+     * @spec.effects Changes the level that cheap() and full() answer for.
+     */
+    public static synchronized void set(String setting) throws IllegalArgumentException
+    {
+        if(setting == null)
+        {
+            throw new IllegalArgumentException("No " + PROPERTY + " level given.");
+        }
+
+        String normalized = setting.trim().toLowerCase(Locale.ROOT);
+        int rate = 1;
+        Level newLevel;
+        if(normalized.equals("off"))
+        {
+            newLevel = Level.OFF;
+        }
+        else if(normalized.equals("cheap"))
+        {
+            newLevel = Level.CHEAP;
+        }
+        else if(normalized.equals("full"))
+        {
+            newLevel = Level.FULL;
+        }
+        else if(normalized.equals("sampled"))
+        {
+            newLevel = Level.SAMPLED;
+            rate = DEFAULT_SAMPLE_RATE;
+        }
+        else if(normalized.startsWith("sampled:"))
+        {
+            newLevel = Level.SAMPLED;
+            try
+            {
+                rate = Integer.parseInt(normalized.substring("sampled:".length()));
+            }
+            catch(NumberFormatException e)
+            {
+                rate = 0;
+            }
+            if(rate < 1)
+            {
+                throw new IllegalArgumentException("Bad sample rate in " + PROPERTY + "=" + setting);
+            }
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown " + PROPERTY + " level: " + setting);
+        }
+
+        sampleRate = rate;
+        level = newLevel;
+    }
+
+    /**
+     * Returns the current level.
+     *
+     * @return the level cheap() and full() currently answer for.
+     */
+    public static Level getLevel()
+    {
+        return level;
+    }
+
+    /**
+     * Returns how often full checks are made at the SAMPLED level.
+     *
+     * @return N if the level is SAMPLED and full checks are made on one call in N, otherwise 1.
+     */
+    public static int getSampleRate()
+    {
+        return sampleRate;
+    }
+
+    /**
+     * Returns whether checkRep() should make its cheap, constant-time checks.
+     *
+     * @return true if and only if the level isn't OFF.
+     */
+    public static boolean cheap()
+    {
+        return level != Level.OFF;
+    }
+
+    /**
+     * Returns whether this call to checkRep() should make its full checks. At the SAMPLED level every call
+     * decides afresh, so a checkRep() should only call this once.
+     *
+     * @return true if the level is FULL, true on one call in getSampleRate() if the level is SAMPLED, and
+     * false otherwise.
+     */
+    public static boolean full()
+    {
+        Level current = level;
+        if(current == Level.FULL)
+        {
+            return true;
+        }
+        return current == Level.SAMPLED && ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+}
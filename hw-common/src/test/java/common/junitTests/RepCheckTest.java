@@ -0,0 +1,175 @@
+package common.junitTests;
+
+import common.RepCheck;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * RepCheck class.
+ *
+ */
+public final class RepCheckTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    private final String EXPECTED_TRUE = "failure - expected true but was false";
+    private final String EXPECTED_FALSE = "failure - expected false but was true";
+
+    String originalSetting;
+
+    @Before
+    public void setUp()
+    {
+        originalSetting = System.getProperty(RepCheck.PROPERTY, RepCheck.DEFAULT_SETTING);
+    }
+
+    @After
+    public void tearDown()
+    {
+        // Every other test in the JVM shares the level, so put it back the way the build set it.
+        RepCheck.set(originalSetting);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Levels
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testOff()
+    {
+        RepCheck.set("off");
+        assertEquals(RepCheck.Level.OFF, RepCheck.getLevel());
+        assertFalse(EXPECTED_FALSE, RepCheck.cheap());
+        assertFalse(EXPECTED_FALSE, RepCheck.full());
+    }
+
+    @Test
+    public void testCheap()
+    {
+        RepCheck.set("cheap");
+        assertEquals(RepCheck.Level.CHEAP, RepCheck.getLevel());
+        assertTrue(EXPECTED_TRUE, RepCheck.cheap());
+        assertFalse(EXPECTED_FALSE, RepCheck.full());
+    }
+
+    @Test
+    public void testFull()
+    {
+        RepCheck.set("full");
+        assertEquals(RepCheck.Level.FULL, RepCheck.getLevel());
+        assertTrue(EXPECTED_TRUE, RepCheck.cheap());
+        for(int i = 0; i < 100; i++)
+        {
+            assertTrue(EXPECTED_TRUE, RepCheck.full());
+        }
+    }
+
+    @Test
+    public void testSettingIsTrimmedAndCaseInsensitive()
+    {
+        RepCheck.set("  FULL ");
+        assertEquals(RepCheck.Level.FULL, RepCheck.getLevel());
+        RepCheck.set("Sampled:7");
+        assertEquals(RepCheck.Level.SAMPLED, RepCheck.getLevel());
+        assertEquals(7, RepCheck.getSampleRate());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Sampling
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testSampledDefaultRate()
+    {
+        RepCheck.set("sampled");
+        assertEquals(RepCheck.Level.SAMPLED, RepCheck.getLevel());
+        assertEquals(RepCheck.DEFAULT_SAMPLE_RATE, RepCheck.getSampleRate());
+        assertTrue(EXPECTED_TRUE, RepCheck.cheap());
+    }
+
+    @Test
+    public void testSampledOneInOneIsFull()
+    {
+        RepCheck.set("sampled:1");
+        for(int i = 0; i < 100; i++)
+        {
+            assertTrue(EXPECTED_TRUE, RepCheck.full());
+        }
+    }
+
+    @Test
+    public void testSampledRate()
+    {
+        final int CALLS = 100_000;
+        RepCheck.set("sampled:10");
+        int fullChecks = 0;
+        for(int i = 0; i < CALLS; i++)
+        {
+            assertTrue(EXPECTED_TRUE, RepCheck.cheap());
+            if(RepCheck.full())
+            {
+                fullChecks++;
+            }
+        }
+        // About 10,000 are expected; these bounds are many standard deviations away.
+        assertTrue(EXPECTED_TRUE, fullChecks > CALLS / 20 && fullChecks < CALLS / 5);
+    }
+
+    @Test
+    public void testOtherLevelsHaveRateOne()
+    {
+        RepCheck.set("sampled:50");
+        RepCheck.set("full");
+        assertEquals(1, RepCheck.getSampleRate());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Test For Proper Exceptions
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullSettingThrowsException()
+    {
+        RepCheck.set(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownLevelThrowsException()
+    {
+        RepCheck.set("heavy");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroSampleRateThrowsException()
+    {
+        RepCheck.set("sampled:0");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadSampleRateThrowsException()
+    {
+        RepCheck.set("sampled:often");
+    }
+
+    @Test
+    public void testBadSettingKeepsLevel()
+    {
+        RepCheck.set("cheap");
+        try
+        {
+            RepCheck.set("sampled:-3");
+            fail("expected IllegalArgumentException");
+        }
+        catch(IllegalArgumentException e)
+        {
+            assertEquals(RepCheck.Level.CHEAP, RepCheck.getLevel());
+        }
+    }
+}
@@ -0,0 +1,756 @@
+package graph;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * <b>CompactGraph</b> represents a <b>mutable</b> directed labeled graph with the same meaning and the
+ * same public API as {@link Graph}, stored in a compact struct-of-arrays form for large graphs.
+ *
+ * <p> Every node and every distinct label is given a dense int id the first time it is seen. Each edge is
+ * then just a row in a set of parallel int arrays (parent id, child id, label id, and the next edge of the
+ * same parent), and a node's child edges form a linked list through those arrays in the order they were
+ * added. Duplicate edges are rejected using an open-addressing hash table of edge ids. Altogether an edge
+ * costs about 24 bytes, compared to well over 100 bytes for an Edge object in a HashSet plus Graph's
+ * indexes.
+ *
+ * <p> No Graph.Edge objects are stored. Operations that return edges (getChildrenEdges, getEdge,
+ * getChildrenEdgesView, forEachChildEdge) create them on demand, so they compare equal to the edges of an
+ * equivalent Graph. Searches that want to avoid creating Edge objects altogether can use the int-indexed
+ * methods (getNodeId, getFirstEdge, getNextEdge, getEdgeChild and so on) or take a {@link CsrGraph}
+ * snapshot with {@link #freeze()}.
+ *
+ * <p> The trade-off is that isAdjacent and getEdge scan the parent's child edges, as in a Graph without
+ * an edge index, and that there is no parent index.
+ *
+ * @param <N> The type of the nodes you want stored in the graph.
+ * @param <E> The type of edge labels you want stored in all the edges in your graph.
+ */
+public class CompactGraph<N, E> {
+
+    // Abstraction Function:
+    // A CompactGraph g is made up of Nodes and Edges:
+    //      node with id i => g.nodes[i], for 0 <= i < g.numOfNodes
+    //      edge with id k => the edge with label g.labels[g.edgeLabels[k]], parent g.nodes[g.edgeParents[k]]
+    //          and child g.nodes[g.edgeChildren[k]], for 0 <= k < g.numOfEdges
+    //      all edges with g.nodes[i] as parent => the edges with ids g.firstEdges[i],
+    //          g.nextEdges[g.firstEdges[i]], ... up to but not including -1
+
+    // Representation Invariant for each CompactGraph g:
+    //  g.nodeIds.size() == g.numOfNodes, and g.nodeIds.get(g.nodes[i]) == i for every node id i
+    //  g.labelIds.size() == g.numOfLabels, and g.labelIds.get(g.labels[j]) == j for every label id j
+    //  g.edgeParents, g.edgeChildren, g.edgeLabels and g.nextEdges have the same length >= g.numOfEdges
+    //  following g.nextEdges from g.firstEdges[i] visits exactly the g.outDegrees[i] edges k with
+    //      g.edgeParents[k] == i, ending at g.lastEdges[i]
+    //  no two edges have the same parent, child and label
+    //  g.edgeTable holds k + 1 for every edge id k, and its length is a power of two > 2 * g.numOfEdges
+
+    private static final int NO_EDGE = -1;
+
+    private final Map<N, Integer> nodeIds; // node value -> node id.
+    private Object[] nodes; // node id -> node value.
+    private int[] firstEdges; // node id -> id of its first child edge, or NO_EDGE.
+    private int[] lastEdges; // node id -> id of its last child edge, or NO_EDGE.
+    private int[] outDegrees; // node id -> number of child edges.
+    private int numOfNodes;
+
+    private final Map<E, Integer> labelIds; // label -> label id.
+    private Object[] labels; // label id -> label.
+    private int numOfLabels;
+
+    private int[] edgeParents; // edge id -> parent node id.
+    private int[] edgeChildren; // edge id -> child node id.
+    private int[] edgeLabels; // edge id -> label id.
+    private int[] nextEdges; // edge id -> id of the parent's next child edge, or NO_EDGE.
+    private int numOfEdges;
+
+    private int[] edgeTable; // open-addressing hash set of edge id + 1, 0 if the slot is empty.
+
+    /**
+     * @spec.effects Constructs a new CompactGraph with no nodes.
+     */
+    public CompactGraph()
+    {
+        this(16, 16);
+    }
+
+    /**
+     * @param expectedNodes the number of nodes the graph is expected to have.
+     * @param expectedEdges the number of edges the graph is expected to have.
+     * @throws IllegalArgumentException if expectedNodes or expectedEdges is negative.
+     * @spec.effects Constructs a new CompactGraph with no nodes, sized for the given counts.
+     */
+    public CompactGraph(int expectedNodes, int expectedEdges) throws IllegalArgumentException
+    {
+        if(expectedNodes < 0 || expectedEdges < 0)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        this.nodeIds = new HashMap<N, Integer>(expectedNodes * 4 / 3 + 1);
+        this.nodes = new Object[expectedNodes];
+        this.firstEdges = new int[expectedNodes];
+        this.lastEdges = new int[expectedNodes];
+        this.outDegrees = new int[expectedNodes];
+
+        this.labelIds = new HashMap<E, Integer>();
+        this.labels = new Object[16];
+
+        this.edgeParents = new int[expectedEdges];
+        this.edgeChildren = new int[expectedEdges];
+        this.edgeLabels = new int[expectedEdges];
+        this.nextEdges = new int[expectedEdges];
+        this.edgeTable = new int[tableSizeFor(expectedEdges)];
+        this.checkRep();
+    }
+
+    /**
+     * @param nodeValue the value of the single node the new graph is constructed with.
+     * @throws IllegalArgumentException if nodeValue is null
+     * @spec.effects Constructs a new CompactGraph with a single node.
+     */
+    public CompactGraph(N nodeValue) throws IllegalArgumentException
+    {
+        this();
+        if(nodeValue == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        this.addNode(nodeValue);
+    }
+
+    /**
+     * Returns whether the parent node is connected to the child node via an edge. Takes time linear in
+     * the number of child edges of parent.
+     *
+     * @param parent the parent node to test
+     * @param child the child node to test
+     * @return true if and only if parent node is connected to a child node via an edge.
+     * Returns false otherwise, including if either node passed DNE within the graph.
+     * @throws IllegalArgumentException if parent or child are null.
+     */
+    public boolean isAdjacent(N parent, N child) throws IllegalArgumentException
+    {
+        if(parent == null || child == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        int parentId = this.getNodeId(parent);
+        int childId = this.getNodeId(child);
+        if(parentId == -1 || childId == -1)
+        {
+            return false;
+        }
+        for(int edge = this.firstEdges[parentId]; edge != NO_EDGE; edge = this.nextEdges[edge])
+        {
+            if(this.edgeChildren[edge] == childId)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a node to this graph if it isn't already there.
+     *
+     * @param nodeValue value of Node being added.
+     * @return true if and only if the node is successfully added &and;&and; there was NOT a node with
+     * that value already present in this graph.
+     * @throws IllegalArgumentException if nodeValue is null
+     * @spec.modifies this
+     * @spec.effects our graph by adding a node to it.
+     */
+    public boolean addNode(N nodeValue) throws IllegalArgumentException
+    {
+        if(nodeValue == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        if(this.nodeIds.containsKey(nodeValue))
+        {
+            return false;
+        }
+
+        if(this.numOfNodes == this.nodes.length)
+        {
+            int capacity = Math.max(16, this.nodes.length * 2);
+            this.nodes = Arrays.copyOf(this.nodes, capacity);
+            this.firstEdges = Arrays.copyOf(this.firstEdges, capacity);
+            this.lastEdges = Arrays.copyOf(this.lastEdges, capacity);
+            this.outDegrees = Arrays.copyOf(this.outDegrees, capacity);
+        }
+        int nodeId = this.numOfNodes++;
+        this.nodes[nodeId] = nodeValue;
+        this.firstEdges[nodeId] = NO_EDGE;
+        this.lastEdges[nodeId] = NO_EDGE;
+        this.nodeIds.put(nodeValue, nodeId);
+        return true;
+    }
+
+    /**
+     * Adds the edge to this graph if there are no duplicates and both endpoints exist within this graph.
+     * Takes expected constant time.
+     *
+     * @param label the label of the edge being added.
+     * @param parentNode the node where the edge starts
+     * @param childNode the node where the edge ends.
+     * @return true if and only if the edge is successfully added &and;&and; there were
+     * no duplicate edges. If the parent and/or child do not exist within the graph, return
+     * false and do not add the edge.
+     * @throws IllegalArgumentException if label, parentNode, or childNode are null
+     * @spec.modifies this
+     * @spec.effects our graph by adding an edge to it.
+     */
+    public boolean addEdge(E label, N parentNode, N childNode) throws IllegalArgumentException
+    {
+        if(label == null || parentNode == null || childNode == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        int parentId = this.getNodeId(parentNode);
+        int childId = this.getNodeId(childNode);
+        if(parentId == -1 || childId == -1)
+        {
+            return false;
+        }
+        Integer labelId = this.labelIds.get(label);
+        if(labelId == null)
+        {
+            labelId = this.addLabel(label);
+        } else if(this.findEdge(parentId, childId, labelId) != NO_EDGE)
+        {
+            return false;
+        }
+
+        if(this.numOfEdges == this.edgeParents.length)
+        {
+            int capacity = Math.max(16, this.edgeParents.length * 2);
+            this.edgeParents = Arrays.copyOf(this.edgeParents, capacity);
+            this.edgeChildren = Arrays.copyOf(this.edgeChildren, capacity);
+            this.edgeLabels = Arrays.copyOf(this.edgeLabels, capacity);
+            this.nextEdges = Arrays.copyOf(this.nextEdges, capacity);
+        }
+        int edge = this.numOfEdges++;
+        this.edgeParents[edge] = parentId;
+        this.edgeChildren[edge] = childId;
+        this.edgeLabels[edge] = labelId;
+        this.nextEdges[edge] = NO_EDGE;
+
+        // Append to the parent's list so children are visited in the order they were added, as in Graph.
+        if(this.lastEdges[parentId] == NO_EDGE)
+        {
+            this.firstEdges[parentId] = edge;
+        } else
+        {
+            this.nextEdges[this.lastEdges[parentId]] = edge;
+        }
+        this.lastEdges[parentId] = edge;
+        this.outDegrees[parentId]++;
+
+        if(2 * this.numOfEdges >= this.edgeTable.length)
+        {
+            this.edgeTable = new int[this.edgeTable.length * 2];
+            for(int oldEdge = 0; oldEdge < this.numOfEdges; oldEdge++)
+            {
+                this.insertIntoTable(oldEdge);
+            }
+        } else
+        {
+            this.insertIntoTable(edge);
+        }
+        return true;
+    }
+
+    /**
+     * Checks to see if this graph contains the specified node.
+     *
+     * @param nodeValue the value of the node we want to check for.
+     * @return true if and only if a node with nodeValue exists within the graph.
+     * @throws IllegalArgumentException if nodeValue is null
+     */
+    public boolean containsNode(N nodeValue) throws IllegalArgumentException
+    {
+        if(nodeValue == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        return this.nodeIds.containsKey(nodeValue);
+    }
+
+    /**
+     * Checks to see if this graph contains the specified edge. Takes expected constant time.
+     *
+     * @param label the label of the edge we want to check exists.
+     * @param parent the parent of the edge we want to check exists.
+     * @param child the child of the edge we want to check exists.
+     * @return true if and only if an edge with the specified label, parent, and child exists within
+     * this graph. If it isn't, return false.
+     * @throws IllegalArgumentException if label, parent, or child are null
+     */
+    public boolean containsEdge(E label, N parent, N child) throws IllegalArgumentException
+    {
+        if(label == null || parent == null || child == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        int parentId = this.getNodeId(parent);
+        int childId = this.getNodeId(child);
+        Integer labelId = this.labelIds.get(label);
+        return parentId != -1 && childId != -1 && labelId != null
+                && this.findEdge(parentId, childId, labelId) != NO_EDGE;
+    }
+
+    /**
+     * Returns a collection of Edges that connect parentNode to childNode.
+     *
+     * @param parentNode the parent node of the edges we want.
+     * @param childNode the child node of the edges we want.
+     * @return a list of Edges with the specified parentNode and childNode.
+     * If no Edges with those endpoints exist, then return an empty list.
+     * If either node doesn't exist within the graph, then return null.
+     * @throws IllegalArgumentException if either parentNode or childNode are null
+     */
+    public List<Graph.Edge<E, N>> getEdge(N parentNode, N childNode) throws IllegalArgumentException
+    {
+        if(parentNode == null || childNode == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        int parentId = this.getNodeId(parentNode);
+        int childId = this.getNodeId(childNode);
+        if(parentId == -1 || childId == -1)
+        {
+            return null;
+        }
+
+        List<Graph.Edge<E, N>> edgesToChild = new ArrayList<Graph.Edge<E, N>>();
+        for(int edge = this.firstEdges[parentId]; edge != NO_EDGE; edge = this.nextEdges[edge])
+        {
+            if(this.edgeChildren[edge] == childId)
+            {
+                edgesToChild.add(this.toEdge(edge));
+            }
+        }
+        return edgesToChild;
+    }
+
+    /**
+     * returns all children edges of parent node.
+     *
+     * @param parentNode the value of the parent node whose children we want to retrieve.
+     * @return a list of child edges, in the order they were added. If there are no children, returns
+     * empty list. If parent doesn't exist within the graph, return null.
+     * @throws IllegalArgumentException if parentNode parent is null.
+     */
+    public List<Graph.Edge<E, N>> getChildrenEdges(N parentNode) throws IllegalArgumentException
+    {
+        Collection<Graph.Edge<E, N>> edges = this.getChildrenEdgesView(parentNode);
+        return edges == null ? null : new ArrayList<Graph.Edge<E, N>>(edges);
+    }
+
+    /**
+     * Returns a read-only, live view of all children edges of parent node. Nothing is copied; each
+     * Edge is created as the view is iterated over.
+     *
+     * @param parentNode the value of the parent node whose children we want to view.
+     * @return an unmodifiable collection of parentNode's child edges. If there are no children, returns an
+     * empty collection. If parent doesn't exist within the graph, return null.
+     * @throws IllegalArgumentException if parentNode is null.
+     */
+    public Collection<Graph.Edge<E, N>> getChildrenEdgesView(N parentNode) throws IllegalArgumentException
+    {
+        if(parentNode == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        int parentId = this.getNodeId(parentNode);
+        if(parentId == -1)
+        {
+            return null;
+        }
+        return new AbstractCollection<Graph.Edge<E, N>>() {
+            @Override
+            public int size()
+            {
+                return CompactGraph.this.outDegrees[parentId];
+            }
+
+            @Override
+            public Iterator<Graph.Edge<E, N>> iterator()
+            {
+                return new Iterator<Graph.Edge<E, N>>() {
+                    private int edge = CompactGraph.this.firstEdges[parentId];
+
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return this.edge != NO_EDGE;
+                    }
+
+                    @Override
+                    public Graph.Edge<E, N> next()
+                    {
+                        if(!this.hasNext())
+                        {
+                            throw new NoSuchElementException();
+                        }
+                        Graph.Edge<E, N> next = CompactGraph.this.toEdge(this.edge);
+                        this.edge = CompactGraph.this.nextEdges[this.edge];
+                        return next;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Performs action on every child edge of parent node, in the order they were added.
+     *
+     * @param parentNode the value of the parent node whose children we want to visit.
+     * @param action the action to perform on each child edge.
+     * @return true if and only if parentNode exists within the graph. If it doesn't, action is never
+     * performed and false is returned.
+     * @throws IllegalArgumentException if parentNode or action are null.
+     * @spec.requires action does not modify this graph.
+     */
+    public boolean forEachChildEdge(N parentNode, Consumer<? super Graph.Edge<E, N>> action)
+            throws IllegalArgumentException
+    {
+        if(action == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        Collection<Graph.Edge<E, N>> edges = this.getChildrenEdgesView(parentNode);
+        if(edges == null)
+        {
+            return false;
+        }
+        edges.forEach(action);
+        return true;
+    }
+
+    /**
+     * returns all children nodes of the parent node.
+     *
+     * @param parentNode the value of the parent node whose children we want to retrieve.
+     * @return a list of distinct child nodes. If there are no children, returns empty list.
+     * If parent doesn't exist within the graph, return null.
+     * @throws IllegalArgumentException if parentNode is null.
+     */
+    public List<N> getChildrenNodes(N parentNode) throws IllegalArgumentException
+    {
+        if(parentNode == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        int parentId = this.getNodeId(parentNode);
+        if(parentId == -1)
+        {
+            return null;
+        }
+
+        Set<N> childrenNodes = new LinkedHashSet<N>();
+        for(int edge = this.firstEdges[parentId]; edge != NO_EDGE; edge = this.nextEdges[edge])
+        {
+            childrenNodes.add(this.getNode(this.edgeChildren[edge]));
+        }
+        return new ArrayList<N>(childrenNodes);
+    }
+
+    /**
+     * Gets and returns all nodes in this graph.
+     *
+     * @return a copy of the list of all nodes in this graph, in order of node id.
+     */
+    public List<N> getAllNodes()
+    {
+        List<N> allNodes = new ArrayList<N>(this.numOfNodes);
+        for(int nodeId = 0; nodeId < this.numOfNodes; nodeId++)
+        {
+            allNodes.add(this.getNode(nodeId));
+        }
+        return allNodes;
+    }
+
+    /**
+     * Gets and returns number of edges in this graph.
+     *
+     * @return the number of edges in this graph.
+     */
+    public int getNumOfEdges()
+    {
+        return this.numOfEdges;
+    }
+
+    /**
+     * Gets and returns number of nodes in this graph.
+     *
+     * @return the number of nodes in this graph.
+     */
+    public int getNumOfNodes()
+    {
+        return this.numOfNodes;
+    }
+
+    /**
+     * Takes an immutable CSR snapshot of this graph. See {@link CsrGraph}.
+     *
+     * @return a CsrGraph containing exactly the nodes and edges currently in this graph, with node ids
+     * equal to this graph's node ids and each node's children in the order they were added.
+     */
+    public CsrGraph<N, E> freeze()
+    {
+        return this.freeze(null);
+    }
+
+    /**
+     * Takes an immutable CSR snapshot of this graph with each node's children sorted by childOrder.
+     *
+     * @param childOrder the order each node's child edges are stored in within the snapshot, or null to
+     *                   keep the order they were added.
+     * @return a CsrGraph containing exactly the nodes and edges currently in this graph, with node ids
+     * equal to this graph's node ids.
+     */
+    public CsrGraph<N, E> freeze(Comparator<? super Graph.Edge<E, N>> childOrder)
+    {
+        Object[] snapshotNodes = Arrays.copyOf(this.nodes, this.numOfNodes);
+        Map<N, Integer> ids = new HashMap<N, Integer>(this.nodeIds);
+        int[] offsets = new int[this.numOfNodes + 1];
+        int[] targets = new int[this.numOfEdges];
+        Object[] snapshotLabels = new Object[this.numOfEdges];
+
+        int edgeIndex = 0;
+        for(int nodeId = 0; nodeId < this.numOfNodes; nodeId++)
+        {
+            offsets[nodeId] = edgeIndex;
+            if(childOrder == null)
+            {
+                for(int edge = this.firstEdges[nodeId]; edge != NO_EDGE; edge = this.nextEdges[edge])
+                {
+                    targets[edgeIndex] = this.edgeChildren[edge];
+                    snapshotLabels[edgeIndex] = this.labels[this.edgeLabels[edge]];
+                    edgeIndex++;
+                }
+            } else
+            {
+                // Edges only exist for as long as it takes to sort one node's children.
+                List<Graph.Edge<E, N>> sortedEdges = this.getChildrenEdges(this.getNode(nodeId));
+                sortedEdges.sort(childOrder);
+                for(Graph.Edge<E, N> edge : sortedEdges)
+                {
+                    targets[edgeIndex] = this.nodeIds.get(edge.getChild());
+                    snapshotLabels[edgeIndex] = edge.getLabel();
+                    edgeIndex++;
+                }
+            }
+        }
+        offsets[this.numOfNodes] = edgeIndex;
+
+        return new CsrGraph<N, E>(snapshotNodes, ids, offsets, targets, snapshotLabels, childOrder);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Int-indexed API
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns the id of a node. Ids are given out in the order nodes are added, starting at 0.
+     *
+     * @param nodeValue the node whose id we want.
+     * @return the id of nodeValue, or -1 if nodeValue is not in this graph.
+     * @throws IllegalArgumentException if nodeValue is null.
+     */
+    public int getNodeId(N nodeValue) throws IllegalArgumentException
+    {
+        if(nodeValue == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        Integer nodeId = this.nodeIds.get(nodeValue);
+        return nodeId == null ? -1 : nodeId;
+    }
+
+    /**
+     * Returns the node with the given id.
+     *
+     * @param nodeId the id of the node we want.
+     * @return the node with id nodeId.
+     * @throws IndexOutOfBoundsException if nodeId is not between 0 and getNumOfNodes() - 1.
+     */
+    @SuppressWarnings("unchecked")
+    public N getNode(int nodeId) throws IndexOutOfBoundsException
+    {
+        Objects.checkIndex(nodeId, this.numOfNodes);
+        return (N) this.nodes[nodeId];
+    }
+
+    /**
+     * Returns the number of child edges of the node with the given id. Takes constant time.
+     *
+     * @param nodeId the id of the parent node.
+     * @return the number of edges with the node as their parent.
+     * @throws IndexOutOfBoundsException if nodeId is not between 0 and getNumOfNodes() - 1.
+     */
+    public int getOutDegree(int nodeId) throws IndexOutOfBoundsException
+    {
+        Objects.checkIndex(nodeId, this.numOfNodes);
+        return this.outDegrees[nodeId];
+    }
+
+    /**
+     * Returns the id of the first child edge of the node with the given id. The rest of its child edges
+     * are found by following getNextEdge until it returns -1.
+     *
+     * @param nodeId the id of the parent node.
+     * @return the id of the node's first child edge, or -1 if it has no children.
+     * @throws IndexOutOfBoundsException if nodeId is not between 0 and getNumOfNodes() - 1.
+     */
+    public int getFirstEdge(int nodeId) throws IndexOutOfBoundsException
+    {
+        Objects.checkIndex(nodeId, this.numOfNodes);
+        return this.firstEdges[nodeId];
+    }
+
+    /**
+     * Returns the id of the child edge that comes after the given edge in its parent's list.
+     *
+     * @param edgeId the id of an edge.
+     * @return the id of the next edge with the same parent, or -1 if edgeId is the last one.
+     * @throws IndexOutOfBoundsException if edgeId is not between 0 and getNumOfEdges() - 1.
+     */
+    public int getNextEdge(int edgeId) throws IndexOutOfBoundsException
+    {
+        Objects.checkIndex(edgeId, this.numOfEdges);
+        return this.nextEdges[edgeId];
+    }
+
+    /**
+     * Returns the node id of an edge's child.
+     *
+     * @param edgeId the id of an edge.
+     * @return the id of the node the edge points to.
+     * @throws IndexOutOfBoundsException if edgeId is not between 0 and getNumOfEdges() - 1.
+     */
+    public int getEdgeChild(int edgeId) throws IndexOutOfBoundsException
+    {
+        Objects.checkIndex(edgeId, this.numOfEdges);
+        return this.edgeChildren[edgeId];
+    }
+
+    /**
+     * Returns the label of an edge.
+     *
+     * @param edgeId the id of an edge.
+     * @return the edge's label.
+     * @throws IndexOutOfBoundsException if edgeId is not between 0 and getNumOfEdges() - 1.
+     */
+    @SuppressWarnings("unchecked")
+    public E getEdgeLabel(int edgeId) throws IndexOutOfBoundsException
+    {
+        Objects.checkIndex(edgeId, this.numOfEdges);
+        return (E) this.labels[this.edgeLabels[edgeId]];
+    }
+
+    /**
+     * Creates the Graph.Edge for an edge id.
+     *
+     * @param edgeId the id of an edge.
+     * @return a new Edge equal to the one stored under edgeId.
+     * @throws IndexOutOfBoundsException if edgeId is not between 0 and getNumOfEdges() - 1.
+     */
+    @SuppressWarnings("unchecked")
+    public Graph.Edge<E, N> toEdge(int edgeId) throws IndexOutOfBoundsException
+    {
+        Objects.checkIndex(edgeId, this.numOfEdges);
+        return new Graph.Edge<E, N>((E) this.labels[this.edgeLabels[edgeId]],
+                (N) this.nodes[this.edgeParents[edgeId]], (N) this.nodes[this.edgeChildren[edgeId]]);
+    }
+
+    /**
+     * Gives label the next label id.
+     *
+     * @param label the new label.
+     * @return the id label was given.
+     */
+    private int addLabel(E label)
+    {
+        if(this.numOfLabels == this.labels.length)
+        {
+            this.labels = Arrays.copyOf(this.labels, this.labels.length * 2);
+        }
+        int labelId = this.numOfLabels++;
+        this.labels[labelId] = label;
+        this.labelIds.put(label, labelId);
+        return labelId;
+    }
+
+    /**
+     * Looks up an edge by its endpoints and label.
+     *
+     * @return the id of the edge, or NO_EDGE if there is no such edge.
+     */
+    private int findEdge(int parentId, int childId, int labelId)
+    {
+        int mask = this.edgeTable.length - 1;
+        for(int slot = hash(parentId, childId, labelId) & mask; this.edgeTable[slot] != 0; slot = (slot + 1) & mask)
+        {
+            int edge = this.edgeTable[slot] - 1;
+            if(this.edgeParents[edge] == parentId && this.edgeChildren[edge] == childId
+                    && this.edgeLabels[edge] == labelId)
+            {
+                return edge;
+            }
+        }
+        return NO_EDGE;
+    }
+
+    /**
+     * Puts an edge that is known not to be in the table into its first free slot.
+     */
+    private void insertIntoTable(int edge)
+    {
+        int mask = this.edgeTable.length - 1;
+        int slot = hash(this.edgeParents[edge], this.edgeChildren[edge], this.edgeLabels[edge]) & mask;
+        while(this.edgeTable[slot] != 0)
+        {
+            slot = (slot + 1) & mask;
+        }
+        this.edgeTable[slot] = edge + 1;
+    }
+
+    private static int hash(int parentId, int childId, int labelId)
+    {
+        int h = parentId * 0x9E3779B1 + childId * 0x85EBCA6B + labelId * 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the smallest power of two that keeps the table at most half full for the given edge count.
+     */
+    private static int tableSizeFor(int expectedEdges)
+    {
+        return Integer.highestOneBit(Math.max(8, expectedEdges) * 2 + 1) << 1;
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep()
+    {
+        assert (this.nodeIds.size() == this.numOfNodes);
+        assert (this.labelIds.size() == this.numOfLabels);
+        assert (this.edgeParents.length == this.edgeChildren.length
+                && this.edgeChildren.length == this.edgeLabels.length
+                && this.edgeLabels.length == this.nextEdges.length);
+        assert (this.numOfEdges <= this.edgeParents.length);
+        assert (2 * this.numOfEdges < this.edgeTable.length);
+    }
+}
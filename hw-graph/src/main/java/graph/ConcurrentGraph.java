@@ -0,0 +1,488 @@
+package graph;
+
+import common.RepCheck;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * <b>ConcurrentGraph</b> represents a <b>mutable</b>, <b>thread-safe</b> directed labeled graph. It has the
+ * same public API and the same meaning as {@link Graph}, but one instance can be shared by any number of
+ * threads that read and write it at the same time.
+ *
+ * <p> Nodes are kept in a ConcurrentHashMap. Each node's child edges are kept in an append-only array
+ * guarded by a lock of its own (one lock per parent node), and readers are handed an immutable snapshot
+ * of that array's filled prefix, published through a volatile field. As a result:
+ * <ul>
+ *     <li> readers never take a lock and never block,
+ *     <li> addNode and addEdge calls on different parent nodes run in parallel, while addEdge calls on
+ *          the same parent node are applied one at a time,
+ *     <li> every read of a node's children (getChildrenEdges, getChildrenEdgesView, forEachChildEdge and so
+ *          on) sees a consistent snapshot of that node's child edges, never a half-applied update.
+ * </ul>
+ *
+ * <p> Adding an edge takes amortized constant time, as in Graph. Operations that look at more than one
+ * node (getAllNodes, getNumOfEdges) are not atomic with respect to concurrent writers.
+ *
+ * @param <N> The type of the nodes you want stored in the graph.
+ * @param <E> The type of edge labels you want stored in all the edges in your graph.
+ */
+public class ConcurrentGraph<N, E> {
+
+    // Abstraction Function:
+    // A ConcurrentGraph g is made up of Nodes and Edges:
+    //      node collection in the graph => g.nodes.keySet()
+    //      for every Node n in the graph:
+    //          all edges with n as parent => g.nodes.get(n).snapshot
+
+    // Representation Invariant for each ConcurrentGraph g:
+    //  g.nodes != null && g.numOfEdges != null
+    //
+    //  For every Node n in g.nodes, with a = g.nodes.get(n):
+    //      a.snapshot contains no duplicates, and every edge in it is in a.members
+    //      once all writes have finished, a.members and a.snapshot contain the same edges
+    //
+    //  For every Edge e paired to every Node n within g.nodes:
+    //      e != null
+    //      e.parent.equals(n)
+    //      g.nodes.containsKey(e.child)
+    //
+    //  g.numOfEdges == the total size of every snapshot in g.nodes.values() once all writes have finished
+
+    private final ConcurrentMap<N, Adjacency<E, N>> nodes; // Each node paired with its child edges.
+    private final LongAdder numOfEdges;
+
+    /**
+     * @spec.effects Constructs a new ConcurrentGraph with no nodes.
+     */
+    public ConcurrentGraph()
+    {
+        this.nodes = new ConcurrentHashMap<N, Adjacency<E, N>>();
+        this.numOfEdges = new LongAdder();
+        this.checkRep();
+    }
+
+    /**
+     * @param nodeValue the value of the single node the new graph is constructed with.
+     * @throws IllegalArgumentException if nodeValue is null
+     * @spec.effects Constructs a new ConcurrentGraph with a single node.
+     */
+    public ConcurrentGraph(N nodeValue) throws IllegalArgumentException
+    {
+        this();
+        if(nodeValue == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        this.nodes.put(nodeValue, new Adjacency<E, N>());
+        this.checkRep();
+    }
+
+    /**
+     * Returns whether the parent node is connected to the child node via an edge.
+     *
+     * @param parent the parent node to test
+     * @param child the child node to test
+     * @return true if and only if parent node is connected to a child node via an edge.
+     * Returns false otherwise, including if either node passed DNE within the graph.
+     * @throws IllegalArgumentException if parent or child are null.
+     */
+    public boolean isAdjacent(N parent, N child) throws IllegalArgumentException
+    {
+        if(parent == null || child == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        Collection<Graph.Edge<E, N>> childEdges = this.getChildrenEdgesView(parent);
+        if(childEdges != null)
+        {
+            for(Graph.Edge<E, N> childEdge : childEdges)
+            {
+                if(childEdge.getChild().equals(child))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a node to this graph if it isn't already there. Safe to call from any thread.
+     *
+     * @param nodeValue value of Node being added.
+     * @return true if and only if the node is successfully added &and;&and; there was NOT a node with
+     * that value already present in this graph.
+     * @throws IllegalArgumentException if nodeValue is null
+     * @spec.modifies this
+     * @spec.effects our graph by adding a node to it.
+     */
+    public boolean addNode(N nodeValue) throws IllegalArgumentException
+    {
+        if(nodeValue == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        return this.nodes.putIfAbsent(nodeValue, new Adjacency<E, N>()) == null;
+    }
+
+    /**
+     * Adds the edge to this graph if there are no duplicates and both endpoints exist within this
+     * graph. Safe to call from any thread; concurrent calls with the same parent are applied one at a time.
+     *
+     * @param label the label of the edge being added.
+     * @param parentNode the node where the edge starts
+     * @param childNode the node where the edge ends.
+     * @return true if and only if the edge is successfully added &and;&and; there were
+     * no duplicate edges. If the parent and/or child do not exist within the graph, return
+     * false and do not add the edge.
+     * @throws IllegalArgumentException if label, parentNode, or childNode are null
+     * @spec.modifies this
+     * @spec.effects our graph by adding an edge to it.
+     */
+    public boolean addEdge(E label, N parentNode, N childNode) throws IllegalArgumentException
+    {
+        if(label == null || parentNode == null || childNode == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        Adjacency<E, N> parentEdges = this.nodes.get(parentNode);
+        if(parentEdges == null || !this.nodes.containsKey(childNode))
+        {
+            return false;
+        }
+
+        if(!parentEdges.add(new Graph.Edge<E, N>(label, parentNode, childNode)))
+        {
+            return false;
+        }
+        this.numOfEdges.increment();
+        return true;
+    }
+
+    /**
+     * Checks to see if this graph contains the specified node.
+     *
+     * @param nodeValue the value of the node we want to check for.
+     * @return true if and only if a node with nodeValue exists within the graph.
+     * @throws IllegalArgumentException if nodeValue is null
+     */
+    public boolean containsNode(N nodeValue) throws IllegalArgumentException
+    {
+        if(nodeValue == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        return this.nodes.containsKey(nodeValue);
+    }
+
+    /**
+     * Checks to see if this graph contains the specified edge.
+     *
+     * @param label the label of the edge we want to check exists.
+     * @param parent the parent of the edge we want to check exists.
+     * @param child the child of the edge we want to check exists.
+     * @return true if and only if an edge with the specified label, parent, and child exists within
+     * this graph. If it isn't, return false.
+     * @throws IllegalArgumentException if label, parent, or child are null
+     */
+    public boolean containsEdge(E label, N parent, N child) throws IllegalArgumentException
+    {
+        if(label == null || parent == null || child == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        Adjacency<E, N> childEdges = this.nodes.get(parent);
+        return childEdges != null && childEdges.members.contains(new Graph.Edge<E, N>(label, parent, child));
+    }
+
+    /**
+     * Returns a collection of Edges that connect parentNode to childNode.
+     *
+     * @param parentNode the parent node of the edges we want.
+     * @param childNode the child node of the edges we want.
+     * @return a list of Edges with the specified parentNode and childNode.
+     * If no Edges with those endpoints exist, then return an empty list.
+     * If either node doesn't exist within the graph, then return null.
+     * @throws IllegalArgumentException if either parentNode or childNode are null
+     */
+    public List<Graph.Edge<E, N>> getEdge(N parentNode, N childNode) throws IllegalArgumentException
+    {
+        if(parentNode == null || childNode == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        Collection<Graph.Edge<E, N>> edgesToAllChildren = this.getChildrenEdgesView(parentNode);
+        if(edgesToAllChildren == null || !this.nodes.containsKey(childNode))
+        {
+            return null;
+        }
+
+        List<Graph.Edge<E, N>> edgesToChild = new ArrayList<Graph.Edge<E, N>>();
+        for(Graph.Edge<E, N> edge : edgesToAllChildren)
+        {
+            if(edge.getChild().equals(childNode))
+            {
+                edgesToChild.add(edge);
+            }
+        }
+        return edgesToChild;
+    }
+
+    /**
+     * returns all children edges of parent node.
+     *
+     * @param parentNode the value of the parent node whose children we want to retrieve.
+     * @return a list of child edges. If there are no children, returns empty list.
+     * If parent doesn't exist within the graph, return null.
+     * @throws IllegalArgumentException if parentNode parent is null.
+     */
+    public List<Graph.Edge<E, N>> getChildrenEdges(N parentNode) throws IllegalArgumentException
+    {
+        Collection<Graph.Edge<E, N>> edges = this.getChildrenEdgesView(parentNode);
+        return edges == null ? null : new ArrayList<Graph.Edge<E, N>>(edges);
+    }
+
+    /**
+     * Returns a consistent, read-only snapshot of all children edges of parent node. Nothing is copied;
+     * edges added to parentNode after the call are NOT reflected in the returned collection.
+     *
+     * @param parentNode the value of the parent node whose children we want to view.
+     * @return an unmodifiable collection of parentNode's child edges. If there are no children, returns an
+     * empty collection. If parent doesn't exist within the graph, return null.
+     * @throws IllegalArgumentException if parentNode is null.
+     */
+    public Collection<Graph.Edge<E, N>> getChildrenEdgesView(N parentNode) throws IllegalArgumentException
+    {
+        if(parentNode == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        Adjacency<E, N> childEdges = this.nodes.get(parentNode);
+        return childEdges == null ? null : childEdges.snapshot;
+    }
+
+    /**
+     * Performs action on every child edge of parent node, as of a single consistent snapshot of the
+     * node's children.
+     *
+     * @param parentNode the value of the parent node whose children we want to visit.
+     * @param action the action to perform on each child edge.
+     * @return true if and only if parentNode exists within the graph. If it doesn't, action is never
+     * performed and false is returned.
+     * @throws IllegalArgumentException if parentNode or action are null.
+     */
+    public boolean forEachChildEdge(N parentNode, Consumer<? super Graph.Edge<E, N>> action)
+            throws IllegalArgumentException
+    {
+        if(action == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        Collection<Graph.Edge<E, N>> edges = this.getChildrenEdgesView(parentNode);
+        if(edges == null)
+        {
+            return false;
+        }
+        edges.forEach(action);
+        return true;
+    }
+
+    /**
+     * returns all children nodes of the parent node.
+     *
+     * @param parentNode the value of the parent node whose children we want to retrieve.
+     * @return a list of distinct child nodes. If there are no children, returns empty list.
+     * If parent doesn't exist within the graph, return null.
+     * @throws IllegalArgumentException if parentNode is null.
+     */
+    public List<N> getChildrenNodes(N parentNode) throws IllegalArgumentException
+    {
+        Collection<Graph.Edge<E, N>> edges = this.getChildrenEdgesView(parentNode);
+        if(edges == null)
+        {
+            return null;
+        }
+
+        Set<N> childrenNodes = new LinkedHashSet<N>();
+        for(Graph.Edge<E, N> edge : edges)
+        {
+            childrenNodes.add(edge.getChild());
+        }
+        return new ArrayList<N>(childrenNodes);
+    }
+
+    /**
+     * Gets and returns all nodes in this graph.
+     *
+     * @return a copy of the list of all nodes in this graph. Nodes added while the copy is being made
+     * may or may not be included.
+     */
+    public List<N> getAllNodes()
+    {
+        // Writes would each walk the whole graph; this already walks every node, so it is checked here.
+        this.checkRep();
+        return new ArrayList<N>(this.nodes.keySet());
+    }
+
+    /**
+     * Gets and returns number of edges in this graph.
+     *
+     * @return the number of edges in this graph. If this graph contains more than Integer.MAX_VALUE
+     * elements, returns Integer.MAX_VALUE.
+     */
+    public int getNumOfEdges()
+    {
+        return (int) Math.min(this.numOfEdges.sum(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets and returns number of nodes in this graph.
+     *
+     * @return the number of nodes in this graph.
+     */
+    public int getNumOfNodes()
+    {
+        return this.nodes.size();
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep() {
+        if(!RepCheck.cheap())
+        {
+            return;
+        }
+
+        //  g.nodes != null && g.numOfEdges != null
+        assert (this.nodes != null);
+        assert (this.numOfEdges != null);
+
+        // Other threads may be writing, so only the parts of the invariant that hold at every moment are
+        // checked: each snapshot is read once, and nodes are never removed.
+        if(RepCheck.full())
+        {
+            for(Map.Entry<N, Adjacency<E, N>> entry : this.nodes.entrySet())
+            {
+                Adjacency<E, N> adjacency = entry.getValue();
+                Collection<Graph.Edge<E, N>> snapshot = adjacency.snapshot;
+                assert (new HashSet<Graph.Edge<E, N>>(snapshot).size() == snapshot.size());
+                for(Graph.Edge<E, N> edge : snapshot)
+                {
+                    assert (edge != null);
+                    assert (adjacency.members.contains(edge));
+                    assert (edge.getParent().equals(entry.getKey()));
+                    assert (this.nodes.containsKey(edge.getChild()));
+                }
+            }
+        }
+    }
+
+    /**
+     * The child edges of one node. Writers append under this object's lock; readers only ever read the
+     * volatile snapshot, which is never modified after it is published.
+     */
+    private static final class Adjacency<E, N> {
+
+        // Every edge that has been added, used to reject duplicates. Readable without the lock.
+        final Set<Graph.Edge<E, N>> members = ConcurrentHashMap.newKeySet();
+        // Backing array for the snapshots. Slots below snapshot.size are never written again.
+        private Graph.Edge<E, N>[] edges = newArray(2);
+        volatile ChildEdges<E, N> snapshot = new ChildEdges<E, N>(this.edges, 0);
+
+        /**
+         * Appends edge if it isn't already present, then publishes a new snapshot that includes it.
+         *
+         * @param edge the edge to add.
+         * @return true if and only if edge was not already present.
+         */
+        boolean add(Graph.Edge<E, N> edge)
+        {
+            if(!this.members.add(edge))
+            {
+                return false;
+            }
+            synchronized(this)
+            {
+                int size = this.snapshot.size;
+                if(size == this.edges.length)
+                {
+                    // Old snapshots keep the old array, so copying leaves them untouched.
+                    this.edges = Arrays.copyOf(this.edges, size * 2);
+                }
+                this.edges[size] = edge;
+                this.snapshot = new ChildEdges<E, N>(this.edges, size + 1);
+            }
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <E, N> Graph.Edge<E, N>[] newArray(int length)
+        {
+            return (Graph.Edge<E, N>[]) new Graph.Edge<?, ?>[length];
+        }
+    }
+
+    /**
+     * An unmodifiable, fixed-size prefix of an Adjacency's backing array.
+     */
+    private static final class ChildEdges<E, N> extends AbstractCollection<Graph.Edge<E, N>> {
+
+        private final Graph.Edge<E, N>[] edges;
+        private final int size;
+
+        ChildEdges(Graph.Edge<E, N>[] edges, int size)
+        {
+            this.edges = edges;
+            this.size = size;
+        }
+
+        @Override
+        public int size()
+        {
+            return this.size;
+        }
+
+        @Override
+        public Iterator<Graph.Edge<E, N>> iterator()
+        {
+            return new Iterator<Graph.Edge<E, N>>() {
+                private int next = 0;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return this.next < ChildEdges.this.size;
+                }
+
+                @Override
+                public Graph.Edge<E, N> next()
+                {
+                    if(!this.hasNext())
+                    {
+                        throw new NoSuchElementException();
+                    }
+                    return ChildEdges.this.edges[this.next++];
+                }
+            };
+        }
+
+        @Override
+        public void forEach(Consumer<? super Graph.Edge<E, N>> action)
+        {
+            for(int i = 0; i < this.size; i++)
+            {
+                action.accept(this.edges[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package graph;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * <b>CsrGraph</b> represents an <b>immutable</b> snapshot of a directed labeled {@link Graph}, stored in
+ * compressed sparse row (CSR) form.
+ *
+ * <p> Every node in the snapshot is given a dense int id from 0 to getNumOfNodes() - 1. The child edges of
+ * the node with id i are stored next to each other in a set of shared arrays, at the edge indices from
+ * getEdgesStart(i) (inclusive) to getEdgesEnd(i) (exclusive). This lets read-heavy searches walk adjacency
+ * using plain int arrays instead of hash lookups and Edge objects.
+ *
+ * <p> A CsrGraph is an {@link IndexedGraph}, and offers the same read operations as a Graph (containsNode,
+ * isAdjacent, getChildrenEdges, getAllNodes and so on). Edges returned by those operations are created on
+ * demand, so holding on to them does not keep the snapshot alive, and comparing them to edges from the
+ * original Graph works as expected.
+ *
+ * <p> Changes made to the original Graph after the snapshot is taken are NOT reflected in the snapshot.
+ *
+ * @param <N> The type of the nodes stored in the snapshot.
+ * @param <E> The type of edge labels stored in the snapshot.
+ */
+public final class CsrGraph<N, E> implements IndexedGraph<N, E> {
+
+    // Abstraction Function:
+    // A CsrGraph c is made up of Nodes and Edges:
+    //      node with id i => c.nodes[i]
+    //      all edges with c.nodes[i] as parent => for every edge index k with
+    //          c.offsets[i] <= k < c.offsets[i + 1], the edge with label c.labels[k],
+    //          parent c.nodes[i] and child c.nodes[c.targets[k]]
+
+    // Representation Invariant for each CsrGraph c:
+    //  c.nodes, c.ids, c.offsets, c.targets, c.labels != null
+    //  c.offsets.length == c.nodes.length + 1
+    //  c.offsets[0] == 0 && c.offsets[c.nodes.length] == c.targets.length
+    //  c.offsets is non-decreasing
+    //  c.targets.length == c.labels.length
+    //  for every i: c.nodes[i] != null && c.ids.get(c.nodes[i]) == i
+    //  for every k: 0 <= c.targets[k] < c.nodes.length && c.labels[k] != null
+
+    private final Object[] nodes; // node id -> node value.
+    private final Map<N, Integer> ids; // node value -> node id.
+    private final int[] offsets; // node id -> index of its first child edge.
+    private final int[] targets; // edge index -> node id of the child.
+    private final Object[] labels; // edge index -> label.
+    private final Comparator<? super Graph.Edge<E, N>> childOrder;
+    private volatile int[] componentIds; // node id -> component id, or null until first asked for.
+
+    /**
+     * Constructs a CsrGraph directly from its arrays. The arrays are NOT copied, so callers in this
+     * package must not change them afterwards.
+     */
+    CsrGraph(Object[] nodes, Map<N, Integer> ids, int[] offsets, int[] targets, Object[] labels,
+             Comparator<? super Graph.Edge<E, N>> childOrder)
+    {
+        this.nodes = nodes;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.labels = labels;
+        this.childOrder = childOrder;
+        this.checkRep();
+    }
+
+    /**
+     * Builds an immutable CSR snapshot of the graph passed in. The children of every node are kept in the
+     * order the graph hands them out, and the snapshot's child order is the graph's, if it has one.
+     *
+     * @param graph the graph to take a snapshot of.
+     * @param <N> the type of nodes in the graph.
+     * @param <E> the type of edge labels in the graph.
+     * @return a CsrGraph containing exactly the nodes and edges of graph at the time of the call.
+     * @throws IllegalArgumentException if graph is null.
+     */
+    public static <N, E> CsrGraph<N, E> of(Graph<N, E> graph) throws IllegalArgumentException
+    {
+        return CsrGraph.of(graph, graph == null ? null : graph.getChildOrder());
+    }
+
+    /**
+     * Builds an immutable CSR snapshot of the graph passed in, storing the children of every node
+     * sorted by childOrder. Sorting happens once here, so searches that want to visit children in a
+     * fixed order (like the lexicographic BFS in MarvelPaths) don't have to sort on every visit.
+     *
+     * @param graph the graph to take a snapshot of.
+     * @param childOrder the order each node's child edges are stored in, or null to keep the order
+     *                   the graph hands them out.
+     * @param <N> the type of nodes in the graph.
+     * @param <E> the type of edge labels in the graph.
+     * @return a CsrGraph containing exactly the nodes and edges of graph at the time of the call.
+     * @throws IllegalArgumentException if graph is null.
+     */
+    public static <N, E> CsrGraph<N, E> of(Graph<N, E> graph, Comparator<? super Graph.Edge<E, N>> childOrder)
+            throws IllegalArgumentException
+    {
+        if(graph == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        // A graph that already keeps its children in this order needs no sorting.
+        boolean sorted = childOrder == null || childOrder == graph.getChildOrder();
+        return CsrGraph.build(graph.getAllNodes(), graph.getNumOfEdges(), graph::getChildrenEdgesView, childOrder,
+                sorted);
+    }
+
+    /**
+     * Builds an immutable CSR snapshot of a graph snapshot. Both snapshots have the same nodes, edges and
+     * child order, so the CsrGraph is what {@link #of(Graph)} would have returned had it been called on the
+     * graph when the snapshot was taken, even if the graph has changed since.
+     *
+     * @param snapshot the graph snapshot to copy.
+     * @param <N> the type of nodes in the snapshot.
+     * @param <E> the type of edge labels in the snapshot.
+     * @return a CsrGraph containing exactly the nodes and edges of snapshot.
+     * @throws IllegalArgumentException if snapshot is null.
+     */
+    public static <N, E> CsrGraph<N, E> of(GraphSnapshot<N, E> snapshot) throws IllegalArgumentException
+    {
+        if(snapshot == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        return CsrGraph.build(snapshot.getAllNodes(), snapshot.getNumOfEdges(), snapshot::getChildrenEdgesView,
+                snapshot.getChildOrder(), true);
+    }
+
+    /**
+     * Lays out the nodes and child edges of a graph or graph snapshot in CSR form.
+     *
+     * @param allNodes every node of the graph.
+     * @param numOfEdges the number of edges in the graph.
+     * @param children maps every node to a view of its child edges.
+     * @param childOrder the child order of the new CsrGraph.
+     * @param sorted true if children already hands out child edges in childOrder.
+     */
+    private static <N, E> CsrGraph<N, E> build(List<N> allNodes, int numOfEdges,
+                                               Function<N, Collection<Graph.Edge<E, N>>> children,
+                                               Comparator<? super Graph.Edge<E, N>> childOrder, boolean sorted)
+    {
+        Object[] nodes = allNodes.toArray();
+        Map<N, Integer> ids = new HashMap<N, Integer>(allNodes.size() * 4 / 3 + 1);
+        for(int i = 0; i < nodes.length; i++)
+        {
+            ids.put(allNodes.get(i), i);
+        }
+
+        int[] offsets = new int[nodes.length + 1];
+        int[] targets = new int[numOfEdges];
+        Object[] labels = new Object[targets.length];
+        int edgeIndex = 0;
+        for(int i = 0; i < nodes.length; i++)
+        {
+            offsets[i] = edgeIndex;
+            Collection<Graph.Edge<E, N>> childEdges = children.apply(allNodes.get(i));
+            if(!sorted)
+            {
+                List<Graph.Edge<E, N>> sortedEdges = new ArrayList<Graph.Edge<E, N>>(childEdges);
+                sortedEdges.sort(childOrder);
+                childEdges = sortedEdges;
+            }
+            for(Graph.Edge<E, N> childEdge : childEdges)
+            {
+                targets[edgeIndex] = ids.get(childEdge.getChild());
+                labels[edgeIndex] = childEdge.getLabel();
+                edgeIndex++;
+            }
+        }
+        offsets[nodes.length] = edgeIndex;
+
+        return new CsrGraph<N, E>(nodes, ids, offsets, targets, labels, childOrder);
+    }
+
+    /**
+     * Returns the order the children of every node are stored in.
+     *
+     * @return the comparator this snapshot's child edges were sorted by, or null if they are kept in
+     * the order the original graph handed them out.
+     */
+    @Override
+    public Comparator<? super Graph.Edge<E, N>> getChildOrder()
+    {
+        return this.childOrder;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Graph read API
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Gets and returns all nodes in this snapshot.
+     *
+     * <p> The only Graph read operation CsrGraph implements itself instead of taking IndexedGraph's
+     * default: since the nodes are already in an array in id order, they are copied in one go instead of
+     * with a getNode call per node, which matters to callers that list every node of a large graph.
+     *
+     * @return a list of all nodes in this snapshot, in order of their node ids.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<N> getAllNodes()
+    {
+        return new ArrayList<N>(Arrays.asList((N[]) this.nodes));
+    }
+
+    /**
+     * Gets and returns number of edges in this snapshot.
+     *
+     * @return the number of edges in this snapshot.
+     */
+    @Override
+    public int getNumOfEdges()
+    {
+        return this.targets.length;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Int-indexed API
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Gets and returns number of nodes in this snapshot. Node ids run from 0 to this number - 1.
+     *
+     * @return the number of nodes in this snapshot.
+     */
+    @Override
+    public int getNumOfNodes()
+    {
+        return this.nodes.length;
+    }
+
+    /**
+     * Returns the dense id of a node.
+     *
+     * @param nodeValue the node whose id we want.
+     * @return the id of nodeValue, or -1 if nodeValue doesn't exist within this snapshot.
+     * @throws IllegalArgumentException if nodeValue is null
+     */
+    @Override
+    public int getNodeId(N nodeValue) throws IllegalArgumentException
+    {
+        if(nodeValue == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        Integer id = this.ids.get(nodeValue);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the node with the given id.
+     *
+     * @param nodeId the id of the node we want.
+     * @return the node whose id is nodeId.
+     * @throws IndexOutOfBoundsException if nodeId is not a valid node id.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public N getNode(int nodeId)
+    {
+        return (N) this.nodes[nodeId];
+    }
+
+    /**
+     * Returns the index of the first child edge of a node.
+     *
+     * @param nodeId the id of the parent node.
+     * @return the index of nodeId's first child edge. The child edges of nodeId are exactly the edge
+     * indices from getEdgesStart(nodeId) (inclusive) to getEdgesEnd(nodeId) (exclusive).
+     * @throws IndexOutOfBoundsException if nodeId is not a valid node id.
+     */
+    @Override
+    public int getEdgesStart(int nodeId)
+    {
+        this.checkNodeId(nodeId);
+        return this.offsets[nodeId];
+    }
+
+    /**
+     * Returns the index one past the last child edge of a node.
+     *
+     * @param nodeId the id of the parent node.
+     * @return the index one past nodeId's last child edge.
+     * @throws IndexOutOfBoundsException if nodeId is not a valid node id.
+     */
+    @Override
+    public int getEdgesEnd(int nodeId)
+    {
+        this.checkNodeId(nodeId);
+        return this.offsets[nodeId + 1];
+    }
+
+    /**
+     * Returns the id of the child node an edge points to.
+     *
+     * @param edgeIndex the index of the edge.
+     * @return the node id of the child of the edge at edgeIndex.
+     * @throws IndexOutOfBoundsException if edgeIndex is not a valid edge index.
+     */
+    @Override
+    public int getEdgeChild(int edgeIndex)
+    {
+        return this.targets[edgeIndex];
+    }
+
+    /**
+     * Returns the label of an edge.
+     *
+     * @param edgeIndex the index of the edge.
+     * @return the label of the edge at edgeIndex.
+     * @throws IndexOutOfBoundsException if edgeIndex is not a valid edge index.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E getEdgeLabel(int edgeIndex)
+    {
+        return (E) this.labels[edgeIndex];
+    }
+
+    /**
+     * Returns the id of the weakly connected component a node is in. The ids of every node are computed
+     * the first time one is asked for; after that, each lookup takes constant time.
+     *
+     * @param nodeId the id of the node.
+     * @return the id of nodeId's component, from 0 to one less than the number of components.
+     * @throws IndexOutOfBoundsException if nodeId is not a valid node id.
+     */
+    @Override
+    public int getComponentId(int nodeId)
+    {
+        this.checkNodeId(nodeId);
+        int[] componentIds = this.componentIds;
+        if(componentIds == null)
+        {
+            // Two threads may both compute the ids, which is harmless: they get the same ones.
+            componentIds = GraphAnalytics.componentIds(this);
+            this.componentIds = componentIds;
+        }
+        return componentIds[nodeId];
+    }
+
+    /**
+     * Throws an IndexOutOfBoundsException if nodeId is not a valid node id.
+     */
+    private void checkNodeId(int nodeId)
+    {
+        if(nodeId < 0 || nodeId >= this.nodes.length)
+        {
+            throw new IndexOutOfBoundsException("Invalid node id: " + nodeId);
+        }
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep() {
+        assert (this.nodes != null && this.ids != null);
+        assert (this.offsets != null && this.targets != null && this.labels != null);
+        assert (this.offsets.length == this.nodes.length + 1);
+        assert (this.offsets[0] == 0 && this.offsets[this.nodes.length] == this.targets.length);
+        assert (this.targets.length == this.labels.length);
+    }
+}
@@ -1,7 +1,12 @@
 package graph;
 
+import common.RepCheck;
+
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
 
 /**
  * <b>Graph</b> represents a <b>mutable</b> directed labeled graph, which is a collection of
@@ -45,6 +50,32 @@ import java.util.List;
  * <p><b>endpoint</b> : Node // Either node that makes up an edge. If edge A has the parent node B
  * and the child node C, then both nodes B and C are endpoints of A.
  *
+ * <p> By default a Graph keeps a secondary <b>edge index</b> from every (parent, child) pair to the labels
+ * of the edges between them. This makes isAdjacent, containsEdge and getEdge take expected constant time
+ * (plus the number of edges returned) instead of scanning every child edge of the parent, which matters for
+ * nodes with thousands of children. The index costs roughly one small hash map per parent node with
+ * children, plus about 100 bytes per distinct (parent, child) pair and about 40 bytes per edge. Graphs that
+ * are memory-sensitive and rarely ask about specific pairs can opt out with {@link #Graph(boolean)}.
+ *
+ * <p> By default a Graph also keeps a <b>parent index</b> from every node to the edges that point to it,
+ * so getParentEdges and getParentNodes take time linear in the number of parents instead of scanning
+ * every edge in the graph. It shares the Edge objects of the child sets, so it costs about 40 bytes per
+ * edge plus one small hash set per node with parents. It can be turned off with
+ * {@link #Graph(boolean, boolean)}.
+ *
+ * <p> A Graph may also be given a <b>child order</b> with {@link #Graph(boolean, boolean, Comparator)}.
+ * Each node's child edges are then kept sorted by it as they are added, and every method that returns
+ * or visits a node's children, in the graph and in its snapshots, does so in that order. Searches that
+ * must visit children in a fixed order can then walk them as they are instead of sorting them on every
+ * visit, at the cost of O(log d) comparisons to add an edge to a node with d children.
+ *
+ * <p> A Graph can hand out immutable, versioned <b>snapshots</b> of itself with {@link #snapshot()}. Taking
+ * a snapshot copies nothing; instead, the first change after a snapshot copies the node table (one
+ * reference per node), and every later change copies only the child edge set it modifies, the first time
+ * it modifies it. Searches can run on a snapshot, without locking, while another thread keeps adding to
+ * the graph. A Graph is otherwise not thread-safe: only addNode, addEdge, isConnected, getComponentId,
+ * snapshot and getVersion may be called while another thread is changing it.
+ *
  * @param <N> The type of the nodes you want stored in the Graph.
  * @param <E> The type of edge labels you want stored in all the edges in your graph.
  *
@@ -56,6 +87,15 @@ public class Graph<N, E> {
     //      node collection in the graph => g.nodes.keySet()
     //      for every Node n in the graph:
     //          all edges with n as parent => g.nodes.get(n)
+    //
+    // g.edgeIndex is a secondary view of the same edges used for fast lookups:
+    //      labels of all edges from parent p to child c => g.edgeIndex.get(p).get(c)
+    //
+    // g.parentIndex is a secondary view of the same edges keyed by child:
+    //      all edges with n as child => g.parentIndex.get(n), or no edges if n is not a key
+    //
+    // g.componentIndex, when not null, tracks the weakly connected components of the graph:
+    //      nodes a and b are connected => g.componentIndex.isConnected(a, b)
 
     // Representation Invariant for each Graph g:
     //  g.nodes != null
@@ -68,16 +108,101 @@ public class Graph<N, E> {
     //
     //  For all Edges e between node A and node B:
     //      e is unique.
+    //
+    //  g.numOfEdges == the total size of every set in g.nodes.values()
+    //
+    //  If g.edgeIndex != null:
+    //      Edge(l, p, c) is in g.nodes.get(p) if and only if g.edgeIndex.get(p).get(c) contains l
+    //      no map or set within g.edgeIndex is empty
+    //
+    //  If g.parentIndex != null:
+    //      Edge e is in g.nodes.get(e.parent) if and only if e is in g.parentIndex.get(e.child)
+    //
+    //  g.version >= 0, and g.version == g.lastSnapshot.getVersion() only if g has not changed since
+    //  g.lastSnapshot was taken
+    //  If g.ownedSets != null, g.nodes (when g.nodesShared) and every set in g.nodes.values() that is not
+    //  in g.ownedSets may be shared with a snapshot, and is never modified
+    //
+    //  If g.childOrder != null, every set in g.nodes.values() is a SortedSet ordered by g.childOrder
+    //
+    //  If g.componentIndex != null:
+    //      g.componentIndex has every node in g.nodes.keySet(), and no other
+    //      for every edge e, g.componentIndex.isConnected(e.parent, e.child)
 
     private Map<N, Set<Edge<E, N>>> nodes; // Each node in the map is paired with all of their child edges.
-    private final boolean HEAVY_DEBUG = false;
+    private final Map<N, Map<N, Set<E>>> edgeIndex; // parent -> child -> labels, or null if not indexed.
+    private final Map<N, Set<Edge<E, N>>> parentIndex; // child -> edges into it, or null if not indexed.
+    private final Comparator<? super Edge<E, N>> childOrder; // The order child sets are kept in, or null.
+    private long numOfEdges; // Kept up to date by addEdge so the graph's size is known in O(1).
+    private volatile long version; // Counts every change made to this graph.
+    private GraphSnapshot<N, E> lastSnapshot; // The latest snapshot, or null if none has been taken.
+    private boolean nodesShared; // Whether lastSnapshot shares this.nodes.
+    private Set<Set<Edge<E, N>>> ownedSets; // Child sets made since lastSnapshot, or null before the first.
+    private volatile GraphAnalytics.ComponentIndex<N> componentIndex; // Null until first asked for.
 
     /**
-     * @spec.effects Constructs a new Graph with no nodes.
+     * @spec.effects Constructs a new Graph with no nodes, an edge index and a parent index.
      */
     public Graph()
     {
-        this.nodes = new HashMap<N, Set<Edge<E, N>>>();
+        this(true);
+    }
+
+    /**
+     * @param indexEdges whether this graph should keep an edge index from each (parent, child) pair
+     *                   to its labels. See the class documentation for its cost.
+     * @spec.effects Constructs a new Graph with no nodes and a parent index.
+     */
+    public Graph(boolean indexEdges)
+    {
+        this(indexEdges, true);
+    }
+
+    /**
+     * @param indexEdges whether this graph should keep an edge index from each (parent, child) pair
+     *                   to its labels.
+     * @param indexParents whether this graph should keep a parent index from each node to the edges
+     *                     that point to it. See the class documentation for the cost of both indexes.
+     * @spec.effects Constructs a new Graph with no nodes.
+     */
+    public Graph(boolean indexEdges, boolean indexParents)
+    {
+        this(indexEdges, indexParents, null);
+    }
+
+    /**
+     * @param indexEdges whether this graph should keep an edge index from each (parent, child) pair
+     *                   to its labels.
+     * @param indexParents whether this graph should keep a parent index from each node to the edges
+     *                     that point to it.
+     * @param childOrder the order every node's child edges are kept in, or null for no particular order.
+     *                   It must only compare two edges with the same parent as equal if they are equal.
+     * @spec.effects Constructs a new Graph with no nodes.
+     */
+    public Graph(boolean indexEdges, boolean indexParents, Comparator<? super Edge<E, N>> childOrder)
+    {
+        this(new HashMap<N, Set<Edge<E, N>>>(), indexEdges, indexParents, childOrder);
+    }
+
+    /**
+     * Constructs a Graph that takes ownership of nodes instead of copying it. Used by GraphBuilder.
+     *
+     * @param nodes every node of the new graph, each paired with an empty, mutable set for its child edges.
+     * @param indexEdges whether this graph should keep an edge index.
+     * @param indexParents whether this graph should keep a parent index.
+     * @param childOrder the order child edges are kept in, or null.
+     * @spec.requires nodes is not used by the caller afterwards, and if childOrder != null, every set in
+     * nodes is a SortedSet ordered by childOrder.
+     * @spec.effects Constructs a new Graph with the given nodes and no edges.
+     */
+    Graph(Map<N, Set<Edge<E, N>>> nodes, boolean indexEdges, boolean indexParents,
+          Comparator<? super Edge<E, N>> childOrder)
+    {
+        this.nodes = nodes;
+        this.childOrder = childOrder;
+        // Sized like nodes, so neither index rehashes while a known number of nodes is loaded.
+        this.edgeIndex = indexEdges ? new HashMap<N, Map<N, Set<E>>>(nodes.size() * 4 / 3 + 1) : null;
+        this.parentIndex = indexParents ? new HashMap<N, Set<Edge<E, N>>>(nodes.size() * 4 / 3 + 1) : null;
         checkRep();
     }
 
@@ -96,6 +221,9 @@ public class Graph<N, E> {
 
         this.nodes = new HashMap<N, Set<Edge<E, N>>>();
         this.nodes.put(nodeValue, new HashSet<Edge<E, N>>());
+        this.edgeIndex = new HashMap<N, Map<N, Set<E>>>();
+        this.parentIndex = new HashMap<N, Set<Edge<E, N>>>();
+        this.childOrder = null;
         checkRep();
     }
 
@@ -116,6 +244,14 @@ public class Graph<N, E> {
             throw new IllegalArgumentException();
         }
 
+        if(this.edgeIndex != null)
+        {
+            Map<N, Set<E>> children = this.edgeIndex.get(parent);
+            boolean isAdjacent = children != null && children.containsKey(child);
+            this.checkRep();
+            return isAdjacent;
+        }
+
         Set<Edge<E, N>> childEdges = this.nodes.get(parent);
         if(childEdges != null)
         {
@@ -143,7 +279,7 @@ public class Graph<N, E> {
      * @spec.modifies this
      * @spec.effects our graph by adding a node to it.
      */
-    public boolean addNode(N nodeValue) throws IllegalArgumentException
+    public synchronized boolean addNode(N nodeValue) throws IllegalArgumentException
     {
         this.checkRep();
         if(nodeValue == null)
@@ -157,7 +293,18 @@ public class Graph<N, E> {
             return false;
         }
 
-        this.nodes.put(nodeValue, new HashSet<Edge<E, N>>());
+        Set<Edge<E, N>> childEdges = Graph.newChildSet(this.childOrder);
+        this.writableNodes().put(nodeValue, childEdges);
+        if(this.ownedSets != null)
+        {
+            this.ownedSets.add(childEdges);
+        }
+        GraphAnalytics.ComponentIndex<N> index = this.componentIndex;
+        if(index != null)
+        {
+            index.add(nodeValue);
+        }
+        this.version++;
         this.checkRep();
         return true;
     }
@@ -176,7 +323,7 @@ public class Graph<N, E> {
      * @spec.modifies this
      * @spec.effects our graph by adding an edge to it.
      */
-    public boolean addEdge(E label, N parentNode, N childNode)
+    public synchronized boolean addEdge(E label, N parentNode, N childNode)
             throws IllegalArgumentException
     {
         this.checkRep();
@@ -187,14 +334,307 @@ public class Graph<N, E> {
 
         boolean didAdd = false;
         if(this.nodes.containsKey(parentNode) && this.nodes.containsKey(childNode)) {
-            Edge<E, N> newEdge = new Edge<E, N>(label, parentNode, childNode);
-            didAdd = this.nodes.get(parentNode).add(newEdge);
+            didAdd = this.insertEdge(label, parentNode, childNode);
         }
 
         this.checkRep();
         return didAdd;
     }
 
+    /**
+     * Adds the edge to this graph without checking its arguments or the representation invariant.
+     * Shared by addEdge and GraphBuilder, which validates a whole batch of edges at once instead.
+     *
+     * @param label the label of the edge being added.
+     * @param parentNode the node where the edge starts
+     * @param childNode the node where the edge ends.
+     * @return true if and only if the edge was not already in this graph.
+     * @spec.requires label, parentNode and childNode are not null, and both nodes are in this graph.
+     * @spec.modifies this
+     * @spec.effects our graph by adding an edge to it.
+     */
+    boolean insertEdge(E label, N parentNode, N childNode)
+    {
+        Edge<E, N> newEdge;
+        if(this.edgeIndex == null)
+        {
+            newEdge = new Edge<E, N>(label, parentNode, childNode);
+            if(this.ownedSets == null)
+            {
+                if(!this.nodes.get(parentNode).add(newEdge))
+                {
+                    return false;
+                }
+            } else
+            {
+                // Only copy a set a snapshot shares if the edge really is new.
+                if(this.nodes.get(parentNode).contains(newEdge))
+                {
+                    return false;
+                }
+                this.writableChildEdges(parentNode).add(newEdge);
+            }
+        } else
+        {
+            // The index tells us about duplicates, so an Edge is only built when it is really added.
+            Set<E> labels = this.edgeIndex.computeIfAbsent(parentNode, k -> new HashMap<N, Set<E>>())
+                    .computeIfAbsent(childNode, k -> new LinkedHashSet<E>(2));
+            if(!labels.add(label))
+            {
+                return false;
+            }
+            newEdge = new Edge<E, N>(label, parentNode, childNode);
+            this.writableChildEdges(parentNode).add(newEdge);
+        }
+
+        this.numOfEdges++;
+        this.version++;
+        if(this.parentIndex != null)
+        {
+            this.parentIndex.computeIfAbsent(childNode, k -> new HashSet<Edge<E, N>>()).add(newEdge);
+        }
+        GraphAnalytics.ComponentIndex<N> index = this.componentIndex;
+        if(index != null)
+        {
+            index.union(parentNode, childNode);
+        }
+        return true;
+    }
+
+    /**
+     * Adds a batch of edges to this graph on pool, leaving it as calling insertEdge on each of them in
+     * order would. Every child set and edge index entry gets its edges in the same order insertEdge would
+     * add them in. Used by both GraphBuilder.build methods.
+     *
+     * <p> The edges are grouped by parent with a counting sort, which keeps every parent's edges in the
+     * order they were given, and then every parent's child set and edge index are filled by one task.
+     * Tasks for different parents touch disjoint sets, so they need no locking. The parent index, which
+     * is shared between parents, is filled afterwards in the original order.
+     *
+     * @param labels the labels of the edges being added.
+     * @param parents the nodes where the edges start.
+     * @param children the nodes where the edges end.
+     * @param numOfEdges how many of the leading elements of labels, parents and children to add.
+     * @param pool the pool the child sets are filled on, or null to fill them all in the calling thread.
+     * @spec.requires this graph has no edges and has never been snapshot, and every element below numOfEdges
+     * is non-null and, for parents and children, in this graph.
+     * @spec.modifies this
+     * @spec.effects our graph by adding every edge to it that is not a duplicate.
+     */
+    void insertEdges(E[] labels, N[] parents, N[] children, int numOfEdges, ForkJoinPool pool)
+    {
+        List<N> parentNodes = new ArrayList<N>(this.nodes.keySet());
+        Map<N, Integer> parentIds = new HashMap<N, Integer>(parentNodes.size() * 4 / 3 + 1);
+        for(int id = 0; id < parentNodes.size(); id++)
+        {
+            parentIds.put(parentNodes.get(id), id);
+        }
+
+        // starts[p] is where parent p's edges begin in edgeIds, and edgeIds lists every parent's edges in order.
+        int[] edgeParents = new int[numOfEdges];
+        int[] starts = new int[parentNodes.size() + 1];
+        for(int i = 0; i < numOfEdges; i++)
+        {
+            edgeParents[i] = parentIds.get(parents[i]);
+            starts[edgeParents[i] + 1]++;
+        }
+        for(int id = 0; id < parentNodes.size(); id++)
+        {
+            starts[id + 1] += starts[id];
+        }
+        int[] edgeIds = new int[numOfEdges];
+        int[] next = Arrays.copyOf(starts, parentNodes.size());
+        for(int i = 0; i < numOfEdges; i++)
+        {
+            edgeIds[next[edgeParents[i]]++] = i;
+        }
+
+        if(this.edgeIndex != null)
+        {
+            // Tasks only read the outer map, so every parent's entry is made up front, in the order
+            // insertEdge would have made them.
+            for(int i = 0; i < numOfEdges; i++)
+            {
+                if(edgeIds[starts[edgeParents[i]]] == i)
+                {
+                    this.edgeIndex.put(parents[i], new HashMap<N, Set<E>>());
+                }
+            }
+        }
+
+        Edge<E, N>[] added = this.parentIndex == null ? null : newEdgeArray(numOfEdges);
+        InsertTask<N, E> task = new InsertTask<N, E>(this, parentNodes, labels, children, starts, edgeIds, added,
+                0, parentNodes.size());
+        long count = pool == null ? task.insertRange() : pool.invoke(task);
+        this.numOfEdges += count;
+        this.version += count;
+        // Joining components edge by edge would slow down every build, including those of graphs that are
+        // never asked about them, so the index is built again from scratch the next time it is needed.
+        this.componentIndex = null;
+        if(this.parentIndex != null)
+        {
+            for(int i = 0; i < numOfEdges; i++)
+            {
+                if(added[i] != null)
+                {
+                    this.parentIndex.computeIfAbsent(children[i], k -> new HashSet<Edge<E, N>>()).add(added[i]);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <N, E> Edge<E, N>[] newEdgeArray(int length)
+    {
+        return (Edge<E, N>[]) new Edge<?, ?>[length];
+    }
+
+    /**
+     * Fills the child sets and edge index of a range of parents for insertEdges, and counts the edges
+     * that were added. Ranges are split in halves until they hold at most INSERT_THRESHOLD edges.
+     */
+    private static final class InsertTask<N, E> extends RecursiveTask<Long> {
+        private static final int INSERT_THRESHOLD = 4096;
+
+        private final Graph<N, E> graph;
+        private final List<N> parentNodes;
+        private final E[] labels;
+        private final N[] children;
+        private final int[] starts;
+        private final int[] edgeIds;
+        private final Edge<E, N>[] added; // edge -> the Edge made for it if it was added, or null if not needed.
+        private final int start;
+        private final int end;
+
+        private InsertTask(Graph<N, E> graph, List<N> parentNodes, E[] labels, N[] children, int[] starts,
+                           int[] edgeIds, Edge<E, N>[] added, int start, int end)
+        {
+            this.graph = graph;
+            this.parentNodes = parentNodes;
+            this.labels = labels;
+            this.children = children;
+            this.starts = starts;
+            this.edgeIds = edgeIds;
+            this.added = added;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Long compute()
+        {
+            if(this.end - this.start == 1 || this.starts[this.end] - this.starts[this.start] <= INSERT_THRESHOLD)
+            {
+                return this.insertRange();
+            }
+            int middle = (this.start + this.end) >>> 1;
+            InsertTask<N, E> right = new InsertTask<N, E>(this.graph, this.parentNodes, this.labels, this.children,
+                    this.starts, this.edgeIds, this.added, middle, this.end);
+            right.fork();
+            long count = new InsertTask<N, E>(this.graph, this.parentNodes, this.labels, this.children,
+                    this.starts, this.edgeIds, this.added, this.start, middle).compute();
+            return count + right.join();
+        }
+
+        /**
+         * Adds every edge of the parents in this task's range, without forking, and returns how many were
+         * not duplicates.
+         */
+        private long insertRange()
+        {
+            long count = 0;
+            for(int p = this.start; p < this.end; p++)
+            {
+                count += this.insertChildEdges(p);
+            }
+            return count;
+        }
+
+        /**
+         * Adds every edge of parent p, the way insertEdge would, and returns how many were not duplicates.
+         */
+        private long insertChildEdges(int p)
+        {
+            N parentNode = this.parentNodes.get(p);
+            Set<Edge<E, N>> childEdges = this.graph.nodes.get(parentNode);
+            Map<N, Set<E>> labelsByChild = this.graph.edgeIndex == null ? null : this.graph.edgeIndex.get(parentNode);
+            long count = 0;
+            for(int k = this.starts[p]; k < this.starts[p + 1]; k++)
+            {
+                int i = this.edgeIds[k];
+                Edge<E, N> newEdge;
+                if(labelsByChild != null)
+                {
+                    if(!labelsByChild.computeIfAbsent(this.children[i], c -> new LinkedHashSet<E>(2))
+                            .add(this.labels[i]))
+                    {
+                        continue;
+                    }
+                    newEdge = new Edge<E, N>(this.labels[i], parentNode, this.children[i]);
+                    childEdges.add(newEdge);
+                } else
+                {
+                    newEdge = new Edge<E, N>(this.labels[i], parentNode, this.children[i]);
+                    if(!childEdges.add(newEdge))
+                    {
+                        continue;
+                    }
+                }
+                if(this.added != null)
+                {
+                    this.added[i] = newEdge;
+                }
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Returns a new, empty set for a node's child edges.
+     *
+     * @param childOrder the order the set keeps its edges in, or null for no particular order.
+     * @return a TreeSet ordered by childOrder, or a HashSet if childOrder is null.
+     */
+    static <N, E> Set<Edge<E, N>> newChildSet(Comparator<? super Edge<E, N>> childOrder)
+    {
+        return childOrder == null ? new HashSet<Edge<E, N>>() : new TreeSet<Edge<E, N>>(childOrder);
+    }
+
+    /**
+     * Returns this.nodes, first copying it if a snapshot shares it.
+     */
+    private Map<N, Set<Edge<E, N>>> writableNodes()
+    {
+        if(this.nodesShared)
+        {
+            this.nodes = new HashMap<N, Set<Edge<E, N>>>(this.nodes);
+            this.nodesShared = false;
+        }
+        return this.nodes;
+    }
+
+    /**
+     * Returns the child edge set of parentNode, first copying it if a snapshot shares it.
+     *
+     * @spec.requires parentNode is in this graph.
+     */
+    private Set<Edge<E, N>> writableChildEdges(N parentNode)
+    {
+        Set<Edge<E, N>> childEdges = this.nodes.get(parentNode);
+        if(this.ownedSets == null || this.ownedSets.contains(childEdges))
+        {
+            return childEdges;
+        }
+
+        // Copying a TreeSet from a SortedSet keeps its order and takes linear time.
+        childEdges = this.childOrder == null ? new HashSet<Edge<E, N>>(childEdges)
+                : new TreeSet<Edge<E, N>>((SortedSet<Edge<E, N>>) childEdges);
+        this.writableNodes().put(parentNode, childEdges);
+        this.ownedSets.add(childEdges);
+        return childEdges;
+    }
+
     /**
      * Checks to see if this graph contains the specified node.
      *
@@ -236,6 +676,15 @@ public class Graph<N, E> {
             throw new IllegalArgumentException();
         }
 
+        if(this.edgeIndex != null)
+        {
+            Map<N, Set<E>> children = this.edgeIndex.get(parent);
+            Set<E> labels = children == null ? null : children.get(child);
+            boolean doesContain = labels != null && labels.contains(label);
+            this.checkRep();
+            return doesContain;
+        }
+
         Set<Edge<E, N>> childEdges = this.nodes.get(parent);
         if(childEdges != null)
         {
@@ -281,6 +730,21 @@ public class Graph<N, E> {
         }
 
         List<Edge<E, N>> edgesToChild = new ArrayList<Edge<E, N>>();
+        if(this.edgeIndex != null)
+        {
+            Map<N, Set<E>> children = this.edgeIndex.get(parentNode);
+            Set<E> labels = children == null ? null : children.get(childNode);
+            if(labels != null)
+            {
+                for(E label : labels)
+                {
+                    edgesToChild.add(new Edge<E, N>(label, parentNode, childNode));
+                }
+            }
+            this.checkRep();
+            return edgesToChild;
+        }
+
         Set<Edge<E, N>> edgesToAllChildren = this.nodes.get(parentNode);
         for(Edge<E, N> edge : edgesToAllChildren)
         {
@@ -347,18 +811,203 @@ public class Graph<N, E> {
             return null;
         }
 
-        List<N> childrenNodes = new ArrayList<N>();
+        // A LinkedHashSet drops repeated children in O(1) while keeping the order they were first seen in.
+        Set<N> childrenNodes = new LinkedHashSet<N>();
+        Set<Edge<E, N>> edges = this.nodes.get(parentNode);
+        for(Edge<E, N> edge : edges)
+        {
+            childrenNodes.add(edge.getChild());
+        }
+
+        this.checkRep();
+        return new ArrayList<N>(childrenNodes);
+    }
+
+    /**
+     * Returns a read-only, live view of all children edges of parent node. Unlike getChildrenEdges,
+     * nothing is copied, so this is the cheap way for hot loops to walk a node's adjacency.
+     *
+     * <p> The view reflects later changes to this graph, until the next call to snapshot(): after that, it
+     * keeps showing parentNode's children as they were in the snapshot. Modifying this graph while
+     * iterating over the view results in a ConcurrentModificationException, just like modifying any other
+     * collection would.
+     *
+     * @param parentNode the value of the parent node whose children we want to view.
+     * @return an unmodifiable collection of parentNode's child edges. If there are no children, returns an
+     * empty collection. If parent doesn't exist within the graph, return null.
+     * @throws IllegalArgumentException if parentNode is null.
+     */
+    public Collection<Edge<E, N>> getChildrenEdgesView(N parentNode) throws IllegalArgumentException
+    {
+        this.checkRep();
+        if(parentNode == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
         Set<Edge<E, N>> edges = this.nodes.get(parentNode);
+        return edges == null ? null : Collections.unmodifiableCollection(edges);
+    }
+
+    /**
+     * Performs action on every child edge of parent node without copying the child edges.
+     *
+     * @param parentNode the value of the parent node whose children we want to visit.
+     * @param action the action to perform on each child edge.
+     * @return true if and only if parentNode exists within the graph. If it doesn't, action is never
+     * performed and false is returned.
+     * @throws IllegalArgumentException if parentNode or action are null.
+     * @spec.requires action does not modify this graph.
+     */
+    public boolean forEachChildEdge(N parentNode, Consumer<? super Edge<E, N>> action)
+            throws IllegalArgumentException
+    {
+        this.checkRep();
+        if(parentNode == null || action == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        Set<Edge<E, N>> edges = this.nodes.get(parentNode);
+        if(edges == null)
+        {
+            return false;
+        }
         for(Edge<E, N> edge : edges)
         {
-            if(!childrenNodes.contains(edge.getChild()))
+            action.accept(edge);
+        }
+
+        this.checkRep();
+        return true;
+    }
+
+    /**
+     * returns all parent edges of child node, that is, every edge that points to it.
+     *
+     * <p> Takes time linear in the number of parent edges if this graph has a parent index, and linear
+     * in the size of the whole graph otherwise.
+     *
+     * @param childNode the value of the child node whose parents we want to retrieve.
+     * @return a list of parent edges. If there are no parents, returns empty list.
+     * If child doesn't exist within the graph, return null.
+     * @throws IllegalArgumentException if childNode is null.
+     */
+    public List<Edge<E, N>> getParentEdges(N childNode) throws IllegalArgumentException
+    {
+        this.checkRep();
+        if(childNode == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        if(!this.nodes.containsKey(childNode))
+        {
+            return null;
+        }
+
+        List<Edge<E, N>> parentEdges = new ArrayList<Edge<E, N>>();
+        if(this.parentIndex != null)
+        {
+            Set<Edge<E, N>> edges = this.parentIndex.get(childNode);
+            if(edges != null)
             {
-                childrenNodes.add(edge.getChild());
+                parentEdges.addAll(edges);
+            }
+        } else
+        {
+            for(Set<Edge<E, N>> edges : this.nodes.values())
+            {
+                for(Edge<E, N> edge : edges)
+                {
+                    if(edge.getChild().equals(childNode))
+                    {
+                        parentEdges.add(edge);
+                    }
+                }
             }
         }
 
         this.checkRep();
-        return childrenNodes;
+        return parentEdges;
+    }
+
+    /**
+     * returns all parent nodes of the child node.
+     *
+     * @param childNode the value of the child node whose parents we want to retrieve.
+     * @return a list of distinct parent nodes. If there are no parents, returns empty list.
+     * If child doesn't exist within the graph, return null.
+     * @throws IllegalArgumentException if childNode is null.
+     * @see #getParentEdges(Object)
+     */
+    public List<N> getParentNodes(N childNode) throws IllegalArgumentException
+    {
+        List<Edge<E, N>> parentEdges = this.getParentEdges(childNode);
+        if(parentEdges == null)
+        {
+            return null;
+        }
+
+        Set<N> parentNodes = new LinkedHashSet<N>();
+        for(Edge<E, N> edge : parentEdges)
+        {
+            parentNodes.add(edge.getParent());
+        }
+        return new ArrayList<N>(parentNodes);
+    }
+
+    /**
+     * Returns the number of edges that point to child node.
+     *
+     * @param childNode the value of the child node whose in-degree we want.
+     * @return the number of edges with childNode as their child, or -1 if childNode doesn't exist
+     * within the graph.
+     */
+    int getInDegree(N childNode)
+    {
+        if(!this.nodes.containsKey(childNode))
+        {
+            return -1;
+        }
+        if(this.parentIndex != null)
+        {
+            Set<Edge<E, N>> edges = this.parentIndex.get(childNode);
+            return edges == null ? 0 : edges.size();
+        }
+        return this.getParentEdges(childNode).size();
+    }
+
+    /**
+     * Returns the in-degree of every node, for package classes that need all of them at once.
+     * Takes time linear in the size of the graph whether or not there is a parent index.
+     *
+     * @return a map from every node in this graph to the number of edges that point to it.
+     */
+    Map<N, Integer> getAllInDegrees()
+    {
+        Map<N, Integer> inDegrees = new HashMap<N, Integer>();
+        for(N node : this.nodes.keySet())
+        {
+            inDegrees.put(node, 0);
+        }
+        if(this.parentIndex != null)
+        {
+            for(Map.Entry<N, Set<Edge<E, N>>> entry : this.parentIndex.entrySet())
+            {
+                inDegrees.put(entry.getKey(), entry.getValue().size());
+            }
+        } else
+        {
+            for(Set<Edge<E, N>> edges : this.nodes.values())
+            {
+                for(Edge<E, N> edge : edges)
+                {
+                    inDegrees.merge(edge.getChild(), 1, Integer::sum);
+                }
+            }
+        }
+        return inDegrees;
     }
 
     /**
@@ -386,36 +1035,264 @@ public class Graph<N, E> {
     public int getNumOfEdges()
     {
         this.checkRep();
-        int size = 0;
-        Collection<Set<Edge<E, N>>> totalEdges = this.nodes.values();
-        for(Set<Edge<E, N>> edges : totalEdges)
+        return (int) Math.min(this.numOfEdges, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets and returns number of nodes in this graph.
+     *
+     * @return the number of nodes in this graph.
+     */
+    public int getNumOfNodes()
+    {
+        this.checkRep();
+        return this.nodes.size();
+    }
+
+    /**
+     * Returns the version of this graph. The version starts at 0 and goes up every time a node or edge is
+     * added, so a cache built from this graph can tell that it is out of date by comparing versions. It may
+     * be read from any thread.
+     *
+     * @return the number of changes made to this graph so far.
+     */
+    public long getVersion()
+    {
+        return this.version;
+    }
+
+    /**
+     * Returns whether there is a path between two nodes of this graph when edges are followed in either
+     * direction, that is, whether they are in the same weakly connected component. If they aren't, there
+     * is no path from either one to the other.
+     *
+     * <p> The first call builds an index of the components from a snapshot of this graph, in time linear in
+     * its size and without holding up addNode or addEdge. After that, addNode and addEdge keep the index up
+     * to date as they go, and each call takes close to constant time without locking, even while another
+     * thread is changing this graph. Since nodes and edges are never removed, two nodes that aren't
+     * connected now weren't connected in any earlier snapshot either.
+     *
+     * @param a one of the nodes.
+     * @param b the other node.
+     * @return true if and only if both nodes are in this graph and connected, ignoring edge direction.
+     * @throws IllegalArgumentException if a or b is null.
+     */
+    public boolean isConnected(N a, N b) throws IllegalArgumentException
+    {
+        if(a == null || b == null)
         {
-            if(size != Integer.MAX_VALUE)
+            throw new IllegalArgumentException();
+        }
+        return this.componentIndex().isConnected(a, b);
+    }
+
+    /**
+     * Returns the id of the weakly connected component a node is in, in close to constant time and without
+     * locking, from the same index as isConnected. Two nodes have the same id exactly when they are
+     * connected, but ids change as edges join components, so ids found before such an edge was added
+     * can't be compared with ids found after it. Use isConnected to ask about a pair of nodes.
+     *
+     * @param node the node whose component we want.
+     * @return the id of node's component, which is at least 0, or -1 if node is not in this graph.
+     * @throws IllegalArgumentException if node is null.
+     */
+    public int getComponentId(N node) throws IllegalArgumentException
+    {
+        if(node == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        return this.componentIndex().getComponentId(node);
+    }
+
+    /**
+     * Returns the component index, first building it if this graph has none.
+     */
+    private GraphAnalytics.ComponentIndex<N> componentIndex()
+    {
+        GraphAnalytics.ComponentIndex<N> index = this.componentIndex;
+        while(index == null)
+        {
+            // The index is built from a snapshot so writers don't wait for it. It can only be used if
+            // nothing changed in the meantime, since no writer kept it up to date while it was built.
+            GraphSnapshot<N, E> snapshot = this.snapshot();
+            GraphAnalytics.ComponentIndex<N> built = GraphAnalytics.ComponentIndex.of(snapshot);
+            synchronized(this)
             {
-                size += edges.size();
+                if(this.componentIndex == null && this.version == snapshot.getVersion())
+                {
+                    this.componentIndex = built;
+                    this.checkRep();
+                }
+                index = this.componentIndex;
             }
         }
+        return index;
+    }
+
+    /**
+     * Returns an immutable snapshot of this graph as it is now, in constant time. Later changes to this
+     * graph are not reflected in the snapshot, which may be read from any thread without locking. Taking
+     * two snapshots without changing the graph in between returns the same snapshot.
+     *
+     * <p> After a snapshot, the first change to this graph copies its node table, and the first change to
+     * each node's children copies that node's child edge set. See the class documentation.
+     *
+     * @return a GraphSnapshot of this graph, whose version is getVersion().
+     * @spec.modifies this
+     * @spec.effects future changes to this graph copy what they change instead of changing it in place.
+     */
+    public synchronized GraphSnapshot<N, E> snapshot()
+    {
+        this.checkRep();
+        if(this.lastSnapshot == null || this.lastSnapshot.getVersion() != this.version)
+        {
+            this.lastSnapshot = new GraphSnapshot<N, E>(this.nodes, this.getNumOfEdges(), this.version,
+                    this.childOrder);
+            this.nodesShared = true;
+            this.ownedSets = Collections.newSetFromMap(new IdentityHashMap<Set<Edge<E, N>>, Boolean>());
+        }
+        return this.lastSnapshot;
+    }
+
+    /**
+     * Returns a read-only, live view of the size and degree statistics of this graph. Total counts
+     * are kept up to date as the graph changes, so reading them never walks the graph.
+     *
+     * @return the statistics of this graph.
+     */
+    public GraphStats<N, E> getStats()
+    {
+        this.checkRep();
+        return new GraphStats<N, E>(this);
+    }
+
+    /**
+     * Returns the child edge sets of every node, for package classes that need to walk the whole
+     * graph without copying it.
+     *
+     * @return an unmodifiable, live view of every node's set of child edges.
+     */
+    Collection<Set<Edge<E, N>>> getAllChildrenEdges()
+    {
+        return Collections.unmodifiableCollection(this.nodes.values());
+    }
 
-        return size;
+    /**
+     * Returns whether this graph keeps an edge index from each (parent, child) pair to its labels.
+     *
+     * @return true if and only if this graph was constructed with an edge index.
+     */
+    public boolean hasEdgeIndex()
+    {
+        return this.edgeIndex != null;
+    }
+
+    /**
+     * Returns whether this graph keeps a parent index from each node to the edges that point to it.
+     *
+     * @return true if and only if this graph was constructed with a parent index.
+     */
+    public boolean hasParentIndex()
+    {
+        return this.parentIndex != null;
+    }
+
+    /**
+     * Returns the order this graph keeps every node's child edges in.
+     *
+     * @return the child order this graph was constructed with, or null if its children are in no
+     * particular order.
+     */
+    public Comparator<? super Edge<E, N>> getChildOrder()
+    {
+        return this.childOrder;
+    }
+
+    /**
+     * Takes an immutable, array-backed snapshot of this graph for read-heavy workloads. If this graph has a
+     * child order, the snapshot keeps it.
+     *
+     * @return a CsrGraph containing exactly the nodes and edges currently in this graph. Later
+     * changes to this graph are not reflected in the snapshot.
+     * @see CsrGraph#of(Graph)
+     */
+    public CsrGraph<N, E> freeze()
+    {
+        this.checkRep();
+        return CsrGraph.of(this);
+    }
+
+    /**
+     * Takes an immutable, array-backed snapshot of this graph with each node's children stored
+     * sorted by childOrder.
+     *
+     * @param childOrder the order each node's child edges are stored in within the snapshot.
+     * @return a CsrGraph containing exactly the nodes and edges currently in this graph. Later
+     * changes to this graph are not reflected in the snapshot.
+     * @see CsrGraph#of(Graph, Comparator)
+     */
+    public CsrGraph<N, E> freeze(Comparator<? super Edge<E, N>> childOrder)
+    {
+        this.checkRep();
+        return CsrGraph.of(this, childOrder);
     }
 
     /**
      * Throws an exception if the representation invariant is violated.
      */
-    private void checkRep() {
+    void checkRep() {
+        if(!RepCheck.cheap())
+        {
+            return;
+        }
+
         //  g.nodes != null
         assert (this.nodes != null);
 
         //  For every Edge e paired to every Node n within g.nodes: e.parent.equals(n)
-        if(HEAVY_DEBUG)
+        if(RepCheck.full())
         {
+            long edgeCount = 0;
             Iterator<N> allNodes = this.nodes.keySet().iterator();
             for(Set<Edge<E, N>> edges : this.nodes.values())
             {
                 N parentNode = allNodes.next();
+                assert(this.childOrder == null
+                        || (edges instanceof SortedSet && ((SortedSet<?>) edges).comparator() == this.childOrder));
                 for(Edge<E, N> edge : edges)
                 {
                     assert(edge.getParent().equals(parentNode));
+                    assert(this.edgeIndex == null
+                            || this.edgeIndex.get(parentNode).get(edge.getChild()).contains(edge.getLabel()));
+                    assert(this.parentIndex == null || this.parentIndex.get(edge.getChild()).contains(edge));
+                }
+                edgeCount += edges.size();
+            }
+            assert(edgeCount == this.numOfEdges);
+            if(this.parentIndex != null)
+            {
+                long parentEdgeCount = 0;
+                for(Set<Edge<E, N>> edges : this.parentIndex.values())
+                {
+                    parentEdgeCount += edges.size();
+                }
+                assert(parentEdgeCount == this.numOfEdges);
+            }
+            GraphAnalytics.ComponentIndex<N> index = this.componentIndex;
+            if(index != null)
+            {
+                assert(index.size() == this.nodes.size());
+                for(N node : this.nodes.keySet())
+                {
+                    assert(index.getComponentId(node) != -1);
+                }
+                for(Set<Edge<E, N>> edges : this.nodes.values())
+                {
+                    for(Edge<E, N> edge : edges)
+                    {
+                        assert(index.isConnected(edge.getParent(), edge.getChild()));
+                    }
                 }
             }
         }
@@ -573,6 +1450,11 @@ public class Graph<N, E> {
          * Throws an exception if the representation invariant is violated.
          */
         private void checkRep() {
+            if(!RepCheck.cheap())
+            {
+                return;
+            }
+
             //  e.label && e.parent && e.child != null
             assert (this.label != null);
             assert (this.parent != null);
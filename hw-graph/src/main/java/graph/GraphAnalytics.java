@@ -0,0 +1,909 @@
+package graph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * <b>GraphAnalytics</b> computes whole-graph statistics of a {@link Graph}: its connected components and
+ * its degree distribution. Both are computed together, in parallel on a {@link ForkJoinPool}, by a single
+ * pass over a {@link Graph#snapshot() snapshot} of the graph.
+ *
+ * <p> Components are found with a lock-free union-find: the nodes are split into ranges, and the tasks for
+ * the ranges union every node with its children at the same time. Components are <b>weakly</b> connected,
+ * so an edge joins its parent and child whichever way it points. The same pass counts every node's in- and
+ * out-degree, and the degree histograms are then summed up by range, in parallel as well.
+ *
+ * <p> Results are cached per {@link Graph#getVersion() version} of the graph. Asking again before the graph
+ * changes returns the same result objects without doing any work, and asking after it has changed
+ * computes new ones. Results never change once computed, so they may be kept and shared between threads.
+ * A GraphAnalytics may be used from any thread, including while another thread adds to the graph.
+ *
+ * @param <N> The type of the nodes in the graph.
+ * @param <E> The type of edge labels in the graph.
+ */
+public final class GraphAnalytics<N, E> {
+
+    // Abstraction Function:
+    //  the analytics of graph g => this.graph, with the results for version this.cached.version of g
+    //  cached in this.cached (or nothing cached, if this.cached == null)
+
+    // Representation Invariant:
+    //  graph != null && pool != null
+    //  cached == null || cached.components.getVersion() == cached.degreeStats.getVersion()
+
+    /**
+     * How many nodes a task handles without splitting its range any further.
+     */
+    private static final int THRESHOLD = 1024;
+
+    private final Graph<N, E> graph;
+    private final ForkJoinPool pool;
+    private volatile Analysis<N> cached;
+
+    /**
+     * @param graph the graph to analyze.
+     * @throws IllegalArgumentException if graph is null.
+     * @spec.effects Constructs a new GraphAnalytics of graph that runs on the common ForkJoinPool, which
+     * has one thread per core.
+     */
+    public GraphAnalytics(Graph<N, E> graph) throws IllegalArgumentException
+    {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param graph the graph to analyze.
+     * @param pool the pool to run the analysis on.
+     * @throws IllegalArgumentException if graph or pool are null.
+     * @spec.effects Constructs a new GraphAnalytics of graph that runs on pool.
+     */
+    public GraphAnalytics(Graph<N, E> graph, ForkJoinPool pool) throws IllegalArgumentException
+    {
+        if(graph == null || pool == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        this.graph = graph;
+        this.pool = pool;
+        this.checkRep();
+    }
+
+    /**
+     * Returns the connected components of the graph as it is now. Takes constant time if the graph hasn't
+     * changed since the last call to getComponents or getDegreeStats, and time linear in the size of the
+     * graph (divided among the pool's threads) otherwise.
+     *
+     * @return the weakly connected components of the graph, for the graph's current version.
+     */
+    public Components<N> getComponents()
+    {
+        return this.analyze().components;
+    }
+
+    /**
+     * Returns the degree statistics of the graph as it is now. Takes constant time if the graph hasn't
+     * changed since the last call to getComponents or getDegreeStats, and time linear in the size of the
+     * graph (divided among the pool's threads) otherwise.
+     *
+     * @return the degree statistics of the graph, for the graph's current version.
+     */
+    public DegreeStats getDegreeStats()
+    {
+        return this.analyze().degreeStats;
+    }
+
+    /**
+     * Returns the cached analysis if the graph hasn't changed since it was made, and makes a new one
+     * otherwise.
+     */
+    private Analysis<N> analyze()
+    {
+        Analysis<N> analysis = this.cached;
+        if(analysis != null && analysis.components.getVersion() == this.graph.getVersion())
+        {
+            return analysis;
+        }
+
+        synchronized(this)
+        {
+            // Another thread may have brought the cache up to date while this one waited.
+            GraphSnapshot<N, E> snapshot = this.graph.snapshot();
+            analysis = this.cached;
+            if(analysis == null || analysis.components.getVersion() != snapshot.getVersion())
+            {
+                analysis = GraphAnalytics.analyze(snapshot, this.pool);
+                this.cached = analysis;
+            }
+        }
+        this.checkRep();
+        return analysis;
+    }
+
+    /**
+     * Computes the components and degree statistics of snapshot on pool.
+     */
+    private static <N, E> Analysis<N> analyze(GraphSnapshot<N, E> snapshot, ForkJoinPool pool)
+    {
+        // Give every node a dense id, so the parallel passes can work on int arrays.
+        List<N> nodes = snapshot.getAllNodes();
+        int numOfNodes = nodes.size();
+        Map<N, Integer> ids = new HashMap<N, Integer>(numOfNodes * 4 / 3 + 1);
+        for(int i = 0; i < numOfNodes; i++)
+        {
+            ids.put(nodes.get(i), i);
+        }
+
+        AtomicIntegerArray parents = new AtomicIntegerArray(numOfNodes);
+        int[] outDegrees = new int[numOfNodes];
+        AtomicIntegerArray inDegrees = new AtomicIntegerArray(numOfNodes);
+        pool.invoke(new RangeAction(0, numOfNodes, (start, end) -> {
+            for(int i = start; i < end; i++)
+            {
+                parents.set(i, i);
+            }
+        }));
+        pool.invoke(new RangeAction(0, numOfNodes, (start, end) -> {
+            for(int i = start; i < end; i++)
+            {
+                Collection<Graph.Edge<E, N>> childEdges = snapshot.getChildrenEdgesView(nodes.get(i));
+                outDegrees[i] = childEdges.size();
+                for(Graph.Edge<E, N> childEdge : childEdges)
+                {
+                    int child = ids.get(childEdge.getChild());
+                    inDegrees.incrementAndGet(child);
+                    union(parents, i, child);
+                }
+            }
+        }));
+
+        // Every node points straight at its root from here on, and every root is the smallest id in its
+        // component.
+        int[] roots = new int[numOfNodes];
+        int[] inDegreesCopy = new int[numOfNodes];
+        pool.invoke(new RangeAction(0, numOfNodes, (start, end) -> {
+            for(int i = start; i < end; i++)
+            {
+                roots[i] = find(parents, i);
+                inDegreesCopy[i] = inDegrees.get(i);
+            }
+        }));
+
+        Components<N> components = Components.of(snapshot.getVersion(), ids, roots);
+        DegreeStats degreeStats = new DegreeStats(snapshot.getVersion(), numOfNodes, snapshot.getNumOfEdges(),
+                pool.invoke(new HistogramTask(outDegrees, 0, numOfNodes)),
+                pool.invoke(new HistogramTask(inDegreesCopy, 0, numOfNodes)));
+        return new Analysis<N>(components, degreeStats);
+    }
+
+    /**
+     * Finds the weakly connected components of an int-indexed graph, for the getComponentId of the
+     * IndexedGraph implementations. Runs a sequential union-find over the graph's edges.
+     *
+     * @return an array whose entry i is the component id of the node with id i. Components are numbered
+     * from 0 in order of the smallest node id in them.
+     */
+    static int[] componentIds(IndexedGraph<?, ?> graph)
+    {
+        int numOfNodes = graph.getNumOfNodes();
+        int[] parents = new int[numOfNodes];
+        for(int i = 0; i < numOfNodes; i++)
+        {
+            parents[i] = i;
+        }
+        for(int node = 0; node < numOfNodes; node++)
+        {
+            int end = graph.getEdgesEnd(node);
+            for(int edge = graph.getEdgesStart(node); edge < end; edge++)
+            {
+                union(parents, node, graph.getEdgeChild(edge));
+            }
+        }
+
+        // Roots are the smallest id in their component, so every root comes before the rest of its nodes.
+        int[] componentIds = new int[numOfNodes];
+        int numOfComponents = 0;
+        for(int i = 0; i < numOfNodes; i++)
+        {
+            int root = find(parents, i);
+            componentIds[i] = root == i ? numOfComponents++ : componentIds[root];
+        }
+        return componentIds;
+    }
+
+    /**
+     * Returns the root of the set node is in, halving the path to it on the way. Only for use by one
+     * thread at a time.
+     */
+    private static int find(int[] parents, int node)
+    {
+        while(parents[node] != node)
+        {
+            parents[node] = parents[parents[node]];
+            node = parents[node];
+        }
+        return node;
+    }
+
+    /**
+     * Joins the sets a and b are in, linking the larger root under the smaller one as the lock-free union
+     * does. Only for use by one thread at a time.
+     */
+    private static void union(int[] parents, int a, int b)
+    {
+        int rootA = find(parents, a);
+        int rootB = find(parents, b);
+        parents[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+    }
+
+    /**
+     * Returns the root of the set node is in, halving the path to it on the way.
+     */
+    private static int find(AtomicIntegerArray parents, int node)
+    {
+        while(true)
+        {
+            int parent = parents.get(node);
+            if(parent == node)
+            {
+                return node;
+            }
+            int grandparent = parents.get(parent);
+            if(grandparent != parent)
+            {
+                // Another thread may have changed node's parent already, in which case this does nothing.
+                parents.compareAndSet(node, parent, grandparent);
+            }
+            node = grandparent;
+        }
+    }
+
+    /**
+     * Joins the sets a and b are in. The root with the larger id is always linked under the one with the
+     * smaller id, which both keeps roots deterministic and rules out cycles between threads.
+     */
+    private static void union(AtomicIntegerArray parents, int a, int b)
+    {
+        while(true)
+        {
+            int rootA = find(parents, a);
+            int rootB = find(parents, b);
+            if(rootA == rootB)
+            {
+                return;
+            }
+            int larger = Math.max(rootA, rootB);
+            int smaller = Math.min(rootA, rootB);
+            // Fails if another thread linked larger under something else first; then try again.
+            if(parents.compareAndSet(larger, larger, smaller))
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep()
+    {
+        assert (this.graph != null && this.pool != null);
+        Analysis<N> analysis = this.cached;
+        assert (analysis == null || analysis.components.getVersion() == analysis.degreeStats.getVersion());
+    }
+
+    /**
+     * The results for one version of the graph.
+     */
+    private static final class Analysis<N> {
+        private final Components<N> components;
+        private final DegreeStats degreeStats;
+
+        private Analysis(Components<N> components, DegreeStats degreeStats)
+        {
+            this.components = components;
+            this.degreeStats = degreeStats;
+        }
+    }
+
+    /**
+     * Work done on a range of node ids.
+     */
+    private interface RangeWork {
+        void run(int start, int end);
+    }
+
+    /**
+     * Runs a RangeWork over a range of node ids, split in halves until the ranges are THRESHOLD long.
+     */
+    private static final class RangeAction extends RecursiveAction {
+        private final int start;
+        private final int end;
+        private final RangeWork work;
+
+        private RangeAction(int start, int end, RangeWork work)
+        {
+            this.start = start;
+            this.end = end;
+            this.work = work;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(this.end - this.start <= THRESHOLD)
+            {
+                this.work.run(this.start, this.end);
+                return;
+            }
+            int middle = (this.start + this.end) >>> 1;
+            invokeAll(new RangeAction(this.start, middle, this.work), new RangeAction(middle, this.end, this.work));
+        }
+    }
+
+    /**
+     * Counts how many entries of a range of degrees have each value. The result has one slot per degree
+     * up to the largest one in the range.
+     */
+    private static final class HistogramTask extends RecursiveTask<int[]> {
+        private final int[] degrees;
+        private final int start;
+        private final int end;
+
+        private HistogramTask(int[] degrees, int start, int end)
+        {
+            this.degrees = degrees;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected int[] compute()
+        {
+            if(this.end - this.start <= THRESHOLD)
+            {
+                int max = 0;
+                for(int i = this.start; i < this.end; i++)
+                {
+                    max = Math.max(max, this.degrees[i]);
+                }
+                int[] counts = new int[max + 1];
+                for(int i = this.start; i < this.end; i++)
+                {
+                    counts[this.degrees[i]]++;
+                }
+                return counts;
+            }
+
+            int middle = (this.start + this.end) >>> 1;
+            HistogramTask right = new HistogramTask(this.degrees, middle, this.end);
+            right.fork();
+            int[] counts = new HistogramTask(this.degrees, this.start, middle).compute();
+            int[] rightCounts = right.join();
+            if(rightCounts.length > counts.length)
+            {
+                int[] swap = counts;
+                counts = rightCounts;
+                rightCounts = swap;
+            }
+            for(int degree = 0; degree < rightCounts.length; degree++)
+            {
+                counts[degree] += rightCounts[degree];
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * A <b>ComponentIndex</b> is a <b>mutable</b> index of the weakly connected components of a growing
+     * graph, for Graph.isConnected and Graph.getComponentId. It is the same lock-free union-find the analysis
+     * runs, kept over the graph's whole life instead of one pass: one thread at a time adds nodes and joins
+     * them as edges are added, while any number of other threads ask about them without locking.
+     *
+     * @param <N> The type of the nodes in the graph.
+     */
+    static final class ComponentIndex<N> {
+
+        // Abstraction Function:
+        //  the component of node n => the set of nodes whose id has the same root in parents as ids.get(n)
+
+        // Representation Invariant:
+        //  ids != null && parents != null && ids.size() == size <= parents.length()
+        //  ids maps the nodes to 0 to size - 1, one each, and parents.get(i) == i for every i >= size
+        //  every root is the smallest id in its set
+
+        private final Map<N, Integer> ids;
+        private volatile AtomicIntegerArray parents;
+        private int size; // Only read and written by the thread changing the index.
+
+        /**
+         * @param capacity how many nodes the index has room for before it has to grow.
+         * @spec.effects Constructs a new ComponentIndex with no nodes.
+         */
+        ComponentIndex(int capacity)
+        {
+            this.ids = new ConcurrentHashMap<N, Integer>(Math.max(capacity, 16));
+            this.parents = ComponentIndex.newParents(Math.max(capacity, 16));
+            this.checkRep();
+        }
+
+        /**
+         * Builds the index of every node and edge of snapshot, in time linear in its size.
+         *
+         * @param snapshot the snapshot to index.
+         * @return a new ComponentIndex of snapshot.
+         */
+        static <N, E> ComponentIndex<N> of(GraphSnapshot<N, E> snapshot)
+        {
+            List<N> nodes = snapshot.getAllNodes();
+            // Room for the graph to keep growing for a while before the array has to be copied.
+            ComponentIndex<N> index = new ComponentIndex<N>(nodes.size() + nodes.size() / 2);
+            for(N node : nodes)
+            {
+                index.add(node);
+            }
+            for(N node : nodes)
+            {
+                for(Graph.Edge<E, N> childEdge : snapshot.getChildrenEdgesView(node))
+                {
+                    index.union(node, childEdge.getChild());
+                }
+            }
+            index.checkRep();
+            return index;
+        }
+
+        /**
+         * Returns a parents array of the given length in which every id is its own root.
+         */
+        private static AtomicIntegerArray newParents(int length)
+        {
+            AtomicIntegerArray parents = new AtomicIntegerArray(length);
+            for(int i = 0; i < length; i++)
+            {
+                parents.set(i, i);
+            }
+            return parents;
+        }
+
+        /**
+         * Adds a node in a component of its own. Takes amortized constant time.
+         *
+         * @param node the node to add.
+         * @spec.requires node is not null and not in this index, and no other thread is changing this index.
+         * @spec.modifies this
+         * @spec.effects adds node to this index, connected to no other node.
+         */
+        void add(N node)
+        {
+            AtomicIntegerArray current = this.parents;
+            if(this.size == current.length())
+            {
+                // Readers still on the old array see the components as they were when it was copied.
+                AtomicIntegerArray grown = ComponentIndex.newParents(current.length() * 2);
+                for(int i = 0; i < this.size; i++)
+                {
+                    grown.set(i, current.get(i));
+                }
+                this.parents = grown;
+            }
+            // The id only becomes visible once its slot in the array it is read from is ready.
+            this.ids.put(node, this.size++);
+        }
+
+        /**
+         * Joins the components of two nodes, as an edge between them does. Takes close to constant time.
+         *
+         * @param a one of the nodes.
+         * @param b the other node.
+         * @spec.requires a and b are in this index, and no other thread is changing this index.
+         * @spec.modifies this
+         * @spec.effects puts a and b, and every node connected to either, in the same component.
+         */
+        void union(N a, N b)
+        {
+            GraphAnalytics.union(this.parents, this.ids.get(a), this.ids.get(b));
+        }
+
+        /**
+         * Returns the id of a node's component. Ids change as components are joined, so to ask whether two
+         * nodes are connected, use isConnected rather than comparing ids.
+         *
+         * @param node the node whose component we want.
+         * @return the smallest id of any node in node's component, or -1 if node is not in this index.
+         */
+        int getComponentId(N node)
+        {
+            Integer id = this.ids.get(node);
+            return id == null ? -1 : find(this.parents, id);
+        }
+
+        /**
+         * Returns whether two nodes are in the same component, even while another thread joins components.
+         *
+         * @param a one of the nodes.
+         * @param b the other node.
+         * @return true if and only if a and b are both in this index and in the same component.
+         */
+        boolean isConnected(N a, N b)
+        {
+            Integer idA = this.ids.get(a);
+            Integer idB = this.ids.get(b);
+            if(idA == null || idB == null)
+            {
+                return false;
+            }
+            while(true)
+            {
+                AtomicIntegerArray current = this.parents;
+                int rootA = find(current, idA);
+                int rootB = find(current, idB);
+                if(rootA == rootB)
+                {
+                    return true;
+                }
+                // If rootA is still a root, the two really were apart once rootB had been found. Otherwise
+                // a's component was joined to another in between, and the roots have to be found again.
+                if(current.get(rootA) == rootA)
+                {
+                    return false;
+                }
+            }
+        }
+
+        /**
+         * Returns the number of nodes in this index.
+         *
+         * @return the number of nodes added to this index.
+         */
+        int size()
+        {
+            return this.ids.size();
+        }
+
+        /**
+         * Throws an exception if the representation invariant is violated.
+         *
+         * @spec.requires no other thread is changing this index.
+         */
+        private void checkRep()
+        {
+            assert (this.ids != null && this.parents != null);
+            assert (this.ids.size() == this.size && this.size <= this.parents.length());
+        }
+    }
+
+    /**
+     * <b>Components</b> is an <b>immutable</b> record of the weakly connected components of one version of
+     * a graph. Components are numbered from 0 to getNumOfComponents() - 1 from largest to smallest, so
+     * component 0 is always a largest one.
+     *
+     * @param <N> The type of the nodes in the graph.
+     */
+    public static final class Components<N> {
+
+        // Abstraction Function:
+        //  the component of node n => componentOf[ids.get(n)]
+        //  the number of nodes in component c => sizes[c]
+
+        // Representation Invariant:
+        //  ids, componentOf, sizes != null && ids.size() == componentOf.length
+        //  for every i: 0 <= componentOf[i] < sizes.length
+        //  sizes is non-increasing, every entry is positive, and the entries sum to componentOf.length
+
+        private final long version;
+        private final Map<N, Integer> ids;
+        private final int[] componentOf;
+        private final int[] sizes;
+
+        private Components(long version, Map<N, Integer> ids, int[] componentOf, int[] sizes)
+        {
+            this.version = version;
+            this.ids = ids;
+            this.componentOf = componentOf;
+            this.sizes = sizes;
+            this.checkRep();
+        }
+
+        /**
+         * Numbers the components found by union-find, given the root of every node.
+         */
+        private static <N> Components<N> of(long version, Map<N, Integer> ids, int[] roots)
+        {
+            int numOfNodes = roots.length;
+            int[] sizeOfRoot = new int[numOfNodes];
+            List<Integer> rootList = new ArrayList<Integer>();
+            for(int i = 0; i < numOfNodes; i++)
+            {
+                if(roots[i] == i)
+                {
+                    rootList.add(i);
+                }
+                sizeOfRoot[roots[i]]++;
+            }
+            // Largest first; components of the same size keep the order of their roots.
+            rootList.sort((a, b) -> sizeOfRoot[a] != sizeOfRoot[b]
+                    ? Integer.compare(sizeOfRoot[b], sizeOfRoot[a]) : Integer.compare(a, b));
+
+            int[] componentOfRoot = new int[numOfNodes];
+            int[] sizes = new int[rootList.size()];
+            for(int c = 0; c < sizes.length; c++)
+            {
+                componentOfRoot[rootList.get(c)] = c;
+                sizes[c] = sizeOfRoot[rootList.get(c)];
+            }
+            int[] componentOf = new int[numOfNodes];
+            for(int i = 0; i < numOfNodes; i++)
+            {
+                componentOf[i] = componentOfRoot[roots[i]];
+            }
+            return new Components<N>(version, ids, componentOf, sizes);
+        }
+
+        /**
+         * Returns the version of the graph these components were found in.
+         *
+         * @return the value Graph.getVersion() had when these components were computed.
+         */
+        public long getVersion()
+        {
+            return this.version;
+        }
+
+        /**
+         * Gets and returns the number of components.
+         *
+         * @return the number of weakly connected components, which is 0 only if the graph has no nodes.
+         */
+        public int getNumOfComponents()
+        {
+            return this.sizes.length;
+        }
+
+        /**
+         * Returns the id of the component a node is in. Takes constant time.
+         *
+         * @param node the node whose component we want.
+         * @return the id of node's component, from 0 to getNumOfComponents() - 1, or -1 if node wasn't in
+         * the graph.
+         * @throws IllegalArgumentException if node is null.
+         */
+        public int getComponentId(N node) throws IllegalArgumentException
+        {
+            if(node == null)
+            {
+                throw new IllegalArgumentException();
+            }
+            Integer id = this.ids.get(node);
+            return id == null ? -1 : this.componentOf[id];
+        }
+
+        /**
+         * Returns whether two nodes are in the same component, which is whether there is a path between
+         * them when edges are followed in either direction. Takes constant time.
+         *
+         * @param a one of the nodes.
+         * @param b the other node.
+         * @return true if and only if a and b were both in the graph and in the same component.
+         * @throws IllegalArgumentException if a or b are null.
+         */
+        public boolean isConnected(N a, N b) throws IllegalArgumentException
+        {
+            int componentA = this.getComponentId(a);
+            return componentA != -1 && componentA == this.getComponentId(b);
+        }
+
+        /**
+         * Returns the number of nodes in a component.
+         *
+         * @param componentId the id of the component.
+         * @return the number of nodes in the component.
+         * @throws IndexOutOfBoundsException if componentId is not between 0 and getNumOfComponents() - 1.
+         */
+        public int getComponentSize(int componentId) throws IndexOutOfBoundsException
+        {
+            return this.sizes[Objects.checkIndex(componentId, this.sizes.length)];
+        }
+
+        /**
+         * Returns the size of a largest component.
+         *
+         * @return the number of nodes in component 0, or 0 if the graph has no nodes.
+         */
+        public int getLargestComponentSize()
+        {
+            return this.sizes.length == 0 ? 0 : this.sizes[0];
+        }
+
+        /**
+         * Returns the size of every component.
+         *
+         * @return a list whose entry c is the number of nodes in component c, largest first.
+         */
+        public List<Integer> getComponentSizes()
+        {
+            List<Integer> sizes = new ArrayList<Integer>(this.sizes.length);
+            for(int size : this.sizes)
+            {
+                sizes.add(size);
+            }
+            return sizes;
+        }
+
+        /**
+         * Counts how many components have each size.
+         *
+         * @return a map from every component size to the number of components of that size, in
+         * increasing order of size. Empty if the graph has no nodes.
+         */
+        public SortedMap<Integer, Integer> getComponentSizeHistogram()
+        {
+            SortedMap<Integer, Integer> histogram = new TreeMap<Integer, Integer>();
+            for(int size : this.sizes)
+            {
+                histogram.merge(size, 1, Integer::sum);
+            }
+            return histogram;
+        }
+
+        /**
+         * Throws an exception if the representation invariant is violated.
+         */
+        private void checkRep()
+        {
+            assert (this.ids != null && this.componentOf != null && this.sizes != null);
+            assert (this.ids.size() == this.componentOf.length);
+        }
+    }
+
+    /**
+     * <b>DegreeStats</b> is an <b>immutable</b> record of the degree distribution of one version of a
+     * graph.
+     */
+    public static final class DegreeStats {
+
+        // Abstraction Function:
+        //  the number of nodes with out-degree d => outCounts[d] (0 if d >= outCounts.length)
+        //  the number of nodes with in-degree d => inCounts[d] (0 if d >= inCounts.length)
+
+        // Representation Invariant:
+        //  outCounts, inCounts != null && both sum to numOfNodes
+        //  numOfNodes == 0 || (the last entries of outCounts and inCounts are positive)
+
+        private final long version;
+        private final int numOfNodes;
+        private final int numOfEdges;
+        private final int[] outCounts;
+        private final int[] inCounts;
+
+        private DegreeStats(long version, int numOfNodes, int numOfEdges, int[] outCounts, int[] inCounts)
+        {
+            this.version = version;
+            this.numOfNodes = numOfNodes;
+            this.numOfEdges = numOfEdges;
+            this.outCounts = outCounts;
+            this.inCounts = inCounts;
+            this.checkRep();
+        }
+
+        /**
+         * Returns the version of the graph these statistics were computed for.
+         *
+         * @return the value Graph.getVersion() had when these statistics were computed.
+         */
+        public long getVersion()
+        {
+            return this.version;
+        }
+
+        /**
+         * Gets and returns the number of nodes in the graph.
+         *
+         * @return the number of nodes.
+         */
+        public int getNumOfNodes()
+        {
+            return this.numOfNodes;
+        }
+
+        /**
+         * Gets and returns the number of edges in the graph.
+         *
+         * @return the number of edges, or Integer.MAX_VALUE if there were more.
+         */
+        public int getNumOfEdges()
+        {
+            return this.numOfEdges;
+        }
+
+        /**
+         * Gets and returns the average number of child edges per node, which is also the average number
+         * of parent edges per node.
+         *
+         * @return the number of edges divided by the number of nodes, or 0 if the graph has no nodes.
+         */
+        public double getAverageDegree()
+        {
+            return this.numOfNodes == 0 ? 0 : (double) this.numOfEdges / this.numOfNodes;
+        }
+
+        /**
+         * Gets and returns the largest out-degree of any node.
+         *
+         * @return the largest number of child edges any node has, or 0 if the graph has no nodes.
+         */
+        public int getMaxOutDegree()
+        {
+            return this.outCounts.length - 1;
+        }
+
+        /**
+         * Gets and returns the largest in-degree of any node.
+         *
+         * @return the largest number of parent edges any node has, or 0 if the graph has no nodes.
+         */
+        public int getMaxInDegree()
+        {
+            return this.inCounts.length - 1;
+        }
+
+        /**
+         * Returns how many nodes have each out-degree.
+         *
+         * @return a map from every out-degree that occurs in the graph to the number of nodes with that
+         * out-degree, in increasing order of out-degree. Empty if the graph has no nodes.
+         */
+        public SortedMap<Integer, Integer> getOutDegreeHistogram()
+        {
+            return DegreeStats.toHistogram(this.outCounts);
+        }
+
+        /**
+         * Returns how many nodes have each in-degree.
+         *
+         * @return a map from every in-degree that occurs in the graph to the number of nodes with that
+         * in-degree, in increasing order of in-degree. Empty if the graph has no nodes.
+         */
+        public SortedMap<Integer, Integer> getInDegreeHistogram()
+        {
+            return DegreeStats.toHistogram(this.inCounts);
+        }
+
+        private static SortedMap<Integer, Integer> toHistogram(int[] counts)
+        {
+            SortedMap<Integer, Integer> histogram = new TreeMap<Integer, Integer>();
+            for(int degree = 0; degree < counts.length; degree++)
+            {
+                if(counts[degree] != 0)
+                {
+                    histogram.put(degree, counts[degree]);
+                }
+            }
+            return histogram;
+        }
+
+        /**
+         * Returns a one-line summary of the degree statistics.
+         *
+         * @return a String with the node count, edge count, average degree and largest degrees.
+         */
+        @Override
+        public String toString()
+        {
+            return "nodes=" + this.numOfNodes + " edges=" + this.numOfEdges + " avgDegree=" + this.getAverageDegree()
+                    + " maxOutDegree=" + this.getMaxOutDegree() + " maxInDegree=" + this.getMaxInDegree();
+        }
+
+        /**
+         * Throws an exception if the representation invariant is violated.
+         */
+        private void checkRep()
+        {
+            assert (this.outCounts != null && this.inCounts != null);
+            assert (this.numOfNodes >= 0 && this.numOfEdges >= 0);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package graph;
+
+import common.RepCheck;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <b>GraphBuilder</b> bulk-loads a {@link Graph}. It is meant for loading a whole graph from a file,
+ * where calling Graph.addNode and Graph.addEdge once per line would check the graph's representation
+ * twice per call, rehash growing maps, and build a throwaway Edge for every duplicate.
+ *
+ * <p> A builder is given the expected number of nodes and edges up front so that its maps are usually sized
+ * once. Edges are only recorded as they are added; they are deduplicated in a single hash pass and
+ * the result is validated once, when {@link #build()} is called. The builder's node map is then handed
+ * over to the new Graph without being copied, so a builder can only build one graph.
+ *
+ * <p> A builder is not thread-safe. To load on several threads, each thread fills its own builder, the
+ * builders are combined with {@link #addAll(GraphBuilder)}, and {@link #build(ForkJoinPool)} then adds
+ * the edges of different nodes in parallel.
+ *
+ * <p> Duplicate nodes and edges are allowed and are added only once, exactly as Graph would. Unlike
+ * Graph.addEdge, which silently ignores an edge whose endpoints are not in the graph, build() rejects
+ * such an edge, since it almost always means the input file is broken.
+ *
+ * @param <N> The type of the nodes you want stored in the graph.
+ * @param <E> The type of edge labels you want stored in all the edges in your graph.
+ */
+public final class GraphBuilder<N, E> {
+
+    // Abstraction Function:
+    //  the graph being built => a Graph with node set nodes.keySet() and edge set
+    //      { Edge(labels[i], parents[i], children[i]) | 0 <= i < numOfEdges }
+    //
+    // Representation Invariant:
+    //  nodes != null, and every value in nodes is an empty set
+    //  labels, parents and children have the same length, which is >= numOfEdges
+    //  for 0 <= i < numOfEdges: labels[i], parents[i] and children[i] != null
+    //  nodes == null once this builder has built its graph
+
+    // Expected counts are only a hint; a wrong one must not allocate gigabytes up front.
+    private static final int MAX_INITIAL_CAPACITY = 1 << 20;
+
+    private Map<N, Set<Graph.Edge<E, N>>> nodes;
+    private E[] labels;
+    private N[] parents;
+    private N[] children;
+    private int numOfEdges;
+    private boolean indexEdges = true;
+    private boolean indexParents = true;
+    private Comparator<? super Graph.Edge<E, N>> childOrder;
+
+    /**
+     * @spec.effects Constructs a new GraphBuilder with no nodes and no edges.
+     */
+    public GraphBuilder()
+    {
+        this(16, 16);
+    }
+
+    /**
+     * @param expectedNodes the number of nodes the graph is expected to have.
+     * @param expectedEdges the number of edges, including duplicates, expected to be added.
+     * @throws IllegalArgumentException if expectedNodes or expectedEdges is negative.
+     * @spec.effects Constructs a new GraphBuilder with no nodes and no edges, sized for the given counts,
+     * up to about a million of each. Past that it grows as nodes and edges are added.
+     */
+    public GraphBuilder(int expectedNodes, int expectedEdges) throws IllegalArgumentException
+    {
+        if(expectedNodes < 0 || expectedEdges < 0)
+        {
+            throw new IllegalArgumentException();
+        }
+        int nodeCapacity = Math.min(expectedNodes, MAX_INITIAL_CAPACITY);
+        int edgeCapacity = Math.min(expectedEdges, MAX_INITIAL_CAPACITY);
+        this.nodes = new HashMap<N, Set<Graph.Edge<E, N>>>(nodeCapacity * 4 / 3 + 1);
+        this.labels = newArray(edgeCapacity);
+        this.parents = newArray(edgeCapacity);
+        this.children = newArray(edgeCapacity);
+        this.checkRep();
+    }
+
+    /**
+     * Sets whether the built graph keeps an edge index. On by default, as for Graph.
+     *
+     * @param indexEdges whether the built graph should keep an edge index.
+     * @return this builder.
+     * @throws IllegalStateException if this builder has already built its graph.
+     * @spec.modifies this
+     * @see Graph#Graph(boolean, boolean)
+     */
+    public GraphBuilder<N, E> indexEdges(boolean indexEdges) throws IllegalStateException
+    {
+        this.checkNotBuilt();
+        this.indexEdges = indexEdges;
+        return this;
+    }
+
+    /**
+     * Sets whether the built graph keeps a parent index. On by default, as for Graph.
+     *
+     * @param indexParents whether the built graph should keep a parent index.
+     * @return this builder.
+     * @throws IllegalStateException if this builder has already built its graph.
+     * @spec.modifies this
+     * @see Graph#Graph(boolean, boolean)
+     */
+    public GraphBuilder<N, E> indexParents(boolean indexParents) throws IllegalStateException
+    {
+        this.checkNotBuilt();
+        this.indexParents = indexParents;
+        return this;
+    }
+
+    /**
+     * Sets the order the built graph keeps every node's child edges in. None by default, as for Graph.
+     *
+     * @param childOrder the order child edges are kept in, or null for no particular order.
+     * @return this builder.
+     * @throws IllegalStateException if this builder has already built its graph.
+     * @spec.modifies this
+     * @see Graph#Graph(boolean, boolean, Comparator)
+     */
+    public GraphBuilder<N, E> childOrder(Comparator<? super Graph.Edge<E, N>> childOrder)
+            throws IllegalStateException
+    {
+        this.checkNotBuilt();
+        this.childOrder = childOrder;
+        return this;
+    }
+
+    /**
+     * Adds a node to the graph being built. Adding a node more than once has no further effect.
+     *
+     * @param nodeValue value of Node being added.
+     * @return this builder.
+     * @throws IllegalArgumentException if nodeValue is null.
+     * @throws IllegalStateException if this builder has already built its graph.
+     * @spec.modifies this
+     */
+    public GraphBuilder<N, E> addNode(N nodeValue) throws IllegalArgumentException, IllegalStateException
+    {
+        this.checkNotBuilt();
+        if(nodeValue == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        // The child set is only created now so that build() can hand the map over as it is.
+        this.nodes.computeIfAbsent(nodeValue, k -> new HashSet<Graph.Edge<E, N>>());
+        return this;
+    }
+
+    /**
+     * Adds an edge to the graph being built. Its endpoints may be added before or after it, as long as
+     * both are added before build() is called. Duplicates are dropped by build().
+     *
+     * @param label the label of the edge being added.
+     * @param parentNode the node where the edge starts.
+     * @param childNode the node where the edge ends.
+     * @return this builder.
+     * @throws IllegalArgumentException if label, parentNode, or childNode are null.
+     * @throws IllegalStateException if this builder has already built its graph.
+     * @spec.modifies this
+     */
+    public GraphBuilder<N, E> addEdge(E label, N parentNode, N childNode)
+            throws IllegalArgumentException, IllegalStateException
+    {
+        this.checkNotBuilt();
+        if(label == null || parentNode == null || childNode == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        if(this.numOfEdges == this.labels.length)
+        {
+            int capacity = Math.max(16, this.labels.length * 2);
+            this.labels = Arrays.copyOf(this.labels, capacity);
+            this.parents = Arrays.copyOf(this.parents, capacity);
+            this.children = Arrays.copyOf(this.children, capacity);
+        }
+        this.labels[this.numOfEdges] = label;
+        this.parents[this.numOfEdges] = parentNode;
+        this.children[this.numOfEdges] = childNode;
+        this.numOfEdges++;
+        return this;
+    }
+
+    /**
+     * Adds an edge with the same label from parentNode to each of childNodes.
+     *
+     * @param label the label of every edge being added.
+     * @param parentNode the node where every edge starts.
+     * @param childNodes the nodes where the edges end, one edge per element.
+     * @return this builder.
+     * @throws IllegalArgumentException if label, parentNode, childNodes or any of its elements are null.
+     * @throws IllegalStateException if this builder has already built its graph.
+     * @spec.modifies this
+     * @see #addEdge(Object, Object, Object)
+     */
+    public GraphBuilder<N, E> addEdges(E label, N parentNode, Collection<? extends N> childNodes)
+            throws IllegalArgumentException, IllegalStateException
+    {
+        if(childNodes == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        for(N childNode : childNodes)
+        {
+            this.addEdge(label, parentNode, childNode);
+        }
+        return this;
+    }
+
+    /**
+     * Adds every node and edge of other to the graph being built, after the ones already added. Lets
+     * several threads each fill a builder of their own and then combine them into one.
+     *
+     * @param other the builder whose nodes and edges are added. It is left as it is.
+     * @return this builder.
+     * @throws IllegalArgumentException if other is null or is this builder.
+     * @throws IllegalStateException if either builder has already built its graph.
+     * @spec.modifies this
+     */
+    public GraphBuilder<N, E> addAll(GraphBuilder<? extends N, ? extends E> other)
+            throws IllegalArgumentException, IllegalStateException
+    {
+        this.checkNotBuilt();
+        if(other == null || other == this)
+        {
+            throw new IllegalArgumentException();
+        }
+        other.checkNotBuilt();
+        for(N nodeValue : other.nodes.keySet())
+        {
+            this.nodes.computeIfAbsent(nodeValue, k -> new HashSet<Graph.Edge<E, N>>());
+        }
+
+        int numOfEdges = this.numOfEdges + other.numOfEdges;
+        if(numOfEdges > this.labels.length)
+        {
+            int capacity = Math.max(numOfEdges, this.labels.length * 2);
+            this.labels = Arrays.copyOf(this.labels, capacity);
+            this.parents = Arrays.copyOf(this.parents, capacity);
+            this.children = Arrays.copyOf(this.children, capacity);
+        }
+        System.arraycopy(other.labels, 0, this.labels, this.numOfEdges, other.numOfEdges);
+        System.arraycopy(other.parents, 0, this.parents, this.numOfEdges, other.numOfEdges);
+        System.arraycopy(other.children, 0, this.children, this.numOfEdges, other.numOfEdges);
+        this.numOfEdges = numOfEdges;
+        this.checkRep();
+        return this;
+    }
+
+    /**
+     * Builds the graph. Validates every edge, drops duplicate edges, and checks the graph's
+     * representation once. This builder can't be used afterwards.
+     *
+     * @return a new Graph with every node and every distinct edge that was added to this builder.
+     * @throws IllegalArgumentException if an edge was added whose parent or child node was never added.
+     * @throws IllegalStateException if this builder has already built its graph.
+     * @spec.modifies this
+     */
+    public Graph<N, E> build() throws IllegalArgumentException, IllegalStateException
+    {
+        Graph<N, E> graph = this.newGraph();
+        graph.insertEdges(this.labels, this.parents, this.children, this.numOfEdges, null);
+        return this.finish(graph);
+    }
+
+    /**
+     * Builds the graph the same way build() does, but fills the child edges of different nodes on
+     * different threads of pool. The graph is equal to the one build() would return, down to the order
+     * of its nodes and labels, and of its child edges if it has a child order. Mostly worth it for graphs
+     * with millions of edges, and with a child order, where adding an edge costs O(log d) comparisons.
+     *
+     * @param pool the pool the child edges are filled on.
+     * @return a new Graph with every node and every distinct edge that was added to this builder.
+     * @throws IllegalArgumentException if pool is null, or an edge was added whose parent or child node
+     * was never added.
+     * @throws IllegalStateException if this builder has already built its graph.
+     * @spec.modifies this
+     * @see #build()
+     */
+    public Graph<N, E> build(ForkJoinPool pool) throws IllegalArgumentException, IllegalStateException
+    {
+        this.checkNotBuilt();
+        if(pool == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        Graph<N, E> graph = this.newGraph();
+        graph.insertEdges(this.labels, this.parents, this.children, this.numOfEdges, pool);
+        return this.finish(graph);
+    }
+
+    /**
+     * Validates every edge and hands the node map over to a new Graph with no edges.
+     *
+     * @return the new Graph.
+     * @throws IllegalArgumentException if an edge was added whose parent or child node was never added.
+     * @throws IllegalStateException if this builder has already built its graph.
+     * @spec.modifies this
+     */
+    private Graph<N, E> newGraph() throws IllegalArgumentException, IllegalStateException
+    {
+        this.checkNotBuilt();
+        for(int i = 0; i < this.numOfEdges; i++)
+        {
+            if(!this.nodes.containsKey(this.parents[i]) || !this.nodes.containsKey(this.children[i]))
+            {
+                throw new IllegalArgumentException("edge " + this.labels[i] + " from " + this.parents[i]
+                        + " to " + this.children[i] + " has an endpoint that is not a node");
+            }
+        }
+
+        if(this.childOrder != null)
+        {
+            // The child sets were made before the order was known for sure, and are all still empty.
+            this.nodes.replaceAll((node, edges) -> Graph.newChildSet(this.childOrder));
+        }
+        Graph<N, E> graph = new Graph<N, E>(this.nodes, this.indexEdges, this.indexParents, this.childOrder);
+        this.nodes = null;
+        return graph;
+    }
+
+    /**
+     * Lets go of the edges once they are in graph, and checks its representation.
+     *
+     * @param graph the graph that was built.
+     * @return graph.
+     * @spec.modifies this
+     */
+    private Graph<N, E> finish(Graph<N, E> graph)
+    {
+        this.labels = null;
+        this.parents = null;
+        this.children = null;
+
+        graph.checkRep();
+        return graph;
+    }
+
+    /**
+     * Throws an IllegalStateException if this builder has already built its graph.
+     */
+    private void checkNotBuilt() throws IllegalStateException
+    {
+        if(this.nodes == null)
+        {
+            throw new IllegalStateException("this builder has already built its graph");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] newArray(int length)
+    {
+        return (T[]) new Object[length];
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep()
+    {
+        if(!RepCheck.cheap())
+        {
+            return;
+        }
+
+        assert (this.nodes != null);
+        assert (this.labels.length == this.parents.length && this.parents.length == this.children.length);
+        assert (this.numOfEdges <= this.labels.length);
+        if(RepCheck.full())
+        {
+            for(Set<Graph.Edge<E, N>> edges : this.nodes.values())
+            {
+                assert (edges != null && edges.isEmpty());
+            }
+            for(int i = 0; i < this.numOfEdges; i++)
+            {
+                assert (this.labels[i] != null && this.parents[i] != null && this.children[i] != null);
+            }
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package graph;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * <b>GraphSnapshot</b> represents an <b>immutable</b> view of a {@link Graph} as it was at one point in
+ * time, returned by {@link Graph#snapshot()}.
+ *
+ * <p> Taking a snapshot copies nothing: the snapshot shares the graph's node table and child edge sets,
+ * and the graph copies a set (and, once per snapshot, its node table) before changing it. A snapshot
+ * therefore never changes, however the graph is changed afterwards, and any number of threads may read
+ * a snapshot without locking, even while another thread keeps adding to the graph.
+ *
+ * <p> Every snapshot carries the {@link Graph#getVersion() version} of the graph it was taken of. Two
+ * snapshots of the same graph with the same version contain exactly the same nodes and edges, so caches
+ * built on top of a graph can remember the version they were built for and rebuild when it changes.
+ *
+ * <p> A snapshot of a graph with a {@link Graph#getChildOrder() child order} hands out every node's children
+ * in that order.
+ *
+ * @param <N> The type of the nodes stored in the snapshot.
+ * @param <E> The type of edge labels stored in the snapshot.
+ */
+public final class GraphSnapshot<N, E> {
+
+    // Abstraction Function:
+    // A GraphSnapshot s is made up of Nodes and Edges, exactly like a Graph:
+    //      node collection in the snapshot => s.nodes.keySet()
+    //      all edges with n as parent => s.nodes.get(n)
+    //      the version of the graph the snapshot was taken of => s.version
+
+    // Representation Invariant for each GraphSnapshot s:
+    //  s.nodes != null
+    //  For every Edge e paired to every Node n within s.nodes: n != null && e != null && e.parent.equals(n)
+    //  s.numOfEdges == the total size of every set in s.nodes.values()
+    //  s.version >= 0
+    //  neither s.nodes nor any set in s.nodes.values() is ever modified.
+
+    private final Map<N, Set<Graph.Edge<E, N>>> nodes;
+    private final int numOfEdges;
+    private final long version;
+    private final Comparator<? super Graph.Edge<E, N>> childOrder;
+
+    /**
+     * Constructs a snapshot over a graph's node table. Used by Graph, which promises never to modify nodes
+     * or its sets again.
+     */
+    GraphSnapshot(Map<N, Set<Graph.Edge<E, N>>> nodes, int numOfEdges, long version,
+                  Comparator<? super Graph.Edge<E, N>> childOrder)
+    {
+        this.nodes = nodes;
+        this.numOfEdges = numOfEdges;
+        this.version = version;
+        this.childOrder = childOrder;
+        this.checkRep();
+    }
+
+    /**
+     * Returns the version of the graph this snapshot was taken of.
+     *
+     * @return the value Graph.getVersion() returned when this snapshot was taken.
+     */
+    public long getVersion()
+    {
+        return this.version;
+    }
+
+    /**
+     * Returns the order this snapshot hands out every node's children in.
+     *
+     * @return the child order of the graph this snapshot was taken of, or null if it had none.
+     */
+    public Comparator<? super Graph.Edge<E, N>> getChildOrder()
+    {
+        return this.childOrder;
+    }
+
+    /**
+     * Checks to see if this snapshot contains the specified node.
+     *
+     * @param nodeValue the value of the node we want to check for.
+     * @return true if and only if a node with nodeValue exists within this snapshot.
+     * @throws IllegalArgumentException if nodeValue is null
+     */
+    public boolean containsNode(N nodeValue) throws IllegalArgumentException
+    {
+        if(nodeValue == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        return this.nodes.containsKey(nodeValue);
+    }
+
+    /**
+     * Returns whether the parent node is connected to the child node via an edge.
+     *
+     * @param parent the parent node to test
+     * @param child the child node to test
+     * @return true if and only if parent node is connected to a child node via an edge.
+     * Returns false otherwise, including if either node passed DNE within this snapshot.
+     * @throws IllegalArgumentException if parent or child are null.
+     */
+    public boolean isAdjacent(N parent, N child) throws IllegalArgumentException
+    {
+        if(parent == null || child == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        Set<Graph.Edge<E, N>> childEdges = this.nodes.get(parent);
+        if(childEdges != null)
+        {
+            for(Graph.Edge<E, N> childEdge : childEdges)
+            {
+                if(childEdge.getChild().equals(child))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks to see if this snapshot contains the specified edge.
+     *
+     * @param label the label of the edge we want to check exists.
+     * @param parent the parent of the edge we want to check exists.
+     * @param child the child of the edge we want to check exists.
+     * @return true if and only if an edge with the specified label, parent, and child exists within
+     * this snapshot. If it isn't, return false.
+     * @throws IllegalArgumentException if label, parent, or child are null
+     */
+    public boolean containsEdge(E label, N parent, N child) throws IllegalArgumentException
+    {
+        if(label == null || parent == null || child == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        Set<Graph.Edge<E, N>> childEdges = this.nodes.get(parent);
+        return childEdges != null && childEdges.contains(new Graph.Edge<E, N>(label, parent, child));
+    }
+
+    /**
+     * Returns a collection of Edges that connect parentNode to childNode.
+     *
+     * @param parentNode the parent node of the edges we want.
+     * @param childNode the child node of the edges we want.
+     * @return a list of Edges with the specified parentNode and childNode.
+     * If no Edges with those endpoints exist, then return an empty list.
+     * If either node doesn't exist within this snapshot, then return null.
+     * @throws IllegalArgumentException if either parentNode or childNode are null
+     */
+    public List<Graph.Edge<E, N>> getEdge(N parentNode, N childNode) throws IllegalArgumentException
+    {
+        if(parentNode == null || childNode == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        Set<Graph.Edge<E, N>> childEdges = this.nodes.get(parentNode);
+        if(childEdges == null || !this.nodes.containsKey(childNode))
+        {
+            return null;
+        }
+
+        List<Graph.Edge<E, N>> edgesToChild = new ArrayList<Graph.Edge<E, N>>();
+        for(Graph.Edge<E, N> childEdge : childEdges)
+        {
+            if(childEdge.getChild().equals(childNode))
+            {
+                edgesToChild.add(childEdge);
+            }
+        }
+        return edgesToChild;
+    }
+
+    /**
+     * returns all children edges of parent node.
+     *
+     * @param parentNode the value of the parent node whose children we want to retrieve.
+     * @return a copy of the list of child edges. If there are no children, returns empty list.
+     * If parent doesn't exist within this snapshot, return null.
+     * @throws IllegalArgumentException if parentNode parent is null.
+     */
+    public List<Graph.Edge<E, N>> getChildrenEdges(N parentNode) throws IllegalArgumentException
+    {
+        Collection<Graph.Edge<E, N>> childEdges = this.getChildrenEdgesView(parentNode);
+        return childEdges == null ? null : new ArrayList<Graph.Edge<E, N>>(childEdges);
+    }
+
+    /**
+     * returns all children nodes of the parent node.
+     *
+     * @param parentNode the value of the parent node whose children we want to retrieve.
+     * @return a list of distinct child nodes. If there are no children, returns empty list.
+     * If parent doesn't exist within this snapshot, return null.
+     * @throws IllegalArgumentException if parentNode is null.
+     */
+    public List<N> getChildrenNodes(N parentNode) throws IllegalArgumentException
+    {
+        Collection<Graph.Edge<E, N>> childEdges = this.getChildrenEdgesView(parentNode);
+        if(childEdges == null)
+        {
+            return null;
+        }
+
+        Set<N> childrenNodes = new LinkedHashSet<N>();
+        for(Graph.Edge<E, N> childEdge : childEdges)
+        {
+            childrenNodes.add(childEdge.getChild());
+        }
+        return new ArrayList<N>(childrenNodes);
+    }
+
+    /**
+     * Returns a read-only view of all children edges of parent node. Nothing is copied, and since a
+     * snapshot never changes, the view may be kept and iterated over at any time.
+     *
+     * @param parentNode the value of the parent node whose children we want to view.
+     * @return an unmodifiable collection of parentNode's child edges. If there are no children, returns an
+     * empty collection. If parent doesn't exist within this snapshot, return null.
+     * @throws IllegalArgumentException if parentNode is null.
+     */
+    public Collection<Graph.Edge<E, N>> getChildrenEdgesView(N parentNode) throws IllegalArgumentException
+    {
+        if(parentNode == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        Set<Graph.Edge<E, N>> childEdges = this.nodes.get(parentNode);
+        return childEdges == null ? null : Collections.unmodifiableCollection(childEdges);
+    }
+
+    /**
+     * Performs action on every child edge of parent node without copying the child edges.
+     *
+     * @param parentNode the value of the parent node whose children we want to visit.
+     * @param action the action to perform on each child edge.
+     * @return true if and only if parentNode exists within this snapshot. If it doesn't, action is never
+     * performed and false is returned.
+     * @throws IllegalArgumentException if parentNode or action are null.
+     */
+    public boolean forEachChildEdge(N parentNode, Consumer<? super Graph.Edge<E, N>> action)
+            throws IllegalArgumentException
+    {
+        if(parentNode == null || action == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        Set<Graph.Edge<E, N>> childEdges = this.nodes.get(parentNode);
+        if(childEdges == null)
+        {
+            return false;
+        }
+        for(Graph.Edge<E, N> childEdge : childEdges)
+        {
+            action.accept(childEdge);
+        }
+        return true;
+    }
+
+    /**
+     * Gets and returns all nodes in this snapshot.
+     *
+     * @return a copy of the list of all nodes in this snapshot.
+     */
+    public List<N> getAllNodes()
+    {
+        return new ArrayList<N>(this.nodes.keySet());
+    }
+
+    /**
+     * Gets and returns number of edges in this snapshot.
+     *
+     * @return the number of edges in this snapshot.
+     */
+    public int getNumOfEdges()
+    {
+        return this.numOfEdges;
+    }
+
+    /**
+     * Gets and returns number of nodes in this snapshot.
+     *
+     * @return the number of nodes in this snapshot.
+     */
+    public int getNumOfNodes()
+    {
+        return this.nodes.size();
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep()
+    {
+        assert (this.nodes != null);
+        assert (this.numOfEdges >= 0 && this.version >= 0);
+    }
+}
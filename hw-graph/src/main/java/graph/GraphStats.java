@@ -0,0 +1,158 @@
+package graph;
+
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * <b>GraphStats</b> is a read-only, live view of the size and degree statistics of a {@link Graph}.
+ *
+ * <p> Total node and edge counts are maintained by the Graph itself as it changes, so reading them
+ * takes constant time. The out-degree of a single node is also constant time, and so is its in-degree
+ * when the graph keeps a parent index. The degree histograms are computed on demand, and take time
+ * linear in the number of nodes (the in-degree histogram also in the number of edges when the graph
+ * has no parent index).
+ *
+ * <p> Because it is a view, a GraphStats always reports the current state of its graph, so a
+ * monitoring dashboard can hold on to one and read it whenever it refreshes.
+ *
+ * @param <N> The type of the nodes in the graph.
+ * @param <E> The type of edge labels in the graph.
+ */
+public final class GraphStats<N, E> {
+
+    // Abstraction Function:
+    //  the statistics of the graph g => the node count, edge count and degrees of this.graph
+
+    // Representation Invariant:
+    //  graph != null
+
+    private final Graph<N, E> graph;
+
+    /**
+     * @param graph the graph to report the statistics of.
+     * @spec.effects Constructs a new view of the statistics of graph.
+     */
+    GraphStats(Graph<N, E> graph)
+    {
+        this.graph = graph;
+        this.checkRep();
+    }
+
+    /**
+     * Gets and returns number of nodes in the graph. Takes constant time.
+     *
+     * @return the number of nodes in the graph.
+     */
+    public int getNumOfNodes()
+    {
+        return this.graph.getNumOfNodes();
+    }
+
+    /**
+     * Gets and returns number of edges in the graph. Takes constant time.
+     *
+     * @return the number of edges in the graph. If the graph contains more than Integer.MAX_VALUE
+     * edges, returns Integer.MAX_VALUE.
+     */
+    public int getNumOfEdges()
+    {
+        return this.graph.getNumOfEdges();
+    }
+
+    /**
+     * Gets and returns the average number of child edges per node. Takes constant time.
+     *
+     * @return the number of edges divided by the number of nodes, or 0 if the graph has no nodes.
+     */
+    public double getAverageOutDegree()
+    {
+        int numOfNodes = this.getNumOfNodes();
+        return numOfNodes == 0 ? 0 : (double) this.getNumOfEdges() / numOfNodes;
+    }
+
+    /**
+     * Gets and returns the number of child edges of a node. Takes constant time.
+     *
+     * @param node the node whose out-degree we want.
+     * @return the number of edges with node as their parent.
+     * @throws IllegalArgumentException if node is null or doesn't exist within the graph.
+     */
+    public int getOutDegree(N node) throws IllegalArgumentException
+    {
+        if(node == null || !this.graph.containsNode(node))
+        {
+            throw new IllegalArgumentException();
+        }
+        return this.graph.getChildrenEdgesView(node).size();
+    }
+
+    /**
+     * Gets and returns the number of edges that point to a node. Takes constant time if the graph
+     * keeps a parent index, and time linear in the size of the graph otherwise.
+     *
+     * @param node the node whose in-degree we want.
+     * @return the number of edges with node as their child.
+     * @throws IllegalArgumentException if node is null or doesn't exist within the graph.
+     */
+    public int getInDegree(N node) throws IllegalArgumentException
+    {
+        if(node == null || !this.graph.containsNode(node))
+        {
+            throw new IllegalArgumentException();
+        }
+        return this.graph.getInDegree(node);
+    }
+
+    /**
+     * Computes how many nodes have each out-degree. Takes time linear in the number of nodes.
+     *
+     * @return a map from every out-degree that occurs in the graph to the number of nodes with that
+     * out-degree, in increasing order of out-degree. Empty if the graph has no nodes.
+     */
+    public SortedMap<Integer, Integer> getOutDegreeHistogram()
+    {
+        SortedMap<Integer, Integer> histogram = new TreeMap<Integer, Integer>();
+        for(Set<Graph.Edge<E, N>> edges : this.graph.getAllChildrenEdges())
+        {
+            histogram.merge(edges.size(), 1, Integer::sum);
+        }
+        return histogram;
+    }
+
+    /**
+     * Computes how many nodes have each in-degree.
+     *
+     * @return a map from every in-degree that occurs in the graph to the number of nodes with that
+     * in-degree, in increasing order of in-degree. Empty if the graph has no nodes.
+     */
+    public SortedMap<Integer, Integer> getInDegreeHistogram()
+    {
+        SortedMap<Integer, Integer> histogram = new TreeMap<Integer, Integer>();
+        for(int inDegree : this.graph.getAllInDegrees().values())
+        {
+            histogram.merge(inDegree, 1, Integer::sum);
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns a one-line summary of the graph's size.
+     *
+     * @return a String with the node count, edge count and average out-degree of the graph.
+     */
+    @Override
+    public String toString()
+    {
+        return "nodes=" + this.getNumOfNodes() + " edges=" + this.getNumOfEdges()
+                + " avgOutDegree=" + this.getAverageOutDegree();
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep()
+    {
+        assert (this.graph != null);
+    }
+}
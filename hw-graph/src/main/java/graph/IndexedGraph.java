@@ -0,0 +1,363 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * <b>IndexedGraph</b> is the read-only view shared by the immutable, int-indexed graph snapshots in this
+ * package, such as {@link CsrGraph} and {@link MappedGraph}.
+ *
+ * <p> Every node of an IndexedGraph has a dense int id from 0 to getNumOfNodes() - 1, and the child edges
+ * of the node with id i are the edge indices from getEdgesStart(i) (inclusive) to getEdgesEnd(i)
+ * (exclusive). Searches written against this interface run the same way whether the snapshot lives in
+ * Java arrays or in a mapped file.
+ *
+ * <p> The Graph read operations (containsNode, isAdjacent, getChildrenEdges and so on) are implemented
+ * here on top of the int-indexed ones, so an implementation only has to provide the latter. Edges returned
+ * by those operations are created on demand.
+ *
+ * @param <N> The type of the nodes stored in the graph.
+ * @param <E> The type of edge labels stored in the graph.
+ */
+public interface IndexedGraph<N, E> {
+
+    /**
+     * Gets and returns number of nodes in this graph. Node ids run from 0 to this number - 1.
+     *
+     * @return the number of nodes in this graph.
+     */
+    int getNumOfNodes();
+
+    /**
+     * Gets and returns number of edges in this graph. Edge indices run from 0 to this number - 1.
+     *
+     * @return the number of edges in this graph.
+     */
+    int getNumOfEdges();
+
+    /**
+     * Returns the dense id of a node.
+     *
+     * @param nodeValue the node whose id we want.
+     * @return the id of nodeValue, or -1 if nodeValue doesn't exist within this graph.
+     * @throws IllegalArgumentException if nodeValue is null
+     */
+    int getNodeId(N nodeValue) throws IllegalArgumentException;
+
+    /**
+     * Returns the node with the given id.
+     *
+     * @param nodeId the id of the node we want.
+     * @return the node whose id is nodeId.
+     * @throws IndexOutOfBoundsException if nodeId is not a valid node id.
+     */
+    N getNode(int nodeId);
+
+    /**
+     * Returns the index of the first child edge of a node.
+     *
+     * @param nodeId the id of the parent node.
+     * @return the index of nodeId's first child edge. The child edges of nodeId are exactly the edge
+     * indices from getEdgesStart(nodeId) (inclusive) to getEdgesEnd(nodeId) (exclusive).
+     * @throws IndexOutOfBoundsException if nodeId is not a valid node id.
+     */
+    int getEdgesStart(int nodeId);
+
+    /**
+     * Returns the index one past the last child edge of a node.
+     *
+     * @param nodeId the id of the parent node.
+     * @return the index one past nodeId's last child edge.
+     * @throws IndexOutOfBoundsException if nodeId is not a valid node id.
+     */
+    int getEdgesEnd(int nodeId);
+
+    /**
+     * Returns the id of the child node an edge points to.
+     *
+     * @param edgeIndex the index of the edge.
+     * @return the node id of the child of the edge at edgeIndex.
+     * @throws IndexOutOfBoundsException if edgeIndex is not a valid edge index.
+     */
+    int getEdgeChild(int edgeIndex);
+
+    /**
+     * Returns the label of an edge.
+     *
+     * @param edgeIndex the index of the edge.
+     * @return the label of the edge at edgeIndex.
+     * @throws IndexOutOfBoundsException if edgeIndex is not a valid edge index.
+     */
+    E getEdgeLabel(int edgeIndex);
+
+    /**
+     * Returns the order the children of every node are stored in.
+     *
+     * @return the comparator this graph's child edges are sorted by, or null if they are stored in no
+     * particular order.
+     */
+    Comparator<? super Graph.Edge<E, N>> getChildOrder();
+
+    /**
+     * Returns the id of the weakly connected component a node is in. Two nodes have the same component id
+     * if and only if there is a path between them when edges may be followed either way, so nodes with
+     * different component ids can never reach each other. Component ids are computed for every node the
+     * first time one is asked for, in time linear in the size of this graph; after that, each lookup
+     * takes constant time.
+     *
+     * @param nodeId the id of the node.
+     * @return the id of nodeId's component, from 0 to one less than the number of components.
+     * @throws IndexOutOfBoundsException if nodeId is not a valid node id.
+     */
+    int getComponentId(int nodeId);
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Graph read API
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Checks to see if this graph contains the specified node.
+     *
+     * @param nodeValue the value of the node we want to check for.
+     * @return true if and only if a node with nodeValue exists within this graph.
+     * @throws IllegalArgumentException if nodeValue is null
+     */
+    default boolean containsNode(N nodeValue) throws IllegalArgumentException
+    {
+        return this.getNodeId(nodeValue) != -1;
+    }
+
+    /**
+     * Returns whether two nodes are in the same weakly connected component. If they aren't, there is no
+     * path between them in either direction. Takes constant time once getComponentId has been called.
+     *
+     * @param a one of the nodes.
+     * @param b the other node.
+     * @return true if and only if a and b both exist within this graph and getComponentId gives them the
+     * same component.
+     * @throws IllegalArgumentException if a or b are null.
+     */
+    default boolean isConnected(N a, N b) throws IllegalArgumentException
+    {
+        int aId = this.getNodeId(a);
+        int bId = this.getNodeId(b);
+        return aId != -1 && bId != -1 && this.getComponentId(aId) == this.getComponentId(bId);
+    }
+
+    /**
+     * Returns whether the parent node is connected to the child node via an edge.
+     *
+     * @param parent the parent node to test
+     * @param child the child node to test
+     * @return true if and only if parent node is connected to a child node via an edge.
+     * Returns false otherwise, including if either node passed DNE within this graph.
+     * @throws IllegalArgumentException if parent or child are null.
+     */
+    default boolean isAdjacent(N parent, N child) throws IllegalArgumentException
+    {
+        if(parent == null || child == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        int parentId = this.getNodeId(parent);
+        int childId = this.getNodeId(child);
+        if(parentId == -1 || childId == -1)
+        {
+            return false;
+        }
+
+        for(int edge = this.getEdgesStart(parentId); edge < this.getEdgesEnd(parentId); edge++)
+        {
+            if(this.getEdgeChild(edge) == childId)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks to see if this graph contains the specified edge.
+     *
+     * @param label the label of the edge we want to check exists.
+     * @param parent the parent of the edge we want to check exists.
+     * @param child the child of the edge we want to check exists.
+     * @return true if and only if an edge with the specified label, parent, and child exists within
+     * this graph. If it isn't, return false.
+     * @throws IllegalArgumentException if label, parent, or child are null
+     */
+    default boolean containsEdge(E label, N parent, N child) throws IllegalArgumentException
+    {
+        if(label == null || parent == null || child == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        int parentId = this.getNodeId(parent);
+        int childId = this.getNodeId(child);
+        if(parentId == -1 || childId == -1)
+        {
+            return false;
+        }
+
+        for(int edge = this.getEdgesStart(parentId); edge < this.getEdgesEnd(parentId); edge++)
+        {
+            if(this.getEdgeChild(edge) == childId && this.getEdgeLabel(edge).equals(label))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a collection of Edges that connect parentNode to childNode.
+     *
+     * @param parentNode the parent node of the edges we want.
+     * @param childNode the child node of the edges we want.
+     * @return a list of Edges with the specified parentNode and childNode.
+     * If no Edges with those endpoints exist, then return an empty list.
+     * If either node doesn't exist within this graph, then return null.
+     * @throws IllegalArgumentException if either parentNode or childNode are null
+     */
+    default List<Graph.Edge<E, N>> getEdge(N parentNode, N childNode) throws IllegalArgumentException
+    {
+        if(parentNode == null || childNode == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        int parentId = this.getNodeId(parentNode);
+        int childId = this.getNodeId(childNode);
+        if(parentId == -1 || childId == -1)
+        {
+            return null;
+        }
+
+        List<Graph.Edge<E, N>> edgesToChild = new ArrayList<Graph.Edge<E, N>>();
+        for(int edge = this.getEdgesStart(parentId); edge < this.getEdgesEnd(parentId); edge++)
+        {
+            if(this.getEdgeChild(edge) == childId)
+            {
+                edgesToChild.add(this.toEdge(parentId, edge));
+            }
+        }
+        return edgesToChild;
+    }
+
+    /**
+     * returns all children edges of parent node.
+     *
+     * @param parentNode the value of the parent node whose children we want to retrieve.
+     * @return a list of child edges, in the order they are stored in. If there are no children,
+     * returns empty list. If parent doesn't exist within this graph, return null.
+     * @throws IllegalArgumentException if parentNode parent is null.
+     */
+    default List<Graph.Edge<E, N>> getChildrenEdges(N parentNode) throws IllegalArgumentException
+    {
+        int parentId = this.getNodeId(parentNode);
+        if(parentId == -1)
+        {
+            return null;
+        }
+
+        int start = this.getEdgesStart(parentId);
+        int end = this.getEdgesEnd(parentId);
+        List<Graph.Edge<E, N>> childrenEdges = new ArrayList<Graph.Edge<E, N>>(end - start);
+        for(int edge = start; edge < end; edge++)
+        {
+            childrenEdges.add(this.toEdge(parentId, edge));
+        }
+        return childrenEdges;
+    }
+
+    /**
+     * returns all children nodes of the parent node.
+     *
+     * @param parentNode the value of the parent node whose children we want to retrieve.
+     * @return a list of distinct child nodes. If there are no children, returns empty list.
+     * If parent doesn't exist within this graph, return null.
+     * @throws IllegalArgumentException if parentNode is null.
+     */
+    default List<N> getChildrenNodes(N parentNode) throws IllegalArgumentException
+    {
+        int parentId = this.getNodeId(parentNode);
+        if(parentId == -1)
+        {
+            return null;
+        }
+
+        Set<N> childrenNodes = new LinkedHashSet<N>();
+        for(int edge = this.getEdgesStart(parentId); edge < this.getEdgesEnd(parentId); edge++)
+        {
+            childrenNodes.add(this.getNode(this.getEdgeChild(edge)));
+        }
+        return new ArrayList<N>(childrenNodes);
+    }
+
+    /**
+     * Gets and returns all nodes in this graph.
+     *
+     * @return a list of all nodes in this graph, in order of their node ids.
+     */
+    default List<N> getAllNodes()
+    {
+        List<N> nodeValues = new ArrayList<N>(this.getNumOfNodes());
+        for(int i = 0; i < this.getNumOfNodes(); i++)
+        {
+            nodeValues.add(this.getNode(i));
+        }
+        return nodeValues;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Int-indexed API
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns a primitive iterator over the ids of the children of a node, in the order their edges are
+     * stored. A child appears once for every edge to it. No boxing happens while iterating.
+     *
+     * @param nodeId the id of the parent node.
+     * @return an iterator over the node ids of nodeId's children.
+     * @throws IndexOutOfBoundsException if nodeId is not a valid node id.
+     */
+    default PrimitiveIterator.OfInt getChildIds(int nodeId)
+    {
+        int start = this.getEdgesStart(nodeId);
+        int end = this.getEdgesEnd(nodeId);
+        return new PrimitiveIterator.OfInt() {
+            private int edge = start;
+
+            @Override
+            public boolean hasNext()
+            {
+                return this.edge < end;
+            }
+
+            @Override
+            public int nextInt()
+            {
+                if(!this.hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                return IndexedGraph.this.getEdgeChild(this.edge++);
+            }
+        };
+    }
+
+    /**
+     * Creates the Edge stored at an edge index.
+     *
+     * @param parentId the id of the parent node of the edge.
+     * @param edgeIndex the index of the edge.
+     * @return a new Edge with the label, parent and child of the edge at edgeIndex.
+     * @spec.requires getEdgesStart(parentId) <= edgeIndex < getEdgesEnd(parentId)
+     */
+    default Graph.Edge<E, N> toEdge(int parentId, int edgeIndex)
+    {
+        return new Graph.Edge<E, N>(this.getEdgeLabel(edgeIndex), this.getNode(parentId),
+                this.getNode(this.getEdgeChild(edgeIndex)));
+    }
+}
@@ -0,0 +1,589 @@
+package graph;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * <b>MappedGraph</b> represents an <b>immutable</b> graph snapshot that lives in a binary file and is read
+ * through a memory mapping of that file.
+ *
+ * <p> {@link #write} stores any {@link IndexedGraph} (usually a {@link CsrGraph}) in a versioned binary
+ * format, and {@link #open} maps such a file with {@link FileChannel#map} and answers every query directly
+ * from the mapped bytes. Opening a snapshot only reads its header, so it takes about the same time however
+ * large the graph is; pages of the file are loaded by the operating system as queries touch them, and
+ * several JVMs mapping the same file share one copy of it in the page cache.
+ *
+ * <p> Node values and edge labels are stored as bytes, using a {@link ValueCodec} for each. Node ids and
+ * the order of every node's child edges are the same as in the graph that was written, so searches over a
+ * MappedGraph find exactly the same paths as searches over the original snapshot. Nodes and labels are
+ * decoded every time a query returns them, so returned values are equal to, but not the same objects as,
+ * the ones that were written.
+ *
+ * <p> The file format (version 1) is a sequence of big-endian ints, with every section starting at a
+ * multiple of 4 bytes:
+ * <pre>
+ *   header:           MAGIC, VERSION, numOfNodes, numOfLabels, numOfEdges, tableSize,
+ *                     the length of the child order name, then the name in UTF-8 (padded)
+ *   node dictionary:  int[numOfNodes + 1] byte offsets, then the encoded nodes (padded)
+ *   label dictionary: int[numOfLabels + 1] byte offsets, then the encoded labels (padded)
+ *   node table:       int[tableSize] open-addressing hash table of node id + 1 (0 for empty)
+ *   adjacency:        int[numOfNodes + 1] edge offsets, int[numOfEdges] child ids,
+ *                     int[numOfEdges] label ids
+ * </pre>
+ * The child order name is the class name of the comparator the written graph's children were sorted by,
+ * or empty if they weren't sorted.
+ *
+ * <p> A MappedGraph may be read by several threads at once.
+ *
+ * @param <N> The type of the nodes stored in the snapshot.
+ * @param <E> The type of edge labels stored in the snapshot.
+ */
+public final class MappedGraph<N, E> implements IndexedGraph<N, E> {
+
+    /**
+     * The first four bytes of every snapshot file, "GRAF" in ASCII.
+     */
+    public static final int MAGIC = 0x47524146;
+
+    /**
+     * The version of the file format this class writes and reads.
+     */
+    public static final int VERSION = 1;
+
+    private static final int HEADER_INTS = 7;
+
+    // Abstraction Function:
+    // A MappedGraph m is made up of Nodes and Edges:
+    //      node with id i => m.nodeCodec decoding the node dictionary bytes of entry i
+    //      all edges with node i as parent => for every edge index k with
+    //          edgeOffsets[i] <= k < edgeOffsets[i + 1], the edge with label entry labelIds[k] of the
+    //          label dictionary, parent node i and child node targets[k]
+    //      where every array is read from m.buffer at the position of its section.
+
+    // Representation Invariant for each MappedGraph m:
+    //  m.buffer, m.nodeCodec, m.labelCodec != null
+    //  m.numOfNodes, m.numOfLabels, m.numOfEdges >= 0
+    //  m.tableMask + 1 is a power of two greater than m.numOfNodes
+    //  every section lies inside m.buffer, in the order given by the file format, and the last one ends
+    //      at m.buffer.capacity()
+
+    private final ByteBuffer buffer;
+    private final ValueCodec<N> nodeCodec;
+    private final ValueCodec<E> labelCodec;
+    private final Comparator<? super Graph.Edge<E, N>> childOrder;
+
+    private final int numOfNodes;
+    private final int numOfLabels;
+    private final int numOfEdges;
+    private final int tableMask;
+    private volatile int[] componentIds; // node id -> component id, or null until first asked for.
+
+    // Byte positions of the sections of the file.
+    private final int nodeOffsetsPos;
+    private final int nodeBytesPos;
+    private final int labelOffsetsPos;
+    private final int labelBytesPos;
+    private final int tablePos;
+    private final int edgeOffsetsPos;
+    private final int targetsPos;
+    private final int labelIdsPos;
+
+    /**
+     * Reads the header of a mapped snapshot and locates its sections.
+     *
+     * @throws IllegalArgumentException if buffer doesn't hold a snapshot of the current version.
+     */
+    private MappedGraph(ByteBuffer buffer, ValueCodec<N> nodeCodec, ValueCodec<E> labelCodec,
+                        Comparator<? super Graph.Edge<E, N>> expectedOrder) throws IllegalArgumentException
+    {
+        this.buffer = buffer;
+        this.nodeCodec = nodeCodec;
+        this.labelCodec = labelCodec;
+
+        long limit = buffer.capacity();
+        MappedGraph.checkSection(0, HEADER_INTS * Integer.BYTES, limit);
+        if(buffer.getInt(0) != MAGIC)
+        {
+            throw new IllegalArgumentException("Not a graph snapshot");
+        }
+        if(buffer.getInt(4) != VERSION)
+        {
+            throw new IllegalArgumentException("Unsupported graph snapshot version: " + buffer.getInt(4));
+        }
+        this.numOfNodes = buffer.getInt(8);
+        this.numOfLabels = buffer.getInt(12);
+        this.numOfEdges = buffer.getInt(16);
+        int tableSize = buffer.getInt(20);
+        int orderNameLength = buffer.getInt(24);
+        if(this.numOfNodes < 0 || this.numOfLabels < 0 || this.numOfEdges < 0 || orderNameLength < 0
+                || Integer.bitCount(tableSize) != 1 || tableSize <= this.numOfNodes)
+        {
+            throw new IllegalArgumentException("Corrupt graph snapshot header");
+        }
+        this.tableMask = tableSize - 1;
+
+        long pos = HEADER_INTS * Integer.BYTES;
+        MappedGraph.checkSection(pos, orderNameLength, limit);
+        byte[] orderName = new byte[orderNameLength];
+        ByteBuffer orderNameBytes = buffer.duplicate();
+        orderNameBytes.position((int) pos);
+        orderNameBytes.get(orderName);
+        pos += MappedGraph.align(orderNameLength);
+
+        this.nodeOffsetsPos = MappedGraph.checkSection(pos, (this.numOfNodes + 1L) * Integer.BYTES, limit);
+        pos += (this.numOfNodes + 1L) * Integer.BYTES;
+        int nodeBytesLength = buffer.getInt(this.nodeOffsetsPos + this.numOfNodes * Integer.BYTES);
+        this.nodeBytesPos = MappedGraph.checkSection(pos, nodeBytesLength, limit);
+        pos += MappedGraph.align(nodeBytesLength);
+
+        this.labelOffsetsPos = MappedGraph.checkSection(pos, (this.numOfLabels + 1L) * Integer.BYTES, limit);
+        pos += (this.numOfLabels + 1L) * Integer.BYTES;
+        int labelBytesLength = buffer.getInt(this.labelOffsetsPos + this.numOfLabels * Integer.BYTES);
+        this.labelBytesPos = MappedGraph.checkSection(pos, labelBytesLength, limit);
+        pos += MappedGraph.align(labelBytesLength);
+
+        this.tablePos = MappedGraph.checkSection(pos, (long) tableSize * Integer.BYTES, limit);
+        pos += (long) tableSize * Integer.BYTES;
+        this.edgeOffsetsPos = MappedGraph.checkSection(pos, (this.numOfNodes + 1L) * Integer.BYTES, limit);
+        pos += (this.numOfNodes + 1L) * Integer.BYTES;
+        this.targetsPos = MappedGraph.checkSection(pos, (long) this.numOfEdges * Integer.BYTES, limit);
+        pos += (long) this.numOfEdges * Integer.BYTES;
+        this.labelIdsPos = MappedGraph.checkSection(pos, (long) this.numOfEdges * Integer.BYTES, limit);
+        pos += (long) this.numOfEdges * Integer.BYTES;
+        if(pos != limit)
+        {
+            throw new IllegalArgumentException("Corrupt graph snapshot: expected " + pos + " bytes but found " + limit);
+        }
+
+        // A comparator can't be stored in the file, so the caller's is trusted only if it is the same kind
+        // of comparator the children were sorted by when the snapshot was written.
+        boolean sameOrder = expectedOrder != null && orderNameLength > 0
+                && expectedOrder.getClass().getName().equals(new String(orderName, StandardCharsets.UTF_8));
+        this.childOrder = sameOrder ? expectedOrder : null;
+        this.checkRep();
+    }
+
+    /**
+     * Writes a graph to a binary snapshot file, replacing the file if it already exists. Node ids and the
+     * order of every node's child edges are kept.
+     *
+     * @param graph the graph to write.
+     * @param file the file to write the snapshot to.
+     * @param nodeCodec the codec used to encode the nodes of graph.
+     * @param labelCodec the codec used to encode the edge labels of graph.
+     * @param <N> the type of nodes in the graph.
+     * @param <E> the type of edge labels in the graph.
+     * @throws IllegalArgumentException if any argument is null, or if two nodes of graph encode to the same
+     * bytes.
+     * @throws IOException if the file can't be written.
+     */
+    public static <N, E> void write(IndexedGraph<N, E> graph, Path file, ValueCodec<N> nodeCodec,
+                                    ValueCodec<E> labelCodec) throws IllegalArgumentException, IOException
+    {
+        if(graph == null || file == null || nodeCodec == null || labelCodec == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        int numOfNodes = graph.getNumOfNodes();
+        byte[][] nodeBytes = new byte[numOfNodes][];
+        for(int i = 0; i < numOfNodes; i++)
+        {
+            nodeBytes[i] = nodeCodec.encode(graph.getNode(i));
+        }
+
+        int tableSize = 1;
+        while(tableSize <= 2 * numOfNodes)
+        {
+            tableSize <<= 1;
+        }
+        int[] table = new int[tableSize];
+        for(int i = 0; i < numOfNodes; i++)
+        {
+            int slot = MappedGraph.hash(nodeBytes[i]) & (tableSize - 1);
+            while(table[slot] != 0)
+            {
+                if(Arrays.equals(nodeBytes[table[slot] - 1], nodeBytes[i]))
+                {
+                    throw new IllegalArgumentException("Nodes " + (table[slot] - 1) + " and " + i
+                            + " encode to the same bytes");
+                }
+                slot = (slot + 1) & (tableSize - 1);
+            }
+            table[slot] = i + 1;
+        }
+
+        // Every distinct label is stored once, in the order it first appears.
+        Map<E, Integer> labelIds = new HashMap<E, Integer>();
+        List<byte[]> labelBytes = new ArrayList<byte[]>();
+        int[] edgeOffsets = new int[numOfNodes + 1];
+        int[] targets = new int[graph.getNumOfEdges()];
+        int[] edgeLabels = new int[targets.length];
+        int edgeIndex = 0;
+        for(int i = 0; i < numOfNodes; i++)
+        {
+            edgeOffsets[i] = edgeIndex;
+            for(int edge = graph.getEdgesStart(i); edge < graph.getEdgesEnd(i); edge++)
+            {
+                E label = graph.getEdgeLabel(edge);
+                Integer labelId = labelIds.get(label);
+                if(labelId == null)
+                {
+                    labelId = labelBytes.size();
+                    labelIds.put(label, labelId);
+                    labelBytes.add(labelCodec.encode(label));
+                }
+                targets[edgeIndex] = graph.getEdgeChild(edge);
+                edgeLabels[edgeIndex] = labelId;
+                edgeIndex++;
+            }
+        }
+        edgeOffsets[numOfNodes] = edgeIndex;
+
+        byte[] orderName = graph.getChildOrder() == null ? new byte[0]
+                : graph.getChildOrder().getClass().getName().getBytes(StandardCharsets.UTF_8);
+
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(numOfNodes);
+            out.writeInt(labelBytes.size());
+            out.writeInt(targets.length);
+            out.writeInt(tableSize);
+            out.writeInt(orderName.length);
+            MappedGraph.writePadded(out, orderName);
+            MappedGraph.writeDictionary(out, Arrays.asList(nodeBytes));
+            MappedGraph.writeDictionary(out, labelBytes);
+            MappedGraph.writeInts(out, table);
+            MappedGraph.writeInts(out, edgeOffsets);
+            MappedGraph.writeInts(out, targets);
+            MappedGraph.writeInts(out, edgeLabels);
+        }
+    }
+
+    /**
+     * Maps a snapshot file written by {@link #write}. The children of the returned graph are treated as
+     * unsorted.
+     *
+     * @param file the snapshot file to map.
+     * @param nodeCodec the codec the nodes were written with.
+     * @param labelCodec the codec the edge labels were written with.
+     * @param <N> the type of nodes in the snapshot.
+     * @param <E> the type of edge labels in the snapshot.
+     * @return a MappedGraph that reads the snapshot in file.
+     * @throws IllegalArgumentException if any argument is null, or if file isn't a snapshot of the current
+     * version.
+     * @throws IOException if the file can't be read.
+     */
+    public static <N, E> MappedGraph<N, E> open(Path file, ValueCodec<N> nodeCodec, ValueCodec<E> labelCodec)
+            throws IllegalArgumentException, IOException
+    {
+        return MappedGraph.open(file, nodeCodec, labelCodec, null);
+    }
+
+    /**
+     * Maps a snapshot file written by {@link #write}. If the children of the written graph were sorted by
+     * a comparator of the same class as expectedOrder, the returned graph reports expectedOrder as its
+     * child order, so searches can skip sorting.
+     *
+     * @param file the snapshot file to map.
+     * @param nodeCodec the codec the nodes were written with.
+     * @param labelCodec the codec the edge labels were written with.
+     * @param expectedOrder the order the children are expected to be sorted in, or null.
+     * @param <N> the type of nodes in the snapshot.
+     * @param <E> the type of edge labels in the snapshot.
+     * @return a MappedGraph that reads the snapshot in file.
+     * @throws IllegalArgumentException if file, nodeCodec or labelCodec is null, or if file isn't a
+     * snapshot of the current version.
+     * @throws IOException if the file can't be read.
+     */
+    public static <N, E> MappedGraph<N, E> open(Path file, ValueCodec<N> nodeCodec, ValueCodec<E> labelCodec,
+                                                Comparator<? super Graph.Edge<E, N>> expectedOrder)
+            throws IllegalArgumentException, IOException
+    {
+        if(file == null || nodeCodec == null || labelCodec == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        // The mapping stays valid after the channel is closed.
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            if(channel.size() > Integer.MAX_VALUE)
+            {
+                throw new IllegalArgumentException("Graph snapshot is too large to map: " + channel.size());
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedGraph<N, E>(buffer, nodeCodec, labelCodec, expectedOrder);
+        }
+    }
+
+    @Override
+    public Comparator<? super Graph.Edge<E, N>> getChildOrder()
+    {
+        return this.childOrder;
+    }
+
+    @Override
+    public int getNumOfNodes()
+    {
+        return this.numOfNodes;
+    }
+
+    @Override
+    public int getNumOfEdges()
+    {
+        return this.numOfEdges;
+    }
+
+    /**
+     * Gets and returns number of distinct edge labels in this snapshot.
+     *
+     * @return the number of entries in this snapshot's label dictionary.
+     */
+    public int getNumOfLabels()
+    {
+        return this.numOfLabels;
+    }
+
+    @Override
+    public int getNodeId(N nodeValue) throws IllegalArgumentException
+    {
+        if(nodeValue == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        byte[] bytes = this.nodeCodec.encode(nodeValue);
+        int slot = MappedGraph.hash(bytes) & this.tableMask;
+        for(int probes = 0; probes <= this.tableMask; probes++)
+        {
+            int entry = this.buffer.getInt(this.tablePos + slot * Integer.BYTES);
+            if(entry == 0)
+            {
+                return -1;
+            }
+            if(this.nodeBytesEqual(entry - 1, bytes))
+            {
+                return entry - 1;
+            }
+            slot = (slot + 1) & this.tableMask;
+        }
+        return -1;
+    }
+
+    @Override
+    public N getNode(int nodeId)
+    {
+        this.checkNodeId(nodeId);
+        return this.nodeCodec.decode(this.entry(this.nodeOffsetsPos, this.nodeBytesPos, nodeId));
+    }
+
+    @Override
+    public int getEdgesStart(int nodeId)
+    {
+        this.checkNodeId(nodeId);
+        return this.buffer.getInt(this.edgeOffsetsPos + nodeId * Integer.BYTES);
+    }
+
+    @Override
+    public int getEdgesEnd(int nodeId)
+    {
+        this.checkNodeId(nodeId);
+        return this.buffer.getInt(this.edgeOffsetsPos + (nodeId + 1) * Integer.BYTES);
+    }
+
+    @Override
+    public int getEdgeChild(int edgeIndex)
+    {
+        this.checkEdgeIndex(edgeIndex);
+        return this.buffer.getInt(this.targetsPos + edgeIndex * Integer.BYTES);
+    }
+
+    @Override
+    public E getEdgeLabel(int edgeIndex)
+    {
+        this.checkEdgeIndex(edgeIndex);
+        int labelId = this.buffer.getInt(this.labelIdsPos + edgeIndex * Integer.BYTES);
+        return this.labelCodec.decode(this.entry(this.labelOffsetsPos, this.labelBytesPos, labelId));
+    }
+
+    /**
+     * Returns a view of the bytes of one dictionary entry.
+     */
+    private ByteBuffer entry(int offsetsPos, int bytesPos, int index)
+    {
+        int start = this.buffer.getInt(offsetsPos + index * Integer.BYTES);
+        int end = this.buffer.getInt(offsetsPos + (index + 1) * Integer.BYTES);
+        ByteBuffer entry = this.buffer.duplicate();
+        entry.limit(bytesPos + end).position(bytesPos + start);
+        return entry;
+    }
+
+    /**
+     * Returns whether the stored bytes of a node are equal to bytes.
+     */
+    private boolean nodeBytesEqual(int nodeId, byte[] bytes)
+    {
+        int start = this.buffer.getInt(this.nodeOffsetsPos + nodeId * Integer.BYTES);
+        int end = this.buffer.getInt(this.nodeOffsetsPos + (nodeId + 1) * Integer.BYTES);
+        if(end - start != bytes.length)
+        {
+            return false;
+        }
+        for(int i = 0; i < bytes.length; i++)
+        {
+            if(this.buffer.get(this.nodeBytesPos + start + i) != bytes[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the 32-bit FNV-1a hash of bytes. The node table of a snapshot is laid out with this hash,
+     * so it must never change within a file format version.
+     */
+    private static int hash(byte[] bytes)
+    {
+        int hash = 0x811C9DC5;
+        for(byte b : bytes)
+        {
+            hash ^= b & 0xFF;
+            hash *= 0x01000193;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns length rounded up to a multiple of 4.
+     */
+    private static long align(long length)
+    {
+        return (length + 3) / 4 * 4;
+    }
+
+    /**
+     * Returns pos as an int if the section of the given length starting at pos fits inside limit.
+     *
+     * @throws IllegalArgumentException if it doesn't.
+     */
+    private static int checkSection(long pos, long length, long limit) throws IllegalArgumentException
+    {
+        if(length < 0 || pos + length > limit)
+        {
+            throw new IllegalArgumentException("Corrupt graph snapshot: truncated at byte " + pos);
+        }
+        return (int) pos;
+    }
+
+    /**
+     * Writes bytes followed by enough zero bytes to end on a multiple of 4.
+     */
+    private static void writePadded(DataOutputStream out, byte[] bytes) throws IOException
+    {
+        out.write(bytes);
+        for(long i = bytes.length; i < MappedGraph.align(bytes.length); i++)
+        {
+            out.writeByte(0);
+        }
+    }
+
+    /**
+     * Writes every int in values, in order.
+     */
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException
+    {
+        for(int value : values)
+        {
+            out.writeInt(value);
+        }
+    }
+
+    /**
+     * Writes the byte offsets of every entry followed by the entries themselves.
+     */
+    private static void writeDictionary(DataOutputStream out, List<byte[]> entries) throws IOException
+    {
+        int offset = 0;
+        for(byte[] entry : entries)
+        {
+            out.writeInt(offset);
+            offset += entry.length;
+        }
+        out.writeInt(offset);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(offset);
+        for(byte[] entry : entries)
+        {
+            bytes.write(entry, 0, entry.length);
+        }
+        MappedGraph.writePadded(out, bytes.toByteArray());
+    }
+
+    /**
+     * Returns the id of the weakly connected component a node is in. The ids of every node are computed
+     * the first time one is asked for, and kept on the heap; after that, each lookup takes constant time.
+     *
+     * @param nodeId the id of the node.
+     * @return the id of nodeId's component, from 0 to one less than the number of components.
+     * @throws IndexOutOfBoundsException if nodeId is not a valid node id.
+     */
+    @Override
+    public int getComponentId(int nodeId)
+    {
+        this.checkNodeId(nodeId);
+        int[] componentIds = this.componentIds;
+        if(componentIds == null)
+        {
+            // Two threads may both compute the ids, which is harmless: they get the same ones.
+            componentIds = GraphAnalytics.componentIds(this);
+            this.componentIds = componentIds;
+        }
+        return componentIds[nodeId];
+    }
+
+    /**
+     * Throws an IndexOutOfBoundsException if nodeId is not a valid node id.
+     */
+    private void checkNodeId(int nodeId)
+    {
+        if(nodeId < 0 || nodeId >= this.numOfNodes)
+        {
+            throw new IndexOutOfBoundsException("Invalid node id: " + nodeId);
+        }
+    }
+
+    /**
+     * Throws an IndexOutOfBoundsException if edgeIndex is not a valid edge index.
+     */
+    private void checkEdgeIndex(int edgeIndex)
+    {
+        if(edgeIndex < 0 || edgeIndex >= this.numOfEdges)
+        {
+            throw new IndexOutOfBoundsException("Invalid edge index: " + edgeIndex);
+        }
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep()
+    {
+        assert (this.buffer != null && this.nodeCodec != null && this.labelCodec != null);
+        assert (this.numOfNodes >= 0 && this.numOfLabels >= 0 && this.numOfEdges >= 0);
+        assert (Integer.bitCount(this.tableMask + 1) == 1 && this.tableMask >= this.numOfNodes);
+        assert (this.labelIdsPos + (long) this.numOfEdges * Integer.BYTES == this.buffer.capacity());
+    }
+}
@@ -0,0 +1,402 @@
+package graph;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.*;
+
+/**
+ * <b>OffHeapGraph</b> represents an <b>immutable</b> snapshot of a directed labeled graph whose adjacency is
+ * stored outside the Java heap.
+ *
+ * <p> Like a {@link CsrGraph}, an OffHeapGraph stores the child edges of every node next to each other in
+ * compressed sparse row form, but the edge offsets, child ids and label ids live in direct ByteBuffers.
+ * Only the node dictionary (node values and their ids) and the dictionary of distinct edge labels stay on
+ * the heap. The garbage collector never has to scan or copy the adjacency, so a very large graph adds
+ * little to GC pause times, and its size is limited by -XX:MaxDirectMemorySize rather than -Xmx. Each
+ * direct buffer holds at most 2^31 - 1 bytes, so a snapshot holds at most about 500 million edges.
+ *
+ * <p> An OffHeapGraph should be closed once it is no longer needed. After {@link #close()}, every query
+ * throws an IllegalStateException and the graph lets go of its direct buffers, whose memory is freed when
+ * the garbage collector collects them. Any number of threads may read a graph at once, and it may be closed
+ * while they do: a query that races with close() either answers from the buffers it already read, or
+ * throws an IllegalStateException.
+ *
+ * @param <N> The type of the nodes stored in the snapshot.
+ * @param <E> The type of edge labels stored in the snapshot.
+ */
+public final class OffHeapGraph<N, E> implements IndexedGraph<N, E>, AutoCloseable {
+
+    // Abstraction Function:
+    // An OffHeapGraph g is made up of Nodes and Edges:
+    //      node with id i => g.nodes[i]
+    //      all edges with g.nodes[i] as parent => for every edge index k with
+    //          b.offsets.get(i) <= k < b.offsets.get(i + 1), the edge with label
+    //          g.labels[b.labelIds.get(k)], parent g.nodes[i] and child g.nodes[b.targets.get(k)],
+    //          where b = g.buffers
+    // A closed OffHeapGraph (g.buffers == null) has no nodes or edges.
+
+    // Representation Invariant for each open OffHeapGraph g, with b = g.buffers:
+    //  g.nodes, g.ids, g.labels, b.offsets, b.targets, b.labelIds != null
+    //  b.offsets.capacity() == g.nodes.length + 1
+    //  b.offsets.get(0) == 0 && b.offsets.get(g.nodes.length) == b.targets.capacity()
+    //  b.targets.capacity() == b.labelIds.capacity()
+    //  for every i: g.nodes[i] != null && g.ids.get(g.nodes[i]) == i
+    //  for every k: 0 <= b.targets.get(k) < g.nodes.length && 0 <= b.labelIds.get(k) < g.labels.length
+    // For a closed OffHeapGraph g: g.buffers == null
+
+    private final Object[] nodes; // node id -> node value.
+    private final Map<N, Integer> ids; // node value -> node id.
+    private final Object[] labels; // label id -> label.
+    private final Comparator<? super Graph.Edge<E, N>> childOrder;
+
+    // Queries read this once into a local, so close() can't pull a buffer out from under them half-way.
+    private volatile Buffers buffers; // the adjacency, or null once this graph is closed.
+    private volatile int[] componentIds; // node id -> component id, or null until first asked for.
+
+    /**
+     * The direct buffers holding the adjacency of an open graph.
+     */
+    private static final class Buffers {
+        private final IntBuffer offsets; // node id -> index of its first child edge.
+        private final IntBuffer targets; // edge index -> node id of the child.
+        private final IntBuffer labelIds; // edge index -> label id.
+
+        private Buffers(IntBuffer offsets, IntBuffer targets, IntBuffer labelIds)
+        {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.labelIds = labelIds;
+        }
+    }
+
+    /**
+     * Constructs an OffHeapGraph from its dictionaries and direct buffers, which are NOT copied.
+     */
+    private OffHeapGraph(Object[] nodes, Map<N, Integer> ids, Object[] labels, IntBuffer offsets,
+                         IntBuffer targets, IntBuffer labelIds, Comparator<? super Graph.Edge<E, N>> childOrder)
+    {
+        this.nodes = nodes;
+        this.ids = ids;
+        this.labels = labels;
+        this.buffers = new Buffers(offsets, targets, labelIds);
+        this.childOrder = childOrder;
+        this.checkRep();
+    }
+
+    /**
+     * Builds an off-heap snapshot of the graph passed in. The children of every node are kept in the order
+     * the graph hands them out.
+     *
+     * @param graph the graph to take a snapshot of.
+     * @param <N> the type of nodes in the graph.
+     * @param <E> the type of edge labels in the graph.
+     * @return an OffHeapGraph containing exactly the nodes and edges of graph at the time of the call.
+     * @throws IllegalArgumentException if graph is null.
+     */
+    public static <N, E> OffHeapGraph<N, E> of(Graph<N, E> graph) throws IllegalArgumentException
+    {
+        return OffHeapGraph.of(graph, null);
+    }
+
+    /**
+     * Builds an off-heap snapshot of the graph passed in, storing the children of every node sorted by
+     * childOrder.
+     *
+     * @param graph the graph to take a snapshot of.
+     * @param childOrder the order each node's child edges are stored in, or null to keep the order
+     *                   the graph hands them out.
+     * @param <N> the type of nodes in the graph.
+     * @param <E> the type of edge labels in the graph.
+     * @return an OffHeapGraph containing exactly the nodes and edges of graph at the time of the call.
+     * @throws IllegalArgumentException if graph is null.
+     */
+    public static <N, E> OffHeapGraph<N, E> of(Graph<N, E> graph, Comparator<? super Graph.Edge<E, N>> childOrder)
+            throws IllegalArgumentException
+    {
+        if(graph == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        List<N> allNodes = graph.getAllNodes();
+        Map<N, Integer> ids = OffHeapGraph.idsOf(allNodes);
+        Map<E, Integer> labelDictionary = new HashMap<E, Integer>();
+        List<E> labels = new ArrayList<E>();
+        IntBuffer offsets = OffHeapGraph.allocate(allNodes.size() + 1L);
+        IntBuffer targets = OffHeapGraph.allocate(graph.getNumOfEdges());
+        IntBuffer labelIds = OffHeapGraph.allocate(graph.getNumOfEdges());
+        int edgeIndex = 0;
+        for(int i = 0; i < allNodes.size(); i++)
+        {
+            offsets.put(i, edgeIndex);
+            Collection<Graph.Edge<E, N>> childEdges = graph.getChildrenEdgesView(allNodes.get(i));
+            if(childOrder != null)
+            {
+                List<Graph.Edge<E, N>> sortedEdges = new ArrayList<Graph.Edge<E, N>>(childEdges);
+                sortedEdges.sort(childOrder);
+                childEdges = sortedEdges;
+            }
+            for(Graph.Edge<E, N> childEdge : childEdges)
+            {
+                targets.put(edgeIndex, ids.get(childEdge.getChild()));
+                labelIds.put(edgeIndex, OffHeapGraph.labelId(childEdge.getLabel(), labelDictionary, labels));
+                edgeIndex++;
+            }
+        }
+        offsets.put(allNodes.size(), edgeIndex);
+
+        return new OffHeapGraph<N, E>(allNodes.toArray(), ids, labels.toArray(), offsets, targets, labelIds,
+                childOrder);
+    }
+
+    /**
+     * Copies an int-indexed snapshot (such as a CsrGraph or a MappedGraph) off the heap. Node ids and the
+     * order of every node's child edges are kept.
+     *
+     * @param graph the snapshot to copy.
+     * @param <N> the type of nodes in the snapshot.
+     * @param <E> the type of edge labels in the snapshot.
+     * @return an OffHeapGraph with the same node ids and edges as graph.
+     * @throws IllegalArgumentException if graph is null.
+     */
+    public static <N, E> OffHeapGraph<N, E> copyOf(IndexedGraph<N, E> graph) throws IllegalArgumentException
+    {
+        if(graph == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        List<N> allNodes = graph.getAllNodes();
+        Map<N, Integer> ids = OffHeapGraph.idsOf(allNodes);
+        Map<E, Integer> labelDictionary = new HashMap<E, Integer>();
+        List<E> labels = new ArrayList<E>();
+        IntBuffer offsets = OffHeapGraph.allocate(allNodes.size() + 1L);
+        IntBuffer targets = OffHeapGraph.allocate(graph.getNumOfEdges());
+        IntBuffer labelIds = OffHeapGraph.allocate(graph.getNumOfEdges());
+        int edgeIndex = 0;
+        for(int i = 0; i < allNodes.size(); i++)
+        {
+            offsets.put(i, edgeIndex);
+            for(int edge = graph.getEdgesStart(i); edge < graph.getEdgesEnd(i); edge++)
+            {
+                targets.put(edgeIndex, graph.getEdgeChild(edge));
+                labelIds.put(edgeIndex, OffHeapGraph.labelId(graph.getEdgeLabel(edge), labelDictionary, labels));
+                edgeIndex++;
+            }
+        }
+        offsets.put(allNodes.size(), edgeIndex);
+
+        return new OffHeapGraph<N, E>(allNodes.toArray(), ids, labels.toArray(), offsets, targets, labelIds,
+                graph.getChildOrder());
+    }
+
+    /**
+     * Returns a map from every node in allNodes to its index.
+     */
+    private static <N> Map<N, Integer> idsOf(List<N> allNodes)
+    {
+        Map<N, Integer> ids = new HashMap<N, Integer>(allNodes.size() * 4 / 3 + 1);
+        for(int i = 0; i < allNodes.size(); i++)
+        {
+            ids.put(allNodes.get(i), i);
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the id of label in the label dictionary, adding it if it hasn't been seen before.
+     */
+    private static <E> int labelId(E label, Map<E, Integer> labelDictionary, List<E> labels)
+    {
+        Integer labelId = labelDictionary.get(label);
+        if(labelId == null)
+        {
+            labelId = labels.size();
+            labelDictionary.put(label, labelId);
+            labels.add(label);
+        }
+        return labelId;
+    }
+
+    /**
+     * Allocates a direct buffer holding count ints.
+     *
+     * @throws IllegalArgumentException if count ints don't fit in one direct buffer.
+     */
+    private static IntBuffer allocate(long count) throws IllegalArgumentException
+    {
+        if(count * Integer.BYTES > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Too many nodes or edges for an off-heap graph: " + count);
+        }
+        return ByteBuffer.allocateDirect((int) count * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    /**
+     * Lets go of the direct buffers of this graph. Their memory is freed when the garbage collector
+     * collects them, not right away. Every query made after this throws an IllegalStateException.
+     * Closing a graph that is already closed does nothing.
+     *
+     * @spec.modifies this
+     * @spec.effects this graph has no nodes or edges.
+     */
+    @Override
+    public void close()
+    {
+        this.buffers = null;
+        this.componentIds = null;
+        this.checkRep();
+    }
+
+    /**
+     * Returns whether this graph has been closed.
+     *
+     * @return true if and only if close() has been called on this graph.
+     */
+    public boolean isClosed()
+    {
+        return this.buffers == null;
+    }
+
+    /**
+     * Returns the number of bytes of direct memory this graph uses.
+     *
+     * @return the size of the adjacency stored off the heap, or 0 if this graph is closed.
+     */
+    public long getOffHeapBytes()
+    {
+        Buffers buffers = this.buffers;
+        if(buffers == null)
+        {
+            return 0;
+        }
+        return (long) (buffers.offsets.capacity() + buffers.targets.capacity() + buffers.labelIds.capacity())
+                * Integer.BYTES;
+    }
+
+    @Override
+    public Comparator<? super Graph.Edge<E, N>> getChildOrder()
+    {
+        return this.childOrder;
+    }
+
+    @Override
+    public int getNumOfNodes()
+    {
+        this.open();
+        return this.nodes.length;
+    }
+
+    @Override
+    public int getNumOfEdges()
+    {
+        return this.open().targets.capacity();
+    }
+
+    @Override
+    public int getNodeId(N nodeValue) throws IllegalArgumentException
+    {
+        if(nodeValue == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        this.open();
+
+        Integer id = this.ids.get(nodeValue);
+        return id == null ? -1 : id;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public N getNode(int nodeId)
+    {
+        this.open();
+        return (N) this.nodes[nodeId];
+    }
+
+    @Override
+    public int getEdgesStart(int nodeId)
+    {
+        return this.open(nodeId).offsets.get(nodeId);
+    }
+
+    @Override
+    public int getEdgesEnd(int nodeId)
+    {
+        return this.open(nodeId).offsets.get(nodeId + 1);
+    }
+
+    @Override
+    public int getEdgeChild(int edgeIndex)
+    {
+        return this.open().targets.get(edgeIndex);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E getEdgeLabel(int edgeIndex)
+    {
+        return (E) this.labels[this.open().labelIds.get(edgeIndex)];
+    }
+
+    @Override
+    public int getComponentId(int nodeId)
+    {
+        this.open(nodeId);
+        int[] componentIds = this.componentIds;
+        if(componentIds == null)
+        {
+            // Two threads may both compute the ids, which is harmless: they get the same ones.
+            componentIds = GraphAnalytics.componentIds(this);
+            this.componentIds = componentIds;
+        }
+        return componentIds[nodeId];
+    }
+
+    /**
+     * Reads the buffers once, throwing an IllegalStateException if this graph has been closed.
+     *
+     * @return the buffers of this graph, which the caller keeps using even if it is closed meanwhile.
+     */
+    private Buffers open()
+    {
+        Buffers buffers = this.buffers;
+        if(buffers == null)
+        {
+            throw new IllegalStateException("This off-heap graph has been closed");
+        }
+        return buffers;
+    }
+
+    /**
+     * Reads the buffers once, throwing an IllegalStateException if this graph has been closed, or an
+     * IndexOutOfBoundsException if nodeId is not a valid node id.
+     */
+    private Buffers open(int nodeId)
+    {
+        Buffers buffers = this.open();
+        if(nodeId < 0 || nodeId >= this.nodes.length)
+        {
+            throw new IndexOutOfBoundsException("Invalid node id: " + nodeId);
+        }
+        return buffers;
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep()
+    {
+        assert (this.nodes != null && this.ids != null && this.labels != null);
+        Buffers buffers = this.buffers;
+        if(buffers == null)
+        {
+            return;
+        }
+        assert (buffers.offsets != null && buffers.targets != null && buffers.labelIds != null);
+        assert (buffers.offsets.capacity() == this.nodes.length + 1);
+        assert (buffers.offsets.get(0) == 0 && buffers.offsets.get(this.nodes.length) == buffers.targets.capacity());
+        assert (buffers.targets.capacity() == buffers.labelIds.capacity());
+    }
+}
@@ -0,0 +1,189 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * <b>StringDictionary</b> is a <b>mutable</b> interning dictionary for the node values and edge labels of
+ * a Graph&lt;String, String&gt; (or a CompactGraph&lt;String, String&gt;).
+ *
+ * <p> Every distinct string is given a dense int code, starting at 0, the first time it is seen, and one
+ * instance of it is kept as the canonical one. Loading a graph through a dictionary means every edge that
+ * refers to the same hero name or book title refers to the same String object, instead of a separate copy
+ * for every row of the input file.
+ *
+ * <p> A dictionary keeps track of how many bytes that saved: every time a string equal to, but not the
+ * same object as, an already seen one is interned, the estimated size of the duplicate is added to
+ * {@link #getBytesSaved()}. Sizes are estimated for a 64-bit JVM with compressed references and compact
+ * strings.
+ */
+public final class StringDictionary {
+
+    // Abstraction Function:
+    //  the string with code i => values.get(i)
+    //  the bytes saved by interning => bytesSaved, from numOfDuplicates duplicate instances
+
+    // Representation Invariant:
+    //  codes != null && values != null
+    //  codes.size() == values.size()
+    //  for every 0 <= i < values.size(): values.get(i) != null && codes.get(values.get(i)) == i
+    //  bytesSaved >= 0 && numOfDuplicates >= 0
+
+    private final Map<String, Integer> codes;
+    private final List<String> values;
+    private long bytesSaved;
+    private long numOfDuplicates;
+
+    /**
+     * @spec.effects Constructs a new, empty StringDictionary.
+     */
+    public StringDictionary()
+    {
+        this.codes = new HashMap<String, Integer>();
+        this.values = new ArrayList<String>();
+        this.checkRep();
+    }
+
+    /**
+     * Returns the code of a string, giving it the next code if it hasn't been seen before.
+     *
+     * @param value the string to encode.
+     * @return the code of value.
+     * @throws IllegalArgumentException if value is null.
+     * @spec.modifies this
+     */
+    public int encode(String value) throws IllegalArgumentException
+    {
+        if(value == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        Integer code = this.codes.get(value);
+        if(code == null)
+        {
+            code = this.values.size();
+            this.codes.put(value, code);
+            this.values.add(value);
+        } else if(this.values.get(code) != value)
+        {
+            // An equal copy that the caller can now drop in favor of the canonical instance.
+            this.numOfDuplicates++;
+            this.bytesSaved += StringDictionary.estimateSize(value);
+        }
+        return code;
+    }
+
+    /**
+     * Returns the canonical instance of a string, making value canonical if it hasn't been seen before.
+     *
+     * @param value the string to intern.
+     * @return the one instance of value this dictionary keeps.
+     * @throws IllegalArgumentException if value is null.
+     * @spec.modifies this
+     */
+    public String intern(String value) throws IllegalArgumentException
+    {
+        return this.values.get(this.encode(value));
+    }
+
+    /**
+     * Returns the code of a string without adding it.
+     *
+     * @param value the string to look up.
+     * @return the code of value, or -1 if value hasn't been seen before.
+     * @throws IllegalArgumentException if value is null.
+     */
+    public int getCode(String value) throws IllegalArgumentException
+    {
+        if(value == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        Integer code = this.codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * Returns the string with the given code.
+     *
+     * @param code the code to decode.
+     * @return the canonical instance of the string with that code.
+     * @throws IndexOutOfBoundsException if code is not between 0 and size() - 1.
+     */
+    public String decode(int code) throws IndexOutOfBoundsException
+    {
+        return this.values.get(code);
+    }
+
+    /**
+     * Returns the number of distinct strings in this dictionary.
+     *
+     * @return the number of codes given out so far.
+     */
+    public int size()
+    {
+        return this.values.size();
+    }
+
+    /**
+     * Returns how many duplicate instances were replaced by a canonical one.
+     *
+     * @return the number of times encode or intern was passed a string equal to, but not the same object
+     * as, one already in this dictionary.
+     */
+    public long getNumOfDuplicates()
+    {
+        return this.numOfDuplicates;
+    }
+
+    /**
+     * Returns the estimated number of bytes interning saved, that is, the total estimated size of every
+     * duplicate instance counted by getNumOfDuplicates.
+     *
+     * @return the estimated number of bytes saved.
+     */
+    public long getBytesSaved()
+    {
+        return this.bytesSaved;
+    }
+
+    /**
+     * Returns the estimated size of a String and its backing array: a 24 byte String object, plus a
+     * 16 byte array header and one byte per char (two if any char is outside Latin-1), padded to 8 bytes.
+     */
+    private static long estimateSize(String value)
+    {
+        int bytesPerChar = 1;
+        for(int i = 0; i < value.length(); i++)
+        {
+            if(value.charAt(i) > 0xFF)
+            {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        long arraySize = 16 + (long) value.length() * bytesPerChar;
+        return 24 + (arraySize + 7) / 8 * 8;
+    }
+
+    /**
+     * Returns a one-line summary of this dictionary.
+     *
+     * @return a String with the number of distinct strings, duplicates and bytes saved.
+     */
+    @Override
+    public String toString()
+    {
+        return "strings=" + this.size() + " duplicates=" + this.numOfDuplicates + " bytesSaved=" + this.bytesSaved;
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep()
+    {
+        assert (this.codes != null && this.values != null);
+        assert (this.codes.size() == this.values.size());
+        assert (this.bytesSaved >= 0 && this.numOfDuplicates >= 0);
+    }
+}
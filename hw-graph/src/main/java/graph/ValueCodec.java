@@ -0,0 +1,71 @@
+package graph;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A <b>ValueCodec</b> turns the node values or edge labels of a graph into bytes and back, so that a graph
+ * can be stored in a binary snapshot file (see {@link MappedGraph}).
+ *
+ * <p> Encoding must be consistent with equals: two values encode to the same bytes if and only if they are
+ * equal. Snapshots look nodes up by comparing their encoded bytes, so a codec that breaks this rule makes
+ * lookups miss.
+ *
+ * @param <T> The type of values this codec encodes.
+ */
+public interface ValueCodec<T> {
+
+    /**
+     * Encodes Strings as UTF-8.
+     */
+    ValueCodec<String> UTF8 = new ValueCodec<String>() {
+        @Override
+        public byte[] encode(String value)
+        {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer)
+        {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Encodes Doubles as the 8 bytes of their bit pattern, which is what Double.equals compares.
+     */
+    ValueCodec<Double> DOUBLE = new ValueCodec<Double>() {
+        @Override
+        public byte[] encode(Double value)
+        {
+            return ByteBuffer.allocate(Double.BYTES).putDouble(value).array();
+        }
+
+        @Override
+        public Double decode(ByteBuffer buffer)
+        {
+            return buffer.getDouble(buffer.position());
+        }
+    };
+
+    /**
+     * Encodes a value.
+     *
+     * @param value the value to encode.
+     * @return the bytes of value.
+     * @spec.requires value != null
+     */
+    byte[] encode(T value);
+
+    /**
+     * Decodes a value from the bytes between the position and the limit of buffer.
+     *
+     * @param buffer a buffer holding exactly the bytes encode returned for the value.
+     * @return the decoded value.
+     * @spec.modifies buffer's position
+     */
+    T decode(ByteBuffer buffer);
+}
@@ -0,0 +1,219 @@
+package graph.junitTests;
+
+import graph.CompactGraph;
+import graph.CsrGraph;
+import graph.EdgeStringCompare;
+import graph.Graph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * CompactGraph class.
+ *
+ */
+public final class CompactGraphTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    private final String EXPECTED_TRUE = "failure - expected true but was false";
+    private final String EXPECTED_FALSE = "failure - expected false but was true";
+
+    CompactGraph<String, String> emptyGraph, graph;
+
+    @Before
+    public void setUp()
+    {
+        emptyGraph = new CompactGraph<String, String>();
+
+        graph = new CompactGraph<String, String>("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addEdge("e2", "n1", "n2");
+        graph.addEdge("e1", "n1", "n2");
+        graph.addEdge("e3", "n1", "n3");
+        graph.addEdge("e1", "n3", "n3");
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Graph API
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testEmptyGraph()
+    {
+        assertTrue(EXPECTED_TRUE, emptyGraph.getAllNodes().isEmpty());
+        assertEquals(0, emptyGraph.getNumOfNodes());
+        assertEquals(0, emptyGraph.getNumOfEdges());
+    }
+
+    @Test
+    public void testAddNode()
+    {
+        assertTrue(EXPECTED_TRUE, emptyGraph.addNode(""));
+        assertFalse(EXPECTED_FALSE, emptyGraph.addNode(""));
+        assertTrue(EXPECTED_TRUE, emptyGraph.containsNode(""));
+        assertEquals(List.of(""), emptyGraph.getAllNodes());
+    }
+
+    @Test
+    public void testAddEdge()
+    {
+        assertTrue(EXPECTED_TRUE, graph.addEdge("e4", "n2", "n1"));
+        assertFalse(EXPECTED_FALSE, graph.addEdge("e4", "n2", "n1"));
+        assertFalse(EXPECTED_FALSE, graph.addEdge("e5", "n2", "DNE"));
+        assertFalse(EXPECTED_FALSE, graph.addEdge("e5", "DNE", "n2"));
+        assertEquals(5, graph.getNumOfEdges());
+    }
+
+    @Test
+    public void testContainsEdge()
+    {
+        assertTrue(EXPECTED_TRUE, graph.containsEdge("e1", "n1", "n2"));
+        assertTrue(EXPECTED_TRUE, graph.containsEdge("e1", "n3", "n3"));
+        assertFalse(EXPECTED_FALSE, graph.containsEdge("e3", "n1", "n2"));
+        assertFalse(EXPECTED_FALSE, graph.containsEdge("DNE", "n1", "n2"));
+        assertFalse(EXPECTED_FALSE, graph.containsEdge("e1", "DNE", "n2"));
+    }
+
+    @Test
+    public void testIsAdjacent()
+    {
+        assertTrue(EXPECTED_TRUE, graph.isAdjacent("n1", "n2"));
+        assertFalse(EXPECTED_FALSE, graph.isAdjacent("n2", "n1"));
+        assertFalse(EXPECTED_FALSE, graph.isAdjacent("n1", "DNE"));
+    }
+
+    @Test
+    public void testGetEdge()
+    {
+        List<Graph.Edge<String, String>> edges = new ArrayList<Graph.Edge<String, String>>();
+        edges.add(new Graph.Edge<String, String>("e2", "n1", "n2"));
+        edges.add(new Graph.Edge<String, String>("e1", "n1", "n2"));
+        assertEquals(edges, graph.getEdge("n1", "n2"));
+        assertTrue(EXPECTED_TRUE, graph.getEdge("n2", "n1").isEmpty());
+        assertNull(graph.getEdge("n1", "DNE"));
+    }
+
+    @Test
+    public void testChildrenAreInInsertionOrder()
+    {
+        List<Graph.Edge<String, String>> edges = new ArrayList<Graph.Edge<String, String>>();
+        edges.add(new Graph.Edge<String, String>("e2", "n1", "n2"));
+        edges.add(new Graph.Edge<String, String>("e1", "n1", "n2"));
+        edges.add(new Graph.Edge<String, String>("e3", "n1", "n3"));
+        assertEquals(edges, graph.getChildrenEdges("n1"));
+        assertEquals(List.of("n2", "n3"), graph.getChildrenNodes("n1"));
+        assertTrue(EXPECTED_TRUE, graph.getChildrenEdges("n2").isEmpty());
+        assertNull(graph.getChildrenEdges("DNE"));
+    }
+
+    @Test
+    public void testForEachChildEdge()
+    {
+        List<Graph.Edge<String, String>> visited = new ArrayList<Graph.Edge<String, String>>();
+        assertTrue(EXPECTED_TRUE, graph.forEachChildEdge("n1", visited::add));
+        assertEquals(graph.getChildrenEdges("n1"), visited);
+        assertFalse(EXPECTED_FALSE, graph.forEachChildEdge("DNE", visited::add));
+    }
+
+    @Test
+    public void testChildrenEdgesViewIsLive()
+    {
+        assertEquals(0, graph.getChildrenEdgesView("n2").size());
+        graph.addEdge("e4", "n2", "n1");
+        assertEquals(1, graph.getChildrenEdgesView("n2").size());
+        assertTrue(EXPECTED_TRUE,
+                graph.getChildrenEdgesView("n2").contains(new Graph.Edge<String, String>("e4", "n2", "n1")));
+    }
+
+    @Test
+    public void testMatchesGraphAfterManyEdges()
+    {
+        // Enough edges to grow every array and rehash the edge table a few times.
+        Graph<String, String> expected = new Graph<String, String>();
+        for(int i = 0; i < 50; i++)
+        {
+            expected.addNode("n" + i);
+            emptyGraph.addNode("n" + i);
+        }
+        for(int i = 0; i < 50; i++)
+        {
+            for(int j = 0; j < 50; j += 3)
+            {
+                expected.addEdge("e" + (i % 7), "n" + i, "n" + j);
+                emptyGraph.addEdge("e" + (i % 7), "n" + i, "n" + j);
+                assertFalse(EXPECTED_FALSE, emptyGraph.addEdge("e" + (i % 7), "n" + i, "n" + j));
+            }
+        }
+        assertEquals(expected.getNumOfEdges(), emptyGraph.getNumOfEdges());
+        for(String node : expected.getAllNodes())
+        {
+            assertEquals(new HashSet<Graph.Edge<String, String>>(expected.getChildrenEdges(node)),
+                    new HashSet<Graph.Edge<String, String>>(emptyGraph.getChildrenEdges(node)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullNodeThrowsException()
+    {
+        graph.addNode(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullLabelThrowsException()
+    {
+        graph.addEdge(null, "n1", "n2");
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Int-indexed API and freeze()
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testIntEdgeIteration()
+    {
+        int n1 = graph.getNodeId("n1");
+        List<String> children = new ArrayList<String>();
+        List<String> labels = new ArrayList<String>();
+        for(int edge = graph.getFirstEdge(n1); edge != -1; edge = graph.getNextEdge(edge))
+        {
+            children.add(graph.getNode(graph.getEdgeChild(edge)));
+            labels.add(graph.getEdgeLabel(edge));
+        }
+        assertEquals(List.of("n2", "n2", "n3"), children);
+        assertEquals(List.of("e2", "e1", "e3"), labels);
+        assertEquals(3, graph.getOutDegree(n1));
+        assertEquals(-1, graph.getFirstEdge(graph.getNodeId("n2")));
+        assertEquals(-1, graph.getNodeId("DNE"));
+    }
+
+    @Test
+    public void testFreeze()
+    {
+        CsrGraph<String, String> snapshot = graph.freeze(new EdgeStringCompare());
+        assertEquals(graph.getNumOfNodes(), snapshot.getNumOfNodes());
+        assertEquals(graph.getNumOfEdges(), snapshot.getNumOfEdges());
+        List<Graph.Edge<String, String>> edges = new ArrayList<Graph.Edge<String, String>>();
+        edges.add(new Graph.Edge<String, String>("e1", "n1", "n2"));
+        edges.add(new Graph.Edge<String, String>("e2", "n1", "n2"));
+        edges.add(new Graph.Edge<String, String>("e3", "n1", "n3"));
+        assertEquals(edges, snapshot.getChildrenEdges("n1"));
+        assertEquals(graph.getChildrenEdges("n1"), graph.freeze().getChildrenEdges("n1"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidEdgeIdThrowsException()
+    {
+        graph.getNextEdge(graph.getNumOfEdges());
+    }
+}
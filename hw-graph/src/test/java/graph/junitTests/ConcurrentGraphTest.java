@@ -0,0 +1,257 @@
+package graph.junitTests;
+
+import graph.ConcurrentGraph;
+import graph.Graph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * ConcurrentGraph class.
+ *
+ */
+public final class ConcurrentGraphTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    private final String EXPECTED_TRUE = "failure - expected true but was false";
+    private final String EXPECTED_FALSE = "failure - expected false but was true";
+
+    private static final int THREADS = 4;
+    private static final int NODES = 200;
+    private static final int LABELS_PER_THREAD = 25;
+
+    ConcurrentGraph<String, String> emptyGraph, graph;
+
+    @Before
+    public void setUp()
+    {
+        emptyGraph = new ConcurrentGraph<String, String>();
+
+        graph = new ConcurrentGraph<String, String>("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addEdge("e1", "n1", "n2");
+        graph.addEdge("e2", "n1", "n2");
+        graph.addEdge("e3", "n1", "n3");
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Single-threaded behavior matches Graph
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testEmptyGraph()
+    {
+        assertTrue(EXPECTED_TRUE, emptyGraph.getAllNodes().isEmpty());
+        assertEquals(0, emptyGraph.getNumOfNodes());
+        assertEquals(0, emptyGraph.getNumOfEdges());
+    }
+
+    @Test
+    public void testAddNode()
+    {
+        assertTrue(EXPECTED_TRUE, emptyGraph.addNode("n1"));
+        assertFalse(EXPECTED_FALSE, emptyGraph.addNode("n1"));
+        assertTrue(EXPECTED_TRUE, emptyGraph.containsNode("n1"));
+        assertEquals(1, emptyGraph.getNumOfNodes());
+    }
+
+    @Test
+    public void testAddEdge()
+    {
+        assertTrue(EXPECTED_TRUE, graph.addEdge("e4", "n2", "n3"));
+        assertFalse(EXPECTED_FALSE, graph.addEdge("e4", "n2", "n3"));
+        assertFalse(EXPECTED_FALSE, graph.addEdge("e5", "n2", "DNE"));
+        assertFalse(EXPECTED_FALSE, graph.addEdge("e5", "DNE", "n2"));
+        assertTrue(EXPECTED_TRUE, graph.containsEdge("e4", "n2", "n3"));
+        assertEquals(4, graph.getNumOfEdges());
+    }
+
+    @Test
+    public void testIsAdjacent()
+    {
+        assertTrue(EXPECTED_TRUE, graph.isAdjacent("n1", "n2"));
+        assertFalse(EXPECTED_FALSE, graph.isAdjacent("n2", "n1"));
+        assertFalse(EXPECTED_FALSE, graph.isAdjacent("n1", "DNE"));
+    }
+
+    @Test
+    public void testGetEdge()
+    {
+        List<Graph.Edge<String, String>> edges = new ArrayList<Graph.Edge<String, String>>();
+        edges.add(new Graph.Edge<String, String>("e1", "n1", "n2"));
+        edges.add(new Graph.Edge<String, String>("e2", "n1", "n2"));
+        assertEquals(edges, graph.getEdge("n1", "n2"));
+        assertTrue(EXPECTED_TRUE, graph.getEdge("n2", "n1").isEmpty());
+        assertNull(graph.getEdge("n1", "DNE"));
+    }
+
+    @Test
+    public void testGetChildren()
+    {
+        assertEquals(3, graph.getChildrenEdges("n1").size());
+        assertEquals(List.of("n2", "n3"), graph.getChildrenNodes("n1"));
+        assertTrue(EXPECTED_TRUE, graph.getChildrenEdges("n3").isEmpty());
+        assertNull(graph.getChildrenEdges("DNE"));
+        assertNull(graph.getChildrenNodes("DNE"));
+    }
+
+    @Test
+    public void testChildrenViewIsSnapshot()
+    {
+        Collection<Graph.Edge<String, String>> view = graph.getChildrenEdgesView("n1");
+        graph.addEdge("e4", "n1", "n1");
+        assertEquals(3, view.size());
+        assertEquals(4, graph.getChildrenEdgesView("n1").size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testChildrenViewIsUnmodifiable()
+    {
+        graph.getChildrenEdgesView("n1").clear();
+    }
+
+    @Test
+    public void testForEachChildEdge()
+    {
+        List<String> labels = new ArrayList<String>();
+        assertTrue(EXPECTED_TRUE, graph.forEachChildEdge("n1", edge -> labels.add(edge.getLabel())));
+        assertEquals(List.of("e1", "e2", "e3"), labels);
+        assertFalse(EXPECTED_FALSE, graph.forEachChildEdge("DNE", edge -> fail()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullNodeThrowsException()
+    {
+        graph.addNode(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullLabelThrowsException()
+    {
+        graph.addEdge(null, "n1", "n2");
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Concurrent readers and writers
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testConcurrentWritersLoseNoEdges() throws Exception
+    {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> writers = new ArrayList<Future<?>>();
+        for(int t = 0; t < THREADS; t++)
+        {
+            // Every writer adds every node, so most addNode calls race with another thread's.
+            final String prefix = "t" + t + "-";
+            writers.add(pool.submit(() -> {
+                for(int i = 0; i < NODES; i++)
+                {
+                    emptyGraph.addNode("n" + i);
+                }
+                for(int i = 0; i < NODES; i++)
+                {
+                    for(int label = 0; label < LABELS_PER_THREAD; label++)
+                    {
+                        // Writers share parents, and each edge is also added by every thread once as "shared".
+                        emptyGraph.addEdge(prefix + label, "n" + i, "n" + ((i + label) % NODES));
+                        emptyGraph.addEdge("shared" + label, "n" + i, "n" + ((i + label) % NODES));
+                    }
+                }
+            }));
+        }
+        for(Future<?> writer : writers)
+        {
+            writer.get();
+        }
+        pool.shutdown();
+
+        int expectedEdges = NODES * LABELS_PER_THREAD * (THREADS + 1);
+        assertEquals(NODES, emptyGraph.getNumOfNodes());
+        assertEquals(expectedEdges, emptyGraph.getNumOfEdges());
+
+        int totalEdges = 0;
+        for(String node : emptyGraph.getAllNodes())
+        {
+            totalEdges += emptyGraph.getChildrenEdgesView(node).size();
+        }
+        assertEquals(expectedEdges, totalEdges);
+    }
+
+    @Test
+    public void testReadersSeeConsistentAdjacencySets() throws Exception
+    {
+        for(int i = 0; i < NODES; i++)
+        {
+            emptyGraph.addNode("n" + i);
+        }
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<String>();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> readers = new ArrayList<Future<?>>();
+        for(int t = 0; t < THREADS - 1; t++)
+        {
+            readers.add(pool.submit(() -> {
+                while(writing.get() && failure.get() == null)
+                {
+                    for(int i = 0; i < NODES; i++)
+                    {
+                        String parent = "n" + i;
+                        Collection<Graph.Edge<String, String>> edges = emptyGraph.getChildrenEdgesView(parent);
+                        // Edges to a parent are added in label order, so a consistent snapshot of its
+                        // children is always exactly labels 0 .. size - 1, once each.
+                        Set<String> labels = new HashSet<String>();
+                        for(Graph.Edge<String, String> edge : edges)
+                        {
+                            if(!edge.getParent().equals(parent) || !labels.add(edge.getLabel()))
+                            {
+                                failure.set("bad edge " + edge);
+                            }
+                        }
+                        for(int label = 0; label < labels.size(); label++)
+                        {
+                            if(!labels.contains("e" + label))
+                            {
+                                failure.set("snapshot of " + parent + " is missing e" + label);
+                            }
+                        }
+                    }
+                }
+            }));
+        }
+
+        for(int label = 0; label < LABELS_PER_THREAD; label++)
+        {
+            for(int i = 0; i < NODES; i++)
+            {
+                emptyGraph.addEdge("e" + label, "n" + i, "n" + ((i + 1) % NODES));
+            }
+        }
+        writing.set(false);
+        for(Future<?> reader : readers)
+        {
+            reader.get();
+        }
+        pool.shutdown();
+
+        assertNull(failure.get(), failure.get());
+        assertEquals(NODES * LABELS_PER_THREAD, emptyGraph.getNumOfEdges());
+    }
+}
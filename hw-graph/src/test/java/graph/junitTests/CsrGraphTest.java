@@ -0,0 +1,249 @@
+package graph.junitTests;
+
+import graph.CsrGraph;
+import graph.EdgeStringCompare;
+import graph.Graph;
+import graph.GraphSnapshot;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * CsrGraph class.
+ *
+ */
+public final class CsrGraphTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    private final String EXPECTED_TRUE = "failure - expected true but was false";
+    private final String EXPECTED_FALSE = "failure - expected false but was true";
+
+    Graph<String, String> graph;
+    CsrGraph<String, String> emptySnapshot, snapshot;
+
+    @Before
+    public void setUp()
+    {
+        emptySnapshot = new Graph<String, String>().freeze();
+
+        graph = new Graph<String, String>("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addNode("n4");
+        graph.addEdge("e2", "n1", "n2");
+        graph.addEdge("e1", "n1", "n2");
+        graph.addEdge("e3", "n1", "n3");
+        graph.addEdge("e4", "n3", "n3");
+        snapshot = graph.freeze(new EdgeStringCompare());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Graph read API
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testEmptySnapshot()
+    {
+        assertTrue(EXPECTED_TRUE, emptySnapshot.getAllNodes().isEmpty());
+        assertEquals(0, emptySnapshot.getNumOfNodes());
+        assertEquals(0, emptySnapshot.getNumOfEdges());
+    }
+
+    @Test
+    public void testSnapshotHasSameNodesAndEdges()
+    {
+        assertEquals(new HashSet<String>(graph.getAllNodes()), new HashSet<String>(snapshot.getAllNodes()));
+        assertEquals(graph.getNumOfEdges(), snapshot.getNumOfEdges());
+        for(String node : graph.getAllNodes())
+        {
+            assertEquals(new HashSet<Graph.Edge<String, String>>(graph.getChildrenEdges(node)),
+                    new HashSet<Graph.Edge<String, String>>(snapshot.getChildrenEdges(node)));
+        }
+    }
+
+    @Test
+    public void testContainsNode()
+    {
+        assertTrue(EXPECTED_TRUE, snapshot.containsNode("n4"));
+        assertFalse(EXPECTED_FALSE, snapshot.containsNode("DNE"));
+    }
+
+    @Test
+    public void testIsAdjacent()
+    {
+        assertTrue(EXPECTED_TRUE, snapshot.isAdjacent("n1", "n2"));
+        assertTrue(EXPECTED_TRUE, snapshot.isAdjacent("n3", "n3"));
+        assertFalse(EXPECTED_FALSE, snapshot.isAdjacent("n2", "n1"));
+        assertFalse(EXPECTED_FALSE, snapshot.isAdjacent("n1", "DNE"));
+    }
+
+    @Test
+    public void testContainsEdge()
+    {
+        assertTrue(EXPECTED_TRUE, snapshot.containsEdge("e1", "n1", "n2"));
+        assertFalse(EXPECTED_FALSE, snapshot.containsEdge("e3", "n1", "n2"));
+        assertFalse(EXPECTED_FALSE, snapshot.containsEdge("e1", "DNE", "n2"));
+    }
+
+    @Test
+    public void testGetEdge()
+    {
+        List<Graph.Edge<String, String>> edges = new ArrayList<Graph.Edge<String, String>>();
+        edges.add(new Graph.Edge<String, String>("e1", "n1", "n2"));
+        edges.add(new Graph.Edge<String, String>("e2", "n1", "n2"));
+        assertEquals(edges, snapshot.getEdge("n1", "n2"));
+        assertTrue(EXPECTED_TRUE, snapshot.getEdge("n2", "n1").isEmpty());
+        assertNull(snapshot.getEdge("n1", "DNE"));
+    }
+
+    @Test
+    public void testChildrenAreSortedByChildOrder()
+    {
+        List<Graph.Edge<String, String>> edges = new ArrayList<Graph.Edge<String, String>>();
+        edges.add(new Graph.Edge<String, String>("e1", "n1", "n2"));
+        edges.add(new Graph.Edge<String, String>("e2", "n1", "n2"));
+        edges.add(new Graph.Edge<String, String>("e3", "n1", "n3"));
+        assertEquals(edges, snapshot.getChildrenEdges("n1"));
+        assertTrue(EXPECTED_TRUE, snapshot.getChildrenEdges("n4").isEmpty());
+        assertNull(snapshot.getChildrenEdges("DNE"));
+    }
+
+    @Test
+    public void testGetChildrenNodesHasNoDuplicates()
+    {
+        List<String> nodes = new ArrayList<String>();
+        nodes.add("n2");
+        nodes.add("n3");
+        assertEquals(nodes, snapshot.getChildrenNodes("n1"));
+    }
+
+    @Test
+    public void testSnapshotIgnoresLaterChanges()
+    {
+        graph.addNode("n5");
+        graph.addEdge("e5", "n4", "n5");
+        assertFalse(EXPECTED_FALSE, snapshot.containsNode("n5"));
+        assertEquals(4, snapshot.getNumOfEdges());
+    }
+
+    @Test
+    public void testOfGraphSnapshot()
+    {
+        Graph<String, String> ordered = new Graph<String, String>(true, true, new EdgeStringCompare());
+        for(String node : graph.getAllNodes())
+        {
+            ordered.addNode(node);
+            for(Graph.Edge<String, String> edge : graph.getChildrenEdges(node))
+            {
+                ordered.addNode(edge.getChild());
+                ordered.addEdge(edge.getLabel(), node, edge.getChild());
+            }
+        }
+        GraphSnapshot<String, String> graphSnapshot = ordered.snapshot();
+        ordered.addEdge("e5", "n4", "n1");
+
+        CsrGraph<String, String> frozen = CsrGraph.of(graphSnapshot);
+        assertSame(ordered.getChildOrder(), frozen.getChildOrder());
+        assertEquals(4, frozen.getNumOfEdges());
+        for(String node : graph.getAllNodes())
+        {
+            assertEquals(snapshot.getChildrenEdges(node), frozen.getChildrenEdges(node));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfNullSnapshotThrowsException()
+    {
+        CsrGraph.of((GraphSnapshot<String, String>) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testContainsNullNodeThrowsException()
+    {
+        snapshot.containsNode(null);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Int-indexed API
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testNodeIdsRoundTrip()
+    {
+        for(int id = 0; id < snapshot.getNumOfNodes(); id++)
+        {
+            assertEquals(id, snapshot.getNodeId(snapshot.getNode(id)));
+        }
+        assertEquals(-1, snapshot.getNodeId("DNE"));
+    }
+
+    @Test
+    public void testIntNeighborIteration()
+    {
+        int n1 = snapshot.getNodeId("n1");
+        List<String> children = new ArrayList<String>();
+        List<String> labels = new ArrayList<String>();
+        for(int edge = snapshot.getEdgesStart(n1); edge < snapshot.getEdgesEnd(n1); edge++)
+        {
+            children.add(snapshot.getNode(snapshot.getEdgeChild(edge)));
+            labels.add(snapshot.getEdgeLabel(edge));
+        }
+        assertEquals(List.of("n2", "n2", "n3"), children);
+        assertEquals(List.of("e1", "e2", "e3"), labels);
+    }
+
+    @Test
+    public void testChildIdsIterator()
+    {
+        PrimitiveIterator.OfInt childIds = snapshot.getChildIds(snapshot.getNodeId("n1"));
+        List<String> children = new ArrayList<String>();
+        while(childIds.hasNext())
+        {
+            children.add(snapshot.getNode(childIds.nextInt()));
+        }
+        assertEquals(List.of("n2", "n2", "n3"), children);
+        assertFalse(EXPECTED_FALSE, snapshot.getChildIds(snapshot.getNodeId("n4")).hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testExhaustedChildIdsIteratorThrowsException()
+    {
+        snapshot.getChildIds(snapshot.getNodeId("n4")).nextInt();
+    }
+
+    @Test
+    public void testComponentIds()
+    {
+        int n1 = snapshot.getComponentId(snapshot.getNodeId("n1"));
+        assertEquals(n1, snapshot.getComponentId(snapshot.getNodeId("n2")));
+        assertEquals(n1, snapshot.getComponentId(snapshot.getNodeId("n3")));
+        assertNotEquals(n1, snapshot.getComponentId(snapshot.getNodeId("n4")));
+        assertTrue(EXPECTED_TRUE, snapshot.isConnected("n2", "n3")); // Only through n1, against an edge.
+        assertFalse(EXPECTED_FALSE, snapshot.isConnected("n1", "n4"));
+        assertFalse(EXPECTED_FALSE, snapshot.isConnected("n1", "DNE"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidComponentIdThrowsException()
+    {
+        snapshot.getComponentId(-1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidNodeIdThrowsException()
+    {
+        snapshot.getEdgesStart(snapshot.getNumOfNodes());
+    }
+}
@@ -0,0 +1,265 @@
+package graph.junitTests;
+
+import graph.Graph;
+import graph.GraphAnalytics;
+import graph.GraphBuilder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * GraphAnalytics class.
+ *
+ */
+public final class GraphAnalyticsTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    private final String EXPECTED_TRUE = "failure - expected true but was false";
+    private final String EXPECTED_FALSE = "failure - expected false but was true";
+
+    Graph<String, String> graph;
+    GraphAnalytics<String, String> analytics;
+
+    @Before
+    public void setUp()
+    {
+        // Three components: {a, b, c, d}, {e, f} and {lonely}.
+        graph = new Graph<String, String>("a");
+        for(String node : List.of("b", "c", "d", "e", "f", "lonely"))
+        {
+            graph.addNode(node);
+        }
+        graph.addEdge("1", "a", "b");
+        graph.addEdge("2", "a", "b");
+        graph.addEdge("3", "c", "b"); // Only reachable from b backwards.
+        graph.addEdge("4", "c", "d");
+        graph.addEdge("5", "d", "d");
+        graph.addEdge("6", "f", "e");
+
+        analytics = new GraphAnalytics<String, String>(graph);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Components
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testComponents()
+    {
+        GraphAnalytics.Components<String> components = analytics.getComponents();
+        assertEquals(3, components.getNumOfComponents());
+        assertEquals(List.of(4, 2, 1), components.getComponentSizes());
+        assertEquals(4, components.getLargestComponentSize());
+
+        assertEquals(0, components.getComponentId("a"));
+        assertEquals(0, components.getComponentId("d"));
+        assertEquals(1, components.getComponentId("e"));
+        assertEquals(2, components.getComponentId("lonely"));
+        assertEquals(-1, components.getComponentId("DNE"));
+        assertEquals(2, components.getComponentSize(1));
+    }
+
+    @Test
+    public void testEdgesJoinComponentsEitherWay()
+    {
+        GraphAnalytics.Components<String> components = analytics.getComponents();
+        assertTrue(EXPECTED_TRUE, components.isConnected("a", "c"));
+        assertTrue(EXPECTED_TRUE, components.isConnected("e", "f"));
+        assertTrue(EXPECTED_TRUE, components.isConnected("lonely", "lonely"));
+        assertFalse(EXPECTED_FALSE, components.isConnected("a", "e"));
+        assertFalse(EXPECTED_FALSE, components.isConnected("a", "DNE"));
+        assertFalse(EXPECTED_FALSE, components.isConnected("DNE", "DNE"));
+    }
+
+    @Test
+    public void testComponentSizeHistogram()
+    {
+        SortedMap<Integer, Integer> expected = new TreeMap<Integer, Integer>(Map.of(1, 1, 2, 1, 4, 1));
+        assertEquals(expected, analytics.getComponents().getComponentSizeHistogram());
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        GraphAnalytics<String, String> empty = new GraphAnalytics<String, String>(new Graph<String, String>());
+        assertEquals(0, empty.getComponents().getNumOfComponents());
+        assertEquals(0, empty.getComponents().getLargestComponentSize());
+        assertEquals(0, empty.getDegreeStats().getMaxOutDegree());
+        assertEquals(0, empty.getDegreeStats().getAverageDegree(), 0);
+        assertTrue(EXPECTED_TRUE, empty.getDegreeStats().getInDegreeHistogram().isEmpty());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Degree statistics
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testDegreeStats()
+    {
+        GraphAnalytics.DegreeStats stats = analytics.getDegreeStats();
+        assertEquals(7, stats.getNumOfNodes());
+        assertEquals(6, stats.getNumOfEdges());
+        assertEquals(6.0 / 7, stats.getAverageDegree(), 1e-9);
+        assertEquals(2, stats.getMaxOutDegree());
+        assertEquals(3, stats.getMaxInDegree());
+        // Out-degrees: a=2, c=2, d=1, f=1, and b, e, lonely have none.
+        assertEquals(new TreeMap<Integer, Integer>(Map.of(0, 3, 1, 2, 2, 2)), stats.getOutDegreeHistogram());
+        // In-degrees: b=3, d=2, e=1, and a, c, f, lonely have none.
+        assertEquals(new TreeMap<Integer, Integer>(Map.of(0, 4, 1, 1, 2, 1, 3, 1)), stats.getInDegreeHistogram());
+    }
+
+    @Test
+    public void testDegreeStatsMatchGraphStats()
+    {
+        Graph<Integer, Integer> big = randomGraph(5_000, 20_000, 1);
+        GraphAnalytics.DegreeStats stats = new GraphAnalytics<Integer, Integer>(big).getDegreeStats();
+        assertEquals(big.getStats().getOutDegreeHistogram(), stats.getOutDegreeHistogram());
+        assertEquals(big.getStats().getInDegreeHistogram(), stats.getInDegreeHistogram());
+        assertEquals(big.getStats().getAverageOutDegree(), stats.getAverageDegree(), 1e-9);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Caching by version
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testResultsAreCachedUntilTheGraphChanges()
+    {
+        GraphAnalytics.Components<String> components = analytics.getComponents();
+        GraphAnalytics.DegreeStats stats = analytics.getDegreeStats();
+        assertEquals(graph.getVersion(), components.getVersion());
+        assertEquals(graph.getVersion(), stats.getVersion());
+        assertSame(components, analytics.getComponents());
+        assertSame(stats, analytics.getDegreeStats());
+
+        graph.addEdge("7", "lonely", "e");
+        GraphAnalytics.Components<String> newComponents = analytics.getComponents();
+        assertNotSame(components, newComponents);
+        assertEquals(graph.getVersion(), newComponents.getVersion());
+        assertEquals(List.of(4, 3), newComponents.getComponentSizes());
+        assertEquals(7, analytics.getDegreeStats().getNumOfEdges());
+
+        // Old results never change.
+        assertEquals(3, components.getNumOfComponents());
+        assertEquals(6, stats.getNumOfEdges());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Large graphs
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns a graph with the given number of nodes and random edges.
+     */
+    private static Graph<Integer, Integer> randomGraph(int numOfNodes, int numOfEdges, long seed)
+    {
+        Random random = new Random(seed);
+        GraphBuilder<Integer, Integer> builder = new GraphBuilder<Integer, Integer>(numOfNodes, numOfEdges);
+        for(int node = 0; node < numOfNodes; node++)
+        {
+            builder.addNode(node);
+        }
+        for(int edge = 0; edge < numOfEdges; edge++)
+        {
+            builder.addEdge(edge, random.nextInt(numOfNodes), random.nextInt(numOfNodes));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Finds the component of every node with a plain breadth-first search that follows edges both ways.
+     * Returns a map from every node to the smallest node in its component.
+     */
+    private static Map<Integer, Integer> componentsByBfs(Graph<Integer, Integer> graph)
+    {
+        Map<Integer, Integer> smallest = new HashMap<Integer, Integer>();
+        List<Integer> nodes = graph.getAllNodes();
+        Collections.sort(nodes);
+        for(Integer start : nodes)
+        {
+            if(smallest.containsKey(start))
+            {
+                continue;
+            }
+            Deque<Integer> queue = new ArrayDeque<Integer>(List.of(start));
+            smallest.put(start, start);
+            while(!queue.isEmpty())
+            {
+                Integer node = queue.remove();
+                List<Integer> neighbors = new ArrayList<Integer>(graph.getChildrenNodes(node));
+                neighbors.addAll(graph.getParentNodes(node));
+                for(Integer neighbor : neighbors)
+                {
+                    if(!smallest.containsKey(neighbor))
+                    {
+                        smallest.put(neighbor, start);
+                        queue.add(neighbor);
+                    }
+                }
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * A sparse random graph has many components of many sizes. Every pair of nodes must be in the same
+     * component exactly when a sequential search says so, whatever the number of threads.
+     */
+    @Test
+    public void testMatchesSequentialSearch()
+    {
+        Graph<Integer, Integer> big = randomGraph(2_000, 1_200, 2);
+        Map<Integer, Integer> expected = componentsByBfs(big);
+        for(int threads : new int[]{1, 4})
+        {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            GraphAnalytics.Components<Integer> components = new GraphAnalytics<Integer, Integer>(big, pool)
+                    .getComponents();
+            Map<Integer, Integer> componentOfSmallest = new HashMap<Integer, Integer>();
+            for(Map.Entry<Integer, Integer> entry : expected.entrySet())
+            {
+                int component = components.getComponentId(entry.getKey());
+                assertEquals(component, (int) componentOfSmallest.computeIfAbsent(entry.getValue(), k -> component));
+            }
+            assertEquals(componentOfSmallest.size(), components.getNumOfComponents());
+            pool.shutdown();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Test For Proper Exceptions
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullGraphThrowsException()
+    {
+        new GraphAnalytics<String, String>(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPoolThrowsException()
+    {
+        new GraphAnalytics<String, String>(graph, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullNodeThrowsException()
+    {
+        analytics.getComponents().getComponentId(null);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidComponentIdThrowsException()
+    {
+        analytics.getComponents().getComponentSize(3);
+    }
+}
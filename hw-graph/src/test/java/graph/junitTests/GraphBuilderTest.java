@@ -0,0 +1,335 @@
+package graph.junitTests;
+
+import common.RepCheck;
+import graph.EdgeStringCompare;
+import graph.Graph;
+import graph.GraphBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * GraphBuilder class.
+ *
+ */
+public final class GraphBuilderTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    private final String EXPECTED_TRUE = "failure - expected true but was false";
+    private final String EXPECTED_FALSE = "failure - expected false but was true";
+
+    GraphBuilder<String, String> builder;
+
+    @Before
+    public void setUp()
+    {
+        builder = new GraphBuilder<String, String>(3, 4);
+        builder.addNode("n1").addNode("n2").addNode("n3");
+        builder.addEdge("e1", "n1", "n2");
+        builder.addEdge("e2", "n1", "n2");
+        builder.addEdge("e3", "n1", "n3");
+    }
+
+    @After
+    public void tearDown()
+    {
+        // testParallelBuildMatchesBuild lowers the level, which every other test in the JVM shares.
+        restoreRepCheck();
+    }
+
+    /**
+     * Puts the rep check level back the way the build set it.
+     */
+    private static void restoreRepCheck()
+    {
+        RepCheck.set(System.getProperty(RepCheck.PROPERTY, RepCheck.DEFAULT_SETTING));
+    }
+
+    /**
+     * Builds the same graph as setUp() one addNode/addEdge call at a time.
+     */
+    private static Graph<String, String> expectedGraph()
+    {
+        Graph<String, String> graph = new Graph<String, String>("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addEdge("e1", "n1", "n2");
+        graph.addEdge("e2", "n1", "n2");
+        graph.addEdge("e3", "n1", "n3");
+        return graph;
+    }
+
+    private static void assertSameGraph(Graph<String, String> expected, Graph<String, String> actual)
+    {
+        assertEquals(new HashSet<String>(expected.getAllNodes()), new HashSet<String>(actual.getAllNodes()));
+        assertEquals(expected.getNumOfEdges(), actual.getNumOfEdges());
+        for(String node : expected.getAllNodes())
+        {
+            assertEquals(new HashSet<Graph.Edge<String, String>>(expected.getChildrenEdges(node)),
+                    new HashSet<Graph.Edge<String, String>>(actual.getChildrenEdges(node)));
+            assertEquals(new HashSet<Graph.Edge<String, String>>(expected.getParentEdges(node)),
+                    new HashSet<Graph.Edge<String, String>>(actual.getParentEdges(node)));
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  build()
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testEmptyBuilder()
+    {
+        Graph<String, String> graph = new GraphBuilder<String, String>().build();
+        assertTrue(EXPECTED_TRUE, graph.getAllNodes().isEmpty());
+        assertEquals(0, graph.getNumOfEdges());
+    }
+
+    @Test
+    public void testBuildMatchesGraph()
+    {
+        assertSameGraph(expectedGraph(), builder.build());
+    }
+
+    @Test
+    public void testBuiltGraphIsMutable()
+    {
+        Graph<String, String> graph = builder.build();
+        assertTrue(EXPECTED_TRUE, graph.addNode("n4"));
+        assertTrue(EXPECTED_TRUE, graph.addEdge("e4", "n3", "n4"));
+        assertEquals(4, graph.getNumOfEdges());
+        assertEquals(List.of("n3"), graph.getParentNodes("n4"));
+    }
+
+    @Test
+    public void testDuplicatesAreDropped()
+    {
+        builder.addNode("n1");
+        builder.addEdge("e1", "n1", "n2");
+        builder.addEdge("e1", "n1", "n2");
+        assertSameGraph(expectedGraph(), builder.build());
+    }
+
+    @Test
+    public void testEdgesMayBeAddedBeforeTheirNodes()
+    {
+        GraphBuilder<String, String> edgesFirst = new GraphBuilder<String, String>();
+        edgesFirst.addEdge("e1", "n1", "n2").addEdge("e2", "n1", "n2").addEdge("e3", "n1", "n3");
+        edgesFirst.addNode("n3").addNode("n2").addNode("n1");
+        assertSameGraph(expectedGraph(), edgesFirst.build());
+    }
+
+    @Test
+    public void testAddEdges()
+    {
+        GraphBuilder<String, String> batched = new GraphBuilder<String, String>(3, 0);
+        batched.addNode("n1").addNode("n2").addNode("n3");
+        batched.addEdges("e1", "n1", List.of("n2"));
+        batched.addEdges("e2", "n1", List.of("n2"));
+        batched.addEdges("e3", "n1", List.of("n3", "n3"));
+        assertSameGraph(expectedGraph(), batched.build());
+    }
+
+    @Test
+    public void testIndexOptions()
+    {
+        Graph<String, String> graph = builder.indexEdges(false).indexParents(false).build();
+        assertFalse(EXPECTED_FALSE, graph.hasEdgeIndex());
+        assertFalse(EXPECTED_FALSE, graph.hasParentIndex());
+        assertSameGraph(expectedGraph(), graph);
+        assertTrue(EXPECTED_TRUE, new GraphBuilder<String, String>().build().hasParentIndex());
+    }
+
+    @Test
+    public void testChildOrder()
+    {
+        EdgeStringCompare order = new EdgeStringCompare();
+        builder.addEdge("e0", "n1", "n3").addEdge("e0", "n1", "n2");
+        Graph<String, String> graph = builder.childOrder(order).build();
+        assertSame(order, graph.getChildOrder());
+        assertEquals(List.of(new Graph.Edge<String, String>("e0", "n1", "n2"),
+                new Graph.Edge<String, String>("e1", "n1", "n2"), new Graph.Edge<String, String>("e2", "n1", "n2"),
+                new Graph.Edge<String, String>("e0", "n1", "n3"), new Graph.Edge<String, String>("e3", "n1", "n3")),
+                graph.getChildrenEdges("n1"));
+        assertNull(new GraphBuilder<String, String>().build().getChildOrder());
+    }
+
+    @Test
+    public void testAddAll()
+    {
+        GraphBuilder<String, String> first = new GraphBuilder<String, String>();
+        first.addNode("n1").addEdge("e1", "n1", "n2");
+        GraphBuilder<String, String> second = new GraphBuilder<String, String>(2, 1);
+        second.addNode("n2").addNode("n3").addEdge("e2", "n1", "n2").addEdge("e3", "n1", "n3");
+        second.addEdge("e1", "n1", "n2");
+        assertSameGraph(expectedGraph(), first.addAll(second).build());
+        // second is left as it was, and can still be built on its own.
+        second.addNode("n1");
+        assertEquals(3, second.build().getNumOfEdges());
+    }
+
+    @Test
+    public void testHugeExpectedCountsOnlyAllocateWhatIsUsed()
+    {
+        GraphBuilder<String, String> big = new GraphBuilder<String, String>(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        big.addNode("n1").addNode("n2").addNode("n3");
+        big.addEdge("e1", "n1", "n2").addEdge("e2", "n1", "n2").addEdge("e3", "n1", "n3");
+        assertSameGraph(expectedGraph(), big.build());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  build(ForkJoinPool)
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Adds the same random nodes and edges, with many duplicates, to a new builder with the given options.
+     */
+    private static GraphBuilder<String, String> randomBuilder(boolean indexEdges, boolean indexParents,
+                                                              EdgeStringCompare childOrder)
+    {
+        Random random = new Random(25);
+        GraphBuilder<String, String> randomBuilder = new GraphBuilder<String, String>()
+                .indexEdges(indexEdges).indexParents(indexParents).childOrder(childOrder);
+        for(int i = 0; i < 8000; i++)
+        {
+            // A few nodes have far more children than the rest.
+            int parent = random.nextInt(4) == 0 ? random.nextInt(5) : random.nextInt(200);
+            randomBuilder.addEdge("e" + random.nextInt(3), "n" + parent, "n" + random.nextInt(200));
+        }
+        for(int node = 200; node >= 0; node--)
+        {
+            randomBuilder.addNode("n" + node);
+        }
+        return randomBuilder;
+    }
+
+    @Test
+    public void testParallelBuildMatchesBuild()
+    {
+        for(int threads : new int[]{1, 4})
+        {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            for(EdgeStringCompare childOrder : new EdgeStringCompare[]{null, new EdgeStringCompare()})
+            {
+                for(boolean indexed : new boolean[]{true, false})
+                {
+                    restoreRepCheck();
+                    Graph<String, String> expected = randomBuilder(indexed, indexed, childOrder).build();
+                    Graph<String, String> actual = randomBuilder(indexed, indexed, childOrder).build(pool);
+                    // Both graphs were checked in full as they were built. Walking all of their edges again on
+                    // each of the thousands of queries below would take minutes, so those only check cheaply.
+                    RepCheck.set(RepCheck.cheap() ? "cheap" : "off");
+                    // Not just the same graph, but the same order of nodes and labels too, and of child
+                    // edges when they have an order at all.
+                    assertEquals(expected.getAllNodes(), actual.getAllNodes());
+                    assertSameGraph(expected, actual);
+                    for(String node : expected.getAllNodes())
+                    {
+                        if(childOrder != null)
+                        {
+                            assertEquals(expected.getChildrenEdges(node), actual.getChildrenEdges(node));
+                        }
+                        for(String child : expected.getChildrenNodes(node))
+                        {
+                            assertEquals(expected.getEdge(node, child), actual.getEdge(node, child));
+                        }
+                    }
+                }
+            }
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelBuildMatchesGraph()
+    {
+        assertSameGraph(expectedGraph(), builder.build(ForkJoinPool.commonPool()));
+        Graph<String, String> graph = new GraphBuilder<String, String>().build(ForkJoinPool.commonPool());
+        assertTrue(EXPECTED_TRUE, graph.getAllNodes().isEmpty());
+    }
+
+    @Test
+    public void testParallelBuiltGraphIsMutable()
+    {
+        Graph<String, String> graph = builder.build(ForkJoinPool.commonPool());
+        assertFalse(EXPECTED_FALSE, graph.addEdge("e1", "n1", "n2"));
+        assertTrue(EXPECTED_TRUE, graph.addEdge("e4", "n3", "n1"));
+        assertEquals(4, graph.getNumOfEdges());
+        assertEquals(List.of("n3"), graph.getParentNodes("n1"));
+        assertTrue(EXPECTED_TRUE, graph.isConnected("n2", "n3"));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Test For Proper Exceptions
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEdgeToMissingNodeFailsAtBuild()
+    {
+        builder.addEdge("e4", "n3", "DNE");
+        builder.build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullNodeThrowsException()
+    {
+        builder.addNode(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullLabelThrowsException()
+    {
+        builder.addEdge(null, "n1", "n2");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeExpectedCountThrowsException()
+    {
+        new GraphBuilder<String, String>(-1, 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBuilderCannotBeReused()
+    {
+        builder.build();
+        builder.addNode("n4");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelEdgeToMissingNodeFailsAtBuild()
+    {
+        builder.addEdge("e4", "n1", "n4");
+        builder.build(ForkJoinPool.commonPool());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPoolThrowsException()
+    {
+        builder.build(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddAllOfNullThrowsException()
+    {
+        builder.addAll(null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddAllOfBuiltBuilderThrowsException()
+    {
+        GraphBuilder<String, String> built = new GraphBuilder<String, String>();
+        built.build();
+        builder.addAll(built);
+    }
+}
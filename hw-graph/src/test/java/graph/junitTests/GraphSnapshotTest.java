@@ -0,0 +1,300 @@
+package graph.junitTests;
+
+import graph.EdgeStringCompare;
+import graph.Graph;
+import graph.GraphBuilder;
+import graph.GraphSnapshot;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test Graph.snapshot() and the
+ * GraphSnapshot class.
+ *
+ */
+public final class GraphSnapshotTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    private final String EXPECTED_TRUE = "failure - expected true but was false";
+    private final String EXPECTED_FALSE = "failure - expected false but was true";
+
+    Graph<String, String> graph;
+    Graph<String, String> unindexedGraph;
+
+    @Before
+    public void setUp()
+    {
+        graph = new Graph<String, String>("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addEdge("e1", "n1", "n2");
+        graph.addEdge("e2", "n1", "n2");
+        graph.addEdge("e3", "n2", "n3");
+
+        unindexedGraph = new GraphBuilder<String, String>().indexEdges(false).indexParents(false)
+                .addNode("n1").addNode("n2").addNode("n3")
+                .addEdge("e1", "n1", "n2").addEdge("e2", "n1", "n2").addEdge("e3", "n2", "n3")
+                .build();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Read API
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testSnapshotMatchesGraph()
+    {
+        GraphSnapshot<String, String> snapshot = graph.snapshot();
+        assertEquals(new HashSet<String>(graph.getAllNodes()), new HashSet<String>(snapshot.getAllNodes()));
+        assertEquals(3, snapshot.getNumOfNodes());
+        assertEquals(3, snapshot.getNumOfEdges());
+        for(String node : graph.getAllNodes())
+        {
+            assertEquals(new HashSet<Graph.Edge<String, String>>(graph.getChildrenEdges(node)),
+                    new HashSet<Graph.Edge<String, String>>(snapshot.getChildrenEdges(node)));
+            assertEquals(new HashSet<String>(graph.getChildrenNodes(node)),
+                    new HashSet<String>(snapshot.getChildrenNodes(node)));
+        }
+    }
+
+    @Test
+    public void testReadApi()
+    {
+        GraphSnapshot<String, String> snapshot = graph.snapshot();
+        assertTrue(EXPECTED_TRUE, snapshot.containsNode("n3"));
+        assertFalse(EXPECTED_FALSE, snapshot.containsNode("DNE"));
+        assertTrue(EXPECTED_TRUE, snapshot.isAdjacent("n1", "n2"));
+        assertFalse(EXPECTED_FALSE, snapshot.isAdjacent("n2", "n1"));
+        assertTrue(EXPECTED_TRUE, snapshot.containsEdge("e3", "n2", "n3"));
+        assertFalse(EXPECTED_FALSE, snapshot.containsEdge("e3", "n1", "n2"));
+        assertEquals(new HashSet<Graph.Edge<String, String>>(List.of(new Graph.Edge<String, String>("e1", "n1", "n2"),
+                new Graph.Edge<String, String>("e2", "n1", "n2"))),
+                new HashSet<Graph.Edge<String, String>>(snapshot.getEdge("n1", "n2")));
+        assertEquals(List.of(), snapshot.getEdge("n1", "n3"));
+        assertNull(snapshot.getEdge("n1", "DNE"));
+        assertNull(snapshot.getChildrenEdges("DNE"));
+        assertEquals(List.of(), snapshot.getChildrenNodes("n3"));
+
+        List<String> visited = new ArrayList<String>();
+        assertTrue(EXPECTED_TRUE, snapshot.forEachChildEdge("n2", edge -> visited.add(edge.getChild())));
+        assertEquals(List.of("n3"), visited);
+        assertFalse(EXPECTED_FALSE, snapshot.forEachChildEdge("DNE", edge -> visited.add(edge.getChild())));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Isolation from later changes
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    private void assertSnapshotIsolated(Graph<String, String> graph)
+    {
+        GraphSnapshot<String, String> snapshot = graph.snapshot();
+        Collection<Graph.Edge<String, String>> n1View = snapshot.getChildrenEdgesView("n1");
+
+        assertTrue(EXPECTED_TRUE, graph.addNode("n4"));
+        assertTrue(EXPECTED_TRUE, graph.addEdge("e4", "n1", "n4"));
+        assertTrue(EXPECTED_TRUE, graph.addEdge("e5", "n4", "n1"));
+        assertTrue(EXPECTED_TRUE, graph.addEdge("e6", "n1", "n3"));
+
+        assertFalse(EXPECTED_FALSE, snapshot.containsNode("n4"));
+        assertFalse(EXPECTED_FALSE, snapshot.isAdjacent("n1", "n4"));
+        assertFalse(EXPECTED_FALSE, snapshot.containsEdge("e6", "n1", "n3"));
+        assertEquals(2, n1View.size());
+        assertEquals(3, snapshot.getNumOfEdges());
+
+        assertTrue(EXPECTED_TRUE, graph.containsEdge("e4", "n1", "n4"));
+        assertTrue(EXPECTED_TRUE, graph.containsEdge("e6", "n1", "n3"));
+        assertEquals(4, graph.getChildrenEdges("n1").size());
+        assertEquals(6, graph.getNumOfEdges());
+
+        // A second snapshot sees the changes, and the first is still unchanged.
+        GraphSnapshot<String, String> secondSnapshot = graph.snapshot();
+        assertTrue(EXPECTED_TRUE, secondSnapshot.containsEdge("e5", "n4", "n1"));
+        assertEquals(6, secondSnapshot.getNumOfEdges());
+        assertTrue(EXPECTED_TRUE, graph.addEdge("e7", "n1", "n1"));
+        assertEquals(4, secondSnapshot.getChildrenEdges("n1").size());
+        assertEquals(2, snapshot.getChildrenEdges("n1").size());
+    }
+
+    @Test
+    public void testSnapshotIsIsolatedFromLaterChanges()
+    {
+        assertSnapshotIsolated(graph);
+    }
+
+    @Test
+    public void testSnapshotOfUnindexedGraphIsIsolatedFromLaterChanges()
+    {
+        assertSnapshotIsolated(unindexedGraph);
+    }
+
+    @Test
+    public void testDuplicateEdgeAfterSnapshot()
+    {
+        GraphSnapshot<String, String> snapshot = unindexedGraph.snapshot();
+        assertFalse(EXPECTED_FALSE, unindexedGraph.addEdge("e1", "n1", "n2"));
+        assertEquals(3, unindexedGraph.getNumOfEdges());
+        assertSame(snapshot, unindexedGraph.snapshot());
+    }
+
+    @Test
+    public void testIndexesStayCorrectAfterSnapshot()
+    {
+        graph.snapshot();
+        graph.addEdge("e4", "n3", "n1");
+        assertEquals(List.of("n2"), graph.getParentNodes("n3"));
+        assertEquals(List.of(new Graph.Edge<String, String>("e4", "n3", "n1")), graph.getParentEdges("n1"));
+        assertEquals(List.of(new Graph.Edge<String, String>("e4", "n3", "n1")), graph.getEdge("n3", "n1"));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Child order
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns the labels of a node's children in the order the snapshot hands them out.
+     */
+    private static List<String> childLabels(GraphSnapshot<String, String> snapshot, String node)
+    {
+        List<String> labels = new ArrayList<String>();
+        snapshot.forEachChildEdge(node, edge -> labels.add(edge.getLabel()));
+        return labels;
+    }
+
+    @Test
+    public void testOrderedGraphKeepsOrderAcrossSnapshots()
+    {
+        EdgeStringCompare order = new EdgeStringCompare();
+        Graph<String, String> ordered = new Graph<String, String>(false, false, order);
+        ordered.addNode("a");
+        ordered.addNode("b");
+        ordered.addNode("c");
+        ordered.addEdge("y", "a", "c");
+        ordered.addEdge("z", "a", "b");
+        GraphSnapshot<String, String> snapshot = ordered.snapshot();
+        assertSame(order, snapshot.getChildOrder());
+        assertEquals(List.of("z", "y"), childLabels(snapshot, "a"));
+
+        // The first change after the snapshot copies a's child set, which must stay sorted.
+        ordered.addEdge("x", "a", "b");
+        ordered.addEdge("w", "a", "a");
+        assertEquals(List.of("w", "x", "z", "y"), childLabels(ordered.snapshot(), "a"));
+        assertEquals(List.of("z", "y"), childLabels(snapshot, "a"));
+        assertEquals(List.of("w", "x", "z", "y"), List.of(ordered.getChildrenEdges("a").stream()
+                .map(Graph.Edge::getLabel).toArray(String[]::new)));
+        assertSame(order, ordered.freeze().getChildOrder());
+        assertNull(graph.snapshot().getChildOrder());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Versions
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testVersionCountsChanges()
+    {
+        Graph<String, String> empty = new Graph<String, String>();
+        assertEquals(0, empty.getVersion());
+        empty.addNode("a");
+        empty.addNode("b");
+        assertEquals(2, empty.getVersion());
+        empty.addEdge("e", "a", "b");
+        assertEquals(3, empty.getVersion());
+
+        // Changes that don't happen don't count.
+        empty.addNode("a");
+        empty.addEdge("e", "a", "b");
+        empty.addEdge("e", "a", "DNE");
+        assertEquals(3, empty.getVersion());
+    }
+
+    @Test
+    public void testSnapshotCarriesVersion()
+    {
+        GraphSnapshot<String, String> snapshot = graph.snapshot();
+        assertEquals(graph.getVersion(), snapshot.getVersion());
+        assertSame(snapshot, graph.snapshot());
+
+        graph.addNode("n4");
+        GraphSnapshot<String, String> newSnapshot = graph.snapshot();
+        assertNotSame(snapshot, newSnapshot);
+        assertTrue(EXPECTED_TRUE, newSnapshot.getVersion() > snapshot.getVersion());
+        assertEquals(graph.getVersion(), newSnapshot.getVersion());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Concurrent readers
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * One thread keeps adding nodes and edges while others keep taking snapshots. Every snapshot must be
+     * internally consistent, and versions must never go backwards.
+     */
+    @Test
+    public void testReadersSeeConsistentSnapshotsWhileWriting() throws Exception
+    {
+        final int READERS = 3;
+        Graph<Integer, Integer> live = new Graph<Integer, Integer>(false, false);
+        live.addNode(0);
+        AtomicBoolean done = new AtomicBoolean(false);
+
+        ExecutorService pool = Executors.newFixedThreadPool(READERS + 1);
+        Future<?> writer = pool.submit(() -> {
+            for(int node = 1; node <= 1_000; node++)
+            {
+                live.addNode(node);
+                live.addEdge(node, node - 1, node);
+                live.addEdge(-node, node, node - 1);
+                if(node % 100 == 0)
+                {
+                    live.snapshot();
+                }
+            }
+            done.set(true);
+        });
+
+        List<Future<Integer>> readers = new ArrayList<Future<Integer>>();
+        for(int r = 0; r < READERS; r++)
+        {
+            readers.add(pool.submit(() -> {
+                int checked = 0;
+                long lastVersion = -1;
+                while(!done.get() || checked == 0)
+                {
+                    GraphSnapshot<Integer, Integer> snapshot = live.snapshot();
+                    assertTrue(EXPECTED_TRUE, snapshot.getVersion() >= lastVersion);
+                    lastVersion = snapshot.getVersion();
+
+                    int numOfNodes = snapshot.getNumOfNodes();
+                    int edgeCount = 0;
+                    for(Integer node : snapshot.getAllNodes())
+                    {
+                        edgeCount += snapshot.getChildrenEdgesView(node).size();
+                    }
+                    assertEquals(snapshot.getNumOfEdges(), edgeCount);
+                    // Nodes and both of their edges are added in order, one node at a time.
+                    assertTrue(EXPECTED_TRUE, edgeCount >= 2 * (numOfNodes - 2) && edgeCount <= 2 * (numOfNodes - 1));
+                    checked++;
+                }
+                return checked;
+            }));
+        }
+
+        writer.get();
+        for(Future<Integer> reader : readers)
+        {
+            assertTrue(EXPECTED_TRUE, reader.get() > 0);
+        }
+        pool.shutdown();
+        assertEquals(2_000, live.snapshot().getNumOfEdges());
+    }
+}
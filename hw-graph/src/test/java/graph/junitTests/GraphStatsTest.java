@@ -0,0 +1,139 @@
+package graph.junitTests;
+
+import graph.Graph;
+import graph.GraphStats;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * GraphStats class.
+ *
+ */
+public final class GraphStatsTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    Graph<String, String> emptyGraph, graph;
+
+    @Before
+    public void setUp()
+    {
+        emptyGraph = new Graph<String, String>();
+
+        graph = new Graph<String, String>("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addEdge("e1", "n1", "n2");
+        graph.addEdge("e2", "n1", "n2");
+        graph.addEdge("e3", "n1", "n3");
+        graph.addEdge("e4", "n2", "n3");
+    }
+
+    @Test
+    public void testEmptyGraphStats()
+    {
+        GraphStats<String, String> stats = emptyGraph.getStats();
+        assertEquals(0, stats.getNumOfNodes());
+        assertEquals(0, stats.getNumOfEdges());
+        assertEquals(0.0, stats.getAverageOutDegree(), 0.0);
+        assertTrue(stats.getOutDegreeHistogram().isEmpty());
+    }
+
+    @Test
+    public void testTotalCounts()
+    {
+        GraphStats<String, String> stats = graph.getStats();
+        assertEquals(3, stats.getNumOfNodes());
+        assertEquals(4, stats.getNumOfEdges());
+        assertEquals(4.0 / 3, stats.getAverageOutDegree(), 1e-9);
+    }
+
+    @Test
+    public void testStatsAreLive()
+    {
+        GraphStats<String, String> stats = graph.getStats();
+        graph.addNode("n4");
+        graph.addEdge("e5", "n3", "n4");
+        graph.addEdge("e5", "n3", "n4"); // A duplicate is not counted.
+        assertEquals(4, stats.getNumOfNodes());
+        assertEquals(5, stats.getNumOfEdges());
+        assertEquals(5, graph.getNumOfEdges());
+    }
+
+    @Test
+    public void testOutDegree()
+    {
+        GraphStats<String, String> stats = graph.getStats();
+        assertEquals(3, stats.getOutDegree("n1"));
+        assertEquals(1, stats.getOutDegree("n2"));
+        assertEquals(0, stats.getOutDegree("n3"));
+    }
+
+    @Test
+    public void testOutDegreeHistogram()
+    {
+        SortedMap<Integer, Integer> expected = new TreeMap<Integer, Integer>();
+        expected.put(0, 1);
+        expected.put(1, 1);
+        expected.put(3, 1);
+        assertEquals(expected, graph.getStats().getOutDegreeHistogram());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutDegreeOfNodeDNE()
+    {
+        graph.getStats().getOutDegree("DNE");
+    }
+
+    @Test
+    public void testInDegree()
+    {
+        GraphStats<String, String> stats = graph.getStats();
+        assertEquals(0, stats.getInDegree("n1"));
+        assertEquals(2, stats.getInDegree("n2"));
+        assertEquals(2, stats.getInDegree("n3"));
+    }
+
+    @Test
+    public void testInDegreeHistogramWithAndWithoutParentIndex()
+    {
+        SortedMap<Integer, Integer> expected = new TreeMap<Integer, Integer>();
+        expected.put(0, 1);
+        expected.put(2, 2);
+        assertEquals(expected, graph.getStats().getInDegreeHistogram());
+
+        Graph<String, String> unindexed = new Graph<String, String>(false, false);
+        for(String node : graph.getAllNodes())
+        {
+            unindexed.addNode(node);
+            for(Graph.Edge<String, String> edge : graph.getChildrenEdges(node))
+            {
+                unindexed.addNode(edge.getChild());
+            }
+        }
+        for(String node : graph.getAllNodes())
+        {
+            for(Graph.Edge<String, String> edge : graph.getChildrenEdges(node))
+            {
+                unindexed.addEdge(edge.getLabel(), edge.getParent(), edge.getChild());
+            }
+        }
+        assertEquals(expected, unindexed.getStats().getInDegreeHistogram());
+        assertEquals(2, unindexed.getStats().getInDegree("n3"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInDegreeOfNodeDNE()
+    {
+        graph.getStats().getInDegree("DNE");
+    }
+}
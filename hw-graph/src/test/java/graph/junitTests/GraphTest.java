@@ -1,13 +1,18 @@
 package graph.junitTests;
 
 import graph.Graph;
+import graph.GraphAnalytics;
+import graph.GraphBuilder;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.Timeout;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -489,4 +494,317 @@ public final class GraphTest {
     {
         assertEquals(EXPECTED_TRUE, 2, graphWithEmptyStringNode.getNumOfEdges());
     }
-}
\ No newline at end of file
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Edge index
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testGraphsHaveEdgeIndexByDefault()
+    {
+        assertTrue(EXPECTED_TRUE, emptyGraph.hasEdgeIndex());
+        assertTrue(EXPECTED_TRUE, oneNodeGraph.hasEdgeIndex());
+        assertFalse(EXPECTED_FALSE, new Graph<String, String>(false).hasEdgeIndex());
+    }
+
+    @Test
+    public void testUnindexedGraphAnswersLikeIndexedGraph()
+    {
+        Graph<String, String> unindexedGraph = new Graph<String, String>(false);
+        unindexedGraph.addNode("n1");
+        unindexedGraph.addNode("n2");
+        unindexedGraph.addNode("n3");
+        assertTrue(EXPECTED_TRUE, unindexedGraph.addEdge("e1", "n1", "n2"));
+        assertTrue(EXPECTED_TRUE, unindexedGraph.addEdge("e2", "n1", "n2"));
+        assertTrue(EXPECTED_TRUE, unindexedGraph.addEdge("e3", "n1", "n3"));
+        assertFalse(EXPECTED_FALSE, unindexedGraph.addEdge("e1", "n1", "n2"));
+
+        assertEquals(threeNodesThreeEdgesGraph.getNumOfEdges(), unindexedGraph.getNumOfEdges());
+        assertTrue(EXPECTED_TRUE, unindexedGraph.isAdjacent("n1", "n3"));
+        assertFalse(EXPECTED_FALSE, unindexedGraph.isAdjacent("n3", "n1"));
+        assertTrue(EXPECTED_TRUE, unindexedGraph.containsEdge("e2", "n1", "n2"));
+        assertFalse(EXPECTED_FALSE, unindexedGraph.containsEdge("e3", "n1", "n2"));
+        assertEquals(new HashSet<Graph.Edge<String, String>>(threeNodesThreeEdgesGraph.getEdge("n1", "n2")),
+                new HashSet<Graph.Edge<String, String>>(unindexedGraph.getEdge("n1", "n2")));
+    }
+
+    @Test
+    public void testIndexedDuplicateEdgeIsNotAdded()
+    {
+        assertFalse(EXPECTED_FALSE, threeNodesThreeEdgesGraph.addEdge("e1", "n1", "n2"));
+        assertEquals(3, threeNodesThreeEdgesGraph.getNumOfEdges());
+        assertEquals(2, threeNodesThreeEdgesGraph.getEdge("n1", "n2").size());
+    }
+
+    @Test
+    public void testIndexedLookupsWithNodesThatDNE()
+    {
+        assertFalse(EXPECTED_FALSE, threeNodesThreeEdgesGraph.isAdjacent("DNE", "n1"));
+        assertFalse(EXPECTED_FALSE, threeNodesThreeEdgesGraph.containsEdge("e1", "n1", "DNE"));
+        assertNull(threeNodesThreeEdgesGraph.getEdge("n1", "DNE"));
+        assertTrue(EXPECTED_TRUE, threeNodesThreeEdgesGraph.getEdge("n2", "n3").isEmpty());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  forEachChildEdge() and getChildrenEdgesView()
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testForEachChildEdgeVisitsEveryChildEdge()
+    {
+        List<Graph.Edge<String, String>> visited = new ArrayList<Graph.Edge<String, String>>();
+        assertTrue(EXPECTED_TRUE, threeNodesThreeEdgesGraph.forEachChildEdge("n1", visited::add));
+        assertEquals(new HashSet<Graph.Edge<String, String>>(threeNodesThreeEdgesGraph.getChildrenEdges("n1")),
+                new HashSet<Graph.Edge<String, String>>(visited));
+        assertEquals(3, visited.size());
+    }
+
+    @Test
+    public void testForEachChildEdgeWithParentDNE()
+    {
+        List<Graph.Edge<String, String>> visited = new ArrayList<Graph.Edge<String, String>>();
+        assertFalse(EXPECTED_FALSE, threeNodesThreeEdgesGraph.forEachChildEdge("DNE", visited::add));
+        assertTrue(EXPECTED_TRUE, visited.isEmpty());
+    }
+
+    @Test
+    public void testChildrenEdgesViewIsLive()
+    {
+        Collection<Graph.Edge<String, String>> view = threeNodesOneEdgeGraph.getChildrenEdgesView("n1");
+        assertEquals(1, view.size());
+        threeNodesOneEdgeGraph.addEdge("e2", "n1", "n3");
+        assertEquals(2, view.size());
+        assertTrue(EXPECTED_TRUE, view.contains(new Graph.Edge<String, String>("e2", "n1", "n3")));
+        assertNull(threeNodesOneEdgeGraph.getChildrenEdgesView("DNE"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testChildrenEdgesViewIsReadOnly()
+    {
+        threeNodesOneEdgeGraph.getChildrenEdgesView("n1").clear();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPassingNullActionToForEachChildEdge()
+    {
+        threeNodesOneEdgeGraph.forEachChildEdge("n1", null);
+    }
+
+    @Test
+    public void testGetChildrenNodesKeepsFirstSeenOrderWithoutDuplicates()
+    {
+        nodes.add("n2");
+        nodes.add("n3");
+        assertEquals(new HashSet<String>(nodes),
+                new HashSet<String>(threeNodesThreeEdgesGraph.getChildrenNodes("n1")));
+        assertEquals(2, threeNodesThreeEdgesGraph.getChildrenNodes("n1").size());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  getParentEdges() and getParentNodes()
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testParentIndexIsOnByDefault()
+    {
+        assertTrue(EXPECTED_TRUE, emptyGraph.hasParentIndex());
+        assertTrue(EXPECTED_TRUE, oneNodeGraph.hasParentIndex());
+        assertFalse(EXPECTED_FALSE, new Graph<String, String>(true, false).hasParentIndex());
+    }
+
+    @Test
+    public void testGetParentEdges()
+    {
+        edges.add(new Graph.Edge<String, String>("e1", "n1", "n2"));
+        edges.add(new Graph.Edge<String, String>("e2", "n1", "n2"));
+        assertEquals(new HashSet<Graph.Edge<String, String>>(edges),
+                new HashSet<Graph.Edge<String, String>>(threeNodesThreeEdgesGraph.getParentEdges("n2")));
+        assertTrue(EXPECTED_TRUE, threeNodesThreeEdgesGraph.getParentEdges("n1").isEmpty());
+        assertNull(threeNodesThreeEdgesGraph.getParentEdges("DNE"));
+    }
+
+    @Test
+    public void testGetParentNodesHasNoDuplicates()
+    {
+        nodes.add("n1");
+        assertEquals(nodes, threeNodesThreeEdgesGraph.getParentNodes("n2"));
+        assertTrue(EXPECTED_TRUE, threeNodesThreeEdgesGraph.getParentNodes("n1").isEmpty());
+        assertNull(threeNodesThreeEdgesGraph.getParentNodes("DNE"));
+    }
+
+    @Test
+    public void testParentsWithAndWithoutIndexAgree()
+    {
+        for(boolean indexEdges : new boolean[] {true, false})
+        {
+            Graph<String, String> unindexed = new Graph<String, String>(indexEdges, false);
+            for(String node : graphWithEmptyStringNode.getAllNodes())
+            {
+                unindexed.addNode(node);
+            }
+            unindexed.addEdge("e1", "", "n1");
+            unindexed.addEdge("", "n2", "");
+            unindexed.addEdge("", "n2", ""); // A duplicate is not a second parent edge.
+            for(String node : graphWithEmptyStringNode.getAllNodes())
+            {
+                assertEquals(graphWithEmptyStringNode.getParentEdges(node), unindexed.getParentEdges(node));
+                assertEquals(graphWithEmptyStringNode.getParentNodes(node), unindexed.getParentNodes(node));
+            }
+        }
+    }
+
+    @Test
+    public void testDuplicateEdgeIsNotAddedToParentIndex()
+    {
+        threeNodesOneEdgeGraph.addEdge("e1", "n1", "n2");
+        assertEquals(1, threeNodesOneEdgeGraph.getParentEdges("n2").size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPassingNullToGetParentEdges()
+    {
+        threeNodesOneEdgeGraph.getParentEdges(null);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  isConnected()
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testIsConnected()
+    {
+        assertTrue(EXPECTED_TRUE, threeNodesThreeEdgesGraph.isConnected("n2", "n3")); // Against an edge.
+        assertTrue(EXPECTED_TRUE, threeNodesOneEdgeGraph.isConnected("n2", "n1"));
+        assertTrue(EXPECTED_TRUE, threeNodesOneEdgeGraph.isConnected("n3", "n3"));
+        assertFalse(EXPECTED_FALSE, threeNodesOneEdgeGraph.isConnected("n1", "n3"));
+        assertFalse(EXPECTED_FALSE, threeNodesOneEdgeGraph.isConnected("n1", "DNE"));
+        assertFalse(EXPECTED_FALSE, emptyGraph.isConnected("DNE", "DNE"));
+    }
+
+    @Test
+    public void testIsConnectedKeepsUpWithChanges()
+    {
+        assertFalse(EXPECTED_FALSE, fourNodesGraph.isConnected("n1", "n4"));
+        fourNodesGraph.addEdge("e1", "n1", "n2");
+        fourNodesGraph.addEdge("e2", "n4", "n3");
+        assertFalse(EXPECTED_FALSE, fourNodesGraph.isConnected("n1", "n4"));
+        assertTrue(EXPECTED_TRUE, fourNodesGraph.isConnected("n3", "n4"));
+
+        fourNodesGraph.addNode("n5");
+        assertFalse(EXPECTED_FALSE, fourNodesGraph.isConnected("n5", "n1"));
+        fourNodesGraph.addEdge("e3", "n2", "n5");
+        fourNodesGraph.addEdge("e4", "n3", "n5");
+        assertTrue(EXPECTED_TRUE, fourNodesGraph.isConnected("n1", "n4"));
+    }
+
+    @Test
+    public void testIsConnectedOnBuiltGraph()
+    {
+        Graph<String, String> built = new GraphBuilder<String, String>().indexEdges(false).indexParents(false)
+                .addNode("a").addNode("b").addNode("c").addEdge("e", "b", "a").build();
+        assertTrue(EXPECTED_TRUE, built.isConnected("a", "b"));
+        assertFalse(EXPECTED_FALSE, built.isConnected("a", "c"));
+    }
+
+    /**
+     * Grows a random graph, asking about random pairs along the way, and compares every answer to a
+     * GraphAnalytics of the graph at that time.
+     */
+    @Test
+    public void testIsConnectedMatchesGraphAnalytics()
+    {
+        Random random = new Random(17);
+        Graph<Integer, Integer> growing = new Graph<Integer, Integer>(false, false);
+        GraphAnalytics<Integer, Integer> analytics = new GraphAnalytics<Integer, Integer>(growing);
+        for(int node = 0; node < 500; node++)
+        {
+            growing.addNode(node);
+        }
+        for(int edge = 0; edge < 400; edge++)
+        {
+            growing.addEdge(edge, random.nextInt(500), random.nextInt(500));
+            if(edge % 50 == 0)
+            {
+                GraphAnalytics.Components<Integer> components = analytics.getComponents();
+                for(int i = 0; i < 200; i++)
+                {
+                    int a = random.nextInt(500);
+                    int b = random.nextInt(500);
+                    assertEquals(components.isConnected(a, b), growing.isConnected(a, b));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGetComponentId()
+    {
+        int n1 = threeNodesOneEdgeGraph.getComponentId("n1");
+        assertEquals(n1, threeNodesOneEdgeGraph.getComponentId("n2"));
+        assertNotEquals(n1, threeNodesOneEdgeGraph.getComponentId("n3"));
+        assertEquals(-1, threeNodesOneEdgeGraph.getComponentId("DNE"));
+
+        // Nodes and edges added after the first lookup are kept track of as they come in.
+        threeNodesOneEdgeGraph.addNode("n4");
+        int n4 = threeNodesOneEdgeGraph.getComponentId("n4");
+        assertNotEquals(-1, n4);
+        assertNotEquals(threeNodesOneEdgeGraph.getComponentId("n1"), n4);
+        threeNodesOneEdgeGraph.addEdge("e2", "n4", "n3");
+        threeNodesOneEdgeGraph.addEdge("e3", "n2", "n4");
+        assertEquals(threeNodesOneEdgeGraph.getComponentId("n1"), threeNodesOneEdgeGraph.getComponentId("n3"));
+
+        // Far more nodes than the index first had room for.
+        for(int i = 0; i < 100; i++)
+        {
+            threeNodesOneEdgeGraph.addNode("m" + i);
+            threeNodesOneEdgeGraph.addEdge("e", "m" + i, i % 2 == 0 ? "n1" : "m" + (i - 1));
+        }
+        threeNodesOneEdgeGraph.addNode("lonely");
+        assertTrue(EXPECTED_TRUE, threeNodesOneEdgeGraph.isConnected("m99", "n3"));
+        assertFalse(EXPECTED_FALSE, threeNodesOneEdgeGraph.isConnected("m99", "lonely"));
+    }
+
+    @Test
+    public void testComponentsOfBuiltGraphKeptUpToDate()
+    {
+        Graph<String, String> built = new GraphBuilder<String, String>().addNode("a").addNode("b").addNode("c")
+                .addEdge("e", "b", "a").build();
+        assertFalse(EXPECTED_FALSE, built.isConnected("a", "c"));
+        built.addNode("d");
+        built.addEdge("e", "c", "d");
+        assertFalse(EXPECTED_FALSE, built.isConnected("a", "d"));
+        built.addEdge("e", "d", "a");
+        assertTrue(EXPECTED_TRUE, built.isConnected("b", "c"));
+    }
+
+    @Test
+    public void testIsConnectedDoesNotWaitForTheGraphsLock() throws InterruptedException
+    {
+        assertTrue(EXPECTED_TRUE, threeNodesOneEdgeGraph.isConnected("n1", "n2"));
+        threeNodesOneEdgeGraph.addNode("n4");
+        threeNodesOneEdgeGraph.addEdge("e2", "n4", "n2");
+        boolean[] connected = new boolean[1];
+        Thread reader = new Thread(() -> connected[0] = threeNodesOneEdgeGraph.isConnected("n1", "n4")
+                && threeNodesOneEdgeGraph.getComponentId("n3") != threeNodesOneEdgeGraph.getComponentId("n4"));
+        // Writers and snapshot() hold the graph's lock; a reader must not have to wait for them.
+        synchronized(threeNodesOneEdgeGraph)
+        {
+            reader.start();
+            reader.join(5_000);
+            assertFalse(EXPECTED_FALSE, reader.isAlive());
+        }
+        assertTrue(EXPECTED_TRUE, connected[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPassingNullToIsConnected()
+    {
+        threeNodesOneEdgeGraph.isConnected("n1", null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPassingNullToGetComponentId()
+    {
+        threeNodesOneEdgeGraph.getComponentId(null);
+    }
+}
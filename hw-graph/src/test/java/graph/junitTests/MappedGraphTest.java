@@ -0,0 +1,236 @@
+package graph.junitTests;
+
+import graph.CsrGraph;
+import graph.EdgeStringCompare;
+import graph.Graph;
+import graph.MappedGraph;
+import graph.ValueCodec;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * MappedGraph class.
+ *
+ */
+public final class MappedGraphTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final String EXPECTED_TRUE = "failure - expected true but was false";
+    private final String EXPECTED_FALSE = "failure - expected false but was true";
+
+    Graph<String, String> graph;
+    CsrGraph<String, String> snapshot;
+    MappedGraph<String, String> mapped;
+    Path file;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        graph = new Graph<String, String>("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addNode("né"); // Not ASCII, so it takes more bytes than chars.
+        graph.addNode("lonely");
+        graph.addEdge("e1", "n1", "n2");
+        graph.addEdge("e2", "n1", "n2");
+        graph.addEdge("e3", "n1", "n3");
+        graph.addEdge("e1", "n3", "né");
+        graph.addEdge("", "né", "né");
+
+        snapshot = graph.freeze(new EdgeStringCompare());
+        file = folder.newFile("test.graph").toPath();
+        MappedGraph.write(snapshot, file, ValueCodec.UTF8, ValueCodec.UTF8);
+        mapped = MappedGraph.open(file, ValueCodec.UTF8, ValueCodec.UTF8);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Round trip
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testSizes()
+    {
+        assertEquals(snapshot.getNumOfNodes(), mapped.getNumOfNodes());
+        assertEquals(snapshot.getNumOfEdges(), mapped.getNumOfEdges());
+        assertEquals(4, mapped.getNumOfLabels());
+    }
+
+    @Test
+    public void testNodeIdsArePreserved()
+    {
+        for(int i = 0; i < snapshot.getNumOfNodes(); i++)
+        {
+            assertEquals(snapshot.getNode(i), mapped.getNode(i));
+            assertEquals(i, mapped.getNodeId(snapshot.getNode(i)));
+        }
+        assertEquals(snapshot.getAllNodes(), mapped.getAllNodes());
+    }
+
+    @Test
+    public void testEdgesArePreservedInOrder()
+    {
+        for(String node : snapshot.getAllNodes())
+        {
+            assertEquals(snapshot.getChildrenEdges(node), mapped.getChildrenEdges(node));
+            assertEquals(snapshot.getChildrenNodes(node), mapped.getChildrenNodes(node));
+        }
+    }
+
+    @Test
+    public void testReadApi()
+    {
+        assertTrue(EXPECTED_TRUE, mapped.containsNode("né"));
+        assertFalse(EXPECTED_FALSE, mapped.containsNode("DNE"));
+        assertTrue(EXPECTED_TRUE, mapped.isAdjacent("n1", "n2"));
+        assertFalse(EXPECTED_FALSE, mapped.isAdjacent("n2", "n1"));
+        assertTrue(EXPECTED_TRUE, mapped.containsEdge("", "né", "né"));
+        assertFalse(EXPECTED_FALSE, mapped.containsEdge("e2", "n1", "n3"));
+        assertEquals(List.of(new Graph.Edge<String, String>("e1", "n1", "n2"),
+                new Graph.Edge<String, String>("e2", "n1", "n2")), mapped.getEdge("n1", "n2"));
+        assertEquals(List.of(), mapped.getChildrenEdges("lonely"));
+        assertNull(mapped.getChildrenEdges("DNE"));
+        assertEquals(-1, mapped.getNodeId("DNE"));
+    }
+
+    @Test
+    public void testChildIds()
+    {
+        int parent = mapped.getNodeId("n1");
+        int[] childIds = new int[3];
+        int count = 0;
+        for(PrimitiveIterator.OfInt it = mapped.getChildIds(parent); it.hasNext(); )
+        {
+            childIds[count++] = it.nextInt();
+        }
+        assertEquals(3, count);
+        assertEquals(Arrays.asList("n2", "n2", "n3"),
+                Arrays.asList(mapped.getNode(childIds[0]), mapped.getNode(childIds[1]), mapped.getNode(childIds[2])));
+    }
+
+    @Test
+    public void testChildOrderIsOnlyTrustedWhenItMatches() throws IOException
+    {
+        assertNull(mapped.getChildOrder());
+        MappedGraph<String, String> sorted = MappedGraph.open(file, ValueCodec.UTF8, ValueCodec.UTF8,
+                new EdgeStringCompare());
+        assertTrue(EXPECTED_TRUE, sorted.getChildOrder() instanceof EdgeStringCompare);
+
+        Path unsortedFile = folder.newFile("unsorted.graph").toPath();
+        MappedGraph.write(graph.freeze(), unsortedFile, ValueCodec.UTF8, ValueCodec.UTF8);
+        assertNull(MappedGraph.open(unsortedFile, ValueCodec.UTF8, ValueCodec.UTF8, new EdgeStringCompare())
+                .getChildOrder());
+    }
+
+    @Test
+    public void testEmptyGraph() throws IOException
+    {
+        Path emptyFile = folder.newFile("empty.graph").toPath();
+        MappedGraph.write(new Graph<String, String>().freeze(), emptyFile, ValueCodec.UTF8, ValueCodec.UTF8);
+        MappedGraph<String, String> empty = MappedGraph.open(emptyFile, ValueCodec.UTF8, ValueCodec.UTF8);
+        assertEquals(0, empty.getNumOfNodes());
+        assertEquals(0, empty.getNumOfEdges());
+        assertFalse(EXPECTED_FALSE, empty.containsNode("n1"));
+    }
+
+    @Test
+    public void testDoubleLabels() throws IOException
+    {
+        Graph<String, Double> weighted = new Graph<String, Double>("a");
+        weighted.addNode("b");
+        weighted.addEdge(1.5, "a", "b");
+        weighted.addEdge(-0.0, "a", "b");
+        weighted.addEdge(1.5, "b", "a");
+        Path weightedFile = folder.newFile("weighted.graph").toPath();
+        MappedGraph.write(weighted.freeze(), weightedFile, ValueCodec.UTF8, ValueCodec.DOUBLE);
+
+        MappedGraph<String, Double> mappedWeighted = MappedGraph.open(weightedFile, ValueCodec.UTF8, ValueCodec.DOUBLE);
+        assertEquals(2, mappedWeighted.getNumOfLabels());
+        assertTrue(EXPECTED_TRUE, mappedWeighted.containsEdge(-0.0, "a", "b"));
+        assertFalse(EXPECTED_FALSE, mappedWeighted.containsEdge(0.0, "a", "b"));
+        assertTrue(EXPECTED_TRUE, mappedWeighted.containsEdge(1.5, "b", "a"));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Test For Proper Exceptions
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotASnapshotThrowsException() throws IOException
+    {
+        Path textFile = folder.newFile("text.tsv").toPath();
+        Files.write(textFile, "hero\tbook\nhero2\tbook\n".getBytes("UTF-8"));
+        MappedGraph.open(textFile, ValueCodec.UTF8, ValueCodec.UTF8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedSnapshotThrowsException() throws IOException
+    {
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = folder.newFile("truncated.graph").toPath();
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 4));
+        MappedGraph.open(truncated, ValueCodec.UTF8, ValueCodec.UTF8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOtherVersionThrowsException() throws IOException
+    {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[7] = (byte) (MappedGraph.VERSION + 1);
+        Path newer = folder.newFile("newer.graph").toPath();
+        Files.write(newer, bytes);
+        MappedGraph.open(newer, ValueCodec.UTF8, ValueCodec.UTF8);
+    }
+
+    @Test
+    public void testComponentIdsMatchCsrGraph()
+    {
+        for(int id = 0; id < snapshot.getNumOfNodes(); id++)
+        {
+            assertEquals(snapshot.getComponentId(id), mapped.getComponentId(id));
+        }
+        assertTrue(EXPECTED_TRUE, mapped.isConnected("n2", "né"));
+        assertFalse(EXPECTED_FALSE, mapped.isConnected("n1", "lonely"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidNodeIdThrowsException()
+    {
+        mapped.getNode(mapped.getNumOfNodes());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidEdgeIndexThrowsException()
+    {
+        mapped.getEdgeLabel(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullNodeThrowsException()
+    {
+        mapped.containsNode(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteNullGraphThrowsException() throws IOException
+    {
+        MappedGraph.write(null, file, ValueCodec.UTF8, ValueCodec.UTF8);
+    }
+}
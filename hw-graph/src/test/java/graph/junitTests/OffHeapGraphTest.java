@@ -0,0 +1,208 @@
+package graph.junitTests;
+
+import graph.CsrGraph;
+import graph.EdgeStringCompare;
+import graph.Graph;
+import graph.OffHeapGraph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * OffHeapGraph class.
+ *
+ */
+public final class OffHeapGraphTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    private final String EXPECTED_TRUE = "failure - expected true but was false";
+    private final String EXPECTED_FALSE = "failure - expected false but was true";
+
+    Graph<String, String> graph;
+    OffHeapGraph<String, String> offHeap;
+
+    @Before
+    public void setUp()
+    {
+        graph = new Graph<String, String>("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addNode("lonely");
+        graph.addEdge("e2", "n1", "n2");
+        graph.addEdge("e1", "n1", "n2");
+        graph.addEdge("e3", "n1", "n3");
+        graph.addEdge("e1", "n3", "n1");
+        graph.addEdge("e1", "n3", "n3");
+
+        offHeap = OffHeapGraph.of(graph, new EdgeStringCompare());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Graph read API
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testMatchesCsrGraph()
+    {
+        CsrGraph<String, String> snapshot = graph.freeze(new EdgeStringCompare());
+        assertEquals(snapshot.getNumOfNodes(), offHeap.getNumOfNodes());
+        assertEquals(snapshot.getNumOfEdges(), offHeap.getNumOfEdges());
+        for(String node : graph.getAllNodes())
+        {
+            assertEquals(snapshot.getChildrenEdges(node), offHeap.getChildrenEdges(node));
+        }
+    }
+
+    @Test
+    public void testReadApi()
+    {
+        assertTrue(EXPECTED_TRUE, offHeap.containsNode("lonely"));
+        assertFalse(EXPECTED_FALSE, offHeap.containsNode("DNE"));
+        assertTrue(EXPECTED_TRUE, offHeap.isAdjacent("n3", "n3"));
+        assertFalse(EXPECTED_FALSE, offHeap.isAdjacent("n2", "n1"));
+        assertTrue(EXPECTED_TRUE, offHeap.containsEdge("e1", "n3", "n1"));
+        assertFalse(EXPECTED_FALSE, offHeap.containsEdge("e2", "n3", "n1"));
+        assertEquals(List.of(new Graph.Edge<String, String>("e1", "n1", "n2"),
+                new Graph.Edge<String, String>("e2", "n1", "n2")), offHeap.getEdge("n1", "n2"));
+        assertEquals(List.of("n2", "n3"), offHeap.getChildrenNodes("n1"));
+        assertEquals(List.of(), offHeap.getChildrenEdges("lonely"));
+        assertNull(offHeap.getChildrenEdges("DNE"));
+        assertTrue(EXPECTED_TRUE, offHeap.getChildOrder() instanceof EdgeStringCompare);
+        assertTrue(EXPECTED_TRUE, offHeap.isConnected("n2", "n3"));
+        assertFalse(EXPECTED_FALSE, offHeap.isConnected("n1", "lonely"));
+    }
+
+    @Test
+    public void testCopyOfKeepsNodeIdsAndOrder()
+    {
+        CsrGraph<String, String> snapshot = graph.freeze();
+        try(OffHeapGraph<String, String> copy = OffHeapGraph.copyOf(snapshot))
+        {
+            assertEquals(snapshot.getAllNodes(), copy.getAllNodes());
+            for(int i = 0; i < snapshot.getNumOfNodes(); i++)
+            {
+                assertEquals(snapshot.getEdgesStart(i), copy.getEdgesStart(i));
+                assertEquals(snapshot.getEdgesEnd(i), copy.getEdgesEnd(i));
+            }
+            for(int edge = 0; edge < snapshot.getNumOfEdges(); edge++)
+            {
+                assertEquals(snapshot.getEdgeChild(edge), copy.getEdgeChild(edge));
+                assertEquals(snapshot.getEdgeLabel(edge), copy.getEdgeLabel(edge));
+            }
+            assertNull(copy.getChildOrder());
+        }
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        try(OffHeapGraph<String, String> empty = OffHeapGraph.of(new Graph<String, String>()))
+        {
+            assertEquals(0, empty.getNumOfNodes());
+            assertEquals(0, empty.getNumOfEdges());
+            assertEquals(Integer.BYTES, empty.getOffHeapBytes());
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  close()
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testClose()
+    {
+        assertFalse(EXPECTED_FALSE, offHeap.isClosed());
+        assertEquals((5 + 2 * 5) * Integer.BYTES, offHeap.getOffHeapBytes());
+        offHeap.close();
+        assertTrue(EXPECTED_TRUE, offHeap.isClosed());
+        assertEquals(0, offHeap.getOffHeapBytes());
+        offHeap.close(); // Closing twice does nothing.
+        assertTrue(EXPECTED_TRUE, offHeap.isClosed());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testQueryAfterCloseThrowsException()
+    {
+        offHeap.close();
+        offHeap.containsNode("n1");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEdgeAccessAfterCloseThrowsException()
+    {
+        offHeap.close();
+        offHeap.getEdgeChild(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testComponentIdAfterCloseThrowsException()
+    {
+        offHeap.getComponentId(0);
+        offHeap.close();
+        offHeap.getComponentId(0);
+    }
+
+    @Test
+    public void testCloseWhileReading() throws InterruptedException
+    {
+        AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread reader = new Thread(() -> {
+            try
+            {
+                while(true)
+                {
+                    for(int node = 0; node < 4; node++)
+                    {
+                        for(int edge = offHeap.getEdgesStart(node); edge < offHeap.getEdgesEnd(node); edge++)
+                        {
+                            offHeap.getEdgeChild(edge);
+                            offHeap.getEdgeLabel(edge);
+                        }
+                    }
+                }
+            } catch(IllegalStateException e)
+            {
+                // The only way a query may fail once the graph is closed.
+            } catch(Throwable e)
+            {
+                failure.set(e);
+            }
+        });
+        reader.start();
+        Thread.sleep(50);
+        offHeap.close();
+        reader.join();
+        assertNull(failure.get());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Test For Proper Exceptions
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullGraphThrowsException()
+    {
+        OffHeapGraph.of(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullNodeThrowsException()
+    {
+        offHeap.getNodeId(null);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidNodeIdThrowsException()
+    {
+        offHeap.getEdgesStart(offHeap.getNumOfNodes());
+    }
+}
@@ -0,0 +1,82 @@
+package graph.junitTests;
+
+import graph.StringDictionary;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * StringDictionary class.
+ *
+ */
+public final class StringDictionaryTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    StringDictionary dictionary;
+
+    @Before
+    public void setUp()
+    {
+        dictionary = new StringDictionary();
+        dictionary.encode("CAPTAIN AMERICA");
+        dictionary.encode("");
+    }
+
+    @Test
+    public void testCodesAreDense()
+    {
+        assertEquals(0, dictionary.getCode("CAPTAIN AMERICA"));
+        assertEquals(1, dictionary.getCode(""));
+        assertEquals(2, dictionary.encode("THOR"));
+        assertEquals(3, dictionary.size());
+        assertEquals(-1, dictionary.getCode("DNE"));
+        assertEquals(3, dictionary.size());
+    }
+
+    @Test
+    public void testDecode()
+    {
+        assertEquals("CAPTAIN AMERICA", dictionary.decode(0));
+        assertEquals("", dictionary.decode(1));
+    }
+
+    @Test
+    public void testInternReturnsCanonicalInstance()
+    {
+        String canonical = dictionary.decode(0);
+        String copy = new String("CAPTAIN AMERICA");
+        assertNotSame(canonical, copy);
+        assertSame(canonical, dictionary.intern(copy));
+    }
+
+    @Test
+    public void testBytesSavedCountsOnlyDistinctCopies()
+    {
+        assertEquals(0, dictionary.getBytesSaved());
+        dictionary.encode(dictionary.decode(0)); // The canonical instance itself saves nothing.
+        assertEquals(0, dictionary.getNumOfDuplicates());
+
+        dictionary.encode(new String("CAPTAIN AMERICA"));
+        assertEquals(1, dictionary.getNumOfDuplicates());
+        // 24 byte String + 16 byte array header + 15 Latin-1 chars, padded to 8 bytes.
+        assertEquals(24 + 32, dictionary.getBytesSaved());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEncodeNullThrowsException()
+    {
+        dictionary.encode(null);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testDecodeUnknownCodeThrowsException()
+    {
+        dictionary.decode(2);
+    }
+}
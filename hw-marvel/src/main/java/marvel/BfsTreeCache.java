@@ -0,0 +1,268 @@
+package marvel;
+
+import graph.CsrGraph;
+import graph.Graph;
+import graph.GraphSnapshot;
+
+import java.util.*;
+
+/**
+ * A <b>BfsTreeCache</b> answers shortest path queries on a Marvel graph from a bounded cache of
+ * breadth-first search trees, one per source hero.
+ *
+ * <p> The first query from a hero searches the whole of the hero's component once, the same way
+ * {@link MarvelPaths#findPath(graph.IndexedGraph, String, String)} does, and keeps the edge every other hero
+ * was first reached by as a pair of int arrays. Every later query from that hero, to any destination, is
+ * then answered by following those edges back from the destination, in time linear in the length of the
+ * path. The paths are the same ones findPath returns.
+ *
+ * <p> Trees are kept for at most getCapacity() source heroes. When a new tree would go past that, the tree
+ * that was used least recently is evicted. Every tree costs two ints per hero in the graph, so the capacity
+ * bounds the memory the cache uses to 8 * capacity * (number of heroes) bytes.
+ *
+ * <p> Trees are built on a {@link Graph#snapshot() snapshot} of the graph and remember the
+ * {@link Graph#getVersion() version} it was taken at. Once the graph changes, the next query takes a new
+ * snapshot and evicts every tree built for an older version, so the cache never answers from stale data.
+ * Taking that snapshot copies the whole graph, and every tree has to be searched again afterwards, so the
+ * cache only pays off when the graph changes rarely compared with how often it is queried. A graph that
+ * changes between most queries is better served by MarvelPaths.findPath alone.
+ *
+ * <p> The hit, miss and eviction counters are there for sizing the cache: a capacity that is large enough
+ * for the queries it sees has many more hits than misses and few evictions. A BfsTreeCache is thread-safe.
+ * New snapshots and searches for trees are made without holding its lock, so two threads that miss on the
+ * same hero at once may both search, and the counters then count two misses.
+ */
+public final class BfsTreeCache {
+
+    // Abstraction Function:
+    //  the graph the cache answers queries on => marvelGraph
+    //  the BFS tree rooted at hero h, for the graph as of version v => trees.get(h), if it is present and
+    //      trees.get(h).version == v
+    //  the order trees were last used in, least recent first => the iteration order of trees
+
+    // Representation Invariant:
+    //  marvelGraph != null && capacity >= 1 && trees != null && trees.size() <= capacity
+    //  snapshot == null iff version == -1, and snapshot was taken of marvelGraph at version otherwise
+    //  every tree t in trees.values() has t.snapshot == snapshot
+    //  hits, misses, evictions >= 0
+
+    private final Graph<String, String> marvelGraph;
+    private final int capacity;
+    private final LinkedHashMap<String, Tree> trees; // source hero -> its tree, least recently used first.
+    private CsrGraph<String, String> snapshot; // the graph as of version, or null before the first query.
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an empty cache of BFS trees over marvelGraph.
+     *
+     * @param marvelGraph the graph to answer queries on. It may keep changing after the cache is created.
+     * @param capacity the most source heroes to keep trees for at once.
+     * @throws IllegalArgumentException if marvelGraph is null or capacity is less than 1.
+     */
+    public BfsTreeCache(Graph<String, String> marvelGraph, int capacity) throws IllegalArgumentException
+    {
+        if(marvelGraph == null || capacity < 1)
+        {
+            throw new IllegalArgumentException();
+        }
+        this.marvelGraph = marvelGraph;
+        this.capacity = capacity;
+        this.trees = new LinkedHashMap<String, Tree>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Tree> eldest)
+            {
+                if(this.size() > BfsTreeCache.this.capacity)
+                {
+                    BfsTreeCache.this.evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.version = -1;
+        this.checkRep();
+    }
+
+    /**
+     * Finds the shortest path from hero_a to hero_b in the graph as it is now, using and filling the cache.
+     *
+     * @param hero_a the hero the path starts at.
+     * @param hero_b the hero we want to find the shortest path TO from hero_a.
+     * @throws IllegalArgumentException if hero_a or hero_b are null or not within the graph.
+     * @return the same path MarvelPaths.findPath returns on the graph: the lexicographically least of the
+     * shortest paths of books and heroes (stored in Edges) that connect hero_a to hero_b. If
+     * hero_a.equals(hero_b), then just return an empty path. If there is no path, return null.
+     * @spec.modifies this
+     * @spec.effects Counts a hit if a tree for hero_a was cached and a miss otherwise, and caches a new tree
+     * for hero_a after a miss, evicting the least recently used tree if the cache is full. Neither is done
+     * if hero_a.equals(hero_b) or the heroes aren't connected, since no tree is needed to answer those.
+     */
+    public List<Graph.Edge<String, String>> findPath(String hero_a, String hero_b) throws IllegalArgumentException
+    {
+        // The snapshot never changes, so the heroes can be checked on it without holding the lock.
+        CsrGraph<String, String> graph = this.refresh();
+        if(!graph.containsNode(hero_a) || !graph.containsNode(hero_b))
+        {
+            throw new IllegalArgumentException();
+        }
+        if(hero_a.equals(hero_b))
+        {
+            return new ArrayList<Graph.Edge<String, String>>();
+        }
+        if(!graph.isConnected(hero_a, hero_b))
+        {
+            return null;
+        }
+
+        Tree tree;
+        synchronized(this)
+        {
+            // A newer snapshot may have been installed since refresh returned, and its trees don't fit graph.
+            tree = this.snapshot == graph ? this.trees.get(hero_a) : null;
+            if(tree != null)
+            {
+                this.hits++;
+            }
+            else
+            {
+                this.misses++;
+            }
+        }
+
+        if(tree == null)
+        {
+            tree = new Tree(graph, graph.getNodeId(hero_a));
+            synchronized(this)
+            {
+                // The graph may have changed while this thread searched, and the tree is stale if it did.
+                if(this.snapshot == graph)
+                {
+                    this.trees.put(hero_a, tree);
+                }
+                this.checkRep();
+            }
+        }
+        return MarvelPaths.buildPath(graph, tree.parentEdges, tree.parentNodes, graph.getNodeId(hero_b));
+    }
+
+    /**
+     * Brings the snapshot up to date with the graph, evicting every tree built for an older version.
+     * Converting the graph takes time linear in its size, so it is done without holding the lock, and the
+     * new snapshot is only installed if no other thread installed one at least as new in the meantime.
+     *
+     * @return a snapshot at least as new as the graph was when this was called.
+     */
+    private CsrGraph<String, String> refresh()
+    {
+        long current = this.marvelGraph.getVersion();
+        synchronized(this)
+        {
+            if(this.snapshot != null && this.version >= current)
+            {
+                return this.snapshot;
+            }
+        }
+
+        GraphSnapshot<String, String> taken = this.marvelGraph.snapshot();
+        CsrGraph<String, String> converted = CsrGraph.of(taken);
+        synchronized(this)
+        {
+            if(taken.getVersion() > this.version)
+            {
+                this.snapshot = converted;
+                this.version = taken.getVersion();
+                this.evictions += this.trees.size();
+                this.trees.clear();
+                this.checkRep();
+            }
+            return this.snapshot;
+        }
+    }
+
+    /**
+     * Returns how many queries were answered from a cached tree.
+     *
+     * @return the number of hits since the cache was created.
+     */
+    public synchronized long getHits()
+    {
+        return this.hits;
+    }
+
+    /**
+     * Returns how many queries had to search for a new tree.
+     *
+     * @return the number of misses since the cache was created.
+     */
+    public synchronized long getMisses()
+    {
+        return this.misses;
+    }
+
+    /**
+     * Returns how many trees were dropped, either to make room for a new one or because the graph changed.
+     *
+     * @return the number of evictions since the cache was created.
+     */
+    public synchronized long getEvictions()
+    {
+        return this.evictions;
+    }
+
+    /**
+     * Returns how many trees are cached.
+     *
+     * @return the number of source heroes a tree is cached for, at most getCapacity().
+     */
+    public synchronized int getSize()
+    {
+        return this.trees.size();
+    }
+
+    /**
+     * Returns the most trees this cache keeps at once.
+     *
+     * @return the capacity the cache was created with.
+     */
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep()
+    {
+        assert (this.marvelGraph != null && this.capacity >= 1 && this.trees != null);
+        assert (this.trees.size() <= this.capacity);
+        assert ((this.snapshot == null) == (this.version == -1));
+        assert (this.hits >= 0 && this.misses >= 0 && this.evictions >= 0);
+        for(Tree tree : this.trees.values())
+        {
+            assert (tree.snapshot == this.snapshot);
+        }
+    }
+
+    /**
+     * The BFS tree of one source hero in one snapshot: the edge every hero in the source's component was
+     * first reached by.
+     */
+    private static final class Tree {
+        private final CsrGraph<String, String> snapshot;
+        private final int[] parentEdges; // hero id -> index of the edge it was reached by, as searchTree fills.
+        private final int[] parentNodes; // hero id -> id of the hero it was reached from.
+
+        private Tree(CsrGraph<String, String> snapshot, int source)
+        {
+            this.snapshot = snapshot;
+            this.parentEdges = new int[snapshot.getNumOfNodes()];
+            this.parentNodes = new int[snapshot.getNumOfNodes()];
+            MarvelPaths.searchTree(snapshot, source, -1, this.parentEdges, this.parentNodes);
+        }
+    }
+}
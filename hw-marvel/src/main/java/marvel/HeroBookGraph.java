@@ -0,0 +1,445 @@
+package marvel;
+
+import java.util.*;
+
+/**
+ * A <b>HeroBookGraph</b> is an <b>immutable</b> bipartite graph of Marvel heroes and the comic books they
+ * appear in. It stores the (hero, book) pairs of a Marvel TSV file as two incidence lists, hero to books
+ * and book to heroes, instead of the directed clique of edges per book that MarvelPaths.loadGraph builds.
+ * A book with k heroes costs 2k ints here instead of k(k - 1) Edge objects.
+ *
+ * <p> Heroes and books are given dense int ids in lexicographic order of their names, so comparing two ids
+ * compares the names. Each hero's books and each book's heroes are stored sorted by id, without repeats.
+ * Every hero is also given the id of its connected component when the graph is built, so whether two heroes
+ * are connected at all is known in constant time.
+ *
+ * <p> {@link MarvelPaths#findPath(HeroBookGraph, String, String)} searches a HeroBookGraph and returns the
+ * same paths as findPath does on the graph loadGraph builds from the same file.
+ */
+public final class HeroBookGraph {
+
+    // Abstraction Function:
+    //  the heroes in the graph => heroes[0 .. heroes.length - 1]
+    //  the books in the graph => books[0 .. books.length - 1]
+    //  hero heroes[h] appears in book books[b] iff b is one of
+    //      heroBooks[heroOffsets[h] .. heroOffsets[h + 1] - 1], iff h is one of
+    //      bookHeroes[bookOffsets[b] .. bookOffsets[b + 1] - 1]
+
+    // Representation Invariant:
+    //  heroes and books are sorted, without repeats or nulls
+    //  heroIds.get(heroes[h]) == h and bookIds.get(books[b]) == b
+    //  heroOffsets.length == heroes.length + 1 and bookOffsets.length == books.length + 1
+    //  both offset arrays start at 0, are non-decreasing, and end at heroBooks.length == bookHeroes.length
+    //  every run of heroBooks and bookHeroes between two offsets is strictly increasing
+    //  heroComponents.length == heroes.length, and two heroes have the same component id iff a chain of
+    //  shared books connects them
+
+    private final String[] heroes; // hero id -> hero name.
+    private final String[] books; // book id -> book title.
+    private final Map<String, Integer> heroIds;
+    private final Map<String, Integer> bookIds;
+    private final int[] heroOffsets; // hero id -> index of its first book in heroBooks.
+    private final int[] heroBooks;
+    private final int[] bookOffsets; // book id -> index of its first hero in bookHeroes.
+    private final int[] bookHeroes;
+    private final int[] heroComponents; // hero id -> component id.
+    private final int numOfComponents;
+
+    /**
+     * Builds the incidence lists from a map of books to the heroes in them.
+     *
+     * @param heroesByBook every book mapped to the heroes that appear in it, possibly with repeats.
+     * @param allHeroes every hero, including any that appear in no book.
+     */
+    HeroBookGraph(Map<String, List<String>> heroesByBook, Set<String> allHeroes)
+    {
+        this.heroes = allHeroes.toArray(new String[0]);
+        Arrays.sort(this.heroes);
+        this.books = heroesByBook.keySet().toArray(new String[0]);
+        Arrays.sort(this.books);
+        this.heroIds = HeroBookGraph.indexOf(this.heroes);
+        this.bookIds = HeroBookGraph.indexOf(this.books);
+
+        // Book -> heroes first, dropping repeats, then count each hero's books to lay out hero -> books.
+        this.bookOffsets = new int[this.books.length + 1];
+        int[] heroesOfBooks = new int[16];
+        int[] bookCounts = new int[this.heroes.length];
+        int numOfIncidences = 0;
+        for(int book = 0; book < this.books.length; book++)
+        {
+            this.bookOffsets[book] = numOfIncidences;
+            List<String> heroesInBook = heroesByBook.get(this.books[book]);
+            if(numOfIncidences + heroesInBook.size() > heroesOfBooks.length)
+            {
+                heroesOfBooks = Arrays.copyOf(heroesOfBooks,
+                        Math.max(heroesOfBooks.length * 2, numOfIncidences + heroesInBook.size()));
+            }
+            int start = numOfIncidences;
+            for(String hero : heroesInBook)
+            {
+                heroesOfBooks[numOfIncidences++] = this.heroIds.get(hero);
+            }
+            Arrays.sort(heroesOfBooks, start, numOfIncidences);
+            int end = start;
+            for(int i = start; i < numOfIncidences; i++)
+            {
+                if(i == start || heroesOfBooks[i] != heroesOfBooks[end - 1])
+                {
+                    heroesOfBooks[end++] = heroesOfBooks[i];
+                    bookCounts[heroesOfBooks[i]]++;
+                }
+            }
+            numOfIncidences = end;
+        }
+        this.bookOffsets[this.books.length] = numOfIncidences;
+        this.bookHeroes = Arrays.copyOf(heroesOfBooks, numOfIncidences);
+
+        this.heroOffsets = new int[this.heroes.length + 1];
+        for(int hero = 0; hero < this.heroes.length; hero++)
+        {
+            this.heroOffsets[hero + 1] = this.heroOffsets[hero] + bookCounts[hero];
+        }
+        // Books are visited in increasing id order, so every hero's books come out sorted.
+        this.heroBooks = new int[numOfIncidences];
+        int[] next = Arrays.copyOf(this.heroOffsets, this.heroes.length);
+        for(int book = 0; book < this.books.length; book++)
+        {
+            for(int i = this.bookOffsets[book]; i < this.bookOffsets[book + 1]; i++)
+            {
+                this.heroBooks[next[this.bookHeroes[i]]++] = book;
+            }
+        }
+
+        // Every book joins all of its heroes into one component, so a union-find over heroes only needs
+        // to link each hero of a book to the book's first hero.
+        int[] parents = new int[this.heroes.length];
+        for(int hero = 0; hero < this.heroes.length; hero++)
+        {
+            parents[hero] = hero;
+        }
+        for(int book = 0; book < this.books.length; book++)
+        {
+            for(int i = this.bookOffsets[book] + 1; i < this.bookOffsets[book + 1]; i++)
+            {
+                int rootA = HeroBookGraph.find(parents, this.bookHeroes[this.bookOffsets[book]]);
+                int rootB = HeroBookGraph.find(parents, this.bookHeroes[i]);
+                if(rootA != rootB)
+                {
+                    parents[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+                }
+            }
+        }
+        // Roots are the least hero of their component, so numbering in id order sees each root first.
+        this.heroComponents = new int[this.heroes.length];
+        int components = 0;
+        for(int hero = 0; hero < this.heroes.length; hero++)
+        {
+            int root = HeroBookGraph.find(parents, hero);
+            this.heroComponents[hero] = root == hero ? components++ : this.heroComponents[root];
+        }
+        this.numOfComponents = components;
+        this.checkRep();
+    }
+
+    /**
+     * Returns the number of heroes in this graph.
+     *
+     * @return the number of heroes in this graph.
+     */
+    public int getNumOfHeroes()
+    {
+        return this.heroes.length;
+    }
+
+    /**
+     * Returns the number of books in this graph.
+     *
+     * @return the number of books in this graph.
+     */
+    public int getNumOfBooks()
+    {
+        return this.books.length;
+    }
+
+    /**
+     * Returns the number of distinct (hero, book) pairs in this graph.
+     *
+     * @return the number of times any hero appears in any book, not counting repeats.
+     */
+    public int getNumOfAppearances()
+    {
+        return this.heroBooks.length;
+    }
+
+    /**
+     * Checks to see if this graph contains the specified hero.
+     *
+     * @param hero the name of the hero we want to check for.
+     * @return true if and only if hero appears in this graph.
+     * @throws IllegalArgumentException if hero is null.
+     */
+    public boolean containsHero(String hero) throws IllegalArgumentException
+    {
+        return this.getHeroId(hero) != -1;
+    }
+
+    /**
+     * Returns whether two heroes are connected by some chain of shared books, in constant time.
+     *
+     * @param hero_a one of the heroes.
+     * @param hero_b the other hero.
+     * @return true if and only if both heroes are in this graph and in the same connected component.
+     * @throws IllegalArgumentException if hero_a or hero_b is null.
+     */
+    public boolean isConnected(String hero_a, String hero_b) throws IllegalArgumentException
+    {
+        int heroA = this.getHeroId(hero_a);
+        int heroB = this.getHeroId(hero_b);
+        return heroA != -1 && heroB != -1 && this.heroComponents[heroA] == this.heroComponents[heroB];
+    }
+
+    /**
+     * Returns the books a hero appears in.
+     *
+     * @param hero the name of the hero.
+     * @return the titles of every book hero appears in, in lexicographic order, or null if hero is not in
+     * this graph.
+     * @throws IllegalArgumentException if hero is null.
+     */
+    public List<String> getBooks(String hero) throws IllegalArgumentException
+    {
+        int heroId = this.getHeroId(hero);
+        if(heroId == -1)
+        {
+            return null;
+        }
+        List<String> booksOfHero = new ArrayList<String>(this.getBooksEnd(heroId) - this.getBooksStart(heroId));
+        for(int i = this.getBooksStart(heroId); i < this.getBooksEnd(heroId); i++)
+        {
+            booksOfHero.add(this.books[this.heroBooks[i]]);
+        }
+        return booksOfHero;
+    }
+
+    /**
+     * Returns the heroes that appear in a book.
+     *
+     * @param book the title of the book.
+     * @return the names of every hero in book, in lexicographic order, or null if book is not in this graph.
+     * @throws IllegalArgumentException if book is null.
+     */
+    public List<String> getHeroes(String book) throws IllegalArgumentException
+    {
+        int bookId = this.getBookId(book);
+        if(bookId == -1)
+        {
+            return null;
+        }
+        List<String> heroesInBook = new ArrayList<String>(this.getHeroesEnd(bookId) - this.getHeroesStart(bookId));
+        for(int i = this.getHeroesStart(bookId); i < this.getHeroesEnd(bookId); i++)
+        {
+            heroesInBook.add(this.heroes[this.bookHeroes[i]]);
+        }
+        return heroesInBook;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Int-indexed API
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns the id of a hero. Hero ids follow the lexicographic order of hero names.
+     *
+     * @param hero the name of the hero.
+     * @return the id of hero, or -1 if hero is not in this graph.
+     * @throws IllegalArgumentException if hero is null.
+     */
+    public int getHeroId(String hero) throws IllegalArgumentException
+    {
+        if(hero == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        Integer heroId = this.heroIds.get(hero);
+        return heroId == null ? -1 : heroId;
+    }
+
+    /**
+     * Returns the id of a book. Book ids follow the lexicographic order of book titles.
+     *
+     * @param book the title of the book.
+     * @return the id of book, or -1 if book is not in this graph.
+     * @throws IllegalArgumentException if book is null.
+     */
+    public int getBookId(String book) throws IllegalArgumentException
+    {
+        if(book == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        Integer bookId = this.bookIds.get(book);
+        return bookId == null ? -1 : bookId;
+    }
+
+    /**
+     * Returns the name of the hero with the given id.
+     *
+     * @param heroId the id of the hero.
+     * @return the name of the hero.
+     * @throws IndexOutOfBoundsException if heroId is not between 0 and getNumOfHeroes() - 1.
+     */
+    public String getHero(int heroId) throws IndexOutOfBoundsException
+    {
+        return this.heroes[Objects.checkIndex(heroId, this.heroes.length)];
+    }
+
+    /**
+     * Returns the title of the book with the given id.
+     *
+     * @param bookId the id of the book.
+     * @return the title of the book.
+     * @throws IndexOutOfBoundsException if bookId is not between 0 and getNumOfBooks() - 1.
+     */
+    public String getBook(int bookId) throws IndexOutOfBoundsException
+    {
+        return this.books[Objects.checkIndex(bookId, this.books.length)];
+    }
+
+    /**
+     * Returns the id of the connected component a hero is in. Two heroes are connected by some chain of
+     * shared books if and only if their component ids are equal. Component ids were worked out when this
+     * graph was built, so this takes constant time.
+     *
+     * @param heroId the id of the hero.
+     * @return an id between 0 and getNumOfComponents() - 1.
+     * @throws IndexOutOfBoundsException if heroId is not between 0 and getNumOfHeroes() - 1.
+     */
+    public int getComponentId(int heroId) throws IndexOutOfBoundsException
+    {
+        return this.heroComponents[Objects.checkIndex(heroId, this.heroes.length)];
+    }
+
+    /**
+     * Returns the number of connected components in this graph. A hero in no book is a component of its
+     * own.
+     *
+     * @return the number of distinct component ids.
+     */
+    public int getNumOfComponents()
+    {
+        return this.numOfComponents;
+    }
+
+    /**
+     * Returns the first index of a hero's books. The ids of the hero's books are getBookAt(i) for
+     * getBooksStart(heroId) &lt;= i &lt; getBooksEnd(heroId), in increasing order.
+     *
+     * @param heroId the id of the hero.
+     * @return the index of the hero's first book.
+     * @throws IndexOutOfBoundsException if heroId is not between 0 and getNumOfHeroes() - 1.
+     */
+    public int getBooksStart(int heroId) throws IndexOutOfBoundsException
+    {
+        return this.heroOffsets[Objects.checkIndex(heroId, this.heroes.length)];
+    }
+
+    /**
+     * Returns one past the last index of a hero's books.
+     *
+     * @param heroId the id of the hero.
+     * @return the index just after the hero's last book.
+     * @throws IndexOutOfBoundsException if heroId is not between 0 and getNumOfHeroes() - 1.
+     */
+    public int getBooksEnd(int heroId) throws IndexOutOfBoundsException
+    {
+        return this.heroOffsets[Objects.checkIndex(heroId, this.heroes.length) + 1];
+    }
+
+    /**
+     * Returns the book id stored at an index of the hero-to-books list.
+     *
+     * @param index an index between getBooksStart(h) and getBooksEnd(h) - 1 for some hero h.
+     * @return the id of the book.
+     * @throws IndexOutOfBoundsException if index is not between 0 and getNumOfAppearances() - 1.
+     */
+    public int getBookAt(int index) throws IndexOutOfBoundsException
+    {
+        return this.heroBooks[index];
+    }
+
+    /**
+     * Returns the first index of a book's heroes. The ids of the book's heroes are getHeroAt(i) for
+     * getHeroesStart(bookId) &lt;= i &lt; getHeroesEnd(bookId), in increasing order.
+     *
+     * @param bookId the id of the book.
+     * @return the index of the book's first hero.
+     * @throws IndexOutOfBoundsException if bookId is not between 0 and getNumOfBooks() - 1.
+     */
+    public int getHeroesStart(int bookId) throws IndexOutOfBoundsException
+    {
+        return this.bookOffsets[Objects.checkIndex(bookId, this.books.length)];
+    }
+
+    /**
+     * Returns one past the last index of a book's heroes.
+     *
+     * @param bookId the id of the book.
+     * @return the index just after the book's last hero.
+     * @throws IndexOutOfBoundsException if bookId is not between 0 and getNumOfBooks() - 1.
+     */
+    public int getHeroesEnd(int bookId) throws IndexOutOfBoundsException
+    {
+        return this.bookOffsets[Objects.checkIndex(bookId, this.books.length) + 1];
+    }
+
+    /**
+     * Returns the hero id stored at an index of the book-to-heroes list.
+     *
+     * @param index an index between getHeroesStart(b) and getHeroesEnd(b) - 1 for some book b.
+     * @return the id of the hero.
+     * @throws IndexOutOfBoundsException if index is not between 0 and getNumOfAppearances() - 1.
+     */
+    public int getHeroAt(int index) throws IndexOutOfBoundsException
+    {
+        return this.bookHeroes[index];
+    }
+
+    /**
+     * Maps every name to its index in names.
+     */
+    private static Map<String, Integer> indexOf(String[] names)
+    {
+        Map<String, Integer> ids = new HashMap<String, Integer>(names.length * 4 / 3 + 1);
+        for(int i = 0; i < names.length; i++)
+        {
+            ids.put(names[i], i);
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the root of node in a union-find forest, halving the path to it on the way.
+     */
+    private static int find(int[] parents, int node)
+    {
+        while(parents[node] != node)
+        {
+            parents[node] = parents[parents[node]];
+            node = parents[node];
+        }
+        return node;
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep()
+    {
+        assert (this.heroOffsets.length == this.heroes.length + 1);
+        assert (this.bookOffsets.length == this.books.length + 1);
+        assert (this.heroBooks.length == this.bookHeroes.length);
+        assert (this.heroOffsets[this.heroes.length] == this.heroBooks.length);
+        assert (this.bookOffsets[this.books.length] == this.bookHeroes.length);
+        assert (this.heroComponents.length == this.heroes.length);
+    }
+}
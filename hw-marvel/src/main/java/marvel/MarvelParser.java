@@ -14,14 +14,35 @@ package marvel;
 import com.opencsv.bean.CsvToBeanBuilder;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 /**
  * Parser utility to load the Marvel Comics dataset.
+ *
+ * <p> There are two ways to read a file. {@link #parseData(String)} binds every row to a new HeroModel
+ * with OpenCSV. {@link #parseData(String, BiConsumer)} reads the whole file into memory and splits it on
+ * tabs itself, handing each row's hero and book straight to a callback with no reflection or per-row
+ * objects. It is what MarvelPaths loads its graphs with. Both read the same rows from the same file.
+ * {@link #parseData(String, int, Supplier, ForkJoinPool)} splits the same way, but cuts the file into
+ * chunks that are read on different threads, for files many times the size of marvel.tsv.
  */
 public class MarvelParser {
 
@@ -62,4 +83,549 @@ public class MarvelParser {
 
         return tsvHeroIterator;
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the Marvel Universe dataset without binding rows to beans. The file is read into memory and
+     * decoded in one go, then split into lines and fields by {@link #parseRows(CharBuffer, BiConsumer)}.
+     *
+     * @param filename the file that will be read
+     * @param rowAction called with the hero and the book of every row of the file, in file order.
+     * @throws IllegalArgumentException if the file doesn't exist, or isn't a valid TSV file (see parseRows).
+     * @throws UncheckedIOException if the file can't be read.
+     * @spec.requires filename is a valid file in the resources/data folder.
+     */
+    public static void parseData(String filename, BiConsumer<String, String> rowAction)
+            throws IllegalArgumentException
+    {
+        // The same charset and replacement of malformed input as the InputStreamReader parseData(String) uses.
+        MarvelParser.parseRows(Charset.defaultCharset().decode(ByteBuffer.wrap(MarvelParser.readBytes(filename))),
+                rowAction);
+    }
+
+    /**
+     * Reads the Marvel Universe dataset like parseData(filename, rowAction) does, but decodes and splits
+     * different parts of the file on different threads of pool. The rows after the header are cut into at
+     * most numOfChunks ranges of about the same number of bytes, each ending at a line feed, and every
+     * range is handed to a rowAction of its own, made by newChunkAction. The actions therefore never run
+     * at the same time as themselves and need no locking; they are meant to collect what they are given
+     * into a partial result of their own, to be merged afterwards.
+     *
+     * <p> Cutting the file at line feeds is only safe when no line feed is part of a quoted field or of a
+     * multi-byte character. A file with a double quote or a backslash in it, or read in a charset other
+     * than UTF-8, US-ASCII or ISO-8859-1, is therefore read as a single chunk, as is a file with a
+     * malformed row, so that the exception thrown is the same one parseData(filename, rowAction) throws.
+     *
+     * @param filename the file that will be read
+     * @param numOfChunks the most chunks to cut the file into. A few per thread of pool balances the load.
+     * @param newChunkAction called once per chunk for the action the chunk's rows are passed to.
+     * @param pool the pool the chunks are read on.
+     * @param <T> the type of the actions.
+     * @return the action of every chunk, in file order. Every row of the file was passed to exactly one of
+     * them, and reading the rows of each action in turn reads every row of the file in file order.
+     * @throws IllegalArgumentException if numOfChunks is less than 1, newChunkAction or pool are null, the
+     * file doesn't exist, or it isn't a valid TSV file (see parseRows).
+     * @throws UncheckedIOException if the file can't be read.
+     * @spec.requires filename is a valid file in the resources/data folder.
+     */
+    public static <T extends BiConsumer<String, String>> List<T> parseData(String filename, int numOfChunks,
+                                                                            Supplier<? extends T> newChunkAction,
+                                                                            ForkJoinPool pool)
+            throws IllegalArgumentException
+    {
+        if(numOfChunks < 1 || newChunkAction == null || pool == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        byte[] bytes = MarvelParser.readBytes(filename);
+        Charset charset = Charset.defaultCharset();
+
+        int headerEnd = 0;
+        while(headerEnd < bytes.length && bytes[headerEnd] != '\n' && bytes[headerEnd] != '\r')
+        {
+            headerEnd++;
+        }
+        int bodyStart = headerEnd == bytes.length ? headerEnd
+                : headerEnd + (bytes[headerEnd] == '\r' && headerEnd + 1 < bytes.length
+                && bytes[headerEnd + 1] == '\n' ? 2 : 1);
+        boolean splittable = charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1);
+        if(numOfChunks == 1 || !splittable || headerEnd == 0 || !MarvelParser.isPlain(bytes, 0, headerEnd))
+        {
+            return MarvelParser.parseWhole(bytes, charset, newChunkAction);
+        }
+
+        // The header is read once, and tells every chunk which columns hold the hero and the book.
+        RowSplitter header = new RowSplitter(null);
+        CharBuffer headerChars = charset.decode(ByteBuffer.wrap(bytes, 0, headerEnd));
+        MarvelParser.splitRows(headerChars.array(), headerChars.arrayOffset() + headerChars.position(),
+                headerChars.arrayOffset() + headerChars.limit(), header);
+
+        // Chunk c holds the bytes from chunkStarts[c] up to chunkStarts[c + 1], and begins right after a line feed.
+        int[] chunkStarts = new int[numOfChunks + 1];
+        int numOfCuts = 0;
+        chunkStarts[0] = bodyStart;
+        for(int chunk = 1; chunk < numOfChunks; chunk++)
+        {
+            int cut = Math.max(bodyStart + (int) ((long) (bytes.length - bodyStart) * chunk / numOfChunks),
+                    chunkStarts[numOfCuts] + 1);
+            while(cut < bytes.length && bytes[cut - 1] != '\n')
+            {
+                cut++;
+            }
+            if(cut < bytes.length)
+            {
+                chunkStarts[++numOfCuts] = cut;
+            }
+        }
+        chunkStarts[++numOfCuts] = bytes.length;
+
+        List<T> actions = new ArrayList<T>(Collections.<T>nCopies(numOfCuts, null));
+        boolean[] failed = new boolean[numOfCuts];
+        pool.invoke(new ChunkAction<T>(bytes, charset, chunkStarts, header, newChunkAction, actions, failed,
+                0, numOfCuts));
+        for(boolean chunkFailed : failed)
+        {
+            if(chunkFailed)
+            {
+                return MarvelParser.parseWhole(bytes, charset, newChunkAction);
+            }
+        }
+        return actions;
+    }
+
+    /**
+     * Reads all of a file in the resources/data folder.
+     *
+     * @param filename the file that will be read
+     * @return the bytes of the file.
+     * @throws IllegalArgumentException if the file doesn't exist.
+     * @throws UncheckedIOException if the file can't be read.
+     */
+    private static byte[] readBytes(String filename) throws IllegalArgumentException
+    {
+        InputStream stream = MarvelParser.class.getResourceAsStream("/data/" + filename);
+        if(stream == null)
+        {
+            throw new IllegalArgumentException("provided an invalid file name");
+        }
+        try(stream)
+        {
+            return stream.readAllBytes();
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a whole file as a single chunk, for parseData(String, int, Supplier, ForkJoinPool).
+     */
+    private static <T extends BiConsumer<String, String>> List<T> parseWhole(byte[] bytes, Charset charset,
+                                                                             Supplier<? extends T> newChunkAction)
+    {
+        T action = newChunkAction.get();
+        MarvelParser.parseRows(charset.decode(ByteBuffer.wrap(bytes)), action);
+        List<T> actions = new ArrayList<T>(1);
+        actions.add(action);
+        return actions;
+    }
+
+    /**
+     * Returns whether a range of bytes has no double quote or backslash, so that none of its line feeds
+     * can be inside a quoted field.
+     */
+    private static boolean isPlain(byte[] bytes, int start, int end)
+    {
+        for(int i = start; i < end; i++)
+        {
+            if(bytes[i] == RowSplitter.QUOTE || bytes[i] == RowSplitter.ESCAPE)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits TSV text into rows the same way parseData(String) does with OpenCSV. The first row is the
+     * header, and names the columns "hero" and "book", in either order and in any case. Every other row
+     * is passed to rowAction.
+     *
+     * <p> Lines end at "\n", "\r" or "\r\n", and fields are separated by tabs. Fields are taken exactly as
+     * they are, leading and trailing spaces included, unless they contain a double quote or a backslash.
+     * Those follow OpenCSV's rules: a quoted field may contain tabs and line breaks, "" inside quotes or
+     * within a field is one quote, a backslash before a quote or backslash inside a field escapes it and is
+     * otherwise dropped, and white space in front of an opening quote in the middle of a line is dropped
+     * (OpenCSV's ignoreLeadingWhiteSpace, which parseData(String) turns on).
+     *
+     * <p> Rows with no quotes or backslashes, like every row of the Marvel files, are split on their tabs
+     * with no copying other than the strings handed to rowAction.
+     *
+     * @param text the text to split.
+     * @param rowAction called with the hero and the book of every row after the header, in order. Either
+     *                  is null if the header has no such column.
+     * @throws IllegalArgumentException if a row has a different number of fields than the header, or a
+     * quoted field is never closed.
+     */
+    public static void parseRows(CharBuffer text, BiConsumer<String, String> rowAction)
+            throws IllegalArgumentException
+    {
+        char[] chars;
+        int position;
+        int length;
+        if(text.hasArray())
+        {
+            chars = text.array();
+            position = text.arrayOffset() + text.position();
+            length = text.arrayOffset() + text.limit();
+        }
+        else
+        {
+            chars = new char[text.remaining()];
+            text.duplicate().get(chars);
+            position = 0;
+            length = chars.length;
+        }
+
+        MarvelParser.splitRows(chars, position, length, new RowSplitter(rowAction));
+    }
+
+    /**
+     * Splits chars[position] up to chars[length] into lines, and hands every line to splitter.
+     *
+     * @throws IllegalArgumentException if a row has a different number of fields than the header, or a
+     * quoted field is never closed.
+     */
+    private static void splitRows(char[] chars, int position, int length, RowSplitter splitter)
+            throws IllegalArgumentException
+    {
+        int[] tabs = new int[4];
+        while(position < length)
+        {
+            // Find the end of the line, the tabs in it, and whether it needs OpenCSV's quoting rules.
+            int lineEnd = position;
+            int numOfTabs = 0;
+            boolean plain = !splitter.isPending();
+            for(; lineEnd < length; lineEnd++)
+            {
+                char c = chars[lineEnd];
+                if(c == '\n' || c == '\r')
+                {
+                    break;
+                }
+                if(c == '\t')
+                {
+                    if(numOfTabs == tabs.length)
+                    {
+                        tabs = Arrays.copyOf(tabs, tabs.length * 2);
+                    }
+                    tabs[numOfTabs++] = lineEnd;
+                }
+                else if(c == RowSplitter.QUOTE || c == RowSplitter.ESCAPE)
+                {
+                    plain = false;
+                }
+            }
+
+            if(plain)
+            {
+                splitter.splitPlainLine(chars, position, lineEnd, tabs, numOfTabs);
+            }
+            else
+            {
+                splitter.splitQuotedLine(chars, position, lineEnd);
+            }
+
+            position = lineEnd;
+            if(position < length)
+            {
+                position += chars[position] == '\r' && position + 1 < length && chars[position + 1] == '\n' ? 2 : 1;
+            }
+        }
+        if(splitter.isPending())
+        {
+            throw new IllegalArgumentException("Unterminated quoted field at line " + splitter.getLineNumber());
+        }
+    }
+
+    /**
+     * Turns the lines of a TSV file into rows, keeping the state of a quoted field that goes on past the
+     * end of a line, and matches the fields of every row to the header.
+     */
+    private static final class RowSplitter {
+        private static final char SEPARATOR = '\t';
+        private static final char QUOTE = '"';
+        private static final char ESCAPE = '\\';
+
+        private final BiConsumer<String, String> rowAction;
+        private final StringBuilder field = new StringBuilder();
+        private final List<String> fields = new ArrayList<String>(); // the finished fields of a quoted row.
+        private int lineNumber = 0;
+        private int numOfColumns = -1; // -1 until the header has been read.
+        private int heroColumn = -1;
+        private int bookColumn = -1;
+        private boolean pending = false; // whether the last line ended inside a quoted field.
+        private boolean inQuotes = false;
+        private boolean inField = false;
+
+        private RowSplitter(BiConsumer<String, String> rowAction)
+        {
+            this.rowAction = rowAction;
+        }
+
+        /**
+         * Makes a splitter for a chunk of rows after the header, which has already been read by header.
+         */
+        private RowSplitter(BiConsumer<String, String> rowAction, RowSplitter header)
+        {
+            this.rowAction = rowAction;
+            this.lineNumber = header.lineNumber;
+            this.numOfColumns = header.numOfColumns;
+            this.heroColumn = header.heroColumn;
+            this.bookColumn = header.bookColumn;
+        }
+
+        private boolean isPending()
+        {
+            return this.pending;
+        }
+
+        private int getLineNumber()
+        {
+            return this.lineNumber;
+        }
+
+        /**
+         * Splits a line with no quotes or escapes, that doesn't continue a quoted field, at its tabs.
+         */
+        private void splitPlainLine(char[] chars, int start, int end, int[] tabs, int numOfTabs)
+        {
+            this.lineNumber++;
+            int numOfFields = numOfTabs + 1;
+            if(this.numOfColumns == -1)
+            {
+                List<String> header = new ArrayList<String>(numOfFields);
+                for(int i = 0; i < numOfFields; i++)
+                {
+                    header.add(new String(chars, i == 0 ? start : tabs[i - 1] + 1,
+                            (i == numOfTabs ? end : tabs[i]) - (i == 0 ? start : tabs[i - 1] + 1)));
+                }
+                this.readHeader(header);
+                return;
+            }
+            this.checkLength(numOfFields);
+            this.rowAction.accept(RowSplitter.fieldOf(chars, start, end, tabs, numOfTabs, this.heroColumn),
+                    RowSplitter.fieldOf(chars, start, end, tabs, numOfTabs, this.bookColumn));
+        }
+
+        /**
+         * Returns the field in a column of a plain line, or null if the column is -1.
+         */
+        private static String fieldOf(char[] chars, int start, int end, int[] tabs, int numOfTabs, int column)
+        {
+            if(column == -1)
+            {
+                return null;
+            }
+            int fieldStart = column == 0 ? start : tabs[column - 1] + 1;
+            int fieldEnd = column == numOfTabs ? end : tabs[column];
+            return new String(chars, fieldStart, fieldEnd - fieldStart);
+        }
+
+        /**
+         * Splits a line by OpenCSV's quoting rules (CSVParser.parseLine in OpenCSV 4, with the default quote
+         * and escape characters, ignoreLeadingWhiteSpace on and strictQuotes off).
+         */
+        private void splitQuotedLine(char[] chars, int start, int end)
+        {
+            this.lineNumber++;
+            if(this.pending)
+            {
+                this.inQuotes = true;
+            }
+            for(int i = start; i < end; i++)
+            {
+                char c = chars[i];
+                boolean escapable = this.inQuotes || this.inField;
+                if(c == ESCAPE)
+                {
+                    if(escapable && i + 1 < end && (chars[i + 1] == QUOTE || chars[i + 1] == ESCAPE))
+                    {
+                        this.field.append(chars[++i]);
+                    }
+                }
+                else if(c == QUOTE)
+                {
+                    if(escapable && i + 1 < end && chars[i + 1] == QUOTE)
+                    {
+                        this.field.append(chars[++i]);
+                    }
+                    else
+                    {
+                        this.inQuotes = !this.inQuotes;
+                        // A quote in the middle of a field, like the second one in a<TAB>b"c"d, is kept,
+                        // unless only white space comes before it in the field.
+                        if(i - start > 2 && chars[i - 1] != SEPARATOR && i + 1 < end && chars[i + 1] != SEPARATOR)
+                        {
+                            if(this.field.length() > 0 && RowSplitter.isAllWhiteSpace(this.field))
+                            {
+                                this.field.setLength(0);
+                            }
+                            else
+                            {
+                                this.field.append(c);
+                            }
+                        }
+                    }
+                    this.inField = !this.inField;
+                }
+                else if(c == SEPARATOR && !this.inQuotes)
+                {
+                    this.fields.add(this.field.toString());
+                    this.field.setLength(0);
+                    this.inField = false;
+                }
+                else
+                {
+                    this.field.append(c);
+                    this.inField = true;
+                }
+            }
+
+            if(this.inQuotes)
+            {
+                // The quoted field goes on to the next line.
+                this.field.append('\n');
+                this.pending = true;
+                return;
+            }
+            this.pending = false;
+            this.inField = false;
+            this.fields.add(this.field.toString());
+            this.field.setLength(0);
+
+            if(this.numOfColumns == -1)
+            {
+                this.readHeader(this.fields);
+            }
+            else
+            {
+                this.checkLength(this.fields.size());
+                this.rowAction.accept(this.heroColumn == -1 ? null : this.fields.get(this.heroColumn),
+                        this.bookColumn == -1 ? null : this.fields.get(this.bookColumn));
+            }
+            this.fields.clear();
+        }
+
+        /**
+         * Finds the hero and book columns in the header. Like OpenCSV, the last column with a name wins.
+         */
+        private void readHeader(List<String> header)
+        {
+            this.numOfColumns = header.size();
+            for(int column = 0; column < header.size(); column++)
+            {
+                if(header.get(column).equalsIgnoreCase("hero"))
+                {
+                    this.heroColumn = column;
+                }
+                else if(header.get(column).equalsIgnoreCase("book"))
+                {
+                    this.bookColumn = column;
+                }
+            }
+        }
+
+        /**
+         * Throws an exception if a row doesn't have as many fields as the header.
+         */
+        private void checkLength(int numOfFields) throws IllegalArgumentException
+        {
+            if(numOfFields != this.numOfColumns)
+            {
+                throw new IllegalArgumentException("Line " + this.lineNumber + " has " + numOfFields
+                        + " fields, but the header has " + this.numOfColumns);
+            }
+        }
+
+        private static boolean isAllWhiteSpace(CharSequence text)
+        {
+            for(int i = 0; i < text.length(); i++)
+            {
+                if(!Character.isWhitespace(text.charAt(i)))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Reads a range of chunks for parseData(String, int, Supplier, ForkJoinPool), split in halves until
+     * each task reads one chunk. A chunk that can't be read on its own, because it has a quote or an escape
+     * or a malformed row, is marked as failed.
+     */
+    private static final class ChunkAction<T extends BiConsumer<String, String>> extends RecursiveAction {
+        private final byte[] bytes;
+        private final Charset charset;
+        private final int[] chunkStarts;
+        private final RowSplitter header;
+        private final Supplier<? extends T> newChunkAction;
+        private final List<T> actions; // chunk -> the action its rows were passed to.
+        private final boolean[] failed; // chunk -> whether it failed.
+        private final int start;
+        private final int end;
+
+        private ChunkAction(byte[] bytes, Charset charset, int[] chunkStarts, RowSplitter header,
+                            Supplier<? extends T> newChunkAction, List<T> actions, boolean[] failed, int start,
+                            int end)
+        {
+            this.bytes = bytes;
+            this.charset = charset;
+            this.chunkStarts = chunkStarts;
+            this.header = header;
+            this.newChunkAction = newChunkAction;
+            this.actions = actions;
+            this.failed = failed;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(this.end - this.start > 1)
+            {
+                int middle = (this.start + this.end) >>> 1;
+                invokeAll(new ChunkAction<T>(this.bytes, this.charset, this.chunkStarts, this.header,
+                                this.newChunkAction, this.actions, this.failed, this.start, middle),
+                        new ChunkAction<T>(this.bytes, this.charset, this.chunkStarts, this.header,
+                                this.newChunkAction, this.actions, this.failed, middle, this.end));
+                return;
+            }
+
+            int chunkStart = this.chunkStarts[this.start];
+            int chunkEnd = this.chunkStarts[this.start + 1];
+            if(!MarvelParser.isPlain(this.bytes, chunkStart, chunkEnd))
+            {
+                this.failed[this.start] = true;
+                return;
+            }
+            T action = this.newChunkAction.get();
+            CharBuffer chars = this.charset.decode(ByteBuffer.wrap(this.bytes, chunkStart, chunkEnd - chunkStart));
+            try
+            {
+                MarvelParser.splitRows(chars.array(), chars.arrayOffset() + chars.position(),
+                        chars.arrayOffset() + chars.limit(), new RowSplitter(action, this.header));
+            }
+            catch(IllegalArgumentException e)
+            {
+                this.failed[this.start] = true;
+                return;
+            }
+            this.actions.set(this.start, action);
+        }
+    }
+}
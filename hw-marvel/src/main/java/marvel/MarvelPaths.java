@@ -1,9 +1,23 @@
 package marvel;
 
+import graph.CompactGraph;
+import graph.CsrGraph;
 import graph.EdgeStringCompare;
 import graph.Graph;
+import graph.GraphBuilder;
+import graph.GraphSnapshot;
+import graph.IndexedGraph;
+import graph.MappedGraph;
+import graph.StringDictionary;
+import graph.ValueCodec;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
 
 /**
  * MarvelPaths contains methods useful to generating a Graph based on data in a TSV file and performing
@@ -11,9 +25,37 @@ import java.util.*;
  */
 public final class MarvelPaths {
 
+    /**
+     * The file name suffix main uses to tell snapshot files written by saveGraph apart from TSV files.
+     */
+    public static final String SNAPSHOT_SUFFIX = ".graph";
+
+    /**
+     * The order findPath visits a hero's children in. Graphs and snapshots made here keep their children
+     * in this order, so searching them never sorts.
+     */
+    private static final EdgeStringCompare EDGE_ORDER = new EdgeStringCompare();
+
+    /**
+     * How many chunks loadGraph(String, ForkJoinPool) cuts a file into per thread, so that a thread that
+     * finishes its chunk early can take on another.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Each thread's search context, so repeated searches on one thread reuse the same map and queues.
+     */
+    private static final ThreadLocal<SearchContext> SEARCH_CONTEXT = ThreadLocal.withInitial(SearchContext::new);
+
     /**
      * Loads a graph from an empty one using the TSV data within the file passed in.
      *
+     * <p> The graph is built in bulk with a GraphBuilder. Since every hero is linked both ways to every
+     * other hero in each of its books, the graph is built without a parent index (see
+     * {@link Graph#hasParentIndex()}); a hero's children are also its parents. Each hero's children are
+     * kept sorted by an EdgeStringCompare (see {@link Graph#getChildOrder()}), the order findPath visits
+     * them in.
+     *
      * @param filename the name of the TSV file whose data we want to generate a Graph from.
      * @return a graph generated or loaded from the data from the TSV file passed in.
      * @throws IllegalArgumentException if the filename cannot be found within the file system.
@@ -21,49 +63,209 @@ public final class MarvelPaths {
      */
     public static Graph<String, String> loadGraph(String filename) throws IllegalArgumentException, NullPointerException
     {
-        if(filename == null)
+        return MarvelPaths.loadGraph(filename, new StringDictionary());
+    }
+
+    /**
+     * Loads a graph like loadGraph(filename) does, interning every hero name and book title through
+     * dictionary so that all edges share one String instance per name. Afterwards,
+     * dictionary.getBytesSaved() tells how much memory that saved.
+     *
+     * @param filename the name of the TSV file whose data we want to generate a Graph from.
+     * @param dictionary the dictionary to intern hero names and book titles with.
+     * @return a graph generated or loaded from the data from the TSV file passed in.
+     * @throws IllegalArgumentException if the filename cannot be found within the file system.
+     * @throws NullPointerException if the filename or dictionary passed in is null.
+     * @spec.modifies dictionary
+     */
+    public static Graph<String, String> loadGraph(String filename, StringDictionary dictionary)
+            throws IllegalArgumentException, NullPointerException
+    {
+        if(filename == null || dictionary == null)
         {
             throw new NullPointerException();
         }
-        Graph<String, String> graph = new Graph<String, String>();
-        Iterator<HeroModel> heroModelIterator = MarvelParser.parseData(filename);
-        Map<String, List<String>> marvelBooks = new HashMap<String, List<String>>();
+        Set<String> heroes = new HashSet<String>();
+        Map<String, List<String>> marvelBooks = MarvelPaths.readBooks(filename, heroes, dictionary);
 
-        // First add all of the heroes as nodes while building up my map.
-        while(heroModelIterator.hasNext())
+        GraphBuilder<String, String> builder = MarvelPaths.newGraphBuilder(heroes, marvelBooks.values());
+        for(Map.Entry<String, List<String>> book : marvelBooks.entrySet())
         {
-            HeroModel currentHero = heroModelIterator.next();
-            graph.addNode(currentHero.getHero());
+            MarvelPaths.addBookEdges(builder, book.getKey(), book.getValue());
+        }
+        return builder.build();
+    }
 
-            // Store the character as a value corresponding to all the books (each one a key)
-            // that it is present for.
-            if(!marvelBooks.containsKey(currentHero.getBook()))
+    /**
+     * Loads a graph like loadGraph(filename) does, using the threads of pool, for files many times the size
+     * of marvel.tsv. The graph is equal to the one loadGraph(filename) returns, down to the order of its
+     * heroes, edges and labels.
+     *
+     * <p> The file is cut into a few line-aligned chunks per thread, which are read on different threads
+     * (see {@link MarvelParser#parseData(String, int, java.util.function.Supplier, ForkJoinPool)}), each into
+     * a map of its own from book to heroes. The maps are merged in file order, the edges of different books
+     * are added to GraphBuilders of their own on different threads, and the builders are combined and built
+     * with {@link GraphBuilder#build(ForkJoinPool)}, which sorts the children of different heroes in
+     * parallel. Hero names and book titles are interned per chunk, so a name may have up to one String
+     * instance per chunk instead of exactly one.
+     *
+     * @param filename the name of the TSV file whose data we want to generate a Graph from.
+     * @param pool the pool the file is read and the graph built on.
+     * @return a graph generated or loaded from the data from the TSV file passed in.
+     * @throws IllegalArgumentException if the filename cannot be found within the file system.
+     * @throws NullPointerException if the filename or pool passed in is null.
+     */
+    public static Graph<String, String> loadGraph(String filename, ForkJoinPool pool)
+            throws IllegalArgumentException, NullPointerException
+    {
+        if(filename == null || pool == null)
+        {
+            throw new NullPointerException();
+        }
+        int numOfChunks = pool.getParallelism() * MarvelPaths.CHUNKS_PER_THREAD;
+        List<BookCollector> chunks = MarvelParser.parseData(filename, numOfChunks, BookCollector::new, pool);
+
+        // Merged in file order, every hero and book is added here in the same order and the same way readBooks
+        // adds them (computeIfAbsent and put place colliding keys differently), so these iterate in the same
+        // order as readBooks' collections, and so does the graph built from them.
+        Set<String> heroes = new HashSet<String>();
+        Map<String, List<String>> marvelBooks = new HashMap<String, List<String>>();
+        for(BookCollector chunk : chunks)
+        {
+            heroes.addAll(chunk.heroes);
+            for(Map.Entry<String, List<String>> book : chunk.books.entrySet())
             {
-                List<String> heroesInBook = new ArrayList<String>();
-                heroesInBook.add(currentHero.getHero());
-                marvelBooks.put(currentHero.getBook(), heroesInBook);
-            } else
+                marvelBooks.computeIfAbsent(book.getKey(), k -> new ArrayList<String>()).addAll(book.getValue());
+            }
+        }
+
+        List<Map.Entry<String, List<String>>> books = new ArrayList<Map.Entry<String, List<String>>>(
+                marvelBooks.entrySet());
+        List<GraphBuilder<String, String>> parts = new ArrayList<GraphBuilder<String, String>>(
+                Collections.<GraphBuilder<String, String>>nCopies(numOfChunks, null));
+        pool.invoke(new EmitAction(books, parts, 0, numOfChunks));
+
+        // Combined in order, the parts hold every edge in the order loadGraph(filename) adds them in.
+        GraphBuilder<String, String> builder = MarvelPaths.newGraphBuilder(heroes, marvelBooks.values());
+        for(GraphBuilder<String, String> part : parts)
+        {
+            builder.addAll(part);
+        }
+        return builder.build(pool);
+    }
+
+    /**
+     * Makes the builder loadGraph builds its graphs with, and adds every hero to it.
+     *
+     * @param heroes every hero of the graph.
+     * @param marvelBooks the heroes of every book, which the number of edges is worked out from.
+     * @return a builder with every hero and no edges.
+     */
+    private static GraphBuilder<String, String> newGraphBuilder(Set<String> heroes,
+                                                                Collection<List<String>> marvelBooks)
+    {
+        // Every book links each of its heroes to every other one, so the number of edges is known up front.
+        long expectedEdges = 0;
+        for(List<String> heroesInBook : marvelBooks)
+        {
+            expectedEdges += (long) heroesInBook.size() * (heroesInBook.size() - 1);
+        }
+        // Every edge has a twin going the other way, so a hero's parents are exactly its children and a
+        // parent index would only double the memory and the time spent loading. Children are kept in the
+        // order findPath visits them in, so it never has to sort them.
+        GraphBuilder<String, String> builder = new GraphBuilder<String, String>(heroes.size(),
+                (int) Math.min(expectedEdges, Integer.MAX_VALUE - 8)).indexParents(false)
+                .childOrder(MarvelPaths.EDGE_ORDER);
+        for(String hero : heroes)
+        {
+            builder.addNode(hero);
+        }
+        return builder;
+    }
+
+    /**
+     * Adds an edge labeled bookTitle between every two different heroes of a book, both ways.
+     *
+     * @param builder the builder the edges are added to.
+     * @param bookTitle the title of the book.
+     * @param heroesInBook the heroes in the book, in file order, including repeats.
+     * @spec.modifies builder
+     */
+    private static void addBookEdges(GraphBuilder<String, String> builder, String bookTitle,
+                                     List<String> heroesInBook)
+    {
+        for(int i = 0; i != heroesInBook.size(); i++)
+        {
+            for(int j = 0; j != heroesInBook.size(); j++)
             {
-                List<String> heroesInBook = marvelBooks.get(currentHero.getBook());
-                heroesInBook.add(currentHero.getHero());
-                marvelBooks.put(currentHero.getBook(), heroesInBook);
+                if(!heroesInBook.get(i).equals(heroesInBook.get(j))) // To avoid pointing a hero to itself.
+                {
+                    // Duplicates (a hero listed twice in one book) are dropped by build().
+                    builder.addEdge(bookTitle, heroesInBook.get(i), heroesInBook.get(j));
+                }
             }
         }
+    }
+
+    /**
+     * Loads a graph like loadGraph does, but into a CompactGraph, which stores its edges in parallel int
+     * arrays instead of Edge objects. Use it when the graph has to fit into a small heap.
+     *
+     * @param filename the name of the TSV file whose data we want to generate a graph from.
+     * @return a compact graph with exactly the nodes and edges loadGraph(filename) would have.
+     * @throws IllegalArgumentException if the filename cannot be found within the file system.
+     * @throws NullPointerException if the filename passed in is null.
+     */
+    public static CompactGraph<String, String> loadCompactGraph(String filename)
+            throws IllegalArgumentException, NullPointerException
+    {
+        return MarvelPaths.loadCompactGraph(filename, new StringDictionary());
+    }
+
+    /**
+     * Loads a compact graph like loadCompactGraph(filename) does, interning every hero name and book
+     * title through dictionary.
+     *
+     * @param filename the name of the TSV file whose data we want to generate a graph from.
+     * @param dictionary the dictionary to intern hero names and book titles with.
+     * @return a compact graph with exactly the nodes and edges loadGraph(filename) would have.
+     * @throws IllegalArgumentException if the filename cannot be found within the file system.
+     * @throws NullPointerException if the filename or dictionary passed in is null.
+     * @spec.modifies dictionary
+     * @see #loadGraph(String, StringDictionary)
+     */
+    public static CompactGraph<String, String> loadCompactGraph(String filename, StringDictionary dictionary)
+            throws IllegalArgumentException, NullPointerException
+    {
+        if(filename == null || dictionary == null)
+        {
+            throw new NullPointerException();
+        }
+        Set<String> heroes = new HashSet<String>();
+        Map<String, List<String>> marvelBooks = MarvelPaths.readBooks(filename, heroes, dictionary);
 
-        // Now create all of the edges now that we have all of the nodes in place
-        // using the organized map we created.
-        // For every list of heroes within a book,
+        long expectedEdges = 0;
+        for(List<String> heroesInBook : marvelBooks.values())
+        {
+            expectedEdges += (long) heroesInBook.size() * (heroesInBook.size() - 1);
+        }
+        CompactGraph<String, String> graph = new CompactGraph<String, String>(heroes.size(),
+                (int) Math.min(expectedEdges, Integer.MAX_VALUE / 4));
+        for(String hero : heroes)
+        {
+            graph.addNode(hero);
+        }
         for(Map.Entry<String, List<String>> book : marvelBooks.entrySet())
         {
             String bookTitle = book.getKey();
             List<String> heroesInBook = book.getValue();
-            for(int i = 0; i != heroesInBook.size(); i++)
+            for(String hero : heroesInBook)
             {
-                for(int j = 0; j != heroesInBook.size(); j++)
+                for(String otherHero : heroesInBook)
                 {
-                    if(!heroesInBook.get(i).equals(heroesInBook.get(j))) // To avoid pointing a hero to itself and duplicates.
+                    if(!hero.equals(otherHero)) // To avoid pointing a hero to itself.
                     {
-                        graph.addEdge(bookTitle, heroesInBook.get(i), heroesInBook.get(j));
+                        graph.addEdge(bookTitle, hero, otherHero);
                     }
                 }
             }
@@ -71,9 +273,64 @@ public final class MarvelPaths {
         return graph;
     }
 
+    /**
+     * Loads the (hero, book) pairs of a TSV file into a bipartite HeroBookGraph. Much smaller and faster to
+     * load than loadGraph's graph, since no hero-to-hero edges are created.
+     *
+     * @param filename the name of the TSV file whose data we want to generate a graph from.
+     * @return a HeroBookGraph with every hero and book in the file.
+     * @throws IllegalArgumentException if the filename cannot be found within the file system.
+     * @throws NullPointerException if the filename passed in is null.
+     * @see #findPath(HeroBookGraph, String, String)
+     */
+    public static HeroBookGraph loadHeroBookGraph(String filename) throws IllegalArgumentException, NullPointerException
+    {
+        if(filename == null)
+        {
+            throw new NullPointerException();
+        }
+        Set<String> heroes = new HashSet<String>();
+        Map<String, List<String>> marvelBooks = MarvelPaths.readBooks(filename, heroes, new StringDictionary());
+        return new HeroBookGraph(marvelBooks, heroes);
+    }
+
+    /**
+     * Reads a TSV file of (hero, book) rows.
+     *
+     * @param filename the name of the TSV file to read.
+     * @param heroes the set every hero in the file is added to.
+     * @param dictionary the dictionary every hero name and book title is interned with.
+     * @return a map from every book in the file to the heroes in it, in file order, including repeats.
+     * Every string in it is the canonical instance from dictionary.
+     * @throws IllegalArgumentException if the filename cannot be found within the file system.
+     * @spec.modifies heroes, dictionary
+     */
+    private static Map<String, List<String>> readBooks(String filename, Set<String> heroes,
+                                                       StringDictionary dictionary)
+            throws IllegalArgumentException
+    {
+        Map<String, List<String>> marvelBooks = new HashMap<String, List<String>>();
+
+        // Collect all of the heroes while building up my map.
+        MarvelParser.parseData(filename, (heroName, bookTitle) -> {
+            String hero = dictionary.intern(heroName);
+            heroes.add(hero);
+
+            // Store the character as a value corresponding to all the books (each one a key)
+            // that it is present for.
+            marvelBooks.computeIfAbsent(dictionary.intern(bookTitle), k -> new ArrayList<String>()).add(hero);
+        });
+        return marvelBooks;
+    }
+
     /**
      * Returns the shortest path of heroes that connects hero_a to hero_b.
      *
+     * <p> The search runs on a snapshot of marvelGraph taken when it starts, so it sees one consistent
+     * graph even if another thread adds heroes or books to marvelGraph while it runs. Heroes in different
+     * components of marvelGraph (see {@link Graph#isConnected}) are answered without taking a snapshot or
+     * searching at all.
+     *
      * @param marvelGraph the graph we want to perform the BFS search on.
      * @param hero_a the hero we want to start the search at.
      * @param hero_b the hero we want to find the shortest path TO from hero_a.
@@ -84,47 +341,937 @@ public final class MarvelPaths {
      */
     public static List<Graph.Edge<String, String>> findPath(Graph<String, String> marvelGraph, String hero_a, String hero_b)
             throws IllegalArgumentException
+    {
+        // The component lookups take no lock. Heroes missing from the graph are left to the search, which
+        // rejects them if they aren't in the snapshot either.
+        if(marvelGraph.getComponentId(hero_a) != -1 && marvelGraph.getComponentId(hero_b) != -1
+                && !marvelGraph.isConnected(hero_a, hero_b))
+        {
+            return null;
+        }
+        return MarvelPaths.findPath(marvelGraph.snapshot(), hero_a, hero_b);
+    }
+
+    /**
+     * Returns the shortest path of heroes that connects hero_a to hero_b in a snapshot of a Marvel graph.
+     * Returns exactly the same path as findPath does on the graph the snapshot was taken of, at the time
+     * it was taken.
+     *
+     * <p> The search remembers only the edge each hero was first reached by, and builds the path from
+     * those edges once it reaches hero_b. Its map and queues belong to the calling thread and are reused
+     * by that thread's next search. If the snapshot keeps its children sorted by an EdgeStringCompare, as
+     * snapshots of graphs loadGraph builds do, no sorting happens during the search.
+     *
+     * @param marvelGraph the snapshot we want to perform the BFS search on.
+     * @param hero_a the hero we want to start the search at.
+     * @param hero_b the hero we want to find the shortest path TO from hero_a.
+     * @throws IllegalArgumentException if hero_a or hero_b are not within marvelGraph.
+     * @return the shortest path of books and heroes (stored in Edges) that connects hero_a
+     * to hero_b in the provided snapshot. If hero_a.equals(hero_b), then just return an empty path.
+     * If there is no path that exists between the two heroes, return null.
+     */
+    public static List<Graph.Edge<String, String>> findPath(GraphSnapshot<String, String> marvelGraph, String hero_a,
+                                                            String hero_b) throws IllegalArgumentException
+    {
+        if(!marvelGraph.containsNode(hero_a) || !marvelGraph.containsNode(hero_b))
+        {
+            throw new IllegalArgumentException();
+        }
+
+        SearchContext context = MarvelPaths.SEARCH_CONTEXT.get();
+        // visited node -> the edge it was reached by, or null for the start.
+        Map<String, Graph.Edge<String, String>> parentEdges = context.parentEdges;
+        Queue<String> nodesToVisit = context.nodesToVisit;
+        List<Graph.Edge<String, String>> childBuffer = context.children;
+        boolean presorted = marvelGraph.getChildOrder() instanceof EdgeStringCompare;
+        try
+        {
+            nodesToVisit.add(hero_a);
+            parentEdges.put(hero_a, null);
+            while(!nodesToVisit.isEmpty())
+            {
+                String currentHero = nodesToVisit.remove();
+                if(currentHero.equals(hero_b))
+                {
+                    // The path is only built once, by following the edges back to the start.
+                    List<Graph.Edge<String, String>> path = new ArrayList<Graph.Edge<String, String>>();
+                    for(Graph.Edge<String, String> edge = parentEdges.get(hero_b); edge != null;
+                        edge = parentEdges.get(edge.getParent()))
+                    {
+                        path.add(edge);
+                    }
+                    Collections.reverse(path);
+                    return path;
+                }
+
+                // Ensures child nodes are in searched in lexicographical order. Graphs loadGraph builds keep
+                // their children in that order already.
+                Collection<Graph.Edge<String, String>> nextConnectedHeroes;
+                if(presorted)
+                {
+                    nextConnectedHeroes = marvelGraph.getChildrenEdgesView(currentHero);
+                } else
+                {
+                    childBuffer.clear();
+                    marvelGraph.forEachChildEdge(currentHero, childBuffer::add);
+                    childBuffer.sort(MarvelPaths.EDGE_ORDER);
+                    nextConnectedHeroes = childBuffer;
+                }
+
+                for(Graph.Edge<String, String> nextConnectedHero : nextConnectedHeroes) // The child edges.
+                {
+                    if(!parentEdges.containsKey(nextConnectedHero.getChild()))
+                    {
+                        parentEdges.put(nextConnectedHero.getChild(), nextConnectedHero);
+                        nodesToVisit.add(nextConnectedHero.getChild());
+                    }
+                }
+            }
+            // The loop terminated and there is no path that exists from start to dest.
+            return null;
+        } finally
+        {
+            // Emptied, so the context doesn't keep this graph's heroes and edges alive between searches.
+            context.clear();
+        }
+    }
+
+    /**
+     * Returns the shortest path of heroes that connects hero_a to hero_b, searching an immutable
+     * int-indexed snapshot of a Marvel graph (a CsrGraph or a MappedGraph). Returns exactly the same path as
+     * findPath does on the graph the snapshot was taken of.
+     *
+     * <p> The search runs on the snapshot's node ids and edge indices. If the snapshot was built with its
+     * children sorted by an EdgeStringCompare (see {@link #freezeGraph(Graph)}), no sorting happens during
+     * the search. Heroes in different components of the snapshot (see {@link IndexedGraph#getComponentId})
+     * are answered without searching at all.
+     *
+     * @param marvelGraph the snapshot we want to perform the BFS search on.
+     * @param hero_a the hero we want to start the search at.
+     * @param hero_b the hero we want to find the shortest path TO from hero_a.
+     * @throws IllegalArgumentException if hero_a or hero_b are not within marvelGraph.
+     * @return the shortest path of books and heroes (stored in Edges) that connects hero_a
+     * to hero_b in the provided snapshot. If hero_a.equals(hero_b), then just return an empty path.
+     * If there is no path that exists between the two heroes, return null.
+     */
+    public static List<Graph.Edge<String, String>> findPath(IndexedGraph<String, String> marvelGraph, String hero_a,
+                                                            String hero_b) throws IllegalArgumentException
+    {
+        if(!marvelGraph.containsNode(hero_a) || !marvelGraph.containsNode(hero_b))
+        {
+            throw new IllegalArgumentException();
+        }
+
+        int source = marvelGraph.getNodeId(hero_a);
+        int goal = marvelGraph.getNodeId(hero_b);
+        if(marvelGraph.getComponentId(source) != marvelGraph.getComponentId(goal))
+        {
+            return null;
+        }
+        // visited node id -> index of the edge it was reached by (-1 for the start, -2 for unvisited).
+        int[] parentEdges = new int[marvelGraph.getNumOfNodes()];
+        int[] parentNodes = new int[marvelGraph.getNumOfNodes()];
+        MarvelPaths.searchTree(marvelGraph, source, goal, parentEdges, parentNodes);
+        return MarvelPaths.buildPath(marvelGraph, parentEdges, parentNodes, goal);
+    }
+
+    /**
+     * Runs findPath's breadth-first search over an int-indexed snapshot from source, recording the edge
+     * each node was first reached by, until goal is dequeued or every reachable node has been.
+     *
+     * @param marvelGraph the snapshot to search.
+     * @param source the id of the node to start at.
+     * @param goal the id of the node to stop at, or -1 to reach every node reachable from source.
+     * @param parentEdges filled with, for every node id, the index of the edge the node was reached by,
+     *                    -1 for source, or -2 if the search did not reach it.
+     * @param parentNodes filled with, for every node the search reached other than source, the id of the
+     *                    node it was reached from.
+     * @spec.requires both arrays have a length of marvelGraph.getNumOfNodes().
+     * @spec.modifies parentEdges, parentNodes
+     */
+    static void searchTree(IndexedGraph<String, String> marvelGraph, int source, int goal, int[] parentEdges,
+                           int[] parentNodes)
+    {
+        boolean presorted = marvelGraph.getChildOrder() instanceof EdgeStringCompare;
+        Arrays.fill(parentEdges, -2);
+        int[] nodesToVisit = new int[marvelGraph.getNumOfNodes()];
+        int head = 0;
+        int tail = 0;
+
+        nodesToVisit[tail++] = source;
+        parentEdges[source] = -1;
+        while(head != tail)
+        {
+            int currentHero = nodesToVisit[head++];
+            if(currentHero == goal)
+            {
+                return;
+            }
+
+            int start = marvelGraph.getEdgesStart(currentHero);
+            int end = marvelGraph.getEdgesEnd(currentHero);
+            int[] sortedEdges = presorted ? null : MarvelPaths.sortEdges(marvelGraph, start, end);
+            for(int i = 0; i != end - start; i++)
+            {
+                int edge = presorted ? start + i : sortedEdges[i];
+                int nextHero = marvelGraph.getEdgeChild(edge);
+                if(parentEdges[nextHero] == -2)
+                {
+                    parentEdges[nextHero] = edge;
+                    parentNodes[nextHero] = currentHero;
+                    nodesToVisit[tail++] = nextHero;
+                }
+            }
+        }
+    }
+
+    /**
+     * Follows the edges searchTree recorded back from goal to the start of the search.
+     *
+     * @param marvelGraph the snapshot that was searched.
+     * @param parentEdges the edge each node was reached by, as filled in by searchTree.
+     * @param parentNodes the node each node was reached from, as filled in by searchTree.
+     * @param goal the id of the node to find the path to.
+     * @return the path from the start of the search to goal, or null if the search did not reach goal.
+     */
+    static List<Graph.Edge<String, String>> buildPath(IndexedGraph<String, String> marvelGraph, int[] parentEdges,
+                                                      int[] parentNodes, int goal)
+    {
+        if(parentEdges[goal] == -2)
+        {
+            // The search ended and there is no path that exists from start to dest.
+            return null;
+        }
+        List<Graph.Edge<String, String>> path = new ArrayList<Graph.Edge<String, String>>();
+        for(int node = goal; parentEdges[node] != -1; node = parentNodes[node])
+        {
+            path.add(marvelGraph.toEdge(parentNodes[node], parentEdges[node]));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Answers a batch of path queries on the graph as it is now, spreading the searches over every core.
+     *
+     * @param marvelGraph the graph to search.
+     * @param queries the pairs of heroes to find paths between.
+     * @return the same as {@link #findPaths(IndexedGraph, Collection, ForkJoinPool)} on a snapshot of
+     * marvelGraph, run on the common ForkJoinPool.
+     * @throws IllegalArgumentException if marvelGraph, queries or any query are null, or a hero of any query
+     * is not within marvelGraph.
+     */
+    public static List<List<Graph.Edge<String, String>>> findPaths(Graph<String, String> marvelGraph,
+                                                                   Collection<HeroPair> queries)
+            throws IllegalArgumentException
+    {
+        return MarvelPaths.findPaths(marvelGraph, queries, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Answers a batch of path queries on the graph as it is now, spreading the searches over pool.
+     *
+     * @param marvelGraph the graph to search. It may keep changing while the queries are answered: they are
+     *                    all answered on one snapshot of it.
+     * @param queries the pairs of heroes to find paths between.
+     * @param pool the pool to run the searches on.
+     * @return the same as {@link #findPaths(IndexedGraph, Collection, ForkJoinPool)} on a snapshot of
+     * marvelGraph.
+     * @throws IllegalArgumentException if marvelGraph, queries, pool or any query are null, or a hero of any
+     * query is not within marvelGraph.
+     */
+    public static List<List<Graph.Edge<String, String>>> findPaths(Graph<String, String> marvelGraph,
+                                                                   Collection<HeroPair> queries, ForkJoinPool pool)
+            throws IllegalArgumentException
+    {
+        if(marvelGraph == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        return MarvelPaths.findPaths(CsrGraph.of(marvelGraph.snapshot()), queries, pool);
+    }
+
+    /**
+     * Answers a batch of path queries, giving the same paths as calling
+     * {@link #findPath(IndexedGraph, String, String)} on every query in turn.
+     *
+     * <p> Queries are grouped by their first hero, so every hero is searched from at most once however many
+     * queries start at it: a hero with one query is searched until its destination is found, and a hero
+     * with more is searched once to the edge of its component and then answers all of them from the same
+     * search tree. The groups don't depend on each other and are searched in parallel on pool. Queries
+     * between the same hero, or between heroes in different components, need no search at all.
+     *
+     * @param marvelGraph the snapshot to search.
+     * @param queries the pairs of heroes to find paths between.
+     * @param pool the pool to run the searches on.
+     * @return a list with one entry per query, in the order queries iterates over them. Each entry is the
+     * shortest path from the query's first hero to its second, an empty path if they are the same hero, or
+     * null if there is no path.
+     * @throws IllegalArgumentException if marvelGraph, queries, pool or any query are null, or a hero of any
+     * query is not within marvelGraph. Nothing is searched if an exception is thrown.
+     */
+    public static List<List<Graph.Edge<String, String>>> findPaths(IndexedGraph<String, String> marvelGraph,
+                                                                   Collection<HeroPair> queries, ForkJoinPool pool)
+            throws IllegalArgumentException
+    {
+        if(marvelGraph == null || queries == null || pool == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        // Every query is checked before any search starts. A query that needs a search is packed into a long
+        // with its source in the high half and its index in the low half, so sorting them groups them by
+        // source.
+        List<List<Graph.Edge<String, String>>> paths = new ArrayList<List<Graph.Edge<String, String>>>(
+                queries.size());
+        int[] goals = new int[queries.size()];
+        long[] searches = new long[queries.size()];
+        int numOfSearches = 0;
+        for(HeroPair query : queries)
+        {
+            if(query == null || !marvelGraph.containsNode(query.getHeroA())
+                    || !marvelGraph.containsNode(query.getHeroB()))
+            {
+                throw new IllegalArgumentException();
+            }
+            int index = paths.size();
+            int source = marvelGraph.getNodeId(query.getHeroA());
+            goals[index] = marvelGraph.getNodeId(query.getHeroB());
+            if(source == goals[index])
+            {
+                paths.add(new ArrayList<Graph.Edge<String, String>>());
+                continue;
+            }
+            paths.add(null);
+            if(marvelGraph.getComponentId(source) == marvelGraph.getComponentId(goals[index]))
+            {
+                searches[numOfSearches++] = ((long) source << 32) | index;
+            }
+        }
+        Arrays.sort(searches, 0, numOfSearches);
+
+        // groupStarts[g] is the index in searches of the first query of group g.
+        int[] groupStarts = new int[numOfSearches + 1];
+        int numOfGroups = 0;
+        for(int i = 0; i < numOfSearches; i++)
+        {
+            if(i == 0 || (searches[i] >>> 32) != (searches[i - 1] >>> 32))
+            {
+                groupStarts[numOfGroups++] = i;
+            }
+        }
+        groupStarts[numOfGroups] = numOfSearches;
+
+        pool.invoke(new SearchAction(marvelGraph, searches, groupStarts, 0, numOfGroups, goals, paths));
+        return paths;
+    }
+
+    /**
+     * Returns the shortest path of heroes that connects hero_a to hero_b in a snapshot of a Marvel graph,
+     * searching from both heroes at once. Returns exactly the same path as
+     * {@link #findPath(IndexedGraph, String, String)}: the lexicographically least of the shortest paths,
+     * comparing edges by child and then label as an EdgeStringCompare does.
+     *
+     * <p> Each round expands one whole level of whichever of the two searches has the smaller frontier,
+     * until the searches meet. Hero graphs are small worlds, so a one-sided search has reached most of the
+     * graph by the time it is three or four hops out, while two searches that each go half as far usually
+     * visit far fewer heroes. The path is then rebuilt one hop at a time from hero_a, taking the least edge
+     * that still leads to hero_b in the fewest hops.
+     *
+     * @param marvelGraph the snapshot we want to perform the BFS search on.
+     * @param hero_a the hero we want to start the search at.
+     * @param hero_b the hero we want to find the shortest path TO from hero_a.
+     * @spec.requires for every edge (label, parent, child) in marvelGraph, (label, child, parent) is in
+     * marvelGraph too, so the search from hero_b can follow children as if they were parents. Every graph
+     * loadGraph and loadCompactGraph build is like this, and so are their snapshots.
+     * @throws IllegalArgumentException if hero_a or hero_b are not within marvelGraph.
+     * @return the shortest path of books and heroes (stored in Edges) that connects hero_a
+     * to hero_b in the provided snapshot. If hero_a.equals(hero_b), then just return an empty path.
+     * If there is no path that exists between the two heroes, return null.
+     */
+    public static List<Graph.Edge<String, String>> findPathBidirectional(IndexedGraph<String, String> marvelGraph,
+                                                                         String hero_a, String hero_b)
+            throws IllegalArgumentException
     {
         if(!marvelGraph.containsNode(hero_a) || !marvelGraph.containsNode(hero_b))
         {
             throw new IllegalArgumentException();
         }
 
-        // visited node -> edges traveled.
-        Map<String, List<Graph.Edge<String, String>>> paths = new HashMap<String, List<Graph.Edge<String, String>>>();
-        Queue<String> nodesToVisit = new LinkedList<String>();
+        int source = marvelGraph.getNodeId(hero_a);
+        int goal = marvelGraph.getNodeId(hero_b);
+        if(marvelGraph.getComponentId(source) != marvelGraph.getComponentId(goal))
+        {
+            return null;
+        }
+        if(source == goal)
+        {
+            return new ArrayList<Graph.Edge<String, String>>();
+        }
 
-        nodesToVisit.add(hero_a);
-        paths.put(hero_a, new ArrayList<Graph.Edge<String, String>>());
-        while(!nodesToVisit.isEmpty())
+        // node id -> hops from hero_a and hops to hero_b, or -1 if that search hasn't reached it.
+        int[] hopsFrom = new int[marvelGraph.getNumOfNodes()];
+        int[] hopsTo = new int[marvelGraph.getNumOfNodes()];
+        Arrays.fill(hopsFrom, -1);
+        Arrays.fill(hopsTo, -1);
+        // Every node each search has reached, in the order reached. Levels are kept whole, so level k of
+        // the forward search is forwardNodes[forwardLevels[k] .. forwardLevels[k + 1] - 1].
+        int[] forwardNodes = new int[marvelGraph.getNumOfNodes()];
+        int[] forwardLevels = new int[marvelGraph.getNumOfNodes() + 1];
+        int[] backwardNodes = new int[marvelGraph.getNumOfNodes()];
+        int forwardDepth = 0;
+        int forwardTail = 1;
+        int backwardStart = 0;
+        int backwardTail = 1;
+        int backwardDepth = 0;
+
+        forwardNodes[0] = source;
+        forwardLevels[1] = 1;
+        hopsFrom[source] = 0;
+        backwardNodes[0] = goal;
+        hopsTo[goal] = 0;
+        boolean met = false;
+        while(!met && forwardLevels[forwardDepth] != forwardTail && backwardStart != backwardTail)
         {
-            String currentHero = nodesToVisit.remove();
-            if(currentHero.equals(hero_b))
+            if(forwardTail - forwardLevels[forwardDepth] <= backwardTail - backwardStart)
+            {
+                for(int i = forwardLevels[forwardDepth]; i < forwardLevels[forwardDepth + 1]; i++)
+                {
+                    int currentHero = forwardNodes[i];
+                    int end = marvelGraph.getEdgesEnd(currentHero);
+                    for(int edge = marvelGraph.getEdgesStart(currentHero); edge < end; edge++)
+                    {
+                        int nextHero = marvelGraph.getEdgeChild(edge);
+                        if(hopsFrom[nextHero] == -1)
+                        {
+                            hopsFrom[nextHero] = forwardDepth + 1;
+                            forwardNodes[forwardTail++] = nextHero;
+                            met |= hopsTo[nextHero] != -1;
+                        }
+                    }
+                }
+                forwardDepth++;
+                forwardLevels[forwardDepth + 1] = forwardTail;
+            } else
             {
-                return paths.get(currentHero); // Make sure this is right.
+                int levelEnd = backwardTail;
+                for(int i = backwardStart; i < levelEnd; i++)
+                {
+                    int currentHero = backwardNodes[i];
+                    int end = marvelGraph.getEdgesEnd(currentHero);
+                    for(int edge = marvelGraph.getEdgesStart(currentHero); edge < end; edge++)
+                    {
+                        int nextHero = marvelGraph.getEdgeChild(edge);
+                        if(hopsTo[nextHero] == -1)
+                        {
+                            hopsTo[nextHero] = backwardDepth + 1;
+                            backwardNodes[backwardTail++] = nextHero;
+                            met |= hopsFrom[nextHero] != -1;
+                        }
+                    }
+                }
+                backwardDepth++;
+                backwardStart = levelEnd;
             }
+        }
+        if(!met)
+        {
+            // The loop terminated and there is no path that exists from start to dest.
+            return null;
+        }
 
-            List<Graph.Edge<String, String>> nextConnectedHeroes = marvelGraph.getChildrenEdges(currentHero);
-            EdgeStringCompare edgeStringCompare = new EdgeStringCompare();
-            nextConnectedHeroes.sort(edgeStringCompare); // Ensures child nodes are in searched in lexicographical order.
+        // Neither search had reached any node of the other before the last level, so every node both have
+        // reached is forwardDepth hops from hero_a and backwardDepth hops from hero_b, and lies on a
+        // shortest path. Walking back through the forward levels finds every other node within them that
+        // leads to one of those nodes in the fewest hops.
+        int length = forwardDepth + backwardDepth;
+        boolean[] onShortestPath = new boolean[marvelGraph.getNumOfNodes()];
+        for(int i = forwardLevels[forwardDepth]; i < forwardLevels[forwardDepth + 1]; i++)
+        {
+            onShortestPath[forwardNodes[i]] = hopsTo[forwardNodes[i]] == backwardDepth;
+        }
+        for(int level = forwardDepth - 1; level >= 0; level--)
+        {
+            for(int i = forwardLevels[level]; i < forwardLevels[level + 1]; i++)
+            {
+                int currentHero = forwardNodes[i];
+                for(int edge = marvelGraph.getEdgesStart(currentHero);
+                    edge < marvelGraph.getEdgesEnd(currentHero) && !onShortestPath[currentHero]; edge++)
+                {
+                    int nextHero = marvelGraph.getEdgeChild(edge);
+                    onShortestPath[currentHero] = hopsFrom[nextHero] == level + 1 && onShortestPath[nextHero];
+                }
+            }
+        }
 
-            for(Graph.Edge<String, String> nextConnectedHero : nextConnectedHeroes) // This is the list of child nodes.
+        // Taking the least edge that stays on a shortest path at every hop gives the lexicographically
+        // least shortest path, which is the one the one-sided search finds.
+        List<Graph.Edge<String, String>> path = new ArrayList<Graph.Edge<String, String>>(length);
+        int currentHero = source;
+        for(int hop = 0; hop < length; hop++)
+        {
+            int bestEdge = -1;
+            int end = marvelGraph.getEdgesEnd(currentHero);
+            for(int edge = marvelGraph.getEdgesStart(currentHero); edge < end; edge++)
             {
-                if(!paths.containsKey(nextConnectedHero.getChild()))
+                int nextHero = marvelGraph.getEdgeChild(edge);
+                boolean leadsToGoal = hop + 1 <= forwardDepth
+                        ? hopsFrom[nextHero] == hop + 1 && onShortestPath[nextHero]
+                        : hopsTo[nextHero] == length - hop - 1;
+                if(leadsToGoal && (bestEdge == -1 || MarvelPaths.compareEdges(marvelGraph, edge, bestEdge) < 0))
                 {
-                    List<Graph.Edge<String, String>> pathToNextHero = new ArrayList<Graph.Edge<String, String>>(paths.get(currentHero));
-                    pathToNextHero.add(nextConnectedHero); // Because our path is just the path of heroes/nodes from a to b.
-                    paths.put(nextConnectedHero.getChild(), pathToNextHero);
-                    nodesToVisit.add(nextConnectedHero.getChild());
+                    bestEdge = edge;
                 }
             }
+            path.add(marvelGraph.toEdge(currentHero, bestEdge));
+            currentHero = marvelGraph.getEdgeChild(bestEdge);
+        }
+        return path;
+    }
+
+    /**
+     * Returns the shortest path of heroes that connects hero_a to hero_b, searching a bipartite
+     * HeroBookGraph. Returns exactly the same path as findPath does on loadGraph's graph of the same file.
+     *
+     * <p> The search alternates between heroes and books. Expanding a hero visits each of its books that
+     * no earlier hero has expanded, since every hero in an expanded book has already been reached. Each
+     * newly reached hero keeps the first (lexicographically least) book that reached it, and the new heroes
+     * are queued in lexicographic order, which is the order findPath visits children in. Heroes in
+     * different components (see {@link HeroBookGraph#getComponentId}) are answered without searching at all.
+     *
+     * @param marvelGraph the bipartite graph we want to perform the BFS search on.
+     * @param hero_a the hero we want to start the search at.
+     * @param hero_b the hero we want to find the shortest path TO from hero_a.
+     * @throws IllegalArgumentException if hero_a or hero_b are not within marvelGraph.
+     * @return the shortest path of books and heroes (stored in Edges) that connects hero_a
+     * to hero_b in the provided graph. If hero_a.equals(hero_b), then just return an empty path.
+     * If there is no path that exists between the two heroes, return null.
+     */
+    public static List<Graph.Edge<String, String>> findPath(HeroBookGraph marvelGraph, String hero_a,
+                                                            String hero_b) throws IllegalArgumentException
+    {
+        if(!marvelGraph.containsHero(hero_a) || !marvelGraph.containsHero(hero_b))
+        {
+            throw new IllegalArgumentException();
+        }
+
+        int source = marvelGraph.getHeroId(hero_a);
+        int goal = marvelGraph.getHeroId(hero_b);
+        if(marvelGraph.getComponentId(source) != marvelGraph.getComponentId(goal))
+        {
+            return null;
+        }
+
+        // visited hero id -> id of the book it was reached through (-1 for the start, -2 for unvisited).
+        int[] parentBooks = new int[marvelGraph.getNumOfHeroes()];
+        Arrays.fill(parentBooks, -2);
+        int[] parentHeroes = new int[marvelGraph.getNumOfHeroes()];
+        boolean[] expandedBooks = new boolean[marvelGraph.getNumOfBooks()];
+        int[] nodesToVisit = new int[marvelGraph.getNumOfHeroes()];
+        int head = 0;
+        int tail = 0;
+
+        nodesToVisit[tail++] = source;
+        parentBooks[source] = -1;
+        while(head != tail)
+        {
+            int currentHero = nodesToVisit[head++];
+            if(currentHero == goal)
+            {
+                List<Graph.Edge<String, String>> path = new ArrayList<Graph.Edge<String, String>>();
+                for(int hero = goal; parentBooks[hero] != -1; hero = parentHeroes[hero])
+                {
+                    path.add(new Graph.Edge<String, String>(marvelGraph.getBook(parentBooks[hero]),
+                            marvelGraph.getHero(parentHeroes[hero]), marvelGraph.getHero(hero)));
+                }
+                Collections.reverse(path);
+                return path;
+            }
+
+            // New heroes are appended to the queue as they are found, then that run of the queue is
+            // sorted. Books are visited in increasing id order, so the first book to reach a hero is the
+            // least one.
+            int firstNewHero = tail;
+            for(int i = marvelGraph.getBooksStart(currentHero); i < marvelGraph.getBooksEnd(currentHero); i++)
+            {
+                int book = marvelGraph.getBookAt(i);
+                if(expandedBooks[book])
+                {
+                    continue;
+                }
+                expandedBooks[book] = true;
+                for(int j = marvelGraph.getHeroesStart(book); j < marvelGraph.getHeroesEnd(book); j++)
+                {
+                    int nextHero = marvelGraph.getHeroAt(j);
+                    if(parentBooks[nextHero] == -2)
+                    {
+                        parentBooks[nextHero] = book;
+                        parentHeroes[nextHero] = currentHero;
+                        nodesToVisit[tail++] = nextHero;
+                    }
+                }
+            }
+            Arrays.sort(nodesToVisit, firstNewHero, tail);
         }
         // The loop terminated and there is no path that exists from start to dest.
         return null;
     }
 
     /**
-     * An interactable terminal solution for MarvelPaths' functionality.
+     * Takes an immutable CSR snapshot of a Marvel graph with every hero's children pre-sorted the way
+     * findPath visits them, so searches over the snapshot never sort.
+     *
+     * @param marvelGraph the graph to take a snapshot of.
+     * @return a snapshot of marvelGraph whose children are sorted by an EdgeStringCompare.
+     * @throws IllegalArgumentException if marvelGraph is null.
+     */
+    public static CsrGraph<String, String> freezeGraph(Graph<String, String> marvelGraph)
+            throws IllegalArgumentException
+    {
+        if(marvelGraph == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        return marvelGraph.freeze(MarvelPaths.EDGE_ORDER);
+    }
+
+    /**
+     * Takes an immutable CSR snapshot of a compact Marvel graph with every hero's children pre-sorted the
+     * way findPath visits them. Searching the snapshot gives the same paths as loadGraph's graph would.
+     *
+     * @param marvelGraph the compact graph to take a snapshot of.
+     * @return a snapshot of marvelGraph whose children are sorted by an EdgeStringCompare.
+     * @throws IllegalArgumentException if marvelGraph is null.
+     * @see #loadCompactGraph(String)
+     */
+    public static CsrGraph<String, String> freezeGraph(CompactGraph<String, String> marvelGraph)
+            throws IllegalArgumentException
+    {
+        if(marvelGraph == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        return marvelGraph.freeze(MarvelPaths.EDGE_ORDER);
+    }
+
+    /**
+     * Writes a snapshot of a Marvel graph to a binary file that {@link #openGraph(Path)} can map. Loading
+     * the file back skips parsing the TSV and building the graph.
+     *
+     * @param marvelGraph the snapshot to write, usually one returned by freezeGraph.
+     * @param file the file to write the snapshot to.
+     * @throws IllegalArgumentException if marvelGraph or file is null.
+     * @throws IOException if the file can't be written.
+     */
+    public static void saveGraph(IndexedGraph<String, String> marvelGraph, Path file)
+            throws IllegalArgumentException, IOException
+    {
+        MappedGraph.write(marvelGraph, file, ValueCodec.UTF8, ValueCodec.UTF8);
+    }
+
+    /**
+     * Maps a Marvel graph snapshot written by saveGraph. If the snapshot was taken by freezeGraph, its
+     * children are already in the order findPath visits them, so searching it never sorts.
+     *
+     * @param file the snapshot file to map.
+     * @return a MappedGraph reading the snapshot in file.
+     * @throws IllegalArgumentException if file is null or isn't a graph snapshot.
+     * @throws IOException if the file can't be read.
+     */
+    public static MappedGraph<String, String> openGraph(Path file) throws IllegalArgumentException, IOException
+    {
+        return MappedGraph.open(file, ValueCodec.UTF8, ValueCodec.UTF8, MarvelPaths.EDGE_ORDER);
+    }
+
+    /**
+     * Sorts a range of edge indices the way findPath visits them.
+     *
+     * @param marvelGraph the snapshot holding the edges.
+     * @param start the first edge index in the range.
+     * @param end one past the last edge index in the range.
+     * @return the edge indices from start to end, ordered lexicographically by child and then label.
+     */
+    private static int[] sortEdges(IndexedGraph<String, String> marvelGraph, int start, int end)
+    {
+        Integer[] edges = new Integer[end - start];
+        for(int i = 0; i < edges.length; i++)
+        {
+            edges[i] = start + i;
+        }
+        Arrays.sort(edges, (e1, e2) -> MarvelPaths.compareEdges(marvelGraph, e1, e2));
+
+        int[] sortedEdges = new int[edges.length];
+        for(int i = 0; i < edges.length; i++)
+        {
+            sortedEdges[i] = edges[i];
+        }
+        return sortedEdges;
+    }
+
+    /**
+     * Compares two edges of a snapshot the way an EdgeStringCompare compares the Edges they stand for.
+     *
+     * @param marvelGraph the snapshot holding the edges.
+     * @param e1 the index of the first edge.
+     * @param e2 the index of the second edge.
+     * @return a negative int, zero, or a positive int as e1's child and then label come before, are the
+     * same as, or come after e2's.
+     */
+    private static int compareEdges(IndexedGraph<String, String> marvelGraph, int e1, int e2)
+    {
+        int result = marvelGraph.getNode(marvelGraph.getEdgeChild(e1))
+                .compareTo(marvelGraph.getNode(marvelGraph.getEdgeChild(e2)));
+        if(result == 0)
+        {
+            result = marvelGraph.getEdgeLabel(e1).compareTo(marvelGraph.getEdgeLabel(e2));
+        }
+        return result;
+    }
+
+    /**
+     * <b>HeroPair</b> is an <b>immutable</b> query for the path from one hero to another, used to ask
+     * {@link #findPaths(Graph, Collection)} for many paths at once.
+     */
+    public static final class HeroPair {
+
+        // Representation Invariant:
+        //  heroA != null && heroB != null
+
+        private final String heroA;
+        private final String heroB;
+
+        /**
+         * Constructs a query for the path from hero_a to hero_b.
+         *
+         * @param hero_a the hero the path starts at.
+         * @param hero_b the hero the path ends at.
+         * @throws IllegalArgumentException if hero_a or hero_b are null.
+         */
+        public HeroPair(String hero_a, String hero_b) throws IllegalArgumentException
+        {
+            if(hero_a == null || hero_b == null)
+            {
+                throw new IllegalArgumentException();
+            }
+            this.heroA = hero_a;
+            this.heroB = hero_b;
+        }
+
+        /**
+         * Returns the hero the path starts at.
+         *
+         * @return the first hero of this pair.
+         */
+        public String getHeroA()
+        {
+            return this.heroA;
+        }
+
+        /**
+         * Returns the hero the path ends at.
+         *
+         * @return the second hero of this pair.
+         */
+        public String getHeroB()
+        {
+            return this.heroB;
+        }
+
+        /**
+         * Returns a string representation of this pair.
+         *
+         * @return the two heroes of this pair, in order.
+         */
+        @Override
+        public String toString()
+        {
+            return "(" + this.heroA + ", " + this.heroB + ")";
+        }
+
+        /**
+         * Standard equality operation.
+         *
+         * @param obj the object to be compared for equality
+         * @return true if and only if 'obj' is a HeroPair with the same two heroes in the same order.
+         */
+        @Override
+        public boolean equals(Object obj)
+        {
+            if(!(obj instanceof HeroPair))
+            {
+                return false;
+            }
+            HeroPair other = (HeroPair) obj;
+            return this.heroA.equals(other.heroA) && this.heroB.equals(other.heroB);
+        }
+
+        /**
+         * Standard hashCode function.
+         *
+         * @return an int that all objects equal to this will also return
+         */
+        @Override
+        public int hashCode()
+        {
+            return 31 * this.heroA.hashCode() + this.heroB.hashCode();
+        }
+    }
+
+    /**
+     * Searches a range of findPaths' source groups, split in halves until every task has one group, so the
+     * pool can balance searches of very different sizes.
+     */
+    private static final class SearchAction extends RecursiveAction {
+        private final IndexedGraph<String, String> marvelGraph;
+        private final long[] searches;
+        private final int[] groupStarts;
+        private final int startGroup;
+        private final int endGroup;
+        private final int[] goals;
+        private final List<List<Graph.Edge<String, String>>> paths;
+
+        private SearchAction(IndexedGraph<String, String> marvelGraph, long[] searches, int[] groupStarts,
+                             int startGroup, int endGroup, int[] goals,
+                             List<List<Graph.Edge<String, String>>> paths)
+        {
+            this.marvelGraph = marvelGraph;
+            this.searches = searches;
+            this.groupStarts = groupStarts;
+            this.startGroup = startGroup;
+            this.endGroup = endGroup;
+            this.goals = goals;
+            this.paths = paths;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(this.endGroup - this.startGroup > 1)
+            {
+                int middle = (this.startGroup + this.endGroup) >>> 1;
+                invokeAll(new SearchAction(this.marvelGraph, this.searches, this.groupStarts, this.startGroup,
+                                middle, this.goals, this.paths),
+                        new SearchAction(this.marvelGraph, this.searches, this.groupStarts, middle, this.endGroup,
+                                this.goals, this.paths));
+                return;
+            }
+            if(this.endGroup == this.startGroup)
+            {
+                return;
+            }
+
+            int start = this.groupStarts[this.startGroup];
+            int end = this.groupStarts[this.startGroup + 1];
+            int source = (int) (this.searches[start] >>> 32);
+            // A lone query can stop as soon as its destination is found.
+            int goal = end - start == 1 ? this.goals[(int) this.searches[start]] : -1;
+            int[] parentEdges = new int[this.marvelGraph.getNumOfNodes()];
+            int[] parentNodes = new int[this.marvelGraph.getNumOfNodes()];
+            MarvelPaths.searchTree(this.marvelGraph, source, goal, parentEdges, parentNodes);
+            for(int i = start; i < end; i++)
+            {
+                // Every query has its own index, and invoke() makes the writes visible to findPaths.
+                int query = (int) this.searches[i];
+                this.paths.set(query, MarvelPaths.buildPath(this.marvelGraph, parentEdges, parentNodes,
+                        this.goals[query]));
+            }
+        }
+    }
+
+    /**
+     * Collects the rows of one chunk of a file for loadGraph(String, ForkJoinPool): the heroes in the chunk
+     * and the heroes of each of its books, both in the order they first appear in.
+     */
+    private static final class BookCollector implements BiConsumer<String, String> {
+        private final StringDictionary dictionary = new StringDictionary();
+        private final Set<String> heroes = new LinkedHashSet<String>();
+        private final Map<String, List<String>> books = new LinkedHashMap<String, List<String>>();
+
+        @Override
+        public void accept(String heroName, String bookTitle)
+        {
+            String hero = this.dictionary.intern(heroName);
+            this.heroes.add(hero);
+            this.books.computeIfAbsent(this.dictionary.intern(bookTitle), k -> new ArrayList<String>()).add(hero);
+        }
+    }
+
+    /**
+     * Adds the edges of a range of parts of the books for loadGraph(String, ForkJoinPool), split in halves
+     * until every task adds one part. Each part goes to a GraphBuilder of its own, with no nodes.
+     */
+    private static final class EmitAction extends RecursiveAction {
+        private final List<Map.Entry<String, List<String>>> books;
+        private final List<GraphBuilder<String, String>> parts; // part -> the builder its edges were added to.
+        private final int startPart;
+        private final int endPart;
+
+        private EmitAction(List<Map.Entry<String, List<String>>> books, List<GraphBuilder<String, String>> parts,
+                           int startPart, int endPart)
+        {
+            this.books = books;
+            this.parts = parts;
+            this.startPart = startPart;
+            this.endPart = endPart;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(this.endPart - this.startPart > 1)
+            {
+                int middle = (this.startPart + this.endPart) >>> 1;
+                invokeAll(new EmitAction(this.books, this.parts, this.startPart, middle),
+                        new EmitAction(this.books, this.parts, middle, this.endPart));
+                return;
+            }
+
+            // Part p holds the books from p / parts.size() to (p + 1) / parts.size() of the way through.
+            int start = (int) ((long) this.books.size() * this.startPart / this.parts.size());
+            int end = (int) ((long) this.books.size() * this.endPart / this.parts.size());
+            long expectedEdges = 0;
+            for(int book = start; book < end; book++)
+            {
+                int size = this.books.get(book).getValue().size();
+                expectedEdges += (long) size * (size - 1);
+            }
+            GraphBuilder<String, String> part = new GraphBuilder<String, String>(0,
+                    (int) Math.min(expectedEdges, Integer.MAX_VALUE - 8));
+            for(int book = start; book < end; book++)
+            {
+                MarvelPaths.addBookEdges(part, this.books.get(book).getKey(), this.books.get(book).getValue());
+            }
+            this.parts.set(this.startPart, part);
+        }
+    }
+
+    /**
+     * The collections one thread's findPath searches reuse. Clearing a collection keeps the space it has
+     * grown to, so after the first few searches on a thread, searching allocates little more than the
+     * path it returns.
+     */
+    private static final class SearchContext
+    {
+        private final Map<String, Graph.Edge<String, String>> parentEdges =
+                new HashMap<String, Graph.Edge<String, String>>();
+        private final ArrayDeque<String> nodesToVisit = new ArrayDeque<String>();
+        private final List<Graph.Edge<String, String>> children = new ArrayList<Graph.Edge<String, String>>();
+
+        /**
+         * Empties every collection of this context.
+         */
+        private void clear()
+        {
+            this.parentEdges.clear();
+            this.nodesToVisit.clear();
+            this.children.clear();
+        }
+    }
+
+    /**
+     * An interactable terminal solution for MarvelPaths' functionality. The file searched is either the
+     * name of a TSV file in the data folder, or the path of a snapshot file (ending in
+     * {@value #SNAPSHOT_SUFFIX}) written by saveGraph.
      *
       * @param args arguments passed.
      */
@@ -140,7 +1287,22 @@ public final class MarvelPaths {
         String node_b = scan.nextLine();
 
         System.out.println("path from " + node_a + " to " + node_b + ":");
-        Graph<String, String> graph = MarvelPaths.loadGraph(filename);
+        // Snapshots written by saveGraph are mapped instead of parsed, which makes startup much faster.
+        IndexedGraph<String, String> graph;
+        if(filename.endsWith(MarvelPaths.SNAPSHOT_SUFFIX))
+        {
+            try
+            {
+                graph = MarvelPaths.openGraph(Paths.get(filename));
+            } catch(IOException e)
+            {
+                System.out.println("could not read " + filename + ": " + e.getMessage());
+                return;
+            }
+        } else
+        {
+            graph = MarvelPaths.freezeGraph(MarvelPaths.loadGraph(filename));
+        }
         if(!graph.containsNode(node_a)) // If node_a DNE within the graph
         {
             System.out.println("unknown node: " + node_a);
@@ -152,6 +1314,7 @@ public final class MarvelPaths {
 
         if(graph.containsNode(node_a) && graph.containsNode(node_b))
         {
+            // findPathBidirectional needs every edge both ways, which a snapshot file may not have.
             List<Graph.Edge<String, String>> path = MarvelPaths.findPath(graph, node_a, node_b);
             if(path != null) // If there is a path
             {
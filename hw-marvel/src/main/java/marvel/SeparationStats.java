@@ -0,0 +1,371 @@
+package marvel;
+
+import graph.IndexedGraph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <b>SeparationStats</b> is an <b>immutable</b> record of the degrees of separation between every pair of
+ * heroes in a Marvel graph: how many pairs of heroes are each number of hops apart, and for every hero,
+ * the furthest any other hero is from it (its eccentricity) and how far the others are on average.
+ *
+ * <p> Distances are the lengths of the paths {@link MarvelPaths#findPath(IndexedGraph, String, String)}
+ * finds, but they are computed without running one search per hero. A <b>multi-source BFS</b> runs the
+ * searches from 64 heroes at once: every hero holds a long whose bit i says whether search i has reached
+ * it, so pushing a frontier along an edge is a single OR for all 64 searches, and the heroes all 64
+ * searches share (most of them, in a small world like Marvel's) are walked once per level instead of 64
+ * times. The batches of 64 sources are independent and run in parallel on a {@link ForkJoinPool}.
+ *
+ * <p> Only heroes a hero can reach count towards its eccentricity and average distance, and a pair of
+ * heroes with no path between them is in no bucket of the histogram.
+ */
+public final class SeparationStats {
+
+    // Abstraction Function:
+    //  the number of ordered pairs of different heroes (a, b) where b is d hops from a => histogram[d]
+    //      (0 if d >= histogram.length)
+    //  for the hero with id h in graph:
+    //      the number of other heroes it can reach => reached[h]
+    //      the sum of the distances to them => distanceSums[h]
+    //      the greatest of those distances => eccentricities[h]
+
+    // Representation Invariant:
+    //  graph, histogram, reached, distanceSums, eccentricities != null
+    //  reached, distanceSums and eccentricities all have length graph.getNumOfNodes()
+    //  histogram[0] == 0 and histogram sums to the sum of reached
+    //  for every h: 0 <= eccentricities[h] < histogram.length, and
+    //      reached[h] <= distanceSums[h] <= reached[h] * eccentricities[h]
+
+    /**
+     * How many searches run together in one batch: one per bit of a long.
+     */
+    private static final int LANES = Long.SIZE;
+
+    private final IndexedGraph<String, ?> graph;
+    private final long[] histogram;
+    private final int[] reached;
+    private final long[] distanceSums;
+    private final int[] eccentricities;
+
+    private SeparationStats(IndexedGraph<String, ?> graph, long[] histogram, int[] reached, long[] distanceSums,
+                            int[] eccentricities)
+    {
+        this.graph = graph;
+        this.histogram = histogram;
+        this.reached = reached;
+        this.distanceSums = distanceSums;
+        this.eccentricities = eccentricities;
+        this.checkRep();
+    }
+
+    /**
+     * Computes the degrees of separation of a snapshot of a Marvel graph on the common ForkJoinPool, which
+     * has one thread per core.
+     *
+     * @param marvelGraph the snapshot to compute the degrees of separation of.
+     * @return the degrees of separation between every pair of heroes in marvelGraph.
+     * @throws IllegalArgumentException if marvelGraph is null.
+     */
+    public static SeparationStats of(IndexedGraph<String, ?> marvelGraph) throws IllegalArgumentException
+    {
+        return SeparationStats.of(marvelGraph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the degrees of separation of a snapshot of a Marvel graph on pool.
+     *
+     * @param marvelGraph the snapshot to compute the degrees of separation of.
+     * @param pool the pool to run the searches on.
+     * @return the degrees of separation between every pair of heroes in marvelGraph.
+     * @throws IllegalArgumentException if marvelGraph or pool are null.
+     */
+    public static SeparationStats of(IndexedGraph<String, ?> marvelGraph, ForkJoinPool pool)
+            throws IllegalArgumentException
+    {
+        if(marvelGraph == null || pool == null)
+        {
+            throw new IllegalArgumentException();
+        }
+
+        // Each book links its heroes by one edge per book, so the children are collapsed to distinct heroes
+        // first: the searches only care which heroes are one hop away, not how many books say so.
+        int numOfNodes = marvelGraph.getNumOfNodes();
+        int[] offsets = new int[numOfNodes + 1];
+        int[] children = new int[16];
+        int[] lastParent = new int[numOfNodes];
+        Arrays.fill(lastParent, -1);
+        int numOfChildren = 0;
+        for(int node = 0; node < numOfNodes; node++)
+        {
+            offsets[node] = numOfChildren;
+            int end = marvelGraph.getEdgesEnd(node);
+            for(int edge = marvelGraph.getEdgesStart(node); edge < end; edge++)
+            {
+                int child = marvelGraph.getEdgeChild(edge);
+                if(lastParent[child] != node)
+                {
+                    lastParent[child] = node;
+                    if(numOfChildren == children.length)
+                    {
+                        children = Arrays.copyOf(children, children.length * 2);
+                    }
+                    children[numOfChildren++] = child;
+                }
+            }
+        }
+        offsets[numOfNodes] = numOfChildren;
+
+        int[] reached = new int[numOfNodes];
+        long[] distanceSums = new long[numOfNodes];
+        int[] eccentricities = new int[numOfNodes];
+        int numOfBatches = (numOfNodes + LANES - 1) / LANES;
+        long[] histogram = pool.invoke(new BatchTask(offsets, children, 0, numOfBatches, reached, distanceSums,
+                eccentricities));
+
+        int length = histogram.length;
+        while(length > 1 && histogram[length - 1] == 0)
+        {
+            length--;
+        }
+        return new SeparationStats(marvelGraph, Arrays.copyOf(histogram, length), reached, distanceSums,
+                eccentricities);
+    }
+
+    /**
+     * Returns how many pairs of heroes are each number of hops apart.
+     *
+     * @return a map from every distance d >= 1 that separates at least one pair of heroes to the number of
+     * ordered pairs (a, b) of heroes where the shortest path from a to b has d edges.
+     */
+    public SortedMap<Integer, Long> getDistanceHistogram()
+    {
+        SortedMap<Integer, Long> counts = new TreeMap<Integer, Long>();
+        for(int distance = 1; distance < this.histogram.length; distance++)
+        {
+            if(this.histogram[distance] != 0)
+            {
+                counts.put(distance, this.histogram[distance]);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the number of ordered pairs of different heroes with a path between them.
+     *
+     * @return the number of ordered pairs (a, b) of heroes with a != b and a path from a to b.
+     */
+    public long getNumOfConnectedPairs()
+    {
+        long pairs = 0;
+        for(long count : this.histogram)
+        {
+            pairs += count;
+        }
+        return pairs;
+    }
+
+    /**
+     * Returns the largest distance between two heroes with a path between them.
+     *
+     * @return the largest eccentricity of any hero, or 0 if no hero has a path to another.
+     */
+    public int getDiameter()
+    {
+        return this.histogram.length - 1;
+    }
+
+    /**
+     * Returns the average distance between two heroes with a path between them.
+     *
+     * @return the average length of the shortest paths between every ordered pair of different heroes with
+     * a path between them, or 0 if there are no such pairs.
+     */
+    public double getAverageDistance()
+    {
+        long pairs = 0;
+        long sum = 0;
+        for(int distance = 1; distance < this.histogram.length; distance++)
+        {
+            pairs += this.histogram[distance];
+            sum += distance * this.histogram[distance];
+        }
+        return pairs == 0 ? 0 : (double) sum / pairs;
+    }
+
+    /**
+     * Returns how far the hero furthest from hero is.
+     *
+     * @param hero the hero to find the eccentricity of.
+     * @return the length of the longest of the shortest paths from hero to every hero it can reach, or 0 if
+     * it can reach no other hero.
+     * @throws IllegalArgumentException if hero is null or not in the graph.
+     */
+    public int getEccentricity(String hero) throws IllegalArgumentException
+    {
+        return this.eccentricities[this.idOf(hero)];
+    }
+
+    /**
+     * Returns how far the heroes hero can reach are, on average.
+     *
+     * @param hero the hero to find the average distance from.
+     * @return the average length of the shortest paths from hero to every other hero it can reach, or 0 if
+     * it can reach no other hero.
+     * @throws IllegalArgumentException if hero is null or not in the graph.
+     */
+    public double getAverageDistance(String hero) throws IllegalArgumentException
+    {
+        int id = this.idOf(hero);
+        return this.reached[id] == 0 ? 0 : (double) this.distanceSums[id] / this.reached[id];
+    }
+
+    /**
+     * Returns how many other heroes hero can reach.
+     *
+     * @param hero the hero to count the reachable heroes of.
+     * @return the number of heroes other than hero with a path from hero to them.
+     * @throws IllegalArgumentException if hero is null or not in the graph.
+     */
+    public int getNumOfReachable(String hero) throws IllegalArgumentException
+    {
+        return this.reached[this.idOf(hero)];
+    }
+
+    /**
+     * Returns the id of hero in the graph.
+     */
+    private int idOf(String hero) throws IllegalArgumentException
+    {
+        if(hero == null)
+        {
+            throw new IllegalArgumentException();
+        }
+        int id = this.graph.getNodeId(hero);
+        if(id == -1)
+        {
+            throw new IllegalArgumentException();
+        }
+        return id;
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep()
+    {
+        assert (this.graph != null && this.histogram != null);
+        assert (this.reached.length == this.graph.getNumOfNodes());
+        assert (this.distanceSums.length == this.reached.length && this.eccentricities.length == this.reached.length);
+        assert (this.histogram[0] == 0);
+    }
+
+    /**
+     * Runs the multi-source searches of a range of batches, split in halves until every task has one batch.
+     * Every batch writes the per-hero results of its own 64 sources, and returns its part of the histogram.
+     */
+    private static final class BatchTask extends RecursiveTask<long[]> {
+        private final int[] offsets;
+        private final int[] children;
+        private final int startBatch;
+        private final int endBatch;
+        private final int[] reached;
+        private final long[] distanceSums;
+        private final int[] eccentricities;
+
+        private BatchTask(int[] offsets, int[] children, int startBatch, int endBatch, int[] reached,
+                          long[] distanceSums, int[] eccentricities)
+        {
+            this.offsets = offsets;
+            this.children = children;
+            this.startBatch = startBatch;
+            this.endBatch = endBatch;
+            this.reached = reached;
+            this.distanceSums = distanceSums;
+            this.eccentricities = eccentricities;
+        }
+
+        @Override
+        protected long[] compute()
+        {
+            if(this.endBatch - this.startBatch > 1)
+            {
+                int middle = (this.startBatch + this.endBatch) >>> 1;
+                BatchTask right = new BatchTask(this.offsets, this.children, middle, this.endBatch, this.reached,
+                        this.distanceSums, this.eccentricities);
+                right.fork();
+                long[] counts = new BatchTask(this.offsets, this.children, this.startBatch, middle, this.reached,
+                        this.distanceSums, this.eccentricities).compute();
+                long[] rightCounts = right.join();
+                for(int distance = 0; distance < counts.length; distance++)
+                {
+                    counts[distance] += rightCounts[distance];
+                }
+                return counts;
+            }
+
+            int numOfNodes = this.offsets.length - 1;
+            long[] counts = new long[Math.max(numOfNodes, 1)];
+            if(this.endBatch == this.startBatch)
+            {
+                return counts;
+            }
+
+            // seen[v] has bit i set once search i has reached v, and frontier[v] once it reached v on the
+            // level just finished.
+            int firstSource = this.startBatch * LANES;
+            int numOfSources = Math.min(LANES, numOfNodes - firstSource);
+            long[] seen = new long[numOfNodes];
+            long[] frontier = new long[numOfNodes];
+            long[] next = new long[numOfNodes];
+            for(int lane = 0; lane < numOfSources; lane++)
+            {
+                seen[firstSource + lane] = 1L << lane;
+                frontier[firstSource + lane] = 1L << lane;
+            }
+
+            boolean expanded = true;
+            for(int distance = 1; expanded; distance++)
+            {
+                for(int node = 0; node < numOfNodes; node++)
+                {
+                    long lanes = frontier[node];
+                    if(lanes != 0)
+                    {
+                        int end = this.offsets[node + 1];
+                        for(int edge = this.offsets[node]; edge < end; edge++)
+                        {
+                            next[this.children[edge]] |= lanes;
+                        }
+                    }
+                }
+
+                expanded = false;
+                for(int node = 0; node < numOfNodes; node++)
+                {
+                    long lanes = next[node] & ~seen[node];
+                    next[node] = 0;
+                    frontier[node] = lanes;
+                    if(lanes == 0)
+                    {
+                        continue;
+                    }
+                    expanded = true;
+                    seen[node] |= lanes;
+                    counts[distance] += Long.bitCount(lanes);
+                    // Levels only grow, so the latest level to reach a node is the search's furthest yet.
+                    for(; lanes != 0; lanes &= lanes - 1)
+                    {
+                        int source = firstSource + Long.numberOfTrailingZeros(lanes);
+                        this.reached[source]++;
+                        this.distanceSums[source] += distance;
+                        this.eccentricities[source] = distance;
+                    }
+                }
+            }
+            return counts;
+        }
+    }
+}
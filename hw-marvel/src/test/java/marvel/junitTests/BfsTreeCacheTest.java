@@ -0,0 +1,200 @@
+package marvel.junitTests;
+
+import graph.CsrGraph;
+import graph.Graph;
+import marvel.BfsTreeCache;
+import marvel.MarvelPaths;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * BfsTreeCache class.
+ *
+ */
+public final class BfsTreeCacheTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    private final String EXPECTED_TRUE = "failure - expected true but was false";
+    private final String EXPECTED_FALSE = "failure - expected false but was true";
+
+    Graph<String, String> testDataGraph;
+    BfsTreeCache cache;
+
+    @Before
+    public void setUp()
+    {
+        testDataGraph = MarvelPaths.loadGraph("testData.tsv");
+        cache = new BfsTreeCache(testDataGraph, 2);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Paths
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testMatchesFindPath()
+    {
+        List<String> heroes = testDataGraph.getAllNodes();
+        BfsTreeCache bigCache = new BfsTreeCache(testDataGraph, heroes.size());
+        for(int round = 0; round < 2; round++)
+        {
+            for(String hero_a : heroes)
+            {
+                for(String hero_b : heroes)
+                {
+                    assertEquals(MarvelPaths.findPath(testDataGraph, hero_a, hero_b),
+                            bigCache.findPath(hero_a, hero_b));
+                    // A cache too small for every source gives the same answers.
+                    assertEquals(MarvelPaths.findPath(testDataGraph, hero_a, hero_b),
+                            cache.findPath(hero_a, hero_b));
+                }
+            }
+        }
+        assertTrue(EXPECTED_TRUE, bigCache.getHits() > bigCache.getMisses());
+    }
+
+    @Test
+    public void testSameHeroAndNoPathNeedNoTree()
+    {
+        assertTrue(EXPECTED_TRUE, cache.findPath("n1", "n1").isEmpty());
+        assertNull(cache.findPath("n1", "n12"));
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testMatchesFindPathOnMarvel()
+    {
+        Graph<String, String> marvelGraph = MarvelPaths.loadGraph("marvel.tsv");
+        CsrGraph<String, String> frozenGraph = MarvelPaths.freezeGraph(marvelGraph);
+        List<String> heroes = marvelGraph.getAllNodes();
+        BfsTreeCache marvelCache = new BfsTreeCache(marvelGraph, 4);
+        Random random = new Random(21);
+        List<String> sources = new ArrayList<String>();
+        for(int i = 0; i < 4; i++)
+        {
+            sources.add(heroes.get(random.nextInt(heroes.size())));
+        }
+
+        // Only queries between two different, connected heroes need a tree.
+        Set<String> searchedSources = new HashSet<String>();
+        int searches = 0;
+        for(int i = 0; i < 200; i++)
+        {
+            String hero_a = sources.get(i % sources.size());
+            String hero_b = heroes.get(random.nextInt(heroes.size()));
+            List<Graph.Edge<String, String>> expected = MarvelPaths.findPath(frozenGraph, hero_a, hero_b);
+            assertEquals(expected, marvelCache.findPath(hero_a, hero_b));
+            if(expected != null && !expected.isEmpty())
+            {
+                searchedSources.add(hero_a);
+                searches++;
+            }
+        }
+        // Every source fits, so each one's tree is built once and answers the rest of its queries.
+        assertEquals(searchedSources.size(), marvelCache.getMisses());
+        assertEquals(searches - searchedSources.size(), marvelCache.getHits());
+        assertEquals(0, marvelCache.getEvictions());
+        assertEquals(searchedSources.size(), marvelCache.getSize());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Counters and eviction
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testHitsAndMisses()
+    {
+        cache.findPath("n1", "n5");
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getSize());
+
+        // Any destination is answered by the same tree.
+        cache.findPath("n1", "n11");
+        cache.findPath("n1", "n2");
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted()
+    {
+        cache.findPath("n1", "n5");
+        cache.findPath("n2", "n5");
+        cache.findPath("n1", "n5"); // n2's tree is now the least recently used.
+        cache.findPath("n3", "n5");
+        assertEquals(2, cache.getSize());
+        assertEquals(2, cache.getCapacity());
+        assertEquals(1, cache.getEvictions());
+
+        cache.findPath("n1", "n5");
+        assertEquals(2, cache.getHits());
+        cache.findPath("n2", "n5");
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    public void testChangingTheGraphEvictsEveryTree()
+    {
+        List<Graph.Edge<String, String>> oldPath = cache.findPath("n12", "n13");
+        cache.findPath("n1", "n5");
+        assertEquals(2, cache.getSize());
+        assertNull(cache.findPath("n12", "n1"));
+
+        testDataGraph.addEdge("bridge", "n12", "n1");
+        testDataGraph.addEdge("bridge", "n1", "n12");
+        List<Graph.Edge<String, String>> path = new ArrayList<Graph.Edge<String, String>>();
+        path.add(new Graph.Edge<String, String>("bridge", "n12", "n1"));
+        assertEquals(path, cache.findPath("n12", "n1"));
+        assertEquals(oldPath, cache.findPath("n12", "n13"));
+        assertEquals(2, cache.getEvictions());
+        assertEquals(1, cache.getHits()); // n12's new tree answers both.
+        assertEquals(1, cache.getSize());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Test For Proper Exceptions
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullGraphThrowsException()
+    {
+        new BfsTreeCache(null, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroCapacityThrowsException()
+    {
+        new BfsTreeCache(testDataGraph, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingHeroThrowsException()
+    {
+        cache.findPath("n1", "DNE");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullHeroThrowsException()
+    {
+        cache.findPath(null, "n1");
+    }
+}
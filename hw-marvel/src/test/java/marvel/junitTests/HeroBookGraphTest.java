@@ -0,0 +1,121 @@
+package marvel.junitTests;
+
+import graph.Graph;
+import marvel.HeroBookGraph;
+import marvel.MarvelPaths;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * HeroBookGraph class.
+ *
+ */
+public final class HeroBookGraphTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    private final String EXPECTED_TRUE = "failure - expected true but was false";
+    private final String EXPECTED_FALSE = "failure - expected false but was true";
+
+    HeroBookGraph graph;
+
+    @Before
+    public void setUp()
+    {
+        graph = MarvelPaths.loadHeroBookGraph("testData.tsv");
+    }
+
+    @Test
+    public void testContainsHero()
+    {
+        assertTrue(EXPECTED_TRUE, graph.containsHero("n1"));
+        assertFalse(EXPECTED_FALSE, graph.containsHero("e1"));
+        assertFalse(EXPECTED_FALSE, graph.containsHero("DNE"));
+    }
+
+    @Test
+    public void testBooksAndHeroesAreSorted()
+    {
+        assertEquals(List.of("e3", "e6", "e7", "e8"), graph.getBooks("n5"));
+        assertEquals(List.of("n1", "n2"), graph.getHeroes("e1"));
+        assertNull(graph.getBooks("DNE"));
+        assertNull(graph.getHeroes("DNE"));
+    }
+
+    @Test
+    public void testIdsFollowNameOrder()
+    {
+        for(int hero = 1; hero < graph.getNumOfHeroes(); hero++)
+        {
+            assertTrue(EXPECTED_TRUE, graph.getHero(hero - 1).compareTo(graph.getHero(hero)) < 0);
+        }
+        for(int book = 1; book < graph.getNumOfBooks(); book++)
+        {
+            assertTrue(EXPECTED_TRUE, graph.getBook(book - 1).compareTo(graph.getBook(book)) < 0);
+        }
+        assertEquals(-1, graph.getHeroId("DNE"));
+    }
+
+    @Test
+    public void testIncidenceListsAgree()
+    {
+        int appearances = 0;
+        for(int hero = 0; hero < graph.getNumOfHeroes(); hero++)
+        {
+            for(int i = graph.getBooksStart(hero); i < graph.getBooksEnd(hero); i++)
+            {
+                int book = graph.getBookAt(i);
+                assertTrue(EXPECTED_TRUE, graph.getHeroes(graph.getBook(book)).contains(graph.getHero(hero)));
+                appearances++;
+            }
+        }
+        assertEquals(graph.getNumOfAppearances(), appearances);
+    }
+
+    @Test
+    public void testComponents()
+    {
+        // n1 to n11 share books, and n12 and n13 only share the untitled book with each other.
+        assertEquals(2, graph.getNumOfComponents());
+        assertTrue(EXPECTED_TRUE, graph.isConnected("n1", "n7"));
+        assertTrue(EXPECTED_TRUE, graph.isConnected("n12", "n13"));
+        assertFalse(EXPECTED_FALSE, graph.isConnected("n1", "n12"));
+        assertFalse(EXPECTED_FALSE, graph.isConnected("n11", "n13"));
+        assertFalse(EXPECTED_FALSE, graph.isConnected("n1", "DNE"));
+        assertEquals(graph.getComponentId(graph.getHeroId("n1")), graph.getComponentId(graph.getHeroId("n11")));
+        assertNotEquals(graph.getComponentId(graph.getHeroId("n1")), graph.getComponentId(graph.getHeroId("n13")));
+    }
+
+    @Test
+    public void testComponentsMatchLoadedGraph()
+    {
+        Graph<String, String> loaded = MarvelPaths.loadGraph("testData.tsv");
+        for(String a : loaded.getAllNodes())
+        {
+            for(String b : loaded.getAllNodes())
+            {
+                assertEquals(loaded.isConnected(a, b), graph.isConnected(a, b));
+            }
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidComponentIdThrowsException()
+    {
+        graph.getComponentId(graph.getNumOfHeroes());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidHeroIdThrowsException()
+    {
+        graph.getBooksStart(graph.getNumOfHeroes());
+    }
+}
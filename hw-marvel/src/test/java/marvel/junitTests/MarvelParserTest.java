@@ -0,0 +1,260 @@
+package marvel.junitTests;
+
+import marvel.HeroModel;
+import marvel.MarvelParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * MarvelParser class.
+ *
+ */
+public final class MarvelParserTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    private final String EXPECTED_TRUE = "failure - expected true but was false";
+    private final String EXPECTED_FALSE = "failure - expected false but was true";
+
+    /**
+     * Returns every (hero, book) row of text, each as a two-element list.
+     */
+    private static List<List<String>> rowsOf(String text)
+    {
+        List<List<String>> rows = new ArrayList<List<String>>();
+        MarvelParser.parseRows(CharBuffer.wrap(text), (hero, book) -> rows.add(Arrays.asList(hero, book)));
+        return rows;
+    }
+
+    /**
+     * Returns every (hero, book) row of a data file, read with OpenCSV.
+     */
+    private static List<List<String>> beanRowsOf(String filename)
+    {
+        List<List<String>> rows = new ArrayList<List<String>>();
+        Iterator<HeroModel> heroModels = MarvelParser.parseData(filename);
+        while(heroModels.hasNext())
+        {
+            HeroModel heroModel = heroModels.next();
+            rows.add(Arrays.asList(heroModel.getHero(), heroModel.getBook()));
+        }
+        return rows;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Same rows as OpenCSV
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testMatchesOpenCsvOnEveryDataFile()
+    {
+        // testDataWithQuotes.tsv and testDataWithEscapes.tsv are the only files with quotes, escapes and white
+        // space before quotes, where the two parsers could differ.
+        String[] files = {"marvel.tsv", "staffSuperheroes.tsv", "staffSuperheroesWithDuplicates.tsv", "testData.tsv",
+                "testDataWithEmptyStringedEdges.tsv", "testDataWithEmptyStringedNode.tsv", "testDataWithQuotes.tsv",
+                "testDataWithEscapes.tsv"};
+        for(String file : files)
+        {
+            List<List<String>> rows = new ArrayList<List<String>>();
+            MarvelParser.parseData(file, (hero, book) -> rows.add(Arrays.asList(hero, book)));
+            assertEquals(file, beanRowsOf(file), rows);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Reading in chunks
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Collects the rows of one chunk.
+     */
+    private static final class RowCollector implements BiConsumer<String, String> {
+        private final List<List<String>> rows = new ArrayList<List<String>>();
+
+        @Override
+        public void accept(String hero, String book)
+        {
+            this.rows.add(Arrays.asList(hero, book));
+        }
+    }
+
+    /**
+     * Returns every (hero, book) row of a data file read in at most numOfChunks chunks, in order.
+     */
+    private static List<List<String>> chunkedRowsOf(String filename, int numOfChunks, ForkJoinPool pool)
+    {
+        List<RowCollector> chunks = MarvelParser.parseData(filename, numOfChunks, RowCollector::new, pool);
+        assertTrue(chunks.size() >= 1 && chunks.size() <= numOfChunks);
+        List<List<String>> rows = new ArrayList<List<String>>();
+        for(RowCollector chunk : chunks)
+        {
+            rows.addAll(chunk.rows);
+        }
+        return rows;
+    }
+
+    @Test
+    public void testChunksMatchParseDataOnEveryDataFile()
+    {
+        String[] files = {"marvel.tsv", "staffSuperheroes.tsv", "staffSuperheroesWithDuplicates.tsv", "testData.tsv",
+                "testDataWithEmptyStringedEdges.tsv", "testDataWithEmptyStringedNode.tsv", "testDataWithQuotes.tsv",
+                "testDataWithEscapes.tsv"};
+        ForkJoinPool pool = new ForkJoinPool(3);
+        for(String file : files)
+        {
+            List<List<String>> rows = new ArrayList<List<String>>();
+            MarvelParser.parseData(file, (hero, book) -> rows.add(Arrays.asList(hero, book)));
+            for(int numOfChunks : new int[]{1, 2, 7, 64})
+            {
+                assertEquals(file + " in " + numOfChunks, rows, chunkedRowsOf(file, numOfChunks, pool));
+            }
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void testMarvelIsReadInManyChunks()
+    {
+        List<RowCollector> chunks = MarvelParser.parseData("marvel.tsv", 16, RowCollector::new,
+                ForkJoinPool.commonPool());
+        assertEquals(16, chunks.size());
+        for(RowCollector chunk : chunks)
+        {
+            assertFalse(EXPECTED_FALSE, chunk.rows.isEmpty());
+        }
+    }
+
+    @Test
+    public void testQuotedFileIsReadInOneChunk()
+    {
+        // Cutting it at the line feed inside the quoted hero would break the row in two.
+        List<RowCollector> chunks = MarvelParser.parseData("testDataWithQuotes.tsv", 4, RowCollector::new,
+                ForkJoinPool.commonPool());
+        assertEquals(1, chunks.size());
+        assertEquals(Arrays.asList("n2\nstill n2", "e1"), chunks.get(0).rows.get(1));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Splitting rows
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testFieldsAreKeptAsTheyAre()
+    {
+        assertEquals(List.of(Arrays.asList(" A ", "  B"), Arrays.asList("", ""), Arrays.asList("C", "")),
+                rowsOf("hero\tbook\n A \t  B\n\t\nC\t"));
+    }
+
+    @Test
+    public void testLineEndings()
+    {
+        assertEquals(List.of(Arrays.asList("A", "1"), Arrays.asList("B", "2"), Arrays.asList("C", "3")),
+                rowsOf("hero\tbook\r\nA\t1\rB\t2\nC\t3\n"));
+        assertTrue(EXPECTED_TRUE, rowsOf("hero\tbook\r\n").isEmpty());
+        assertTrue(EXPECTED_TRUE, rowsOf("").isEmpty());
+    }
+
+    @Test
+    public void testHeaderNamesColumns()
+    {
+        assertEquals(List.of(Arrays.asList("A", "1")), rowsOf("BOOK\tpages\tHero\n1\t20\tA"));
+        assertEquals(List.of(Arrays.asList("A", null)), rowsOf("hero\tissue\nA\t1"));
+    }
+
+    @Test
+    public void testQuotedFields()
+    {
+        assertEquals(List.of(Arrays.asList("A\tB", "C")), rowsOf("hero\tbook\n\"A\tB\"\tC"));
+        assertEquals(List.of(Arrays.asList("X\nY", "Z"), Arrays.asList("N", "M")),
+                rowsOf("hero\tbook\n\"X\r\nY\"\tZ\nN\tM"));
+        assertEquals(List.of(Arrays.asList("a\"b", "c")), rowsOf("hero\tbook\n\"a\"\"b\"\tc"));
+    }
+
+    @Test
+    public void testEscapes()
+    {
+        // A backslash only escapes a quote or another backslash, and is dropped otherwise.
+        assertEquals(List.of(Arrays.asList("A\"B", "C\\D"), Arrays.asList("EF", "G")),
+                rowsOf("hero\tbook\nA\\\"B\tC\\\\D\nE\\F\tG"));
+    }
+
+    @Test
+    public void testWhiteSpaceBeforeQuote()
+    {
+        assertEquals(List.of(Arrays.asList("HERO", "Q")), rowsOf("hero\tbook\nHERO\t  \"Q\""));
+        // OpenCSV only looks for white space before quotes past the first few characters of a line.
+        assertEquals(List.of(Arrays.asList("  Q", "B")), rowsOf("hero\tbook\n  \"Q\"\tB"));
+    }
+
+    @Test
+    public void testRowsAreHandedOutInOrder()
+    {
+        StringBuilder text = new StringBuilder("hero\tbook\n");
+        List<List<String>> expected = new ArrayList<List<String>>();
+        for(int i = 0; i < 1000; i++)
+        {
+            text.append("H").append(i).append('\t').append(i % 2 == 0 ? "\"B" + i + "\"" : "B" + i).append('\n');
+            expected.add(Arrays.asList("H" + i, "B" + i));
+        }
+        assertEquals(expected, rowsOf(text.toString()));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Test For Proper Exceptions
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingFileThrowsException()
+    {
+        MarvelParser.parseData("DNE.tsv", (hero, book) -> fail());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingFileInChunksThrowsException()
+    {
+        MarvelParser.parseData("DNE.tsv", 4, RowCollector::new, ForkJoinPool.commonPool());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroChunksThrowsException()
+    {
+        MarvelParser.parseData("testData.tsv", 0, RowCollector::new, ForkJoinPool.commonPool());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPoolThrowsException()
+    {
+        MarvelParser.parseData("testData.tsv", 4, RowCollector::new, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShortRowThrowsException()
+    {
+        rowsOf("hero\tbook\nA\t1\n\nB\t2");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLongRowThrowsException()
+    {
+        rowsOf("hero\tbook\nA\t1\t2");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnterminatedQuoteThrowsException()
+    {
+        rowsOf("hero\tbook\nA\t\"1\n");
+    }
+}
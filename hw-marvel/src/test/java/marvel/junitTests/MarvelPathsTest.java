@@ -1,16 +1,35 @@
 package marvel.junitTests;
 
+import graph.CompactGraph;
+import graph.CsrGraph;
+import graph.EdgeStringCompare;
 import graph.Graph;
+import graph.GraphSnapshot;
+import graph.MappedGraph;
+import graph.StringDictionary;
+import marvel.HeroBookGraph;
 import marvel.MarvelPaths;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.rules.Timeout;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 
@@ -23,6 +42,9 @@ public final class MarvelPathsTest {
     @Rule
     public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private final String EXPECTED_TRUE = "failure - expected true but was false";
     private final String EXPECTED_FALSE = "failure - expected false but was true";
 
@@ -113,5 +135,578 @@ public final class MarvelPathsTest {
         assertNull(MarvelPaths.findPath(testDataGraph, "n1", "n13"));
     }
 
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  FindPath() on a CsrGraph
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testFindPathOnSnapshotMatchesGraph()
+    {
+        CsrGraph<String, String> sortedSnapshot = MarvelPaths.freezeGraph(marvelGraph);
+        CsrGraph<String, String> unsortedSnapshot = marvelGraph.freeze();
+        String[][] queries = {{"THANOS", "THANOS"}, {"CAPTAIN AMERICA", "THANOS"}, {"THANADEMOS", "URCHALLA"},
+                {"BEAST/HENRY &HANK& P", "WISDOM, PETER"}};
+        for(String[] query : queries)
+        {
+            List<Graph.Edge<String, String>> expected = MarvelPaths.findPath(marvelGraph, query[0], query[1]);
+            assertEquals(expected, MarvelPaths.findPath(sortedSnapshot, query[0], query[1]));
+            assertEquals(expected, MarvelPaths.findPath(unsortedSnapshot, query[0], query[1]));
+        }
+    }
+
+    @Test
+    public void testFindPathOnSnapshotThatDNE()
+    {
+        assertNull(MarvelPaths.findPath(MarvelPaths.freezeGraph(testDataGraph), "n1", "n13"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindPathOnSnapshotThrowsIllegalArgumentExceptionWhenNodeA_DNE()
+    {
+        MarvelPaths.findPath(MarvelPaths.freezeGraph(testDataGraph), "DNE", "n1");
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  loadCompactGraph()
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testCompactGraphMatchesGraph()
+    {
+        String[] files = {"testData.tsv", "testDataWithEmptyStringedNode.tsv", "testDataWithEmptyStringedEdges.tsv"};
+        for(String file : files)
+        {
+            Graph<String, String> graph = MarvelPaths.loadGraph(file);
+            CompactGraph<String, String> compactGraph = MarvelPaths.loadCompactGraph(file);
+            assertEquals(new HashSet<String>(graph.getAllNodes()), new HashSet<String>(compactGraph.getAllNodes()));
+            assertEquals(graph.getNumOfEdges(), compactGraph.getNumOfEdges());
+            for(String node : graph.getAllNodes())
+            {
+                assertEquals(new HashSet<Graph.Edge<String, String>>(graph.getChildrenEdges(node)),
+                        new HashSet<Graph.Edge<String, String>>(compactGraph.getChildrenEdges(node)));
+            }
+        }
+    }
+
+    @Test
+    public void testFindPathOnCompactGraphMatchesGraph()
+    {
+        CsrGraph<String, String> snapshot = MarvelPaths.freezeGraph(MarvelPaths.loadCompactGraph("marvel.tsv"));
+        assertEquals(marvelGraph.getNumOfEdges(), snapshot.getNumOfEdges());
+        String[][] queries = {{"CAPTAIN AMERICA", "THANOS"}, {"THANADEMOS", "URCHALLA"}};
+        for(String[] query : queries)
+        {
+            assertEquals(MarvelPaths.findPath(marvelGraph, query[0], query[1]),
+                    MarvelPaths.findPath(snapshot, query[0], query[1]));
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testLoadCompactGraphThrowsNullPointerException()
+    {
+        MarvelPaths.loadCompactGraph(null);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Loading through a StringDictionary
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testLoadGraphWithDictionaryInternsNames()
+    {
+        StringDictionary dictionary = new StringDictionary();
+        Graph<String, String> graph = MarvelPaths.loadGraph("testData.tsv", dictionary);
+        assertEquals(new HashSet<String>(testDataGraph.getAllNodes()), new HashSet<String>(graph.getAllNodes()));
+        assertEquals(testDataGraph.getNumOfEdges(), graph.getNumOfEdges());
+        assertTrue(EXPECTED_TRUE, dictionary.getNumOfDuplicates() > 0);
+        assertTrue(EXPECTED_TRUE, dictionary.getBytesSaved() > 0);
+        for(String node : graph.getAllNodes())
+        {
+            for(Graph.Edge<String, String> edge : graph.getChildrenEdges(node))
+            {
+                assertSame(dictionary.intern(edge.getParent()), edge.getParent());
+                assertSame(dictionary.intern(edge.getChild()), edge.getChild());
+                assertSame(dictionary.intern(edge.getLabel()), edge.getLabel());
+            }
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testLoadGraphWithNullDictionaryThrowsNullPointerException()
+    {
+        MarvelPaths.loadGraph("testData.tsv", (StringDictionary) null);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Loading on several threads
+    ///////////////////////////////////////////////////////////////////////////////////////
 
-}
\ No newline at end of file
+    /**
+     * Checks that two graphs have the same heroes, edges and labels, in the same order.
+     */
+    private static void assertSameOrderedGraph(Graph<String, String> expected, Graph<String, String> actual)
+    {
+        assertEquals(expected.getAllNodes(), actual.getAllNodes());
+        assertEquals(expected.getNumOfEdges(), actual.getNumOfEdges());
+        for(String hero : expected.getAllNodes())
+        {
+            assertEquals(expected.getChildrenEdges(hero), actual.getChildrenEdges(hero));
+            for(String other : expected.getChildrenNodes(hero))
+            {
+                assertEquals(expected.getEdge(hero, other), actual.getEdge(hero, other));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelLoadMatchesLoadGraph()
+    {
+        String[] files = {"staffSuperheroes.tsv", "staffSuperheroesWithDuplicates.tsv", "testData.tsv",
+                "testDataWithEmptyStringedEdges.tsv", "testDataWithEmptyStringedNode.tsv", "testDataWithQuotes.tsv",
+                "testDataWithEscapes.tsv"};
+        for(int threads : new int[]{1, 4})
+        {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            for(String file : files)
+            {
+                Graph<String, String> graph = MarvelPaths.loadGraph(file, pool);
+                assertSameOrderedGraph(MarvelPaths.loadGraph(file), graph);
+            }
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Loads marvel.tsv on four threads. bench.ConstructionBenchmark times it.
+     */
+    @Test
+    public void testParallelLoadOfMarvelMatchesLoadGraph()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Graph<String, String> graph = MarvelPaths.loadGraph("marvel.tsv", pool);
+        pool.shutdown();
+        // Compared through snapshots, whose rep checks are always cheap: any of the thousands of calls on
+        // the graphs themselves may walk all of one of their million edges.
+        GraphSnapshot<String, String> expected = marvelGraph.snapshot();
+        GraphSnapshot<String, String> actual = graph.snapshot();
+        assertEquals(expected.getAllNodes(), actual.getAllNodes());
+        assertEquals(expected.getNumOfEdges(), actual.getNumOfEdges());
+        for(String hero : expected.getAllNodes())
+        {
+            assertEquals(expected.getChildrenEdges(hero), actual.getChildrenEdges(hero));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelLoadThrowsIllegalArgumentException()
+    {
+        MarvelPaths.loadGraph("DNE.tsv", ForkJoinPool.commonPool());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testParallelLoadWithNullPoolThrowsNullPointerException()
+    {
+        MarvelPaths.loadGraph("testData.tsv", (ForkJoinPool) null);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  FindPath() on a HeroBookGraph
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testFindPathOnHeroBookGraphMatchesGraphForAllPairs()
+    {
+        String[] files = {"testData.tsv", "testDataWithEmptyStringedNode.tsv", "testDataWithEmptyStringedEdges.tsv"};
+        for(String file : files)
+        {
+            Graph<String, String> graph = MarvelPaths.loadGraph(file);
+            HeroBookGraph heroBookGraph = MarvelPaths.loadHeroBookGraph(file);
+            for(String hero_a : graph.getAllNodes())
+            {
+                for(String hero_b : graph.getAllNodes())
+                {
+                    assertEquals(MarvelPaths.findPath(graph, hero_a, hero_b),
+                            MarvelPaths.findPath(heroBookGraph, hero_a, hero_b));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFindPathOnHeroBookGraphMatchesGraph()
+    {
+        HeroBookGraph heroBookGraph = MarvelPaths.loadHeroBookGraph("marvel.tsv");
+        String[][] queries = {{"THANOS", "THANOS"}, {"CAPTAIN AMERICA", "THANOS"}, {"THANADEMOS", "URCHALLA"},
+                {"BEAST/HENRY &HANK& P", "WISDOM, PETER"}};
+        for(String[] query : queries)
+        {
+            assertEquals(MarvelPaths.findPath(marvelGraph, query[0], query[1]),
+                    MarvelPaths.findPath(heroBookGraph, query[0], query[1]));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindPathOnHeroBookGraphThrowsIllegalArgumentExceptionWhenNodeB_DNE()
+    {
+        MarvelPaths.findPath(MarvelPaths.loadHeroBookGraph("testData.tsv"), "n1", "DNE");
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  saveGraph() and openGraph()
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testFindPathOnMappedSnapshotMatchesGraph() throws IOException
+    {
+        Path file = folder.newFile("marvel" + MarvelPaths.SNAPSHOT_SUFFIX).toPath();
+        MarvelPaths.saveGraph(MarvelPaths.freezeGraph(marvelGraph), file);
+        MappedGraph<String, String> mapped = MarvelPaths.openGraph(file);
+        assertTrue(EXPECTED_TRUE, mapped.getChildOrder() instanceof EdgeStringCompare);
+        assertEquals(marvelGraph.getNumOfNodes(), mapped.getNumOfNodes());
+        assertEquals(marvelGraph.getNumOfEdges(), mapped.getNumOfEdges());
+
+        String[][] queries = {{"THANOS", "THANOS"}, {"CAPTAIN AMERICA", "THANOS"}, {"THANADEMOS", "URCHALLA"},
+                {"BEAST/HENRY &HANK& P", "WISDOM, PETER"}, {"IRON FIST/DANIEL RAN", "SPIDER-MAN/PETER PAR"}};
+        for(String[] query : queries)
+        {
+            assertEquals(MarvelPaths.findPath(marvelGraph, query[0], query[1]),
+                    MarvelPaths.findPath(mapped, query[0], query[1]));
+        }
+    }
+
+    @Test
+    public void testFindPathOnMappedSnapshotThatDNE() throws IOException
+    {
+        Path file = folder.newFile("testData" + MarvelPaths.SNAPSHOT_SUFFIX).toPath();
+        MarvelPaths.saveGraph(MarvelPaths.freezeGraph(testDataGraph), file);
+        assertNull(MarvelPaths.findPath(MarvelPaths.openGraph(file), "n1", "n13"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpenGraphThrowsIllegalArgumentExceptionForNonSnapshot() throws IOException
+    {
+        Path file = folder.newFile("notASnapshot" + MarvelPaths.SNAPSHOT_SUFFIX).toPath();
+        MarvelPaths.openGraph(file);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  FindPath() on a GraphSnapshot
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * loadGraph keeps children in the order findPath visits them, and a graph without that order must
+     * still give the same paths.
+     */
+    @Test
+    public void testFindPathOnUnorderedGraphMatches()
+    {
+        assertTrue(EXPECTED_TRUE, testDataGraph.getChildOrder() instanceof EdgeStringCompare);
+        Graph<String, String> unordered = new Graph<String, String>(false, false);
+        for(String hero : testDataGraph.getAllNodes())
+        {
+            unordered.addNode(hero);
+        }
+        for(String hero : testDataGraph.getAllNodes())
+        {
+            for(Graph.Edge<String, String> edge : testDataGraph.getChildrenEdges(hero))
+            {
+                unordered.addEdge(edge.getLabel(), edge.getParent(), edge.getChild());
+            }
+        }
+        assertNull(unordered.getChildOrder());
+        for(String a : testDataGraph.getAllNodes())
+        {
+            for(String b : testDataGraph.getAllNodes())
+            {
+                assertEquals(MarvelPaths.findPath(testDataGraph, a, b), MarvelPaths.findPath(unordered, a, b));
+            }
+        }
+    }
+
+    @Test
+    public void testRepeatedSearchesDontSeeEarlierOnes()
+    {
+        GraphSnapshot<String, String> snapshot = testDataGraph.snapshot();
+        List<Graph.Edge<String, String>> path = MarvelPaths.findPath(snapshot, "n7", "n5");
+        assertNull(MarvelPaths.findPath(snapshot, "n1", "n13"));
+        assertEquals(path, MarvelPaths.findPath(snapshot, "n7", "n5"));
+        assertEquals(List.of(), MarvelPaths.findPath(snapshot, "n5", "n5"));
+        try
+        {
+            MarvelPaths.findPath(snapshot, "n5", "DNE");
+            fail("expected IllegalArgumentException");
+        }
+        catch(IllegalArgumentException e)
+        {
+            assertEquals(path, MarvelPaths.findPath(snapshot, "n7", "n5"));
+        }
+    }
+
+    /**
+     * Every thread has its own search context, so searches on many threads at once find the same paths
+     * as searches one at a time.
+     */
+    @Test
+    public void testConcurrentSearchesOnSnapshot() throws Exception
+    {
+        GraphSnapshot<String, String> snapshot = testDataGraph.snapshot();
+        List<String> heroes = snapshot.getAllNodes();
+        Map<List<String>, List<Graph.Edge<String, String>>> expected =
+                new HashMap<List<String>, List<Graph.Edge<String, String>>>();
+        for(String a : heroes)
+        {
+            for(String b : heroes)
+            {
+                expected.put(List.of(a, b), MarvelPaths.findPath(snapshot, a, b));
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+        for(int thread = 0; thread < 4; thread++)
+        {
+            results.add(pool.submit(() -> {
+                for(int round = 0; round < 50; round++)
+                {
+                    for(Map.Entry<List<String>, List<Graph.Edge<String, String>>> query : expected.entrySet())
+                    {
+                        List<String> pair = query.getKey();
+                        if(!Objects.equals(query.getValue(), MarvelPaths.findPath(snapshot, pair.get(0), pair.get(1))))
+                        {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }));
+        }
+        for(Future<Boolean> result : results)
+        {
+            assertTrue(EXPECTED_TRUE, result.get());
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void testFindPathOnSnapshotIgnoresLaterEdges()
+    {
+        GraphSnapshot<String, String> snapshot = testDataGraph.snapshot();
+        List<Graph.Edge<String, String>> before = MarvelPaths.findPath(testDataGraph, "n7", "n5");
+        assertEquals(7, before.size());
+
+        testDataGraph.addEdge("shortcut", "n7", "n5");
+        assertEquals(before, MarvelPaths.findPath(snapshot, "n7", "n5"));
+        assertEquals(List.of(new Graph.Edge<String, String>("shortcut", "n7", "n5")),
+                MarvelPaths.findPath(testDataGraph, "n7", "n5"));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Component index
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Heroes outside the big component of the Marvel graph are answered without a search on every
+     * representation.
+     */
+    @Test
+    public void testFindPathBetweenComponents()
+    {
+        HeroBookGraph heroBookGraph = MarvelPaths.loadHeroBookGraph("marvel.tsv");
+        int big = heroBookGraph.getComponentId(heroBookGraph.getHeroId("CAPTAIN AMERICA"));
+        String outsider = null;
+        for(int hero = 0; outsider == null; hero++)
+        {
+            if(heroBookGraph.getComponentId(hero) != big)
+            {
+                outsider = heroBookGraph.getHero(hero);
+            }
+        }
+
+        assertFalse(EXPECTED_FALSE, marvelGraph.isConnected("CAPTAIN AMERICA", outsider));
+        assertNull(MarvelPaths.findPath(marvelGraph, "CAPTAIN AMERICA", outsider));
+        assertNull(MarvelPaths.findPath(marvelGraph.snapshot(), "CAPTAIN AMERICA", outsider));
+        assertNull(MarvelPaths.findPath(MarvelPaths.freezeGraph(marvelGraph), "CAPTAIN AMERICA", outsider));
+        assertNull(MarvelPaths.findPath(heroBookGraph, "CAPTAIN AMERICA", outsider));
+    }
+
+    @Test
+    public void testFindPathAfterComponentsJoin()
+    {
+        assertNull(MarvelPaths.findPath(testDataGraph, "n1", "n13"));
+        testDataGraph.addEdge("bridge", "n13", "n7");
+        assertEquals(List.of(new Graph.Edge<String, String>("bridge", "n13", "n7")),
+                MarvelPaths.findPath(testDataGraph, "n13", "n7"));
+        assertNull(MarvelPaths.findPath(testDataGraph, "n1", "n13")); // The bridge only goes one way.
+        assertEquals(9, MarvelPaths.findPath(testDataGraph, "n12", "n5").size());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  findPathBidirectional()
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testFindPathBidirectionalMatchesFindPathOnTestData()
+    {
+        String[] files = {"testData.tsv", "testDataWithEmptyStringedNode.tsv", "testDataWithEmptyStringedEdges.tsv"};
+        for(String file : files)
+        {
+            CsrGraph<String, String> snapshot = MarvelPaths.freezeGraph(MarvelPaths.loadGraph(file));
+            for(String a : snapshot.getAllNodes())
+            {
+                for(String b : snapshot.getAllNodes())
+                {
+                    assertEquals(MarvelPaths.findPath(snapshot, a, b), MarvelPaths.findPathBidirectional(snapshot, a, b));
+                }
+            }
+        }
+    }
+
+    /**
+     * Random graphs with many ties between shortest paths, where picking the wrong one is easy.
+     */
+    @Test
+    public void testFindPathBidirectionalBreaksTiesLikeFindPath()
+    {
+        Random random = new Random(18);
+        for(int round = 0; round < 20; round++)
+        {
+            Graph<String, String> graph = new Graph<String, String>();
+            for(int node = 0; node < 40; node++)
+            {
+                graph.addNode("n" + node);
+            }
+            for(int edge = 0; edge < 60; edge++)
+            {
+                String label = "e" + random.nextInt(5);
+                String a = "n" + random.nextInt(40);
+                String b = "n" + random.nextInt(40);
+                graph.addEdge(label, a, b);
+                graph.addEdge(label, b, a);
+            }
+            CsrGraph<String, String> snapshot = graph.freeze();
+            for(String a : graph.getAllNodes())
+            {
+                for(String b : graph.getAllNodes())
+                {
+                    assertEquals(MarvelPaths.findPath(snapshot, a, b), MarvelPaths.findPathBidirectional(snapshot, a, b));
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares both searches on random pairs of Marvel heroes. bench.SearchBenchmark times them.
+     */
+    @Test
+    public void testFindPathBidirectionalMatchesFindPathOnMarvel()
+    {
+        CsrGraph<String, String> snapshot = MarvelPaths.freezeGraph(marvelGraph);
+        List<String> heroes = snapshot.getAllNodes();
+        Collections.sort(heroes);
+        Random random = new Random(331);
+        List<String[]> queries = new ArrayList<String[]>();
+        queries.add(new String[]{"CAPTAIN AMERICA", "THANOS"});
+        queries.add(new String[]{"BEAST/HENRY &HANK& P", "WISDOM, PETER"});
+        queries.add(new String[]{"THANADEMOS", "URCHALLA"});
+        for(int i = 0; i < 20; i++)
+        {
+            queries.add(new String[]{heroes.get(random.nextInt(heroes.size())), heroes.get(random.nextInt(heroes.size()))});
+        }
+
+        for(String[] query : queries)
+        {
+            assertEquals(MarvelPaths.findPath(snapshot, query[0], query[1]),
+                    MarvelPaths.findPathBidirectional(snapshot, query[0], query[1]));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindPathBidirectionalThrowsIllegalArgumentExceptionWhenNodeB_DNE()
+    {
+        MarvelPaths.findPathBidirectional(MarvelPaths.freezeGraph(testDataGraph), "n1", "DNE");
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  findPaths()
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testFindPathsMatchesFindPathOnTestData()
+    {
+        List<MarvelPaths.HeroPair> queries = new ArrayList<MarvelPaths.HeroPair>();
+        List<List<Graph.Edge<String, String>>> expected = new ArrayList<List<Graph.Edge<String, String>>>();
+        for(String a : testDataGraph.getAllNodes())
+        {
+            for(String b : testDataGraph.getAllNodes())
+            {
+                queries.add(new MarvelPaths.HeroPair(a, b));
+                expected.add(MarvelPaths.findPath(testDataGraph, a, b));
+            }
+        }
+        // Repeats of a query, and queries alone in their group, are answered the same way.
+        queries.add(new MarvelPaths.HeroPair("n1", "n5"));
+        expected.add(MarvelPaths.findPath(testDataGraph, "n1", "n5"));
+
+        for(int threads : new int[]{1, 4})
+        {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            assertEquals(expected, MarvelPaths.findPaths(testDataGraph, queries, pool));
+            pool.shutdown();
+        }
+        assertEquals(expected, MarvelPaths.findPaths(testDataGraph, queries));
+        assertEquals(List.of(expected.get(expected.size() - 1)),
+                MarvelPaths.findPaths(testDataGraph, List.of(new MarvelPaths.HeroPair("n1", "n5"))));
+    }
+
+    @Test
+    public void testFindPathsOfNoQueries()
+    {
+        assertTrue(EXPECTED_TRUE, MarvelPaths.findPaths(testDataGraph, new ArrayList<MarvelPaths.HeroPair>()).isEmpty());
+    }
+
+    /**
+     * Answers a batch of random Marvel queries from a few dozen heroes both ways. bench.BatchSearchBenchmark
+     * times them.
+     */
+    @Test
+    public void testFindPathsMatchesFindPathOnMarvel()
+    {
+        CsrGraph<String, String> snapshot = MarvelPaths.freezeGraph(marvelGraph);
+        List<String> heroes = snapshot.getAllNodes();
+        Collections.sort(heroes);
+        Random random = new Random(22);
+        List<MarvelPaths.HeroPair> queries = new ArrayList<MarvelPaths.HeroPair>();
+        for(int i = 0; i < 300; i++)
+        {
+            queries.add(new MarvelPaths.HeroPair(heroes.get(random.nextInt(30)),
+                    heroes.get(random.nextInt(heroes.size()))));
+        }
+
+        List<List<Graph.Edge<String, String>>> expected = new ArrayList<List<Graph.Edge<String, String>>>();
+        for(MarvelPaths.HeroPair query : queries)
+        {
+            expected.add(MarvelPaths.findPath(snapshot, query.getHeroA(), query.getHeroB()));
+        }
+        // The same paths, in the order of the queries.
+        assertEquals(expected, MarvelPaths.findPaths(snapshot, queries, ForkJoinPool.commonPool()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindPathsThrowsIllegalArgumentExceptionWhenAHeroDNE()
+    {
+        MarvelPaths.findPaths(testDataGraph, List.of(new MarvelPaths.HeroPair("n1", "n2"),
+                new MarvelPaths.HeroPair("n1", "DNE")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindPathsThrowsIllegalArgumentExceptionWhenAQueryIsNull()
+    {
+        MarvelPaths.findPaths(testDataGraph, Collections.singletonList((MarvelPaths.HeroPair) null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHeroPairThrowsIllegalArgumentExceptionWhenAHeroIsNull()
+    {
+        new MarvelPaths.HeroPair("n1", null);
+    }
+}
@@ -0,0 +1,201 @@
+package marvel.junitTests;
+
+import graph.CsrGraph;
+import graph.Graph;
+import marvel.MarvelPaths;
+import marvel.SeparationStats;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * SeparationStats class.
+ *
+ */
+public final class SeparationStatsTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
+
+    private final String EXPECTED_TRUE = "failure - expected true but was false";
+    private final String EXPECTED_FALSE = "failure - expected false but was true";
+
+    CsrGraph<String, String> testDataGraph;
+    SeparationStats stats;
+
+    @Before
+    public void setUp()
+    {
+        testDataGraph = MarvelPaths.freezeGraph(MarvelPaths.loadGraph("testData.tsv"));
+        stats = SeparationStats.of(testDataGraph);
+    }
+
+    /**
+     * Checks stats against the lengths of the paths findPath finds between every pair of heroes.
+     */
+    private static void assertMatchesFindPath(CsrGraph<String, String> graph, SeparationStats stats)
+    {
+        SortedMap<Integer, Long> histogram = new TreeMap<Integer, Long>();
+        for(String a : graph.getAllNodes())
+        {
+            int reachable = 0;
+            int eccentricity = 0;
+            long sum = 0;
+            for(String b : graph.getAllNodes())
+            {
+                List<Graph.Edge<String, String>> path = MarvelPaths.findPath(graph, a, b);
+                if(path != null && !path.isEmpty())
+                {
+                    reachable++;
+                    sum += path.size();
+                    eccentricity = Math.max(eccentricity, path.size());
+                    histogram.merge(path.size(), 1L, Long::sum);
+                }
+            }
+            assertEquals(reachable, stats.getNumOfReachable(a));
+            assertEquals(eccentricity, stats.getEccentricity(a));
+            assertEquals(reachable == 0 ? 0 : (double) sum / reachable, stats.getAverageDistance(a), 1e-9);
+        }
+        assertEquals(histogram, stats.getDistanceHistogram());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Distances
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testMatchesFindPathOnTestData()
+    {
+        assertMatchesFindPath(testDataGraph, stats);
+    }
+
+    @Test
+    public void testSummary()
+    {
+        SortedMap<Integer, Long> histogram = stats.getDistanceHistogram();
+        long pairs = 0;
+        long sum = 0;
+        for(Map.Entry<Integer, Long> bucket : histogram.entrySet())
+        {
+            pairs += bucket.getValue();
+            sum += bucket.getKey() * bucket.getValue();
+        }
+        assertEquals(pairs, stats.getNumOfConnectedPairs());
+        assertEquals((int) histogram.lastKey(), stats.getDiameter());
+        assertEquals((double) sum / pairs, stats.getAverageDistance(), 1e-9);
+        // n12 and n13 only reach each other.
+        assertEquals(1, stats.getNumOfReachable("n12"));
+        assertEquals(1, stats.getEccentricity("n13"));
+    }
+
+    /**
+     * Directed random graphs with more heroes than one batch of searches holds, including a hero with no
+     * edges at all, on pools of different sizes.
+     */
+    @Test
+    public void testMatchesFindPathAcrossBatches()
+    {
+        Random random = new Random(23);
+        for(int threads : new int[]{1, 3})
+        {
+            Graph<String, String> graph = new Graph<String, String>();
+            for(int node = 0; node < 150; node++)
+            {
+                graph.addNode("n" + node);
+            }
+            for(int edge = 0; edge < 300; edge++)
+            {
+                graph.addEdge("e" + random.nextInt(4), "n" + random.nextInt(149), "n" + random.nextInt(149));
+            }
+            CsrGraph<String, String> snapshot = MarvelPaths.freezeGraph(graph);
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            assertMatchesFindPath(snapshot, SeparationStats.of(snapshot, pool));
+            pool.shutdown();
+            assertEquals(0, SeparationStats.of(snapshot).getNumOfReachable("n149"));
+        }
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        SeparationStats empty = SeparationStats.of(new Graph<String, String>().freeze());
+        assertTrue(EXPECTED_TRUE, empty.getDistanceHistogram().isEmpty());
+        assertEquals(0, empty.getDiameter());
+        assertEquals(0, empty.getAverageDistance(), 0);
+        assertEquals(0, empty.getNumOfConnectedPairs());
+    }
+
+    /**
+     * Computes the degrees of separation of every pair of Marvel heroes, and compares a few heroes with
+     * findPath. bench.SeparationStatsBenchmark times it.
+     */
+    @Test
+    public void testMarvel()
+    {
+        CsrGraph<String, String> marvelGraph = MarvelPaths.freezeGraph(MarvelPaths.loadGraph("marvel.tsv"));
+        SeparationStats marvelStats = SeparationStats.of(marvelGraph);
+
+        // findPaths searches once from each hero to answer all of its queries.
+        for(String hero : List.of("CAPTAIN AMERICA", "THANOS"))
+        {
+            List<MarvelPaths.HeroPair> queries = new ArrayList<MarvelPaths.HeroPair>();
+            for(String other : marvelGraph.getAllNodes())
+            {
+                queries.add(new MarvelPaths.HeroPair(hero, other));
+            }
+            int eccentricity = 0;
+            int reachable = 0;
+            for(List<Graph.Edge<String, String>> path : MarvelPaths.findPaths(marvelGraph, queries,
+                    ForkJoinPool.commonPool()))
+            {
+                if(path != null && !path.isEmpty())
+                {
+                    reachable++;
+                    eccentricity = Math.max(eccentricity, path.size());
+                }
+            }
+            assertEquals(reachable, marvelStats.getNumOfReachable(hero));
+            assertEquals(eccentricity, marvelStats.getEccentricity(hero));
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  Test For Proper Exceptions
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullGraphThrowsException()
+    {
+        SeparationStats.of(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPoolThrowsException()
+    {
+        SeparationStats.of(testDataGraph, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingHeroThrowsException()
+    {
+        stats.getEccentricity("DNE");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullHeroThrowsException()
+    {
+        stats.getAverageDistance(null);
+    }
+}
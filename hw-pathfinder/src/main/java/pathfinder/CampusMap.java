@@ -11,13 +11,20 @@
 
 package pathfinder;
 
+import common.RepCheck;
 import graph.Graph;
+import graph.GraphBuilder;
+import graph.IndexedGraph;
+import graph.MappedGraph;
+import graph.ValueCodec;
 import pathfinder.datastructures.Path;
 import pathfinder.datastructures.Point;
 import pathfinder.parser.CampusBuilding;
 import pathfinder.parser.CampusPath;
 import pathfinder.parser.CampusPathsParser;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
@@ -37,11 +44,23 @@ import java.util.*;
  *      along with the normal attributes of a point on a map.
  */
 public class CampusMap implements ModelAPI {
-    private final Graph<Point, Double> campusGraph; // Could use shortName instead of Point, but Point makes it much easier.
+    private final IndexedGraph<Point, Double> campusGraph; // Could use shortName instead of Point, but Point makes it much easier.
     private final List<CampusBuilding> campusBuildings;
 
-    private final boolean MEDIUM_DEBUG = true;
-    private final boolean HEAVY_DEBUG = true;
+    // Stores a Point as the bit patterns of its x and y, so equal points always encode the same way.
+    private static final ValueCodec<Point> POINT_CODEC = new ValueCodec<Point>() {
+        @Override
+        public byte[] encode(Point value)
+        {
+            return ByteBuffer.allocate(2 * Double.BYTES).putDouble(value.getX()).putDouble(value.getY()).array();
+        }
+
+        @Override
+        public Point decode(ByteBuffer buffer)
+        {
+            return new Point(buffer.getDouble(buffer.position()), buffer.getDouble(buffer.position() + Double.BYTES));
+        }
+    };
 
     // AF(this) =
     //      A point on the CampusMap => campusGraph.key()
@@ -72,30 +91,59 @@ public class CampusMap implements ModelAPI {
      */
     public CampusMap()
     {
-        campusGraph = new Graph<Point, Double>();
         campusBuildings = CampusPathsParser.parseCampusBuildings("campus_buildings.tsv");
         List<CampusPath> campusPaths = CampusPathsParser.parseCampusPaths("campus_paths.tsv");
 
         //Building the graph with Point(x1, y1)(nodes) (since we know they are a unique identifier
         // of a building) from campusPaths (since campusBuildings does not include all nodes) and
         // distances(edge labels) from campusPaths.
-
-        // First adds nodes.
+        // Most points are the endpoint of several paths, so there are fewer points than paths. The graph
+        // is frozen right away, so it needs neither index.
+        GraphBuilder<Point, Double> builder = new GraphBuilder<Point, Double>(campusPaths.size(), campusPaths.size())
+                .indexEdges(false).indexParents(false);
         for(CampusPath campusPath : campusPaths)
         {
-            campusGraph.addNode(new Point(campusPath.getX1(), campusPath.getY1()));
-            campusGraph.addNode(new Point(campusPath.getX2(), campusPath.getY2()));
+            Point start = new Point(campusPath.getX1(), campusPath.getY1());
+            Point end = new Point(campusPath.getX2(), campusPath.getY2());
+            builder.addNode(start).addNode(end).addEdge(campusPath.getDistance(), start, end);
         }
+        Graph<Point, Double> graph = builder.build();
 
-        // Then add all the edges.
-        for(CampusPath campusPath : campusPaths)
-        {
-            campusGraph.addEdge(campusPath.getDistance(), new Point(campusPath.getX1(), campusPath.getY1()),
-                    new Point(campusPath.getX2(), campusPath.getY2()));
-        }
+        // The map never changes after this point, so searches run on an immutable array-backed snapshot.
+        campusGraph = graph.freeze();
         this.checkRep();
     }
 
+    /**
+     * Constructs a new CampusMap using campus_buildings.tsv for the buildings and a snapshot file written
+     * by {@link #saveGraph} for the points and paths. The snapshot is memory-mapped rather than parsed, so
+     * this is much faster than building the map from campus_paths.tsv.
+     *
+     * @param graphFile the snapshot file holding the campus points and paths.
+     * @throws IllegalArgumentException if graphFile is null or isn't a graph snapshot.
+     * @throws IOException if graphFile can't be read.
+     */
+    public CampusMap(java.nio.file.Path graphFile) throws IllegalArgumentException, IOException
+    {
+        campusBuildings = CampusPathsParser.parseCampusBuildings("campus_buildings.tsv");
+        campusGraph = MappedGraph.open(graphFile, POINT_CODEC, ValueCodec.DOUBLE);
+        this.checkRep();
+    }
+
+    /**
+     * Writes the points and paths of this CampusMap to a snapshot file that
+     * {@link #CampusMap(java.nio.file.Path)} can load.
+     *
+     * @param graphFile the file to write the snapshot to.
+     * @throws IllegalArgumentException if graphFile is null.
+     * @throws IOException if graphFile can't be written.
+     */
+    public void saveGraph(java.nio.file.Path graphFile) throws IllegalArgumentException, IOException
+    {
+        this.checkRep();
+        MappedGraph.write(campusGraph, graphFile, POINT_CODEC, ValueCodec.DOUBLE);
+    }
+
     /**
      * @param shortName The short name of a building to query.
      * @return {@literal true} iff the short name provided exists in this campus map.
@@ -205,6 +253,11 @@ public class CampusMap implements ModelAPI {
      * Throws an exception if the representation invariant is violated.
      */
     private void checkRep() {
+        if(!RepCheck.cheap())
+        {
+            return;
+        }
+
         //  campusGraph != null
         //  campusBuildings != null
         assert(campusGraph != null);
@@ -214,17 +267,15 @@ public class CampusMap implements ModelAPI {
         //      cb.getShortName() != null
         //      cb.getLongName() != null
         //      every cb must be unique according to CampusBuilding.equals()
-        if(MEDIUM_DEBUG)
+        // Both of these walk the whole map, and checkRep runs twice on every query.
+        if(RepCheck.full())
         {
             for(CampusBuilding cb : campusBuildings)
             {
                 assert(cb.getShortName() != null);
                 assert(cb.getLongName() != null);
             }
-        }
 
-        if(HEAVY_DEBUG)
-        {
             for(Point p : campusGraph.getAllNodes())
             {
                 List<Graph.Edge<Double, Point>> childEdges = campusGraph.getChildrenEdges(p);
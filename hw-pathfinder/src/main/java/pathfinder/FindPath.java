@@ -1,12 +1,11 @@
 package pathfinder;
 
 import graph.Graph;
+import graph.GraphSnapshot;
+import graph.IndexedGraph;
 import pathfinder.datastructures.Path;
 
-import java.util.Comparator;
-import java.util.HashSet;
-import java.util.PriorityQueue;
-import java.util.Set;
+import java.util.*;
 
 /**
  * FindPath contains a utility method for finding the least costing path in a Graph with nodes of any type
@@ -32,6 +31,37 @@ public final class FindPath {
      */
     public static <N, E extends Double> Path<N> findShortestPath(Graph<N, E> graph, N node_a, N node_b)
             throws IllegalArgumentException
+    {
+        // Nodes in different components have no path, and the graph only grows, so they wouldn't have one in
+        // a snapshot either. The component lookups take no lock, and nodes missing from the graph are left
+        // to the search, which rejects them if the snapshot doesn't have them.
+        if(graph.getComponentId(node_a) != -1 && graph.getComponentId(node_b) != -1
+                && !graph.isConnected(node_a, node_b))
+        {
+            return null;
+        }
+        // A snapshot keeps the search consistent even if another thread adds to graph while it runs.
+        return FindPath.findShortestPath(graph.snapshot(), node_a, node_b);
+    }
+
+    /**
+     * Finds the least costing path in a snapshot of a Graph with nodes of any type and edges with Doubles
+     * for labels. Uses Dijkstra's algorithm to perform this search.
+     *
+     * @param graph the snapshot we want to perform the search on.
+     * @param node_a the node we want to start the search at.
+     * @param node_b the node we want to find the shortest path TO from node_a.
+     * @param <N> the type of nodes in the snapshot passed in.
+     * @param <E> the type of labels stored in the edges in the snapshot passed; must be Double or
+     *           some subtype of Double.
+     * @spec.requires the snapshot passed to not have any negative edge weights.
+     * @throws IllegalArgumentException if node_a or node_b are not within graph.
+     * @return the path from node_a to node_b that costs the smallest amount when adding up all of the
+     * Double amounts from each segment of the path. If node_a.equals(node_b), then just return an
+     * empty path. If there is no path that exists between the two nodes, return null.
+     */
+    public static <N, E extends Double> Path<N> findShortestPath(GraphSnapshot<N, E> graph, N node_a, N node_b)
+            throws IllegalArgumentException
     {
         if(!graph.containsNode(node_a) || !graph.containsNode(node_b))
         {
@@ -57,7 +87,7 @@ public final class FindPath {
                 continue;
             }
 
-            for(Graph.Edge<E, N> childEdge : graph.getChildrenEdges(minDest))
+            for(Graph.Edge<E, N> childEdge : graph.getChildrenEdgesView(minDest))
             {
                 if(!nodesVisited.contains(childEdge.getChild()))
                 {
@@ -72,6 +102,139 @@ public final class FindPath {
         return null;
     }
 
+    /**
+     * Finds the least costing path in an immutable int-indexed snapshot of a Graph (a CsrGraph or a
+     * MappedGraph) with nodes of any type and edges with Doubles for labels. Uses Dijkstra's algorithm over
+     * the snapshot's node ids and edge indices, so only the best known cost and incoming edge of each node
+     * are stored during the search.
+     *
+     * @param graph the snapshot we want to perform the search on.
+     * @param node_a the node we want to start the search at.
+     * @param node_b the node we want to find the shortest path TO from node_a.
+     * @param <N> the type of nodes in the snapshot passed in.
+     * @param <E> the type of labels stored in the edges in the snapshot passed; must be Double or
+     *           some subtype of Double.
+     * @spec.requires the snapshot passed to not have any negative edge weights.
+     * @throws IllegalArgumentException if node_a or node_b are not within graph.
+     * @return the path from node_a to node_b that costs the smallest amount when adding up all of the
+     * Double amounts from each segment of the path. If node_a.equals(node_b), then just return an
+     * empty path. If there is no path that exists between the two nodes, return null.
+     */
+    public static <N, E extends Double> Path<N> findShortestPath(IndexedGraph<N, E> graph, N node_a, N node_b)
+            throws IllegalArgumentException
+    {
+        if(!graph.containsNode(node_a) || !graph.containsNode(node_b))
+        {
+            throw new IllegalArgumentException();
+        }
+
+        int start = graph.getNodeId(node_a);
+        int goal = graph.getNodeId(node_b);
+        if(graph.getComponentId(start) != graph.getComponentId(goal))
+        {
+            return null;
+        }
+        double[] costs = new double[graph.getNumOfNodes()];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        int[] parentEdges = new int[graph.getNumOfNodes()];
+        int[] parentNodes = new int[graph.getNumOfNodes()];
+        boolean[] nodesVisited = new boolean[graph.getNumOfNodes()];
+
+        PriorityQueue<NodeCost> nodesToVisit = new PriorityQueue<NodeCost>();
+        costs[start] = 0;
+        parentEdges[start] = -1;
+        nodesToVisit.add(new NodeCost(start, 0));
+        while(!nodesToVisit.isEmpty())
+        {
+            int minDest = nodesToVisit.remove().node;
+            if(minDest == goal)
+            {
+                return FindPath.buildPath(graph, parentEdges, parentNodes, start, goal);
+            }
+            if(nodesVisited[minDest])
+            {
+                continue;
+            }
+            nodesVisited[minDest] = true;
+
+            for(int edge = graph.getEdgesStart(minDest); edge < graph.getEdgesEnd(minDest); edge++)
+            {
+                int child = graph.getEdgeChild(edge);
+                double newCost = costs[minDest] + graph.getEdgeLabel(edge);
+                if(!nodesVisited[child] && newCost < costs[child])
+                {
+                    costs[child] = newCost;
+                    parentEdges[child] = edge;
+                    parentNodes[child] = minDest;
+                    nodesToVisit.add(new NodeCost(child, newCost));
+                }
+            }
+        }
+        // If the loop terminates, then no path exists from start to dest.
+        return null;
+    }
+
+    /**
+     * Rebuilds the Path found by a search over an IndexedGraph by following incoming edges back from goal.
+     *
+     * @param graph the snapshot that was searched.
+     * @param parentEdges node id -> index of the edge the node was reached by.
+     * @param parentNodes node id -> id of the node the node was reached from.
+     * @param start the id of the node the search started at.
+     * @param goal the id of the node the search ended at.
+     * @param <N> the type of nodes in the snapshot.
+     * @param <E> the type of labels in the snapshot.
+     * @return the Path from start to goal made up of the recorded edges.
+     */
+    private static <N, E extends Double> Path<N> buildPath(IndexedGraph<N, E> graph, int[] parentEdges,
+                                                           int[] parentNodes, int start, int goal)
+    {
+        List<Integer> edges = new ArrayList<Integer>();
+        for(int node = goal; node != start; node = parentNodes[node])
+        {
+            edges.add(parentEdges[node]);
+        }
+
+        Path<N> path = new Path<N>(graph.getNode(start));
+        for(int i = edges.size() - 1; i >= 0; i--)
+        {
+            int edge = edges.get(i);
+            path = path.extend(graph.getNode(graph.getEdgeChild(edge)), graph.getEdgeLabel(edge));
+        }
+        return path;
+    }
+
+    /**
+     * A node id paired with the cost of the best path found to it when it was queued.
+     */
+    private static class NodeCost implements Comparable<NodeCost> {
+        private final int node;
+        private final double cost;
+
+        /**
+         * @param node the id of the queued node.
+         * @param cost the cost of reaching node.
+         */
+        private NodeCost(int node, double cost)
+        {
+            this.node = node;
+            this.cost = cost;
+        }
+
+        /**
+         * Compares two NodeCosts by their cost.
+         *
+         * @param other the NodeCost being compared to this one.
+         * @return a negative int if this cost is smaller than other's, a positive int if it is
+         * larger, and 0 if both costs are equal.
+         */
+        @Override
+        public int compareTo(NodeCost other)
+        {
+            return Double.compare(this.cost, other.cost);
+        }
+    }
+
     /** Comparator that compares Paths by their total cost.
      *
      * @param <N> the type of nodes you want the path you're implementing to compare.
@@ -1,14 +1,20 @@
 package pathfinder.junitTests;
 
+import graph.CsrGraph;
 import graph.Graph;
+import graph.MappedGraph;
+import graph.ValueCodec;
 import marvel.MarvelPaths;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.rules.Timeout;
+import pathfinder.CampusMap;
 import pathfinder.FindPath;
 import pathfinder.datastructures.Path;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,6 +29,9 @@ public final class FindPathTest {
     @Rule
     public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested.
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private final String EXPECTED_TRUE = "failure - expected true but was false";
     private final String EXPECTED_FALSE = "failure - expected false but was true";
 
@@ -76,5 +85,85 @@ public final class FindPathTest {
         assertNull(FindPath.findShortestPath(graph, "n1", "n5"));
     }
 
+    @Test
+    public void testFindPathAgainstEdgesInOneComponent()
+    {
+        assertTrue(EXPECTED_TRUE, graph.isConnected("n4", "n1"));
+        assertNull(FindPath.findShortestPath(graph, "n4", "n1"));
+    }
+
+    @Test
+    public void testFindPathAfterComponentsJoin()
+    {
+        assertFalse(EXPECTED_FALSE, graph.isConnected("n4", "n5"));
+        graph.addEdge(1.0, "n4", "n5");
+        assertEquals(21.0, FindPath.findShortestPath(graph, "n1", "n5").getCost(), 0);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  findSmallestPath() on a CsrGraph
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testFindShortestPathOnSnapshotMatchesGraph()
+    {
+        graph.addEdge(1.0, "n1", "n3");
+        graph.addEdge(2.0, "n3", "n2");
+        CsrGraph<String, Double> snapshot = graph.freeze();
+        assertEquals(FindPath.findShortestPath(graph, "n1", "n4"), FindPath.findShortestPath(snapshot, "n1", "n4"));
+        assertEquals(FindPath.findShortestPath(graph, "n1", "n2"), FindPath.findShortestPath(snapshot, "n1", "n2"));
+        assertEquals(3.0, FindPath.findShortestPath(snapshot, "n1", "n2").getCost(), 0.0);
+    }
+
+    @Test
+    public void testFindShortestPathOnSnapshotBetweenSameNode()
+    {
+        assertEquals(EXPECTED_TRUE, path, FindPath.findShortestPath(graph.freeze(), "n1", "n1"));
+    }
+
+    @Test
+    public void testFindShortestPathOnSnapshotThatDNE()
+    {
+        assertNull(FindPath.findShortestPath(graph.freeze(), "n1", "n5"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindShortestPathOnSnapshotThrowsIllegalArgumentExceptionWhenNodeA_DNE()
+    {
+        FindPath.findShortestPath(graph.freeze(), "DNE", "n4");
+    }
 
-}
\ No newline at end of file
+    ///////////////////////////////////////////////////////////////////////////////////////
+    ////  findSmallestPath() on a MappedGraph
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testFindShortestPathOnMappedSnapshotMatchesGraph() throws IOException
+    {
+        graph.addEdge(1.0, "n1", "n3");
+        graph.addEdge(2.0, "n3", "n2");
+        java.nio.file.Path file = folder.newFile("test.graph").toPath();
+        MappedGraph.write(graph.freeze(), file, ValueCodec.UTF8, ValueCodec.DOUBLE);
+        MappedGraph<String, Double> mapped = MappedGraph.open(file, ValueCodec.UTF8, ValueCodec.DOUBLE);
+        assertEquals(FindPath.findShortestPath(graph, "n1", "n4"), FindPath.findShortestPath(mapped, "n1", "n4"));
+        assertEquals(FindPath.findShortestPath(graph, "n1", "n2"), FindPath.findShortestPath(mapped, "n1", "n2"));
+        assertNull(FindPath.findShortestPath(mapped, "n1", "n5"));
+    }
+
+    @Test
+    public void testCampusMapFromSnapshotMatchesCampusMap() throws IOException
+    {
+        CampusMap campusMap = new CampusMap();
+        java.nio.file.Path file = folder.newFile("campus.graph").toPath();
+        campusMap.saveGraph(file);
+        CampusMap mappedCampusMap = new CampusMap(file);
+
+        assertEquals(campusMap.buildingNames(), mappedCampusMap.buildingNames());
+        String[][] queries = {{"CSE", "MGH"}, {"KNE", "CMU"}, {"PAR", "UBS (Secret)"}, {"MUS", "MUS"}};
+        for(String[] query : queries)
+        {
+            assertEquals(campusMap.findShortestPath(query[0], query[1]),
+                    mappedCampusMap.findShortestPath(query[0], query[1]));
+        }
+    }
+}
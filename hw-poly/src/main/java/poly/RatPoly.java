@@ -11,6 +11,8 @@
 
 package poly;
 
+import common.RepCheck;
+
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.List;
@@ -701,14 +703,20 @@ public final class RatPoly {
      * Throws an exception if the representation invariant is violated.
      */
     private void checkRep() {
+        if(!RepCheck.cheap()) {
+            return;
+        }
+
         assert (terms != null);
 
-        for(int i = 0; i < terms.size(); i++) {
-            assert (!terms.get(i).getCoeff().equals(new RatNum(0))) : "zero coefficient";
-            assert (terms.get(i).getExpt() >= 0) : "negative exponent";
+        if(RepCheck.full()) {
+            for(int i = 0; i < terms.size(); i++) {
+                assert (!terms.get(i).getCoeff().equals(new RatNum(0))) : "zero coefficient";
+                assert (terms.get(i).getExpt() >= 0) : "negative exponent";
 
-            if(i < terms.size() - 1)
-                assert (terms.get(i + 1).getExpt() < terms.get(i).getExpt()) : "terms out of order";
+                if(i < terms.size() - 1)
+                    assert (terms.get(i + 1).getExpt() < terms.get(i).getExpt()) : "terms out of order";
+            }
         }
     }
 }
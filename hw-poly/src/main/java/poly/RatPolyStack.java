@@ -11,6 +11,8 @@
 
 package poly;
 
+import common.RepCheck;
+
 import java.util.Iterator;
 import java.util.Stack;
 
@@ -263,10 +265,16 @@ public final class RatPolyStack implements Iterable<RatPoly> {
      * Throws an exception if the representation invariant is violated.
      */
     private void checkRep() {
+        if(!RepCheck.cheap()) {
+            return;
+        }
+
         assert (polys != null) : "polys should never be null.";
 
-        for(RatPoly p : polys) {
-            assert (p != null) : "polys should never contain a null element.";
+        if(RepCheck.full()) {
+            for(RatPoly p : polys) {
+                assert (p != null) : "polys should never contain a null element.";
+            }
         }
     }
 }
@@ -11,6 +11,8 @@
 
 package poly;
 
+import common.RepCheck;
+
 /**
  * <b>RatTerm</b> is an immutable representation of a term in a single-variable polynomial
  * expression. The term has the form C*x^E where C is a rational number and E is an integer.
@@ -465,6 +467,10 @@ public final class RatTerm {
      * Throws an exception if the representation invariant is violated.
      */
     private void checkRep() {
+        if(!RepCheck.cheap()) {
+            return;
+        }
+
         assert (coeff != null) : "coeff == null";
         assert (!coeff.equals(RatNum.ZERO) || expt == 0) : "coeff is zero while expt == " + expt;
     }